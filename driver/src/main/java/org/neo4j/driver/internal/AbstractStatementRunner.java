@@ -18,6 +18,8 @@
  */
 package org.neo4j.driver.internal;
 
+import org.reactivestreams.Publisher;
+
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
 
@@ -86,6 +88,18 @@ abstract class AbstractStatementRunner implements StatementRunner
         return runAsync( statementText, Values.EmptyMap );
     }
 
+    @Override
+    public Publisher<Record> runRx( Statement statement )
+    {
+        return new InternalRecordPublisher( () -> runAsync( statement ) );
+    }
+
+    @Override
+    public final Publisher<Record> runRx( String statementTemplate, Map<String,Object> statementParameters )
+    {
+        return runRx( new Statement( statementTemplate, parameters( statementParameters ) ) );
+    }
+
     @Override
     public final TypeSystem typeSystem()
     {
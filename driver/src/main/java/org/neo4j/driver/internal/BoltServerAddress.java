@@ -83,15 +83,16 @@ public class BoltServerAddress
     }
 
     /**
-     * Create a {@link SocketAddress} from this bolt address. This method always attempts to resolve the hostname into
-     * an {@link InetAddress}.
+     * Create a {@link SocketAddress} from this bolt address. This method does not resolve the hostname into an
+     * {@link InetAddress}, resolution is left to the resolver of the connecting bootstrap, so that it does not block
+     * the calling thread.
      *
-     * @return new socket address.
-     * @see InetSocketAddress
+     * @return new unresolved socket address.
+     * @see InetSocketAddress#createUnresolved(String, int)
      */
     public SocketAddress toSocketAddress()
     {
-        return new InetSocketAddress( host, port );
+        return InetSocketAddress.createUnresolved( host, port );
     }
 
     /**
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.neo4j.driver.internal.async.EventLoopGroupFactory;
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Imports rows from a source in batches executed concurrently in separate write transactions. Every batch is passed
+ * to the statement as {@value #ROWS_PARAMETER} parameter. Source is only read when there is a free slot for a new
+ * batch, so at most {@code parallelism} batches are held in memory.
+ */
+public class BulkImporter
+{
+    public static final String ROWS_PARAMETER = "rows";
+    private static final String LOG_NAME = "BulkImport";
+
+    private final SessionFactory sessionFactory;
+    private final Logger log;
+
+    public BulkImporter( SessionFactory sessionFactory, Logging logging )
+    {
+        this.sessionFactory = sessionFactory;
+        this.log = logging.getLog( LOG_NAME );
+    }
+
+    public long importRows( String statementTemplate, Iterator<Map<String,Object>> rows, int batchSize,
+            int parallelism )
+    {
+        EventLoopGroupFactory.assertNotInEventLoopThread();
+
+        BulkImport bulkImport = new BulkImport( statementTemplate, parallelism );
+        // wait for a free slot before touching the source, even hasNext() may read from it
+        while ( bulkImport.awaitSlot() && rows.hasNext() )
+        {
+            bulkImport.execute( nextBatch( rows, batchSize ) );
+        }
+        return Futures.blockingGet( bulkImport.finish() );
+    }
+
+    private static List<Map<String,Object>> nextBatch( Iterator<Map<String,Object>> rows, int batchSize )
+    {
+        List<Map<String,Object>> batch = new ArrayList<>( batchSize );
+        while ( batch.size() < batchSize && rows.hasNext() )
+        {
+            batch.add( rows.next() );
+        }
+        return batch;
+    }
+
+    private class BulkImport
+    {
+        final String statementTemplate;
+        final Semaphore slots;
+        final AtomicInteger runningBatches = new AtomicInteger();
+        final AtomicLong importedRows = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+        volatile boolean sourceExhausted;
+
+        BulkImport( String statementTemplate, int parallelism )
+        {
+            this.statementTemplate = statementTemplate;
+            this.slots = new Semaphore( parallelism );
+        }
+
+        /**
+         * Wait until fewer than {@code parallelism} batches are running.
+         *
+         * @return {@code true} when a new batch can be executed, {@code false} when import has failed.
+         */
+        boolean awaitSlot()
+        {
+            slots.acquireUninterruptibly();
+            if ( failure.get() != null )
+            {
+                slots.release();
+                return false;
+            }
+            return true;
+        }
+
+        void execute( List<Map<String,Object>> batch )
+        {
+            runningBatches.incrementAndGet();
+            Statement statement = new Statement( statementTemplate, singletonMap( ROWS_PARAMETER, batch ) );
+            Session session = sessionFactory.newInstance( AccessMode.WRITE, Bookmark.empty() );
+
+            // transaction function retries the batch on transient errors and cluster topology changes
+            session.writeTransactionAsync( tx -> tx.runAsync( statement )
+                    .thenCompose( StatementResultCursor::consumeAsync ) )
+                    .whenComplete( ( summary, error ) ->
+                    {
+                        session.closeAsync();
+                        if ( error != null )
+                        {
+                            Throwable cause = Futures.completionExceptionCause( error );
+                            if ( !failure.compareAndSet( null, cause ) )
+                            {
+                                log.debug( "Batch of %s rows failed after the import has already failed: %s",
+                                        batch.size(), cause );
+                            }
+                        }
+                        else
+                        {
+                            importedRows.addAndGet( batch.size() );
+                        }
+                        slots.release();
+                        batchCompleted();
+                    } );
+        }
+
+        CompletableFuture<Long> finish()
+        {
+            sourceExhausted = true;
+            if ( runningBatches.get() == 0 )
+            {
+                complete();
+            }
+            return result;
+        }
+
+        void batchCompleted()
+        {
+            if ( runningBatches.decrementAndGet() == 0 && sourceExhausted )
+            {
+                complete();
+            }
+        }
+
+        void complete()
+        {
+            Throwable error = failure.get();
+            if ( error != null )
+            {
+                result.completeExceptionally( error );
+            }
+            else
+            {
+                result.complete( importedRows.get() );
+            }
+        }
+    }
+}
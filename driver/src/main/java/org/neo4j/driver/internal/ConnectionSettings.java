@@ -18,6 +18,7 @@
  */
 package org.neo4j.driver.internal;
 
+import org.neo4j.driver.internal.async.SocketSettings;
 import org.neo4j.driver.v1.AuthToken;
 import org.neo4j.driver.v1.Session;
 
@@ -53,17 +54,44 @@ public class ConnectionSettings
     private final AuthToken authToken;
     private final String userAgent;
     private final int connectTimeoutMillis;
+    private final SocketSettings socketSettings;
+    private final long recordBufferSize;
 
-    public ConnectionSettings( AuthToken authToken, String userAgent, int connectTimeoutMillis )
+    public ConnectionSettings( AuthToken authToken, String userAgent, int connectTimeoutMillis,
+            SocketSettings socketSettings, long recordBufferSize )
     {
         this.authToken = authToken;
         this.userAgent = userAgent;
         this.connectTimeoutMillis = connectTimeoutMillis;
+        this.socketSettings = socketSettings;
+        this.recordBufferSize = recordBufferSize;
+    }
+
+    public ConnectionSettings( AuthToken authToken, String userAgent, int connectTimeoutMillis,
+            SocketSettings socketSettings )
+    {
+        this( authToken, userAgent, connectTimeoutMillis, socketSettings, 0 );
+    }
+
+    public ConnectionSettings( AuthToken authToken, String userAgent, int connectTimeoutMillis )
+    {
+        this( authToken, userAgent, connectTimeoutMillis, SocketSettings.DEFAULT );
+    }
+
+    public ConnectionSettings( AuthToken authToken, int connectTimeoutMillis, SocketSettings socketSettings,
+            long recordBufferSize )
+    {
+        this( authToken, DEFAULT_USER_AGENT, connectTimeoutMillis, socketSettings, recordBufferSize );
+    }
+
+    public ConnectionSettings( AuthToken authToken, int connectTimeoutMillis, SocketSettings socketSettings )
+    {
+        this( authToken, connectTimeoutMillis, socketSettings, 0 );
     }
 
     public ConnectionSettings( AuthToken authToken, int connectTimeoutMillis )
     {
-        this( authToken, DEFAULT_USER_AGENT, connectTimeoutMillis );
+        this( authToken, connectTimeoutMillis, SocketSettings.DEFAULT );
     }
 
     public AuthToken authToken()
@@ -80,4 +108,18 @@ public class ConnectionSettings
     {
         return connectTimeoutMillis;
     }
+
+    public SocketSettings socketSettings()
+    {
+        return socketSettings;
+    }
+
+    /**
+     * @return maximum estimated size of records buffered for a single query in bytes or {@code 0} when the number of
+     * buffered records is limited instead.
+     */
+    public long recordBufferSize()
+    {
+        return recordBufferSize;
+    }
 }
@@ -19,23 +19,34 @@
 package org.neo4j.driver.internal;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.EventLoopGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.security.GeneralSecurityException;
 
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
 import org.neo4j.driver.internal.async.BootstrapFactory;
 import org.neo4j.driver.internal.async.ChannelConnector;
 import org.neo4j.driver.internal.async.ChannelConnectorImpl;
+import org.neo4j.driver.internal.async.HedgedReadRunner;
+import org.neo4j.driver.internal.async.HedgingSettings;
+import org.neo4j.driver.internal.async.SocketSettings;
 import org.neo4j.driver.internal.async.pool.ConnectionPoolImpl;
 import org.neo4j.driver.internal.async.pool.PoolSettings;
 import org.neo4j.driver.internal.cluster.RoutingContext;
 import org.neo4j.driver.internal.cluster.RoutingSettings;
+import org.neo4j.driver.internal.cluster.RoutingTableStore;
+import org.neo4j.driver.internal.cluster.loadbalancing.CircuitBreakerSettings;
 import org.neo4j.driver.internal.cluster.loadbalancing.LeastConnectedLoadBalancingStrategy;
 import org.neo4j.driver.internal.cluster.loadbalancing.LoadBalancer;
+import org.neo4j.driver.internal.cluster.loadbalancing.LocalityAwareLoadBalancingStrategy;
 import org.neo4j.driver.internal.cluster.loadbalancing.LoadBalancingStrategy;
+import org.neo4j.driver.internal.cluster.loadbalancing.PeakEwmaLoadBalancingStrategy;
+import org.neo4j.driver.internal.cluster.loadbalancing.PowerOfTwoChoicesLoadBalancingStrategy;
 import org.neo4j.driver.internal.cluster.loadbalancing.RoundRobinLoadBalancingStrategy;
 import org.neo4j.driver.internal.logging.NettyLogging;
 import org.neo4j.driver.internal.metrics.InternalAbstractMetrics;
@@ -46,6 +57,7 @@ import org.neo4j.driver.internal.retry.ExponentialBackoffRetryLogic;
 import org.neo4j.driver.internal.retry.RetryLogic;
 import org.neo4j.driver.internal.retry.RetrySettings;
 import org.neo4j.driver.internal.security.SecurityPlan;
+import org.neo4j.driver.internal.security.TlsSettings;
 import org.neo4j.driver.internal.spi.ConnectionPool;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
 import org.neo4j.driver.internal.util.Clock;
@@ -79,30 +91,43 @@ public class DriverFactory
         SecurityPlan securityPlan = createSecurityPlan( address, config );
 
         InternalLoggerFactory.setDefaultFactory( new NettyLogging( config.logging() ) );
-        Bootstrap bootstrap = createBootstrap();
+        Bootstrap bootstrap = createBootstrap( config );
         EventExecutorGroup eventExecutorGroup = bootstrap.config().group();
         RetryLogic retryLogic = createRetryLogic( retrySettings, eventExecutorGroup, config.logging() );
 
+        // resolver is shared by the connection pool and rediscovery, it is closed by the connector of the pool
+        AsyncDnsResolver dnsResolver = createDnsResolver( config );
+
         InternalAbstractMetrics metrics = createDriverMetrics( config );
-        ConnectionPool connectionPool = createConnectionPool( authToken, securityPlan, bootstrap, metrics, config );
+        ConnectionPool connectionPool = createConnectionPool( authToken, securityPlan, bootstrap, dnsResolver, metrics, config );
 
-        InternalDriver driver = createDriver( uri, securityPlan, address, connectionPool, eventExecutorGroup, newRoutingSettings, retryLogic, metrics, config );
+        InternalDriver driver = createDriver( uri, securityPlan, address, connectionPool, eventExecutorGroup, dnsResolver, newRoutingSettings, retryLogic, metrics, config );
 
         verifyConnectivity( driver, connectionPool, config );
 
         return driver;
     }
 
-    protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap, MetricsListener metrics, Config config )
+    protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap,
+            AsyncDnsResolver dnsResolver, MetricsListener metrics, Config config )
     {
         Clock clock = createClock();
-        ConnectionSettings settings = new ConnectionSettings( authToken, config.connectionTimeoutMillis() );
-        ChannelConnector connector = createConnector( settings, securityPlan, config, clock );
+        ConnectionSettings settings = new ConnectionSettings( authToken, config.connectionTimeoutMillis(),
+                createSocketSettings( config ), config.recordBufferSize() );
+        ChannelConnector connector = createConnector( settings, securityPlan, dnsResolver, config, clock );
         PoolSettings poolSettings = new PoolSettings( config.maxConnectionPoolSize(),
                 config.connectionAcquisitionTimeoutMillis(), config.maxConnectionLifetimeMillis(),
-                config.idleTimeBeforeConnectionTest()
+                config.idleTimeBeforeConnectionTest(), config.maxConnectionLifetimeJitterMillis()
         );
-        return new ConnectionPoolImpl( connector, bootstrap, poolSettings, metrics, config.logging(), clock );
+        boolean ownsEventLoopGroup = config.eventLoopGroup() == null;
+        return new ConnectionPoolImpl( connector, bootstrap, ownsEventLoopGroup, poolSettings, metrics,
+                config.logging(), clock );
+    }
+
+    private static SocketSettings createSocketSettings( Config config )
+    {
+        return new SocketSettings( config.tcpNoDelay(), config.socketKeepAlive(), config.socketReceiveBufferSize(),
+                config.socketSendBufferSize(), config.writeBufferLowWaterMark(), config.writeBufferHighWaterMark() );
     }
 
     protected static InternalAbstractMetrics createDriverMetrics( Config config )
@@ -118,13 +143,14 @@ public class DriverFactory
     }
 
     protected ChannelConnector createConnector( ConnectionSettings settings, SecurityPlan securityPlan,
-            Config config, Clock clock )
+            AsyncDnsResolver dnsResolver, Config config, Clock clock )
     {
-        return new ChannelConnectorImpl( settings, securityPlan, config.logging(), clock );
+        return new ChannelConnectorImpl( settings, securityPlan, dnsResolver, config.logging(), clock );
     }
 
     private InternalDriver createDriver( URI uri, SecurityPlan securityPlan, BoltServerAddress address, ConnectionPool connectionPool,
-            EventExecutorGroup eventExecutorGroup, RoutingSettings routingSettings, RetryLogic retryLogic, Metrics metrics, Config config )
+            EventExecutorGroup eventExecutorGroup, AsyncDnsResolver dnsResolver, RoutingSettings routingSettings, RetryLogic retryLogic,
+            InternalAbstractMetrics metrics, Config config )
     {
         try
         {
@@ -133,9 +159,10 @@ public class DriverFactory
             {
             case BOLT_URI_SCHEME:
                 assertNoRoutingContext( uri, routingSettings );
-                return createDirectDriver( securityPlan, address, connectionPool, retryLogic, metrics, config );
+                return createDirectDriver( securityPlan, address, connectionPool, eventExecutorGroup, retryLogic, metrics, config );
             case BOLT_ROUTING_URI_SCHEME:
-                return createRoutingDriver( securityPlan, address, connectionPool, eventExecutorGroup, routingSettings, retryLogic, metrics, config );
+                return createRoutingDriver( securityPlan, address, connectionPool, eventExecutorGroup, dnsResolver, routingSettings, retryLogic,
+                        metrics, config );
             default:
                 throw new ClientException( format( "Unsupported URI scheme: %s", scheme ) );
             }
@@ -153,12 +180,12 @@ public class DriverFactory
      * <p>
      * <b>This method is protected only for testing</b>
      */
-    protected InternalDriver createDirectDriver( SecurityPlan securityPlan, BoltServerAddress address, ConnectionPool connectionPool, RetryLogic retryLogic,
-            Metrics metrics, Config config )
+    protected InternalDriver createDirectDriver( SecurityPlan securityPlan, BoltServerAddress address, ConnectionPool connectionPool,
+            EventExecutorGroup eventExecutorGroup, RetryLogic retryLogic, Metrics metrics, Config config )
     {
         ConnectionProvider connectionProvider = new DirectConnectionProvider( address, connectionPool );
-        SessionFactory sessionFactory = createSessionFactory( connectionProvider, retryLogic, config );
-        InternalDriver driver = createDriver(securityPlan, sessionFactory, metrics, config);
+        SessionFactory sessionFactory = createSessionFactory( connectionProvider, retryLogic, null, config );
+        InternalDriver driver = createDriver( securityPlan, sessionFactory, eventExecutorGroup, metrics, config );
         Logger log = config.logging().getLog( Driver.class.getSimpleName() );
         log.info( "Direct driver instance %s created for server address %s", driver.hashCode(), address );
         return driver;
@@ -170,16 +197,18 @@ public class DriverFactory
      * <b>This method is protected only for testing</b>
      */
     protected InternalDriver createRoutingDriver( SecurityPlan securityPlan, BoltServerAddress address, ConnectionPool connectionPool,
-            EventExecutorGroup eventExecutorGroup, RoutingSettings routingSettings, RetryLogic retryLogic, Metrics metrics, Config config )
+            EventExecutorGroup eventExecutorGroup, AsyncDnsResolver dnsResolver, RoutingSettings routingSettings, RetryLogic retryLogic,
+            InternalAbstractMetrics metrics, Config config )
     {
         if ( !securityPlan.isRoutingCompatible() )
         {
             throw new IllegalArgumentException( "The chosen security plan is not compatible with a routing driver" );
         }
-        ConnectionProvider connectionProvider = createLoadBalancer( address, connectionPool, eventExecutorGroup,
+        LoadBalancer loadBalancer = createLoadBalancer( address, connectionPool, eventExecutorGroup, dnsResolver,
                 config, routingSettings );
-        SessionFactory sessionFactory = createSessionFactory( connectionProvider, retryLogic, config );
-        InternalDriver driver = createDriver(securityPlan, sessionFactory, metrics, config);
+        HedgedReadRunner hedgedReadRunner = createHedgedReadRunner( loadBalancer, eventExecutorGroup, metrics, config );
+        SessionFactory sessionFactory = createSessionFactory( loadBalancer, retryLogic, hedgedReadRunner, config );
+        InternalDriver driver = createDriver( securityPlan, sessionFactory, eventExecutorGroup, metrics, config );
         Logger log = config.logging().getLog( Driver.class.getSimpleName() );
         log.info( "Routing driver instance %s created for server address %s", driver.hashCode(), address );
         return driver;
@@ -190,9 +219,10 @@ public class DriverFactory
      * <p>
      * <b>This method is protected only for testing</b>
      */
-    protected InternalDriver createDriver( SecurityPlan securityPlan, SessionFactory sessionFactory, Metrics metrics, Config config )
+    protected InternalDriver createDriver( SecurityPlan securityPlan, SessionFactory sessionFactory,
+            EventExecutorGroup eventExecutorGroup, Metrics metrics, Config config )
     {
-        return new InternalDriver( securityPlan, sessionFactory, metrics, config.logging() );
+        return new InternalDriver( securityPlan, sessionFactory, eventExecutorGroup, metrics, config.logging() );
     }
 
     /**
@@ -201,15 +231,58 @@ public class DriverFactory
      * <b>This method is protected only for testing</b>
      */
     protected LoadBalancer createLoadBalancer( BoltServerAddress address, ConnectionPool connectionPool,
-            EventExecutorGroup eventExecutorGroup, Config config, RoutingSettings routingSettings )
+            EventExecutorGroup eventExecutorGroup, AsyncDnsResolver dnsResolver, Config config,
+            RoutingSettings routingSettings )
+    {
+        Clock clock = createClock();
+        LoadBalancingStrategy loadBalancingStrategy = createLoadBalancingStrategy( config, connectionPool, clock );
+        return new LoadBalancer( address, routingSettings, connectionPool, eventExecutorGroup, clock,
+                config.logging(), loadBalancingStrategy, dnsResolver,
+                createCircuitBreakerSettings( config ), createRoutingTableStore( address, config, clock ) );
+    }
+
+    private static CircuitBreakerSettings createCircuitBreakerSettings( Config config )
+    {
+        return new CircuitBreakerSettings( config.circuitBreakerFailureThreshold(),
+                config.circuitBreakerCooldownMillis() );
+    }
+
+    private static RoutingTableStore createRoutingTableStore( BoltServerAddress address, Config config, Clock clock )
+    {
+        File file = config.persistedRoutingTableFile();
+        if ( file == null )
+        {
+            return null;
+        }
+        return new RoutingTableStore( file, address, config.persistedRoutingTableMaxAgeMillis(), clock,
+                config.logging() );
+    }
+
+    /**
+     * Creates new {@link AsyncDnsResolver}.
+     * <p>
+     * <b>This method is protected only for testing</b>
+     */
+    protected AsyncDnsResolver createDnsResolver( Config config )
     {
-        LoadBalancingStrategy loadBalancingStrategy = createLoadBalancingStrategy( config, connectionPool );
-        return new LoadBalancer( address, routingSettings, connectionPool, eventExecutorGroup, createClock(),
-                config.logging(), loadBalancingStrategy );
+        return new AsyncDnsResolver( config.dnsCacheTtlMillis(), config.dnsNegativeCacheTtlMillis(), createClock() );
     }
 
     private static LoadBalancingStrategy createLoadBalancingStrategy( Config config,
-            ConnectionPool connectionPool )
+            ConnectionPool connectionPool, Clock clock )
+    {
+        LoadBalancingStrategy strategy = createBaseLoadBalancingStrategy( config, connectionPool, clock );
+        if ( config.preferredServerGroups().isEmpty() )
+        {
+            return strategy;
+        }
+        // server is considered overloaded when acquisition of a new connection would have to wait for a free one
+        return new LocalityAwareLoadBalancingStrategy( strategy, connectionPool, config.preferredServerGroups(),
+                config.maxConnectionPoolSize() );
+    }
+
+    private static LoadBalancingStrategy createBaseLoadBalancingStrategy( Config config,
+            ConnectionPool connectionPool, Clock clock )
     {
         switch ( config.loadBalancingStrategy() )
         {
@@ -217,6 +290,10 @@ public class DriverFactory
             return new RoundRobinLoadBalancingStrategy( config.logging() );
         case LEAST_CONNECTED:
             return new LeastConnectedLoadBalancingStrategy( connectionPool, config.logging() );
+        case PEAK_EWMA:
+            return new PeakEwmaLoadBalancingStrategy( clock, config.logging() );
+        case POWER_OF_TWO_CHOICES:
+            return new PowerOfTwoChoicesLoadBalancingStrategy( connectionPool, config.logging() );
         default:
             throw new IllegalArgumentException( "Unknown load balancing strategy: " + config.loadBalancingStrategy() );
         }
@@ -238,9 +315,22 @@ public class DriverFactory
      * <b>This method is protected only for testing</b>
      */
     protected SessionFactory createSessionFactory( ConnectionProvider connectionProvider, RetryLogic retryLogic,
-            Config config )
+            HedgedReadRunner hedgedReadRunner, Config config )
     {
-        return new SessionFactoryImpl( connectionProvider, retryLogic, config );
+        return new SessionFactoryImpl( connectionProvider, retryLogic, hedgedReadRunner, config );
+    }
+
+    private HedgedReadRunner createHedgedReadRunner( LoadBalancer loadBalancer, EventExecutorGroup eventExecutorGroup,
+            MetricsListener metricsListener, Config config )
+    {
+        HedgingSettings settings = new HedgingSettings( config.hedgedReadsDelayMillis(), config.hedgedReadsAdaptive(),
+                config.hedgedReadsBudget() );
+        if ( !settings.isEnabled() )
+        {
+            return null;
+        }
+        return new HedgedReadRunner( loadBalancer, eventExecutorGroup, settings, metricsListener, createClock(),
+                config.logging() );
     }
 
     /**
@@ -255,13 +345,18 @@ public class DriverFactory
     }
 
     /**
-     * Creates new {@link Bootstrap}.
+     * Creates new {@link Bootstrap} that uses either an external event loop group or a new group owned by the driver.
      * <p>
      * <b>This method is protected only for testing</b>
      */
-    protected Bootstrap createBootstrap()
+    protected Bootstrap createBootstrap( Config config )
     {
-        return BootstrapFactory.newBootstrap();
+        EventLoopGroup eventLoopGroup = config.eventLoopGroup();
+        if ( eventLoopGroup != null )
+        {
+            return BootstrapFactory.newBootstrapForExternalEventLoopGroup( eventLoopGroup );
+        }
+        return BootstrapFactory.newBootstrap( config.eventLoopThreads(), config.eventLoopThreadPriority() );
     }
 
     private static SecurityPlan createSecurityPlan( BoltServerAddress address, Config config )
@@ -289,13 +384,14 @@ public class DriverFactory
             Logger logger = config.logging().getLog( "SecurityPlan" );
             Config.TrustStrategy trustStrategy = config.trustStrategy();
             boolean hostnameVerificationEnabled = trustStrategy.isHostnameVerificationEnabled();
+            TlsSettings tlsSettings = createTlsSettings( config, logger );
             switch ( trustStrategy.strategy() )
             {
             case TRUST_ON_FIRST_USE:
                 logger.warn(
                         "Option `TRUST_ON_FIRST_USE` has been deprecated and will be removed in a future " +
                         "version of the driver. Please switch to use `TRUST_ALL_CERTIFICATES` instead." );
-                return SecurityPlan.forTrustOnFirstUse( trustStrategy.certFile(), hostnameVerificationEnabled, address, logger );
+                return SecurityPlan.forTrustOnFirstUse( trustStrategy.certFile(), hostnameVerificationEnabled, address, logger, tlsSettings );
             case TRUST_SIGNED_CERTIFICATES:
                 logger.warn(
                         "Option `TRUST_SIGNED_CERTIFICATE` has been deprecated and will be removed in a future " +
@@ -303,11 +399,11 @@ public class DriverFactory
                 // intentional fallthrough
 
             case TRUST_CUSTOM_CA_SIGNED_CERTIFICATES:
-                return SecurityPlan.forCustomCASignedCertificates( trustStrategy.certFile(), hostnameVerificationEnabled );
+                return SecurityPlan.forCustomCASignedCertificates( trustStrategy.certFile(), hostnameVerificationEnabled, tlsSettings );
             case TRUST_SYSTEM_CA_SIGNED_CERTIFICATES:
-                return SecurityPlan.forSystemCASignedCertificates( hostnameVerificationEnabled );
+                return SecurityPlan.forSystemCASignedCertificates( hostnameVerificationEnabled, tlsSettings );
             case TRUST_ALL_CERTIFICATES:
-                return SecurityPlan.forAllCertificates( hostnameVerificationEnabled );
+                return SecurityPlan.forAllCertificates( hostnameVerificationEnabled, tlsSettings );
             default:
                 throw new ClientException(
                         "Unknown TLS authentication strategy: " + trustStrategy.strategy().name() );
@@ -319,6 +415,20 @@ public class DriverFactory
         }
     }
 
+    private static TlsSettings createTlsSettings( Config config, Logger logger )
+    {
+        TlsSettings tlsSettings = new TlsSettings( config.tlsProvider(), config.tlsSessionCacheSize(),
+                config.tlsSessionTimeoutMillis() );
+
+        if ( tlsSettings.provider() == Config.TlsProvider.OPENSSL && !SecurityPlan.isOpenSslAvailable() )
+        {
+            logger.info( "OpenSSL TLS provider is not available, falling back to JDK TLS provider. " +
+                         "Add netty-tcnative to the classpath to use OpenSSL" );
+            return tlsSettings.withProvider( Config.TlsProvider.JDK );
+        }
+        return tlsSettings;
+    }
+
     private static void assertNoRoutingContext( URI uri, RoutingSettings routingSettings )
     {
         RoutingContext routingContext = routingSettings.routingContext();
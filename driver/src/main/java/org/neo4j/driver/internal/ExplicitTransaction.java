@@ -18,6 +18,8 @@
  */
 package org.neo4j.driver.internal;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
@@ -39,6 +41,7 @@ import org.neo4j.driver.v1.StatementResultCursor;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.neo4j.driver.internal.util.Futures.completedWithNull;
@@ -80,6 +83,7 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
 
     private volatile Bookmark bookmark = Bookmark.empty();
     private volatile State state = State.ACTIVE;
+    private volatile Throwable beginError;
 
     public ExplicitTransaction( Connection connection, NetworkSession session )
     {
@@ -93,25 +97,23 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
         if ( initialBookmark.isEmpty() )
         {
             connection.run( BEGIN_QUERY, emptyMap(), NoOpResponseHandler.INSTANCE, NoOpResponseHandler.INSTANCE );
-            return completedFuture( this );
         }
         else
         {
+            // BEGIN is not flushed, it is sent together with the first query, COMMIT or ROLLBACK which then
+            // fail with the same error when the server is unable to begin the transaction, e.g. reach the bookmark
             CompletableFuture<ExplicitTransaction> beginFuture = new CompletableFuture<>();
-            connection.runAndFlush( BEGIN_QUERY, initialBookmark.asBeginTransactionParameters(),
+            connection.run( BEGIN_QUERY, initialBookmark.asBeginTransactionParameters(),
                     NoOpResponseHandler.INSTANCE, new BeginTxResponseHandler<>( beginFuture, this ) );
-
-            return beginFuture.handle( ( tx, beginError ) ->
+            beginFuture.whenComplete( ( ignore, error ) ->
             {
-                if ( beginError != null )
+                if ( error != null )
                 {
-                    // release connection if begin failed, transaction can't be started
-                    connection.release();
-                    throw Futures.asCompletionException( beginError );
+                    beginFailed( Futures.completionExceptionCause( error ) );
                 }
-                return tx;
             } );
         }
+        return completedFuture( this );
     }
 
     @Override
@@ -196,7 +198,7 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
     @Override
     public StatementResult run( Statement statement )
     {
-        StatementResultCursor cursor = Futures.blockingGet( run( statement, false ),
+        InternalStatementResultCursor cursor = Futures.blockingGet( run( statement, false ),
                 () -> terminateConnectionOnThreadInterrupt( "Thread interrupted while running query in transaction" ) );
         return new InternalStatementResult( connection, cursor );
     }
@@ -208,6 +210,53 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
         return (CompletionStage) run( statement, true );
     }
 
+    @Override
+    public List<StatementResult> runBatch( List<Statement> statements )
+    {
+        List<CompletionStage<InternalStatementResultCursor>> cursorStages = runBatch( statements, false );
+        List<StatementResult> results = new ArrayList<>( cursorStages.size() );
+        for ( CompletionStage<InternalStatementResultCursor> cursorStage : cursorStages )
+        {
+            InternalStatementResultCursor cursor = Futures.blockingGet( cursorStage,
+                    () -> terminateConnectionOnThreadInterrupt( "Thread interrupted while running batch in transaction" ) );
+            results.add( new InternalStatementResult( connection, cursor ) );
+        }
+        return results;
+    }
+
+    @Override
+    public CompletionStage<List<StatementResultCursor>> runBatchAsync( List<Statement> statements )
+    {
+        CompletionStage<List<StatementResultCursor>> resultStage = completedFuture( new ArrayList<>() );
+        for ( CompletionStage<InternalStatementResultCursor> cursorStage : runBatch( statements, true ) )
+        {
+            // all statements are already sent, chaining only preserves the order of cursors
+            resultStage = resultStage.thenCompose( cursors -> cursorStage.thenApply( cursor ->
+            {
+                cursors.add( cursor );
+                return cursors;
+            } ) );
+        }
+        return resultStage;
+    }
+
+    private List<CompletionStage<InternalStatementResultCursor>> runBatch( List<Statement> statements,
+            boolean waitForRunResponse )
+    {
+        ensureCanRunQueries();
+        if ( statements.isEmpty() )
+        {
+            return emptyList();
+        }
+        List<CompletionStage<InternalStatementResultCursor>> cursorStages =
+                QueryRunner.runBatchInTransaction( connection, statements, this, waitForRunResponse );
+        for ( CompletionStage<InternalStatementResultCursor> cursorStage : cursorStages )
+        {
+            resultCursors.add( cursorStage );
+        }
+        return cursorStages;
+    }
+
     private CompletionStage<InternalStatementResultCursor> run( Statement statement, boolean waitForRunResponse )
     {
         ensureCanRunQueries();
@@ -237,6 +286,11 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
         }
         else if ( state == State.TERMINATED )
         {
+            if ( beginError != null )
+            {
+                throw new ClientException(
+                        "Cannot run more statements in this transaction, it could not be started", beginError );
+            }
             throw new ClientException( "Cannot run more statements in this transaction, it has been terminated" );
         }
     }
@@ -252,6 +306,13 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
         state = State.TERMINATED;
     }
 
+    private void beginFailed( Throwable error )
+    {
+        // server has not started the transaction, there is nothing to commit or roll back
+        beginError = error;
+        markTerminated();
+    }
+
     public Bookmark bookmark()
     {
         return bookmark;
@@ -269,6 +330,10 @@ public class ExplicitTransaction extends AbstractStatementRunner implements Tran
     {
         if ( state == State.TERMINATED )
         {
+            if ( beginError != null )
+            {
+                return failedFuture( beginError );
+            }
             return failedFuture( new ClientException( "Can't commit, transaction has been terminated" ) );
         }
 
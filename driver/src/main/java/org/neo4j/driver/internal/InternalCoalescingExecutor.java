@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.CoalescingExecutor;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.driver.internal.util.Futures.failedFuture;
+
+public class InternalCoalescingExecutor implements CoalescingExecutor
+{
+    private static final String LOG_NAME = "CoalescingExecutor";
+
+    private final SessionFactory sessionFactory;
+    private final EventExecutorGroup eventExecutorGroup;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final Logger log;
+
+    private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
+    private List<Submission> pendingBatch = new ArrayList<>();
+    private int runningBatches;
+    private ScheduledFuture<?> flushFuture;
+    private boolean closed;
+
+    public InternalCoalescingExecutor( SessionFactory sessionFactory, EventExecutorGroup eventExecutorGroup,
+            int maxBatchSize, long maxDelayMillis, Logging logging )
+    {
+        this.sessionFactory = sessionFactory;
+        this.eventExecutorGroup = eventExecutorGroup;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.log = logging.getLog( LOG_NAME );
+    }
+
+    @Override
+    public CompletionStage<List<Record>> submitAsync( Statement statement )
+    {
+        Submission submission = new Submission( statement );
+        List<Submission> fullBatch;
+        synchronized ( this )
+        {
+            if ( closed )
+            {
+                return failedFuture( new ClientException( "Coalescing executor has already been closed" ) );
+            }
+
+            pendingBatch.add( submission );
+            if ( pendingBatch.size() >= maxBatchSize )
+            {
+                fullBatch = takePendingBatch();
+            }
+            else
+            {
+                fullBatch = null;
+                if ( flushFuture == null )
+                {
+                    // first statement of the batch, it should not wait longer than the configured delay
+                    flushFuture = eventExecutorGroup.next().schedule( this::flush, maxDelayMillis, MILLISECONDS );
+                }
+            }
+        }
+
+        if ( fullBatch != null )
+        {
+            execute( fullBatch );
+        }
+        return submission.result;
+    }
+
+    @Override
+    public CompletionStage<List<Record>> submitAsync( String statementTemplate, Map<String,Object> statementParameters )
+    {
+        return submitAsync( new Statement( statementTemplate, statementParameters ) );
+    }
+
+    @Override
+    public void close()
+    {
+        Futures.blockingGet( closeAsync() );
+    }
+
+    @Override
+    public CompletionStage<Void> closeAsync()
+    {
+        List<Submission> lastBatch;
+        synchronized ( this )
+        {
+            if ( closed )
+            {
+                return closeFuture;
+            }
+            closed = true;
+            lastBatch = takePendingBatch();
+        }
+
+        execute( lastBatch );
+        completeCloseIfIdle();
+        return closeFuture;
+    }
+
+    private void flush()
+    {
+        List<Submission> batch;
+        synchronized ( this )
+        {
+            flushFuture = null;
+            batch = takePendingBatch();
+        }
+        execute( batch );
+    }
+
+    private synchronized List<Submission> takePendingBatch()
+    {
+        if ( flushFuture != null )
+        {
+            flushFuture.cancel( false );
+            flushFuture = null;
+        }
+        List<Submission> batch = pendingBatch;
+        pendingBatch = new ArrayList<>();
+        return batch;
+    }
+
+    private void execute( List<Submission> batch )
+    {
+        if ( batch.isEmpty() )
+        {
+            return;
+        }
+
+        batchStarted();
+        executeInTransaction( batch ).whenComplete( ( results, error ) ->
+        {
+            if ( error == null )
+            {
+                for ( int i = 0; i < batch.size(); i++ )
+                {
+                    batch.get( i ).result.complete( results.get( i ) );
+                }
+            }
+            else if ( batch.size() == 1 )
+            {
+                batch.get( 0 ).result.completeExceptionally( Futures.completionExceptionCause( error ) );
+            }
+            else
+            {
+                // transaction was rolled back, isolate the failing statement by executing all of them separately
+                log.debug( "Transaction of %s coalesced statements failed, executing them separately. %s",
+                        batch.size(), Futures.completionExceptionCause( error ) );
+                for ( Submission submission : batch )
+                {
+                    execute( singletonList( submission ) );
+                }
+            }
+
+            batchCompleted();
+        } );
+    }
+
+    private synchronized void batchStarted()
+    {
+        runningBatches++;
+    }
+
+    private void batchCompleted()
+    {
+        synchronized ( this )
+        {
+            runningBatches--;
+        }
+        completeCloseIfIdle();
+    }
+
+    private void completeCloseIfIdle()
+    {
+        boolean idle;
+        synchronized ( this )
+        {
+            idle = closed && runningBatches == 0;
+        }
+        if ( idle )
+        {
+            closeFuture.complete( null );
+        }
+    }
+
+    private CompletionStage<List<List<Record>>> executeInTransaction( List<Submission> batch )
+    {
+        List<Statement> statements = new ArrayList<>( batch.size() );
+        for ( Submission submission : batch )
+        {
+            statements.add( submission.statement );
+        }
+
+        Session session = sessionFactory.newInstance( AccessMode.WRITE, Bookmark.empty() );
+        return session.writeTransactionAsync( tx -> tx.runBatchAsync( statements ).thenCompose( this::allRecords ) )
+                .whenComplete( ( ignore, error ) -> session.closeAsync() );
+    }
+
+    private CompletionStage<List<List<Record>>> allRecords( List<StatementResultCursor> cursors )
+    {
+        CompletionStage<List<List<Record>>> resultStage = completedFuture( new ArrayList<>() );
+        for ( StatementResultCursor cursor : cursors )
+        {
+            // records arrive in statement order, so consuming cursors one by one does not add round trips
+            resultStage = resultStage.thenCompose( results -> cursor.listAsync().thenApply( records ->
+            {
+                results.add( records );
+                return results;
+            } ) );
+        }
+        return resultStage;
+    }
+
+    private static class Submission
+    {
+        final Statement statement;
+        final CompletableFuture<List<Record>> result = new CompletableFuture<>();
+
+        Submission( Statement statement )
+        {
+            this.statement = statement;
+        }
+    }
+}
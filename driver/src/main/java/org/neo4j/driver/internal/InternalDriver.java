@@ -18,13 +18,20 @@
  */
 package org.neo4j.driver.internal;
 
+import io.netty.util.concurrent.EventExecutorGroup;
+
+import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import org.neo4j.driver.internal.metrics.spi.Metrics;
 import org.neo4j.driver.internal.security.SecurityPlan;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.CoalescingExecutor;
 import org.neo4j.driver.v1.Driver;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
@@ -36,16 +43,21 @@ public class InternalDriver implements Driver
 {
     private final SecurityPlan securityPlan;
     private final SessionFactory sessionFactory;
+    private final EventExecutorGroup eventExecutorGroup;
+    private final Logging logging;
     private final Logger log;
 
     private AtomicBoolean closed = new AtomicBoolean( false );
     private final Metrics metrics;
 
-    InternalDriver( SecurityPlan securityPlan, SessionFactory sessionFactory, Metrics metrics, Logging logging )
+    InternalDriver( SecurityPlan securityPlan, SessionFactory sessionFactory, EventExecutorGroup eventExecutorGroup,
+            Metrics metrics, Logging logging )
     {
         this.securityPlan = securityPlan;
         this.sessionFactory = sessionFactory;
+        this.eventExecutorGroup = eventExecutorGroup;
         this.metrics = metrics;
+        this.logging = logging;
         this.log = logging.getLog( Driver.class.getSimpleName() );
     }
 
@@ -121,6 +133,48 @@ public class InternalDriver implements Driver
         return completedWithNull();
     }
 
+    @Override
+    public CoalescingExecutor coalescingExecutor( int maxBatchSize, long maxDelay, TimeUnit unit )
+    {
+        assertOpen();
+        if ( maxBatchSize <= 0 )
+        {
+            throw new IllegalArgumentException( "Maximum batch size should be greater than 0, but was: " + maxBatchSize );
+        }
+        long maxDelayMillis = unit.toMillis( maxDelay );
+        if ( maxDelayMillis < 0 )
+        {
+            throw new IllegalArgumentException( String.format(
+                    "Maximum delay may not be smaller than 0, but was %d %s.", maxDelay, unit ) );
+        }
+        return new InternalCoalescingExecutor( sessionFactory, eventExecutorGroup, maxBatchSize, maxDelayMillis,
+                logging );
+    }
+
+    @Override
+    public long bulkImport( String statementTemplate, Iterator<Map<String,Object>> rows, int batchSize,
+            int parallelism )
+    {
+        assertOpen();
+        if ( batchSize <= 0 )
+        {
+            throw new IllegalArgumentException( "Batch size should be greater than 0, but was: " + batchSize );
+        }
+        if ( parallelism <= 0 )
+        {
+            throw new IllegalArgumentException( "Parallelism should be greater than 0, but was: " + parallelism );
+        }
+        return new BulkImporter( sessionFactory, logging ).importRows( statementTemplate, rows, batchSize,
+                parallelism );
+    }
+
+    @Override
+    public long bulkImport( String statementTemplate, Stream<Map<String,Object>> rows, int batchSize,
+            int parallelism )
+    {
+        return bulkImport( statementTemplate, rows.iterator(), batchSize, parallelism );
+    }
+
     public CompletionStage<Void> verifyConnectivity()
     {
         return sessionFactory.verifyConnectivity();
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.neo4j.driver.internal.handlers.PullAllResponseHandler;
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.StatementResultCursor;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Cold publisher of records that executes the statement when a subscriber requests records for the first time.
+ * Records are pushed directly from the response handler and reading from the network is paused when all requested
+ * records are buffered.
+ */
+public class InternalRecordPublisher implements Publisher<Record>
+{
+    private final Supplier<CompletionStage<StatementResultCursor>> cursorSupplier;
+
+    public InternalRecordPublisher( Supplier<CompletionStage<StatementResultCursor>> cursorSupplier )
+    {
+        this.cursorSupplier = cursorSupplier;
+    }
+
+    @Override
+    public void subscribe( Subscriber<? super Record> subscriber )
+    {
+        requireNonNull( subscriber, "Subscriber can't be null" );
+        subscriber.onSubscribe( new RecordSubscription( subscriber ) );
+    }
+
+    private class RecordSubscription implements Subscription
+    {
+        final Subscriber<? super Record> subscriber;
+        final AtomicBoolean started = new AtomicBoolean();
+        final AtomicLong pendingDemand = new AtomicLong();
+        final AtomicInteger drainRequests = new AtomicInteger();
+
+        volatile PullAllResponseHandler handler;
+        volatile Throwable error;
+        volatile boolean cancelled;
+        boolean terminated;
+        boolean discarded;
+
+        RecordSubscription( Subscriber<? super Record> subscriber )
+        {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request( long n )
+        {
+            if ( n <= 0 )
+            {
+                error = new IllegalArgumentException( "Number of requested records should be positive, but was: " + n );
+                cancelled = true;
+            }
+            else
+            {
+                pendingDemand.accumulateAndGet( n, InternalRecordPublisher::addCapped );
+                if ( started.compareAndSet( false, true ) )
+                {
+                    start();
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel()
+        {
+            cancelled = true;
+            drain();
+        }
+
+        void start()
+        {
+            CompletionStage<StatementResultCursor> cursorStage;
+            try
+            {
+                cursorStage = cursorSupplier.get();
+            }
+            catch ( Throwable e )
+            {
+                cursorStage = Futures.failedFuture( e );
+            }
+
+            cursorStage.whenComplete( ( cursor, cursorError ) ->
+            {
+                if ( cursorError != null )
+                {
+                    error = Futures.completionExceptionCause( cursorError );
+                }
+                else
+                {
+                    PullAllResponseHandler pullAllHandler = ((InternalStatementResultCursor) cursor).pullAllHandler();
+                    // pass initial demand first, so that reading is not paused before the first records arrive
+                    pullAllHandler.requestRecords( pendingDemand.getAndSet( 0 ) );
+                    pullAllHandler.enableDemandDrivenDelivery( this::drain );
+                    handler = pullAllHandler;
+                }
+                drain();
+            } );
+        }
+
+        /**
+         * Deliver buffered records and terminal signals. Invoked from the subscriber and from the event loop, only one
+         * thread delivers at a time and the others just leave a note to make it loop again.
+         */
+        void drain()
+        {
+            if ( drainRequests.getAndIncrement() != 0 )
+            {
+                return;
+            }
+
+            int missed = 1;
+            do
+            {
+                // cancelled subscription keeps draining until handler of a pending cursor arrives and is discarded
+                if ( !terminated || (cancelled && !discarded) )
+                {
+                    deliver();
+                }
+                missed = drainRequests.addAndGet( -missed );
+            }
+            while ( missed != 0 );
+        }
+
+        private void deliver()
+        {
+            PullAllResponseHandler pullAllHandler = handler;
+            if ( cancelled || (pullAllHandler == null && error != null) )
+            {
+                if ( !terminated )
+                {
+                    terminated = true;
+                    if ( error != null )
+                    {
+                        subscriber.onError( error );
+                    }
+                }
+                if ( pullAllHandler != null && !discarded )
+                {
+                    // discard remaining records, connection is released when the summary arrives
+                    // handler of a cursor that completes after cancellation is discarded when it arrives
+                    discarded = true;
+                    pullAllHandler.consumeAsync();
+                }
+                return;
+            }
+            if ( pullAllHandler == null )
+            {
+                return;
+            }
+
+            long demand = pendingDemand.getAndSet( 0 );
+            if ( demand > 0 )
+            {
+                pullAllHandler.requestRecords( demand );
+            }
+
+            Record record;
+            while ( !cancelled && (record = pullAllHandler.pollRequestedRecord()) != null )
+            {
+                subscriber.onNext( record );
+            }
+
+            if ( !cancelled && pullAllHandler.isExhausted() )
+            {
+                terminated = true;
+                Throwable failure = pullAllHandler.failureAsync().toCompletableFuture().getNow( null );
+                if ( failure != null )
+                {
+                    subscriber.onError( failure );
+                }
+                else
+                {
+                    subscriber.onComplete();
+                }
+            }
+            else if ( cancelled )
+            {
+                deliver();
+            }
+        }
+    }
+
+    private static long addCapped( long current, long added )
+    {
+        long sum = current + added;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -18,26 +18,33 @@
  */
 package org.neo4j.driver.internal;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletionStage;
 
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.StatementResult;
-import org.neo4j.driver.v1.StatementResultCursor;
 import org.neo4j.driver.v1.exceptions.ClientException;
 import org.neo4j.driver.v1.exceptions.NoSuchRecordException;
 import org.neo4j.driver.v1.summary.ResultSummary;
 import org.neo4j.driver.v1.util.Function;
+import org.neo4j.driver.v1.util.Functions;
 
 public class InternalStatementResult implements StatementResult
 {
     private final Connection connection;
-    private final StatementResultCursor cursor;
+    private final InternalStatementResultCursor cursor;
+    // records taken from the cursor in batches and not yet returned to the user
+    private final Queue<Record> records = new ArrayDeque<>();
+    // more records are taken when local queue shrinks to this size, so that consumption is reported to the cursor
+    private int refillSize;
     private List<String> keys;
 
-    public InternalStatementResult( Connection connection, StatementResultCursor cursor )
+    public InternalStatementResult( Connection connection, InternalStatementResultCursor cursor )
     {
         this.connection = connection;
         this.cursor = cursor;
@@ -48,7 +55,7 @@ public class InternalStatementResult implements StatementResult
     {
         if ( keys == null )
         {
-            blockingGet( cursor.peekAsync() );
+            peekRecord();
             keys = cursor.keys();
         }
         return keys;
@@ -57,30 +64,44 @@ public class InternalStatementResult implements StatementResult
     @Override
     public boolean hasNext()
     {
-        return blockingGet( cursor.peekAsync() ) != null;
+        return peekRecord() != null;
     }
 
     @Override
     public Record next()
     {
-        Record record = blockingGet( cursor.nextAsync() );
+        Record record = peekRecord();
         if ( record == null )
         {
             throw new NoSuchRecordException( "No more records" );
         }
-        return record;
+        return records.poll();
     }
 
     @Override
     public Record single()
     {
-        return blockingGet( cursor.singleAsync() );
+        Record firstRecord = peekRecord();
+        if ( firstRecord == null )
+        {
+            throw new NoSuchRecordException( "Cannot retrieve a single record, because this result is empty." );
+        }
+        records.poll();
+        if ( peekRecord() != null )
+        {
+            records.poll();
+            throw new NoSuchRecordException(
+                    "Expected a result with a single record, but this result " +
+                    "contains at least one more. Ensure your query returns only " +
+                    "one record." );
+        }
+        return firstRecord;
     }
 
     @Override
     public Record peek()
     {
-        Record record = blockingGet( cursor.peekAsync() );
+        Record record = peekRecord();
         if ( record == null )
         {
             throw new NoSuchRecordException( "Cannot peek past the last record" );
@@ -91,18 +112,30 @@ public class InternalStatementResult implements StatementResult
     @Override
     public List<Record> list()
     {
-        return blockingGet( cursor.listAsync() );
+        return list( Functions.identity() );
     }
 
     @Override
     public <T> List<T> list( Function<Record, T> mapFunction )
     {
-        return blockingGet( cursor.listAsync( mapFunction ) );
+        if ( records.isEmpty() )
+        {
+            return blockingGet( cursor.listAsync( mapFunction ) );
+        }
+
+        List<T> result = new ArrayList<>( records.size() );
+        while ( !records.isEmpty() )
+        {
+            result.add( mapFunction.apply( records.poll() ) );
+        }
+        result.addAll( blockingGet( cursor.listAsync( mapFunction ) ) );
+        return result;
     }
 
     @Override
     public ResultSummary consume()
     {
+        records.clear();
         return blockingGet( cursor.consumeAsync() );
     }
 
@@ -118,6 +151,39 @@ public class InternalStatementResult implements StatementResult
         throw new ClientException( "Removing records from a result is not supported." );
     }
 
+    /**
+     * Take all records buffered by the cursor under a single lock and only block when none are available. Avoids
+     * waiting on a future for every record when records arrive faster than they are consumed.
+     *
+     * @return the next record or {@code null} when there are no more records.
+     */
+    private Record peekRecord()
+    {
+        if ( !records.isEmpty() && records.size() <= refillSize )
+        {
+            drainRecords();
+        }
+        while ( records.isEmpty() )
+        {
+            if ( drainRecords() == 0 )
+            {
+                // nothing is buffered, wait for the next record or the end of the result to arrive
+                if ( blockingGet( cursor.peekAsync() ) == null )
+                {
+                    return null;
+                }
+            }
+        }
+        return records.peek();
+    }
+
+    private int drainRecords()
+    {
+        int count = cursor.pullAllHandler().drainRecords( records );
+        refillSize = records.size() / 2;
+        return count;
+    }
+
     private <T> T blockingGet( CompletionStage<T> stage )
     {
         return Futures.blockingGet( stage, this::terminateConnectionOnThreadInterrupt );
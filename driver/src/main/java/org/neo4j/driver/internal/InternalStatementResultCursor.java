@@ -18,9 +18,13 @@
  */
 package org.neo4j.driver.internal;
 
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import org.neo4j.driver.internal.handlers.PullAllResponseHandler;
 import org.neo4j.driver.internal.handlers.RunResponseHandler;
@@ -35,6 +39,8 @@ import org.neo4j.driver.v1.util.Functions;
 
 public class InternalStatementResultCursor implements StatementResultCursor
 {
+    static final int FOR_EACH_BATCH_SIZE = 1000;
+
     private final RunResponseHandler runResponseHandler;
     private final PullAllResponseHandler pullAllHandler;
 
@@ -44,6 +50,11 @@ public class InternalStatementResultCursor implements StatementResultCursor
         this.pullAllHandler = pullAllHandler;
     }
 
+    PullAllResponseHandler pullAllHandler()
+    {
+        return pullAllHandler;
+    }
+
     @Override
     public List<String> keys()
     {
@@ -100,9 +111,16 @@ public class InternalStatementResultCursor implements StatementResultCursor
 
     @Override
     public CompletionStage<ResultSummary> forEachAsync( Consumer<Record> action )
+    {
+        return forEachAsync( action, ForkJoinPool.commonPool() );
+    }
+
+    @Override
+    public CompletionStage<ResultSummary> forEachAsync( Consumer<Record> action, Executor executor )
     {
         CompletableFuture<Void> resultFuture = new CompletableFuture<>();
-        internalForEachAsync( action, resultFuture );
+        Queue<Record> records = new ArrayDeque<>();
+        execute( executor, () -> internalForEachAsync( action, executor, records, resultFuture ), resultFuture );
         return resultFuture.thenCompose( ignore -> summaryAsync() );
     }
 
@@ -123,36 +141,62 @@ public class InternalStatementResultCursor implements StatementResultCursor
         return pullAllHandler.failureAsync();
     }
 
-    private void internalForEachAsync( Consumer<Record> action, CompletableFuture<Void> resultFuture )
+    private void internalForEachAsync( Consumer<Record> action, Executor executor, Queue<Record> records,
+            CompletableFuture<Void> resultFuture )
     {
-        CompletionStage<Record> recordFuture = nextAsync();
-
-        // use async completion listener because of recursion, otherwise it is possible for
-        // the caller thread to get StackOverflowError when result is large and buffered
-        recordFuture.whenCompleteAsync( ( record, completionError ) ->
+        if ( !records.isEmpty() )
         {
-            Throwable error = Futures.completionExceptionCause( completionError );
-            if ( error != null )
+            // report records consumed by the previous batch, so that more can be fetched while remaining are processed
+            pullAllHandler.drainRecords( records );
+        }
+        for ( int processed = 0; processed < FOR_EACH_BATCH_SIZE; processed++ )
+        {
+            if ( records.isEmpty() && pullAllHandler.drainRecords( records ) == 0 )
             {
-                resultFuture.completeExceptionally( error );
+                // nothing is buffered, continue in the executor when next record or the end of the result arrives
+                peekAsync().whenComplete( ( record, completionError ) -> execute( executor, () ->
+                {
+                    Throwable error = Futures.completionExceptionCause( completionError );
+                    if ( error != null )
+                    {
+                        resultFuture.completeExceptionally( error );
+                    }
+                    else if ( record != null )
+                    {
+                        internalForEachAsync( action, executor, records, resultFuture );
+                    }
+                    else
+                    {
+                        resultFuture.complete( null );
+                    }
+                }, resultFuture ) );
+                return;
             }
-            else if ( record != null )
+
+            try
             {
-                try
-                {
-                    action.accept( record );
-                }
-                catch ( Throwable actionError )
-                {
-                    resultFuture.completeExceptionally( actionError );
-                    return;
-                }
-                internalForEachAsync( action, resultFuture );
+                action.accept( records.poll() );
             }
-            else
+            catch ( Throwable actionError )
             {
-                resultFuture.complete( null );
+                resultFuture.completeExceptionally( actionError );
+                return;
             }
-        } );
+        }
+
+        // batch is complete, give other tasks a chance to run before processing more records
+        execute( executor, () -> internalForEachAsync( action, executor, records, resultFuture ), resultFuture );
+    }
+
+    private static void execute( Executor executor, Runnable task, CompletableFuture<Void> resultFuture )
+    {
+        try
+        {
+            executor.execute( task );
+        }
+        catch ( Throwable error )
+        {
+            resultFuture.completeExceptionally( error );
+        }
     }
 }
@@ -18,6 +18,7 @@
  */
 package org.neo4j.driver.internal;
 
+import org.neo4j.driver.internal.async.HedgedReadRunner;
 import org.neo4j.driver.internal.retry.RetryLogic;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
 import org.neo4j.driver.internal.util.Futures;
@@ -31,9 +32,9 @@ class LeakLoggingNetworkSession extends NetworkSession
     private final String stackTrace;
 
     LeakLoggingNetworkSession( ConnectionProvider connectionProvider, AccessMode mode, RetryLogic retryLogic,
-            Logging logging )
+            HedgedReadRunner hedgedReadRunner, Logging logging )
     {
-        super( connectionProvider, mode, retryLogic, logging );
+        super( connectionProvider, mode, retryLogic, hedgedReadRunner, logging );
         this.stackTrace = captureStackTrace();
     }
 
@@ -23,6 +23,7 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.neo4j.driver.internal.async.HedgedReadRunner;
 import org.neo4j.driver.internal.async.QueryRunner;
 import org.neo4j.driver.internal.logging.PrefixedLogger;
 import org.neo4j.driver.internal.retry.RetryLogic;
@@ -51,6 +52,7 @@ public class NetworkSession extends AbstractStatementRunner implements Session
     private final ConnectionProvider connectionProvider;
     private final AccessMode mode;
     private final RetryLogic retryLogic;
+    private final HedgedReadRunner hedgedReadRunner;
     protected final Logger logger;
 
     private volatile Bookmark bookmark = Bookmark.empty();
@@ -62,17 +64,24 @@ public class NetworkSession extends AbstractStatementRunner implements Session
 
     public NetworkSession( ConnectionProvider connectionProvider, AccessMode mode, RetryLogic retryLogic,
             Logging logging )
+    {
+        this( connectionProvider, mode, retryLogic, null, logging );
+    }
+
+    public NetworkSession( ConnectionProvider connectionProvider, AccessMode mode, RetryLogic retryLogic,
+            HedgedReadRunner hedgedReadRunner, Logging logging )
     {
         this.connectionProvider = connectionProvider;
         this.mode = mode;
         this.retryLogic = retryLogic;
+        this.hedgedReadRunner = mode == AccessMode.READ ? hedgedReadRunner : null;
         this.logger = new PrefixedLogger( "[" + hashCode() + "]", logging.getLog( LOG_NAME ) );
     }
 
     @Override
     public StatementResult run( Statement statement )
     {
-        StatementResultCursor cursor = Futures.blockingGet( run( statement, false ),
+        InternalStatementResultCursor cursor = Futures.blockingGet( run( statement, false ),
                 () -> terminateConnectionOnThreadInterrupt( "Thread interrupted while running query in session" ) );
 
         // query executed, it is safe to obtain a connection in a blocking way
@@ -365,13 +374,28 @@ public class NetworkSession extends AbstractStatementRunner implements Session
 
         CompletionStage<InternalStatementResultCursor> newResultCursorStage = ensureNoOpenTxBeforeRunningQuery()
                 .thenCompose( ignore -> acquireConnection( mode ) )
-                .thenCompose( connection -> QueryRunner.runInSession( connection, statement, waitForRunResponse ) );
+                .thenCompose( connection -> runInSession( connection, statement, waitForRunResponse ) );
 
         resultCursorStage = newResultCursorStage.exceptionally( error -> null );
 
         return newResultCursorStage;
     }
 
+    private CompletionStage<InternalStatementResultCursor> runInSession( Connection connection, Statement statement,
+            boolean waitForRunResponse )
+    {
+        if ( hedgedReadRunner == null )
+        {
+            return QueryRunner.runInSession( connection, statement, waitForRunResponse );
+        }
+        return hedgedReadRunner.runInSession( connection, statement, waitForRunResponse ).thenApply( result ->
+        {
+            // hedged query might have responded first, its connection replaces the acquired one
+            connectionStage = completedFuture( result.connection() );
+            return result.cursor();
+        } );
+    }
+
     private Transaction beginTransaction( AccessMode mode )
     {
         return Futures.blockingGet( beginTransactionAsync( mode ),
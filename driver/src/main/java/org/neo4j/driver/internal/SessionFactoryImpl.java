@@ -20,6 +20,7 @@ package org.neo4j.driver.internal;
 
 import java.util.concurrent.CompletionStage;
 
+import org.neo4j.driver.internal.async.HedgedReadRunner;
 import org.neo4j.driver.internal.retry.RetryLogic;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
 import org.neo4j.driver.v1.AccessMode;
@@ -31,12 +32,20 @@ public class SessionFactoryImpl implements SessionFactory
 {
     private final ConnectionProvider connectionProvider;
     private final RetryLogic retryLogic;
+    private final HedgedReadRunner hedgedReadRunner;
     private final Logging logging;
     private final boolean leakedSessionsLoggingEnabled;
 
     SessionFactoryImpl( ConnectionProvider connectionProvider, RetryLogic retryLogic, Config config )
+    {
+        this( connectionProvider, retryLogic, null, config );
+    }
+
+    SessionFactoryImpl( ConnectionProvider connectionProvider, RetryLogic retryLogic,
+            HedgedReadRunner hedgedReadRunner, Config config )
     {
         this.connectionProvider = connectionProvider;
+        this.hedgedReadRunner = hedgedReadRunner;
         this.leakedSessionsLoggingEnabled = config.logLeakedSessions();
         this.retryLogic = retryLogic;
         this.logging = config.logging();
@@ -78,7 +87,7 @@ public class SessionFactoryImpl implements SessionFactory
             AccessMode mode, Logging logging )
     {
         return leakedSessionsLoggingEnabled
-               ? new LeakLoggingNetworkSession( connectionProvider, mode, retryLogic, logging )
-               : new NetworkSession( connectionProvider, mode, retryLogic, logging );
+               ? new LeakLoggingNetworkSession( connectionProvider, mode, retryLogic, hedgedReadRunner, logging )
+               : new NetworkSession( connectionProvider, mode, retryLogic, hedgedReadRunner, logging );
     }
 }
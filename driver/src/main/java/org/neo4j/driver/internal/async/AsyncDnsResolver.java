@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import io.netty.util.NetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.internal.util.Clock;
+
+/**
+ * Resolves host names to IP addresses without blocking the calling thread. Blocking lookups via
+ * {@link InetAddress#getAllByName(String)} are performed by a small pool of dedicated daemon threads, so that a slow
+ * DNS server never stalls event loop threads.
+ * <p>
+ * Successful lookups are cached for the configured TTL and failed lookups for the configured negative TTL. At most one
+ * lookup is in progress for any host name, concurrent callers share its result. Expired entries are evicted when a new
+ * lookup starts, so the cache does not grow with host names that are no longer used.
+ */
+public class AsyncDnsResolver
+{
+    public static final long DEFAULT_CACHE_TTL = TimeUnit.SECONDS.toMillis( 30 );
+    public static final long DEFAULT_NEGATIVE_CACHE_TTL = TimeUnit.SECONDS.toMillis( 10 );
+
+    private static final String THREAD_NAME_PREFIX = "Neo4jDriverDNS";
+    private static final int LOOKUP_THREADS = 4;
+    private static final long LOOKUP_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final Executor lookupExecutor;
+    private final boolean ownsLookupExecutor;
+    private final long cacheTtlMillis;
+    private final long negativeCacheTtlMillis;
+    private final Clock clock;
+    private final ConcurrentMap<String,CacheEntry> cache = new ConcurrentHashMap<>();
+
+    public AsyncDnsResolver( long cacheTtlMillis, long negativeCacheTtlMillis, Clock clock )
+    {
+        this( newLookupExecutor(), true, cacheTtlMillis, negativeCacheTtlMillis, clock );
+    }
+
+    public AsyncDnsResolver( Executor lookupExecutor, long cacheTtlMillis, long negativeCacheTtlMillis, Clock clock )
+    {
+        this( lookupExecutor, false, cacheTtlMillis, negativeCacheTtlMillis, clock );
+    }
+
+    private AsyncDnsResolver( Executor lookupExecutor, boolean ownsLookupExecutor, long cacheTtlMillis,
+            long negativeCacheTtlMillis, Clock clock )
+    {
+        this.lookupExecutor = lookupExecutor;
+        this.ownsLookupExecutor = ownsLookupExecutor;
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.negativeCacheTtlMillis = negativeCacheTtlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Resolve the given host name to all its IP addresses.
+     *
+     * @param host the host name or IP address literal.
+     * @return stage completed with non-empty array of addresses or failed with {@link UnknownHostException}.
+     */
+    public CompletionStage<InetAddress[]> resolveAll( String host )
+    {
+        if ( isIpAddress( host ) )
+        {
+            // IP address literals are parsed without DNS lookups
+            return resolveIpAddress( host );
+        }
+
+        while ( true )
+        {
+            long now = clock.millis();
+            CacheEntry entry = cache.get( host );
+            if ( entry != null && !entry.isExpired( now ) )
+            {
+                return entry.result;
+            }
+
+            CacheEntry newEntry = new CacheEntry();
+            boolean installed = entry == null ? cache.putIfAbsent( host, newEntry ) == null
+                                              : cache.replace( host, entry, newEntry );
+            if ( installed )
+            {
+                evictExpired( now );
+                lookup( host, newEntry );
+                return newEntry.result;
+            }
+            // some other thread started a lookup for the same host, use its result
+        }
+    }
+
+    /**
+     * Stop lookup threads created by this resolver. Lookups started after this call fail.
+     */
+    public void close()
+    {
+        if ( ownsLookupExecutor )
+        {
+            ((ExecutorService) lookupExecutor).shutdown();
+        }
+        cache.clear();
+    }
+
+    int cachedHostCount()
+    {
+        return cache.size();
+    }
+
+    private void evictExpired( long now )
+    {
+        // removal is conditional on the entry, so concurrently installed entries are never removed
+        cache.values().removeIf( entry -> entry.isExpired( now ) );
+    }
+
+    private void lookup( String host, CacheEntry entry )
+    {
+        try
+        {
+            lookupExecutor.execute( () ->
+            {
+                try
+                {
+                    entry.complete( InetAddress.getAllByName( host ), null );
+                }
+                catch ( Throwable error )
+                {
+                    entry.complete( null, error );
+                }
+            } );
+        }
+        catch ( Throwable error )
+        {
+            // executor rejected the lookup, do not cache this failure
+            cache.remove( host, entry );
+            entry.result.completeExceptionally( error );
+        }
+    }
+
+    private static boolean isIpAddress( String host )
+    {
+        return NetUtil.isValidIpV4Address( host ) || NetUtil.isValidIpV6Address( host );
+    }
+
+    private static CompletionStage<InetAddress[]> resolveIpAddress( String host )
+    {
+        CompletableFuture<InetAddress[]> result = new CompletableFuture<>();
+        try
+        {
+            result.complete( new InetAddress[]{InetAddress.getByName( host )} );
+        }
+        catch ( UnknownHostException e )
+        {
+            result.completeExceptionally( e );
+        }
+        return result;
+    }
+
+    private static ExecutorService newLookupExecutor()
+    {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor( LOOKUP_THREADS, LOOKUP_THREADS,
+                LOOKUP_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new DefaultThreadFactory( THREAD_NAME_PREFIX, true ) );
+        // threads are only needed while lookups happen, let them terminate when idle
+        executor.allowCoreThreadTimeOut( true );
+        return executor;
+    }
+
+    private class CacheEntry
+    {
+        final CompletableFuture<InetAddress[]> result = new CompletableFuture<>();
+
+        // entry does not expire while its lookup is in progress
+        volatile long expirationTimestamp = Long.MAX_VALUE;
+
+        boolean isExpired( long now )
+        {
+            return now >= expirationTimestamp;
+        }
+
+        void complete( InetAddress[] addresses, Throwable error )
+        {
+            long ttl = error == null ? cacheTtlMillis : negativeCacheTtlMillis;
+            expirationTimestamp = clock.millis() + ttl;
+            if ( error == null )
+            {
+                result.complete( addresses );
+            }
+            else
+            {
+                result.completeExceptionally( error );
+            }
+        }
+    }
+}
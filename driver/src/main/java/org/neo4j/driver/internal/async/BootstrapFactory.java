@@ -19,6 +19,7 @@
 package org.neo4j.driver.internal.async;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 
@@ -38,11 +39,26 @@ public final class BootstrapFactory
         return newBootstrap( EventLoopGroupFactory.newEventLoopGroup( threadCount ) );
     }
 
+    public static Bootstrap newBootstrap( int threadCount, int threadPriority )
+    {
+        return newBootstrap( EventLoopGroupFactory.newEventLoopGroup( threadCount, threadPriority ) );
+    }
+
+    public static Bootstrap newBootstrapForExternalEventLoopGroup( EventLoopGroup eventLoopGroup )
+    {
+        return newBootstrap( eventLoopGroup, EventLoopGroupFactory.channelClass( eventLoopGroup ) );
+    }
+
     private static Bootstrap newBootstrap( EventLoopGroup eventLoopGroup )
+    {
+        return newBootstrap( eventLoopGroup, EventLoopGroupFactory.channelClass() );
+    }
+
+    private static Bootstrap newBootstrap( EventLoopGroup eventLoopGroup, Class<? extends Channel> channelClass )
     {
         Bootstrap bootstrap = new Bootstrap();
         bootstrap.group( eventLoopGroup );
-        bootstrap.channel( EventLoopGroupFactory.channelClass() );
+        bootstrap.channel( channelClass );
         bootstrap.option( ChannelOption.SO_KEEPALIVE, true );
         bootstrap.option( ChannelOption.SO_REUSEADDR, true );
         return bootstrap;
@@ -33,8 +33,10 @@ public final class ChannelAttributes
     private static final AttributeKey<ServerVersion> SERVER_VERSION = newInstance( "serverVersion" );
     private static final AttributeKey<Long> CREATION_TIMESTAMP = newInstance( "creationTimestamp" );
     private static final AttributeKey<Long> LAST_USED_TIMESTAMP = newInstance( "lastUsedTimestamp" );
+    private static final AttributeKey<Long> MAX_LIFETIME = newInstance( "maxLifetime" );
     private static final AttributeKey<InboundMessageDispatcher> MESSAGE_DISPATCHER = newInstance( "messageDispatcher" );
     private static final AttributeKey<String> TERMINATION_REASON = newInstance( "terminationReason" );
+    private static final AttributeKey<Long> RECORD_BUFFER_SIZE = newInstance( "recordBufferSize" );
 
     private ChannelAttributes()
     {
@@ -80,6 +82,17 @@ public final class ChannelAttributes
         set( channel, LAST_USED_TIMESTAMP, lastUsedTimestamp );
     }
 
+    public static Long maxLifetime( Channel channel )
+    {
+        return get( channel, MAX_LIFETIME );
+    }
+
+    public static long setMaxLifetimeIfAbsent( Channel channel, long maxLifetime )
+    {
+        Long existingValue = channel.attr( MAX_LIFETIME ).setIfAbsent( maxLifetime );
+        return existingValue == null ? maxLifetime : existingValue;
+    }
+
     public static InboundMessageDispatcher messageDispatcher( Channel channel )
     {
         return get( channel, MESSAGE_DISPATCHER );
@@ -100,6 +113,17 @@ public final class ChannelAttributes
         setOnce( channel, TERMINATION_REASON, reason );
     }
 
+    public static long recordBufferSize( Channel channel )
+    {
+        Long size = get( channel, RECORD_BUFFER_SIZE );
+        return size == null ? 0 : size;
+    }
+
+    public static void setRecordBufferSize( Channel channel, long size )
+    {
+        setOnce( channel, RECORD_BUFFER_SIZE, size );
+    }
+
     private static <T> T get( Channel channel, AttributeKey<T> key )
     {
         return channel.attr( key ).get();
@@ -26,4 +26,10 @@ import org.neo4j.driver.internal.BoltServerAddress;
 public interface ChannelConnector
 {
     ChannelFuture connect( BoltServerAddress address, Bootstrap bootstrap );
+
+    /**
+     * Release resources used to establish connections, like DNS lookup threads. Invoked when the connection pool is
+     * closed.
+     */
+    void close();
 }
@@ -48,23 +48,41 @@ public class ChannelConnectorImpl implements ChannelConnector
     private final SecurityPlan securityPlan;
     private final ChannelPipelineBuilder pipelineBuilder;
     private final int connectTimeoutMillis;
+    private final SocketSettings socketSettings;
+    private final long recordBufferSize;
+    private final DriverAddressResolverGroup resolverGroup;
     private final Logging logging;
     private final Clock clock;
 
     public ChannelConnectorImpl( ConnectionSettings connectionSettings, SecurityPlan securityPlan, Logging logging,
             Clock clock )
     {
-        this( connectionSettings, securityPlan, new ChannelPipelineBuilderImpl(), logging, clock );
+        this( connectionSettings, securityPlan, newDnsResolver( clock ), logging, clock );
+    }
+
+    public ChannelConnectorImpl( ConnectionSettings connectionSettings, SecurityPlan securityPlan,
+            AsyncDnsResolver dnsResolver, Logging logging, Clock clock )
+    {
+        this( connectionSettings, securityPlan, new ChannelPipelineBuilderImpl(), dnsResolver, logging, clock );
     }
 
     public ChannelConnectorImpl( ConnectionSettings connectionSettings, SecurityPlan securityPlan,
             ChannelPipelineBuilder pipelineBuilder, Logging logging, Clock clock )
+    {
+        this( connectionSettings, securityPlan, pipelineBuilder, newDnsResolver( clock ), logging, clock );
+    }
+
+    public ChannelConnectorImpl( ConnectionSettings connectionSettings, SecurityPlan securityPlan,
+            ChannelPipelineBuilder pipelineBuilder, AsyncDnsResolver dnsResolver, Logging logging, Clock clock )
     {
         this.userAgent = connectionSettings.userAgent();
         this.authToken = tokenAsMap( connectionSettings.authToken() );
         this.connectTimeoutMillis = connectionSettings.connectTimeoutMillis();
+        this.socketSettings = connectionSettings.socketSettings();
+        this.recordBufferSize = connectionSettings.recordBufferSize();
         this.securityPlan = requireNonNull( securityPlan );
         this.pipelineBuilder = pipelineBuilder;
+        this.resolverGroup = new DriverAddressResolverGroup( requireNonNull( dnsResolver ) );
         this.logging = requireNonNull( logging );
         this.clock = requireNonNull( clock );
     }
@@ -73,7 +91,10 @@ public class ChannelConnectorImpl implements ChannelConnector
     public ChannelFuture connect( BoltServerAddress address, Bootstrap bootstrap )
     {
         bootstrap.option( ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis );
-        bootstrap.handler( new NettyChannelInitializer( address, securityPlan, connectTimeoutMillis, clock, logging ) );
+        socketSettings.applyTo( bootstrap );
+        bootstrap.resolver( resolverGroup );
+        bootstrap.handler( new NettyChannelInitializer( address, securityPlan, connectTimeoutMillis, recordBufferSize,
+                clock, logging ) );
 
         ChannelFuture channelConnected = bootstrap.connect( address.toSocketAddress() );
 
@@ -87,6 +108,12 @@ public class ChannelConnectorImpl implements ChannelConnector
         return connectionInitialized;
     }
 
+    @Override
+    public void close()
+    {
+        resolverGroup.close();
+    }
+
     private void installChannelConnectedListeners( BoltServerAddress address, ChannelFuture channelConnected,
             ChannelPromise handshakeCompleted )
     {
@@ -116,6 +143,12 @@ public class ChannelConnectorImpl implements ChannelConnector
         handshakeCompleted.addListener( new HandshakeCompletedListener( userAgent, authToken, connectionInitialized ) );
     }
 
+    private static AsyncDnsResolver newDnsResolver( Clock clock )
+    {
+        return new AsyncDnsResolver( AsyncDnsResolver.DEFAULT_CACHE_TTL, AsyncDnsResolver.DEFAULT_NEGATIVE_CACHE_TTL,
+                clock );
+    }
+
     private static Map<String,Value> tokenAsMap( AuthToken token )
     {
         if ( token instanceof InternalAuthToken )
@@ -19,6 +19,7 @@
 package org.neo4j.driver.internal.async;
 
 import io.netty.channel.ChannelPipeline;
+import io.netty.handler.stream.ChunkedWriteHandler;
 
 import org.neo4j.driver.internal.async.inbound.ChannelErrorHandler;
 import org.neo4j.driver.internal.async.inbound.ChunkDecoder;
@@ -39,6 +40,7 @@ public class ChannelPipelineBuilderImpl implements ChannelPipelineBuilder
         pipeline.addLast( new InboundMessageHandler( messageFormat, logging ) );
 
         // outbound handlers
+        pipeline.addLast( new ChunkedWriteHandler() );
         pipeline.addLast( OutboundMessageHandler.NAME, new OutboundMessageHandler( messageFormat, logging ) );
 
         // last one - error handler
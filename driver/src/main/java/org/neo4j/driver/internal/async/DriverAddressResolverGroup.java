@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+import org.neo4j.driver.internal.util.Futures;
+
+/**
+ * Netty {@link AddressResolverGroup} that resolves addresses of new connections using {@link AsyncDnsResolver}
+ * instead of performing blocking lookups on event loop threads.
+ */
+public class DriverAddressResolverGroup extends AddressResolverGroup<InetSocketAddress>
+{
+    private final AsyncDnsResolver dnsResolver;
+
+    public DriverAddressResolverGroup( AsyncDnsResolver dnsResolver )
+    {
+        this.dnsResolver = dnsResolver;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver( EventExecutor executor )
+    {
+        return new DriverNameResolver( executor, dnsResolver ).asAddressResolver();
+    }
+
+    @Override
+    public void close()
+    {
+        super.close();
+        dnsResolver.close();
+    }
+
+    private static class DriverNameResolver extends InetNameResolver
+    {
+        final AsyncDnsResolver dnsResolver;
+
+        DriverNameResolver( EventExecutor executor, AsyncDnsResolver dnsResolver )
+        {
+            super( executor );
+            this.dnsResolver = dnsResolver;
+        }
+
+        @Override
+        protected void doResolve( String inetHost, Promise<InetAddress> promise )
+        {
+            dnsResolver.resolveAll( inetHost ).whenComplete( ( addresses, error ) ->
+            {
+                if ( error != null )
+                {
+                    promise.tryFailure( Futures.completionExceptionCause( error ) );
+                }
+                else
+                {
+                    promise.trySuccess( addresses[0] );
+                }
+            } );
+        }
+
+        @Override
+        protected void doResolveAll( String inetHost, Promise<List<InetAddress>> promise )
+        {
+            dnsResolver.resolveAll( inetHost ).whenComplete( ( addresses, error ) ->
+            {
+                if ( error != null )
+                {
+                    promise.tryFailure( Futures.completionExceptionCause( error ) );
+                }
+                else
+                {
+                    promise.trySuccess( Arrays.asList( addresses ) );
+                }
+            } );
+        }
+    }
+}
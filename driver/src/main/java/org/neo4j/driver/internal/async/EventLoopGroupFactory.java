@@ -24,21 +24,34 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.FastThreadLocalThread;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 
 import org.neo4j.driver.v1.Session;
 
 /**
  * Manages creation of Netty {@link EventLoopGroup}s, which are basically {@link Executor}s that perform IO operations.
+ * Native Linux epoll transport is used when it is available on the classpath, NIO transport is used otherwise.
  */
 public final class EventLoopGroupFactory
 {
     private static final String THREAD_NAME_PREFIX = "Neo4jDriverIO";
-    private static final int THREAD_PRIORITY = Thread.MAX_PRIORITY;
+    public static final int DEFAULT_THREAD_COUNT = 0;
+    public static final int DEFAULT_THREAD_PRIORITY = Thread.MAX_PRIORITY;
+
+    private static final boolean NATIVE_TRANSPORT_AVAILABLE = checkNativeTransportAvailability();
+    private static final ConcurrentMap<EventLoopGroup,Integer> EXTERNAL_EVENT_LOOP_GROUPS = new ConcurrentHashMap<>();
+    // threads of registered external groups, marked once on registration so that checks do not iterate the groups
+    private static final ConcurrentMap<Thread,EventLoopGroup> EXTERNAL_EVENT_LOOP_THREADS = new ConcurrentHashMap<>();
 
     private EventLoopGroupFactory()
     {
@@ -52,9 +65,35 @@ public final class EventLoopGroupFactory
      */
     public static Class<? extends Channel> channelClass()
     {
+        if ( isNativeTransportAvailable() )
+        {
+            return NativeTransport.channelClass();
+        }
         return NioSocketChannel.class;
     }
 
+    /**
+     * Get class of {@link Channel} for {@link Bootstrap#channel(Class)} method that is compatible with the given
+     * externally created {@link EventLoopGroup}.
+     *
+     * @param eventLoopGroup the group to get channel class for.
+     * @return class of the channel.
+     * @throws IllegalArgumentException when given group does not support neither NIO nor native transport.
+     */
+    public static Class<? extends Channel> channelClass( EventLoopGroup eventLoopGroup )
+    {
+        if ( eventLoopGroup instanceof NioEventLoopGroup )
+        {
+            return NioSocketChannel.class;
+        }
+        if ( isNativeTransportAvailable() && NativeTransport.isNativeEventLoopGroup( eventLoopGroup ) )
+        {
+            return NativeTransport.channelClass();
+        }
+        throw new IllegalArgumentException( "Unsupported event loop group " + eventLoopGroup + ". " +
+                                            "Only NIO and native epoll event loop groups can be used" );
+    }
+
     /**
      * Create new {@link EventLoopGroup} with specified thread count. Returned group should by given to
      * {@link Bootstrap#group(EventLoopGroup)}.
@@ -64,7 +103,25 @@ public final class EventLoopGroupFactory
      */
     public static EventLoopGroup newEventLoopGroup( int threadCount )
     {
-        return new DriverEventLoopGroup( threadCount );
+        return newEventLoopGroup( threadCount, DEFAULT_THREAD_PRIORITY );
+    }
+
+    /**
+     * Create new {@link EventLoopGroup} with specified thread count and thread priority. Returned group should by
+     * given to {@link Bootstrap#group(EventLoopGroup)}.
+     *
+     * @param threadCount amount of IO threads for the new group, {@code 0} for Netty default.
+     * @param threadPriority priority of IO threads of the new group.
+     * @return new group consistent with channel class returned by {@link #channelClass()}.
+     */
+    public static EventLoopGroup newEventLoopGroup( int threadCount, int threadPriority )
+    {
+        ThreadFactory threadFactory = new DriverThreadFactory( threadPriority );
+        if ( isNativeTransportAvailable() )
+        {
+            return NativeTransport.newEventLoopGroup( threadCount, threadFactory );
+        }
+        return new NioEventLoopGroup( threadCount, threadFactory );
     }
 
     /**
@@ -75,7 +132,92 @@ public final class EventLoopGroupFactory
      */
     public static EventLoopGroup newEventLoopGroup()
     {
-        return new DriverEventLoopGroup();
+        return newEventLoopGroup( DEFAULT_THREAD_COUNT );
+    }
+
+    /**
+     * Check if native Linux epoll transport is available and will be used instead of NIO.
+     *
+     * @return {@code true} when native transport is used, {@code false} otherwise.
+     */
+    public static boolean isNativeTransportAvailable()
+    {
+        return NATIVE_TRANSPORT_AVAILABLE;
+    }
+
+    private static boolean checkNativeTransportAvailability()
+    {
+        try
+        {
+            return NativeTransport.isAvailable();
+        }
+        catch ( LinkageError ignore )
+        {
+            // optional dependency is not on the classpath
+            return false;
+        }
+    }
+
+    /**
+     * Register an externally created {@link EventLoopGroup} so that its threads are recognized by
+     * {@link #assertNotInEventLoopThread()}. Same group can be registered multiple times, for example when it is
+     * shared by multiple drivers, and should be unregistered the same number of times.
+     *
+     * @param eventLoopGroup the group to register.
+     */
+    public static void registerExternalEventLoopGroup( EventLoopGroup eventLoopGroup )
+    {
+        if ( EXTERNAL_EVENT_LOOP_GROUPS.merge( eventLoopGroup, 1, Integer::sum ) == 1 )
+        {
+            markEventLoopThreads( eventLoopGroup );
+        }
+    }
+
+    /**
+     * Unregister an externally created {@link EventLoopGroup} previously registered with
+     * {@link #registerExternalEventLoopGroup(EventLoopGroup)}.
+     *
+     * @param eventLoopGroup the group to unregister.
+     */
+    public static void unregisterExternalEventLoopGroup( EventLoopGroup eventLoopGroup )
+    {
+        Integer count = EXTERNAL_EVENT_LOOP_GROUPS.computeIfPresent( eventLoopGroup,
+                ( group, oldCount ) -> oldCount == 1 ? null : oldCount - 1 );
+        if ( count == null )
+        {
+            EXTERNAL_EVENT_LOOP_THREADS.values().removeIf( eventLoopGroup::equals );
+        }
+    }
+
+    /**
+     * Record threads of the given group by executing a marking task in each of its event loops. Waits for all tasks
+     * to complete, so that threads are recognized as soon as the group is registered. Thread of the current event
+     * loop is marked directly to not wait for itself.
+     */
+    private static void markEventLoopThreads( EventLoopGroup eventLoopGroup )
+    {
+        List<io.netty.util.concurrent.Future<?>> markFutures = new ArrayList<>();
+        for ( EventExecutor executor : eventLoopGroup )
+        {
+            if ( executor.inEventLoop() )
+            {
+                EXTERNAL_EVENT_LOOP_THREADS.put( Thread.currentThread(), eventLoopGroup );
+                continue;
+            }
+            try
+            {
+                markFutures.add( executor.submit(
+                        () -> EXTERNAL_EVENT_LOOP_THREADS.put( Thread.currentThread(), eventLoopGroup ) ) );
+            }
+            catch ( RejectedExecutionException ignore )
+            {
+                // event loop is shut down and will not execute any more tasks, including driver IO
+            }
+        }
+        for ( io.netty.util.concurrent.Future<?> markFuture : markFutures )
+        {
+            markFuture.awaitUninterruptibly();
+        }
     }
 
     /**
@@ -104,29 +246,7 @@ public final class EventLoopGroupFactory
      */
     public static boolean isEventLoopThread( Thread thread )
     {
-        return thread instanceof DriverThread;
-    }
-
-    /**
-     * Same as {@link NioEventLoopGroup} but uses a different {@link ThreadFactory} that produces threads of
-     * {@link DriverThread} class. Such threads can be recognized by {@link #assertNotInEventLoopThread()}.
-     */
-    private static class DriverEventLoopGroup extends NioEventLoopGroup
-    {
-        DriverEventLoopGroup()
-        {
-        }
-
-        DriverEventLoopGroup( int nThreads )
-        {
-            super( nThreads );
-        }
-
-        @Override
-        protected ThreadFactory newDefaultThreadFactory()
-        {
-            return new DriverThreadFactory();
-        }
+        return thread instanceof DriverThread || EXTERNAL_EVENT_LOOP_THREADS.containsKey( thread );
     }
 
     /**
@@ -135,9 +255,9 @@ public final class EventLoopGroupFactory
      */
     private static class DriverThreadFactory extends DefaultThreadFactory
     {
-        DriverThreadFactory()
+        DriverThreadFactory( int threadPriority )
         {
-            super( THREAD_NAME_PREFIX, THREAD_PRIORITY );
+            super( THREAD_NAME_PREFIX, threadPriority );
         }
 
         @Override
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.driver.internal.InternalStatementResultCursor;
+import org.neo4j.driver.internal.cluster.loadbalancing.LoadBalancer;
+import org.neo4j.driver.internal.metrics.MetricsListener;
+import org.neo4j.driver.internal.spi.Connection;
+import org.neo4j.driver.internal.util.Clock;
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.v1.AccessMode;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+import org.neo4j.driver.v1.Statement;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Runs read queries in auto-commit transactions with protection from slow readers. When the reader does not
+ * respond with the first record or result summary within the hedging delay, the same query is sent to a different
+ * reader. Response that arrives first is used and the other query is terminated with RESET. Number of hedged queries
+ * is limited by the {@link HedgingBudget budget}.
+ * <p>
+ * Hedging delay is either static or follows the 95th percentile of recently observed response times.
+ */
+public class HedgedReadRunner
+{
+    private static final String LOG_NAME = "HedgedReads";
+    static final int ADAPTIVE_DELAY_WINDOW = 1000;
+    private static final double ADAPTIVE_DELAY_PERCENTILE = 95;
+
+    private final LoadBalancer loadBalancer;
+    private final EventExecutorGroup eventExecutorGroup;
+    private final HedgingSettings settings;
+    private final HedgingBudget budget;
+    private final MetricsListener metricsListener;
+    private final Clock clock;
+    private final Logger log;
+
+    private final Recorder responseTimes;
+    private final AtomicInteger recordedResponseTimes = new AtomicInteger();
+    private volatile long adaptiveDelay;
+
+    public HedgedReadRunner( LoadBalancer loadBalancer, EventExecutorGroup eventExecutorGroup, HedgingSettings settings,
+            MetricsListener metricsListener, Clock clock, Logging logging )
+    {
+        this.loadBalancer = loadBalancer;
+        this.eventExecutorGroup = eventExecutorGroup;
+        this.settings = settings;
+        this.budget = new HedgingBudget( settings.budget() );
+        this.metricsListener = metricsListener;
+        this.clock = clock;
+        this.log = logging.getLog( LOG_NAME );
+        this.responseTimes = settings.adaptive() ? new Recorder( 2 ) : null;
+        this.adaptiveDelay = settings.delay();
+    }
+
+    /**
+     * Execute given read statement for {@link org.neo4j.driver.v1.Session#run(Statement)} on the given connection
+     * and, if it is slow to respond, on a connection towards another reader.
+     *
+     * @param connection the connection to use for the original query.
+     * @param statement the cypher to execute.
+     * @param waitForRunResponse {@code true} for async query execution and {@code false} for blocking query execution.
+     * @return stage with the connection and cursor of the query that responded first.
+     */
+    public CompletionStage<Result> runInSession( Connection connection, Statement statement,
+            boolean waitForRunResponse )
+    {
+        budget.onQuery();
+        HedgedRead read = new HedgedRead( statement, waitForRunResponse );
+        read.start( connection );
+        return read.result;
+    }
+
+    long hedgeDelay()
+    {
+        return settings.adaptive() ? adaptiveDelay : settings.delay();
+    }
+
+    private void recordResponseTime( long responseTime )
+    {
+        if ( responseTimes == null )
+        {
+            return;
+        }
+        responseTimes.recordValue( Math.max( responseTime, 0 ) );
+        if ( recordedResponseTimes.incrementAndGet() % ADAPTIVE_DELAY_WINDOW == 0 )
+        {
+            // interval histogram contains values recorded since the previous call, i.e. the last window
+            long delay = responseTimes.getIntervalHistogram().getValueAtPercentile( ADAPTIVE_DELAY_PERCENTILE );
+            adaptiveDelay = Math.max( delay, 1 );
+        }
+    }
+
+    public static class Result
+    {
+        private final Connection connection;
+        private final InternalStatementResultCursor cursor;
+
+        Result( Connection connection, InternalStatementResultCursor cursor )
+        {
+            this.connection = connection;
+            this.cursor = cursor;
+        }
+
+        public Connection connection()
+        {
+            return connection;
+        }
+
+        public InternalStatementResultCursor cursor()
+        {
+            return cursor;
+        }
+    }
+
+    private static class Attempt
+    {
+        final Connection connection;
+
+        Attempt( Connection connection )
+        {
+            this.connection = connection;
+        }
+    }
+
+    private class HedgedRead
+    {
+        final Statement statement;
+        final boolean waitForRunResponse;
+        final CompletableFuture<Result> result = new CompletableFuture<>();
+        final long startTime = clock.millis();
+
+        Attempt primary;
+        Attempt hedge;
+        int pendingAttempts;
+        boolean completed;
+        ScheduledFuture<?> hedgeFuture;
+
+        HedgedRead( Statement statement, boolean waitForRunResponse )
+        {
+            this.statement = statement;
+            this.waitForRunResponse = waitForRunResponse;
+        }
+
+        void start( Connection connection )
+        {
+            Attempt attempt;
+            synchronized ( this )
+            {
+                attempt = primary = newAttempt( connection );
+                hedgeFuture = eventExecutorGroup.next().schedule( this::hedge, hedgeDelay(), MILLISECONDS );
+            }
+            run( attempt );
+        }
+
+        void hedge()
+        {
+            synchronized ( this )
+            {
+                hedgeFuture = null;
+                if ( completed )
+                {
+                    return;
+                }
+            }
+
+            if ( !budget.tryAcquire() )
+            {
+                metricsListener.afterHedgeRejected();
+                log.debug( "Hedging budget exhausted, not hedging slow query on %s", primary.connection.serverAddress() );
+                return;
+            }
+
+            metricsListener.afterHedgeIssued();
+            loadBalancer.acquireConnection( AccessMode.READ, primary.connection.serverAddress() )
+                    .whenComplete( ( connection, error ) ->
+                    {
+                        if ( error != null )
+                        {
+                            log.debug( "Unable to hedge slow query on %s: %s", primary.connection.serverAddress(),
+                                    Futures.completionExceptionCause( error ) );
+                        }
+                        else
+                        {
+                            hedgeConnectionAcquired( connection );
+                        }
+                    } );
+        }
+
+        void hedgeConnectionAcquired( Connection connection )
+        {
+            Attempt attempt;
+            synchronized ( this )
+            {
+                if ( completed )
+                {
+                    attempt = null;
+                }
+                else
+                {
+                    attempt = hedge = newAttempt( connection );
+                }
+            }
+
+            if ( attempt == null )
+            {
+                // original query responded while connection was being acquired
+                connection.release();
+            }
+            else
+            {
+                run( attempt );
+            }
+        }
+
+        Attempt newAttempt( Connection connection )
+        {
+            pendingAttempts++;
+            return new Attempt( connection );
+        }
+
+        void run( Attempt attempt )
+        {
+            QueryRunner.runInSession( attempt.connection, statement, waitForRunResponse )
+                    .thenCompose( cursor -> cursor.peekAsync().thenApply( ignore -> cursor ) )
+                    .whenComplete( ( cursor, error ) ->
+                            responded( attempt, cursor, Futures.completionExceptionCause( error ) ) );
+        }
+
+        void responded( Attempt attempt, InternalStatementResultCursor cursor, Throwable error )
+        {
+            Attempt other;
+            synchronized ( this )
+            {
+                pendingAttempts--;
+                if ( completed )
+                {
+                    if ( error == null )
+                    {
+                        // the other query responded first, terminate this one
+                        attempt.connection.reset();
+                    }
+                    return;
+                }
+                if ( error != null && pendingAttempts > 0 )
+                {
+                    // connection of the failed query is released by the result handler, wait for the other one
+                    return;
+                }
+
+                completed = true;
+                if ( hedgeFuture != null )
+                {
+                    hedgeFuture.cancel( false );
+                    hedgeFuture = null;
+                }
+                other = attempt == primary ? hedge : primary;
+            }
+
+            if ( other != null )
+            {
+                other.connection.reset();
+            }
+
+            if ( error != null )
+            {
+                result.completeExceptionally( error );
+            }
+            else
+            {
+                if ( attempt == hedge )
+                {
+                    metricsListener.afterHedgeWon();
+                }
+                recordResponseTime( clock.millis() - startTime );
+                result.complete( new Result( attempt.connection, cursor ) );
+            }
+        }
+    }
+}
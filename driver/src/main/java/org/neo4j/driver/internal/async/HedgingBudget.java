@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that limits the number of hedged queries to a fraction of original queries. Every original query
+ * deposits the fraction of a token and every hedged query withdraws a whole token. Bucket is capped so that a long
+ * period of fast responses does not allow a burst of hedged queries when the cluster slows down.
+ */
+class HedgingBudget
+{
+    private static final long TOKEN = 1000;
+    static final int MAX_TOKENS = 10;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance = new AtomicLong();
+
+    HedgingBudget( double budget )
+    {
+        this.deposit = Math.max( 1, Math.round( budget * TOKEN ) );
+        this.capacity = MAX_TOKENS * TOKEN;
+    }
+
+    void onQuery()
+    {
+        while ( true )
+        {
+            long current = balance.get();
+            long updated = Math.min( current + deposit, capacity );
+            if ( current == updated || balance.compareAndSet( current, updated ) )
+            {
+                return;
+            }
+        }
+    }
+
+    boolean tryAcquire()
+    {
+        while ( true )
+        {
+            long current = balance.get();
+            if ( current < TOKEN )
+            {
+                return false;
+            }
+            if ( balance.compareAndSet( current, current - TOKEN ) )
+            {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+public class HedgingSettings
+{
+    public static final double DISABLED_BUDGET = 0;
+
+    public static final HedgingSettings DISABLED = new HedgingSettings( 0, false, DISABLED_BUDGET );
+
+    private final long delay;
+    private final boolean adaptive;
+    private final double budget;
+
+    public HedgingSettings( long delay, boolean adaptive, double budget )
+    {
+        this.delay = delay;
+        this.adaptive = adaptive;
+        this.budget = budget;
+    }
+
+    /**
+     * @return delay in milliseconds after which a hedged query is sent, initial delay when delay is adaptive.
+     */
+    public long delay()
+    {
+        return delay;
+    }
+
+    /**
+     * @return {@code true} when delay follows the observed 95th percentile of response times, {@code false} otherwise.
+     */
+    public boolean adaptive()
+    {
+        return adaptive;
+    }
+
+    /**
+     * @return maximum number of hedged queries per original read query.
+     */
+    public double budget()
+    {
+        return budget;
+    }
+
+    public boolean isEnabled()
+    {
+        return budget > DISABLED_BUDGET;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Linux epoll transport. Used instead of NIO when optional {@code netty-transport-native-epoll} dependency and the
+ * corresponding native library are available. All references to epoll classes are kept in this class so that missing
+ * optional dependency results in a linkage error only when this class is used.
+ */
+final class NativeTransport
+{
+    private NativeTransport()
+    {
+    }
+
+    static boolean isAvailable()
+    {
+        return Epoll.isAvailable();
+    }
+
+    static Class<? extends Channel> channelClass()
+    {
+        return EpollSocketChannel.class;
+    }
+
+    static boolean isNativeEventLoopGroup( EventLoopGroup eventLoopGroup )
+    {
+        return eventLoopGroup instanceof EpollEventLoopGroup;
+    }
+
+    static EventLoopGroup newEventLoopGroup( int threadCount, ThreadFactory threadFactory )
+    {
+        return new EpollEventLoopGroup( threadCount, threadFactory );
+    }
+}
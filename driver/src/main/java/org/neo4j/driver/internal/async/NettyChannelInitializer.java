@@ -20,6 +20,8 @@ package org.neo4j.driver.internal.async;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 
 import javax.net.ssl.SSLContext;
@@ -34,6 +36,7 @@ import org.neo4j.driver.v1.Logging;
 
 import static org.neo4j.driver.internal.async.ChannelAttributes.setCreationTimestamp;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setMessageDispatcher;
+import static org.neo4j.driver.internal.async.ChannelAttributes.setRecordBufferSize;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setServerAddress;
 
 public class NettyChannelInitializer extends ChannelInitializer<Channel>
@@ -43,13 +46,21 @@ public class NettyChannelInitializer extends ChannelInitializer<Channel>
     private final int connectTimeoutMillis;
     private final Clock clock;
     private final Logging logging;
+    private final long recordBufferSize;
 
     public NettyChannelInitializer( BoltServerAddress address, SecurityPlan securityPlan, int connectTimeoutMillis,
             Clock clock, Logging logging )
+    {
+        this( address, securityPlan, connectTimeoutMillis, 0, clock, logging );
+    }
+
+    public NettyChannelInitializer( BoltServerAddress address, SecurityPlan securityPlan, int connectTimeoutMillis,
+            long recordBufferSize, Clock clock, Logging logging )
     {
         this.address = address;
         this.securityPlan = securityPlan;
         this.connectTimeoutMillis = connectTimeoutMillis;
+        this.recordBufferSize = recordBufferSize;
         this.clock = clock;
         this.logging = logging;
     }
@@ -59,26 +70,33 @@ public class NettyChannelInitializer extends ChannelInitializer<Channel>
     {
         if ( securityPlan.requiresEncryption() )
         {
-            SslHandler sslHandler = createSslHandler();
+            SslHandler sslHandler = createSslHandler( channel );
             channel.pipeline().addFirst( sslHandler );
         }
 
         updateChannelAttributes( channel );
     }
 
-    private SslHandler createSslHandler()
+    private SslHandler createSslHandler( Channel channel )
     {
-        SSLEngine sslEngine = createSslEngine();
+        SSLEngine sslEngine = createSslEngine( channel );
         SslHandler sslHandler = new SslHandler( sslEngine );
         sslHandler.setHandshakeTimeoutMillis( connectTimeoutMillis );
         return sslHandler;
     }
 
-    private SSLEngine createSslEngine()
+    private SSLEngine createSslEngine( Channel channel )
     {
-        SSLContext sslContext = securityPlan.sslContext();
-        SSLEngine sslEngine = sslContext.createSSLEngine( address.host(), address.port() );
+        // engine is created with peer host and port to make TLS session resumption possible on reconnects
+        SslContext sslContext = securityPlan.sslContext();
+        SSLEngine sslEngine = sslContext.newEngine( channel.alloc(), address.host(), address.port() );
         sslEngine.setUseClientMode( true );
+        if ( sslContext instanceof JdkSslContext )
+        {
+            // Netty restricts JDK engines to its own default protocols, which do not include TLSv1.3
+            SSLContext jdkContext = ((JdkSslContext) sslContext).context();
+            sslEngine.setEnabledProtocols( jdkContext.getDefaultSSLParameters().getProtocols() );
+        }
         if ( securityPlan.requiresHostnameVerification() )
         {
             SSLParameters sslParameters = sslEngine.getSSLParameters();
@@ -93,5 +111,9 @@ public class NettyChannelInitializer extends ChannelInitializer<Channel>
         setServerAddress( channel, address );
         setCreationTimestamp( channel, clock.millis() );
         setMessageDispatcher( channel, new InboundMessageDispatcher( channel, logging ) );
+        if ( recordBufferSize > 0 )
+        {
+            setRecordBufferSize( channel, recordBufferSize );
+        }
     }
 }
@@ -51,6 +51,7 @@ public class NettyConnection implements Connection
     private final InboundMessageDispatcher messageDispatcher;
     private final BoltServerAddress serverAddress;
     private final ServerVersion serverVersion;
+    private final long recordBufferSize;
     private final ChannelPool channelPool;
     private final CompletableFuture<Void> releaseFuture;
     private final Clock clock;
@@ -65,6 +66,7 @@ public class NettyConnection implements Connection
         this.messageDispatcher = ChannelAttributes.messageDispatcher( channel );
         this.serverAddress = ChannelAttributes.serverAddress( channel );
         this.serverVersion = ChannelAttributes.serverVersion( channel );
+        this.recordBufferSize = ChannelAttributes.recordBufferSize( channel );
         this.channelPool = channelPool;
         this.releaseFuture = new CompletableFuture<>();
         this.clock = clock;
@@ -165,6 +167,12 @@ public class NettyConnection implements Connection
         return serverVersion;
     }
 
+    @Override
+    public long recordBufferSize()
+    {
+        return recordBufferSize;
+    }
+
     private void run( String statement, Map<String,Value> parameters, ResponseHandler runHandler,
             ResponseHandler pullAllHandler, boolean flush )
     {
@@ -18,6 +18,8 @@
  */
 package org.neo4j.driver.internal.async;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -78,11 +80,40 @@ public final class QueryRunner
     public static CompletionStage<InternalStatementResultCursor> runInTransaction( Connection connection,
             Statement statement, ExplicitTransaction tx, boolean waitForRunResponse )
     {
-        return run( connection, statement, tx, waitForRunResponse );
+        return run( connection, statement, tx, waitForRunResponse, true );
+    }
+
+    /**
+     * Execute given statements for {@link Transaction#runBatch(List)}. RUN and PULL_ALL messages of all statements
+     * are written to the network and flushed once, after the last statement.
+     *
+     * @param connection the network connection to use.
+     * @param statements the cypher statements to execute.
+     * @param tx the transaction which executes the queries.
+     * @param waitForRunResponse {@code true} for async query execution and {@code false} for blocking query
+     * execution. Makes returned cursor stages be chained after the RUN responses arrive.
+     * @return stages with cursors, in the order of given statements.
+     */
+    public static List<CompletionStage<InternalStatementResultCursor>> runBatchInTransaction( Connection connection,
+            List<Statement> statements, ExplicitTransaction tx, boolean waitForRunResponse )
+    {
+        List<CompletionStage<InternalStatementResultCursor>> cursorStages = new ArrayList<>( statements.size() );
+        for ( int i = 0; i < statements.size(); i++ )
+        {
+            boolean last = i == statements.size() - 1;
+            cursorStages.add( run( connection, statements.get( i ), tx, waitForRunResponse, last ) );
+        }
+        return cursorStages;
     }
 
     private static CompletionStage<InternalStatementResultCursor> run( Connection connection,
             Statement statement, ExplicitTransaction tx, boolean waitForRunResponse )
+    {
+        return run( connection, statement, tx, waitForRunResponse, true );
+    }
+
+    private static CompletionStage<InternalStatementResultCursor> run( Connection connection,
+            Statement statement, ExplicitTransaction tx, boolean waitForRunResponse, boolean flush )
     {
         String query = statement.text();
         Map<String,Value> params = statement.parameters().asMap( ofValue() );
@@ -91,7 +122,14 @@ public final class QueryRunner
         RunResponseHandler runHandler = new RunResponseHandler( runCompletedFuture );
         PullAllResponseHandler pullAllHandler = newPullAllHandler( statement, runHandler, connection, tx );
 
-        connection.runAndFlush( query, params, runHandler, pullAllHandler );
+        if ( flush )
+        {
+            connection.runAndFlush( query, params, runHandler, pullAllHandler );
+        }
+        else
+        {
+            connection.run( query, params, runHandler, pullAllHandler );
+        }
 
         if ( waitForRunResponse )
         {
@@ -23,6 +23,8 @@ import java.util.concurrent.CompletionStage;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.RoutingErrorHandler;
+import org.neo4j.driver.internal.cluster.loadbalancing.ResponseTimeTracker;
+import org.neo4j.driver.internal.handlers.ResponseTimeTrackingHandler;
 import org.neo4j.driver.internal.handlers.RoutingResponseHandler;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ResponseHandler;
@@ -35,12 +37,20 @@ public class RoutingConnection implements Connection
     private final Connection delegate;
     private final AccessMode accessMode;
     private final RoutingErrorHandler errorHandler;
+    private final ResponseTimeTracker responseTimeTracker;
 
     public RoutingConnection( Connection delegate, AccessMode accessMode, RoutingErrorHandler errorHandler )
+    {
+        this( delegate, accessMode, errorHandler, null );
+    }
+
+    public RoutingConnection( Connection delegate, AccessMode accessMode, RoutingErrorHandler errorHandler,
+            ResponseTimeTracker responseTimeTracker )
     {
         this.delegate = delegate;
         this.accessMode = accessMode;
         this.errorHandler = errorHandler;
+        this.responseTimeTracker = responseTimeTracker;
     }
 
     @Override
@@ -59,7 +69,7 @@ public class RoutingConnection implements Connection
     public void run( String statement, Map<String,Value> parameters, ResponseHandler runHandler,
             ResponseHandler pullAllHandler )
     {
-        delegate.run( statement, parameters, newRoutingResponseHandler( runHandler ),
+        delegate.run( statement, parameters, newRunResponseHandler( runHandler ),
                 newRoutingResponseHandler( pullAllHandler ) );
     }
 
@@ -67,7 +77,7 @@ public class RoutingConnection implements Connection
     public void runAndFlush( String statement, Map<String,Value> parameters, ResponseHandler runHandler,
             ResponseHandler pullAllHandler )
     {
-        delegate.runAndFlush( statement, parameters, newRoutingResponseHandler( runHandler ),
+        delegate.runAndFlush( statement, parameters, newRunResponseHandler( runHandler ),
                 newRoutingResponseHandler( pullAllHandler ) );
     }
 
@@ -107,6 +117,22 @@ public class RoutingConnection implements Connection
         return delegate.serverVersion();
     }
 
+    @Override
+    public long recordBufferSize()
+    {
+        return delegate.recordBufferSize();
+    }
+
+    private ResponseHandler newRunResponseHandler( ResponseHandler handler )
+    {
+        RoutingResponseHandler routingHandler = newRoutingResponseHandler( handler );
+        if ( responseTimeTracker == null )
+        {
+            return routingHandler;
+        }
+        return new ResponseTimeTrackingHandler( routingHandler, serverAddress(), responseTimeTracker );
+    }
+
     private RoutingResponseHandler newRoutingResponseHandler( ResponseHandler handler )
     {
         return new RoutingResponseHandler( handler, serverAddress(), accessMode, errorHandler );
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+
+/**
+ * Low-level socket options applied to every new network connection.
+ */
+public class SocketSettings
+{
+    public static final int NOT_CONFIGURED = -1;
+
+    public static final boolean DEFAULT_TCP_NO_DELAY = true;
+    public static final boolean DEFAULT_KEEP_ALIVE = true;
+
+    public static final SocketSettings DEFAULT = new SocketSettings( DEFAULT_TCP_NO_DELAY, DEFAULT_KEEP_ALIVE,
+            NOT_CONFIGURED, NOT_CONFIGURED, NOT_CONFIGURED, NOT_CONFIGURED );
+
+    private final boolean tcpNoDelay;
+    private final boolean keepAlive;
+    private final int receiveBufferSize;
+    private final int sendBufferSize;
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
+
+    public SocketSettings( boolean tcpNoDelay, boolean keepAlive, int receiveBufferSize, int sendBufferSize,
+            int writeBufferLowWaterMark, int writeBufferHighWaterMark )
+    {
+        this.tcpNoDelay = tcpNoDelay;
+        this.keepAlive = keepAlive;
+        this.receiveBufferSize = receiveBufferSize;
+        this.sendBufferSize = sendBufferSize;
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    }
+
+    public boolean tcpNoDelay()
+    {
+        return tcpNoDelay;
+    }
+
+    public boolean keepAlive()
+    {
+        return keepAlive;
+    }
+
+    public int receiveBufferSize()
+    {
+        return receiveBufferSize;
+    }
+
+    public int sendBufferSize()
+    {
+        return sendBufferSize;
+    }
+
+    public int writeBufferLowWaterMark()
+    {
+        return writeBufferLowWaterMark;
+    }
+
+    public int writeBufferHighWaterMark()
+    {
+        return writeBufferHighWaterMark;
+    }
+
+    /**
+     * Set configured options on the given bootstrap. Options that are not configured are left with values chosen by
+     * Netty and the operating system.
+     *
+     * @param bootstrap the bootstrap to configure.
+     */
+    public void applyTo( Bootstrap bootstrap )
+    {
+        bootstrap.option( ChannelOption.TCP_NODELAY, tcpNoDelay );
+        bootstrap.option( ChannelOption.SO_KEEPALIVE, keepAlive );
+        if ( receiveBufferSize > 0 )
+        {
+            bootstrap.option( ChannelOption.SO_RCVBUF, receiveBufferSize );
+        }
+        if ( sendBufferSize > 0 )
+        {
+            bootstrap.option( ChannelOption.SO_SNDBUF, sendBufferSize );
+        }
+        if ( writeBufferLowWaterMark >= 0 && writeBufferHighWaterMark >= 0 )
+        {
+            bootstrap.option( ChannelOption.WRITE_BUFFER_WATER_MARK,
+                    new WriteBufferWaterMark( writeBufferLowWaterMark, writeBufferHighWaterMark ) );
+        }
+    }
+}
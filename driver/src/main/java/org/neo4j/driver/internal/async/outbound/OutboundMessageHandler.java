@@ -29,6 +29,7 @@ import org.neo4j.driver.internal.async.BoltProtocolUtil;
 import org.neo4j.driver.internal.logging.ChannelActivityLogger;
 import org.neo4j.driver.internal.messaging.Message;
 import org.neo4j.driver.internal.messaging.MessageFormat;
+import org.neo4j.driver.internal.messaging.RunMessage;
 import org.neo4j.driver.v1.Logger;
 import org.neo4j.driver.v1.Logging;
 
@@ -39,6 +40,7 @@ public class OutboundMessageHandler extends MessageToMessageEncoder<Message>
     public static final String NAME = OutboundMessageHandler.class.getSimpleName();
 
     private final MessageFormat messageFormat;
+    private final boolean byteArraySupportEnabled;
     private final ChunkAwareByteBufOutput output;
     private final MessageFormat.Writer writer;
     private final Logging logging;
@@ -53,6 +55,7 @@ public class OutboundMessageHandler extends MessageToMessageEncoder<Message>
     private OutboundMessageHandler( MessageFormat messageFormat, boolean byteArraySupportEnabled, Logging logging )
     {
         this.messageFormat = messageFormat;
+        this.byteArraySupportEnabled = byteArraySupportEnabled;
         this.output = new ChunkAwareByteBufOutput();
         this.writer = messageFormat.newWriter( output, byteArraySupportEnabled );
         this.logging = logging;
@@ -75,6 +78,13 @@ public class OutboundMessageHandler extends MessageToMessageEncoder<Message>
     {
         log.debug( "C: %s", msg );
 
+        if ( msg instanceof RunMessage && ((RunMessage) msg).hasStreamingParameters() )
+        {
+            // large parameters are packed lazily by the chunked write handler, while the channel is writable
+            out.add( new StreamingRunMessageInput( (RunMessage) msg, messageFormat, byteArraySupportEnabled ) );
+            return;
+        }
+
         ByteBuf messageBuf = ctx.alloc().ioBuffer();
         output.start( messageBuf );
         try
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.outbound;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.EncoderException;
+import io.netty.handler.stream.ChunkedInput;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.neo4j.driver.internal.async.BoltProtocolUtil;
+import org.neo4j.driver.internal.messaging.MessageFormat;
+import org.neo4j.driver.internal.messaging.RunMessage;
+import org.neo4j.driver.internal.packstream.PackStream;
+import org.neo4j.driver.internal.value.StreamingListValue;
+import org.neo4j.driver.v1.Value;
+
+import static org.neo4j.driver.internal.messaging.PackStreamMessageFormatV1.MSG_RUN;
+
+/**
+ * Writes a RUN message with {@link StreamingListValue} parameters in multiple buffers of roughly
+ * {@link #TARGET_BUFFER_SIZE} bytes. Elements of streaming lists are only requested when the next buffer is read, which
+ * {@link io.netty.handler.stream.ChunkedWriteHandler} does only while the channel is writable.
+ */
+public class StreamingRunMessageInput implements ChunkedInput<ByteBuf>
+{
+    static final int TARGET_BUFFER_SIZE = 64 * 1024;
+
+    private final RunMessage message;
+    private final ChunkAwareByteBufOutput output;
+    private final PackStream.Packer packer;
+    private final MessageFormat.Writer writer;
+    private final Iterator<Map.Entry<String,Value>> parameters;
+
+    private Iterator<Value> currentElements;
+    private boolean started;
+    private boolean ended;
+    private long progress;
+
+    public StreamingRunMessageInput( RunMessage message, MessageFormat messageFormat, boolean byteArraySupportEnabled )
+    {
+        this.message = message;
+        this.output = new ChunkAwareByteBufOutput();
+        this.packer = new PackStream.Packer( output );
+        this.writer = messageFormat.newWriter( output, byteArraySupportEnabled );
+        this.parameters = message.parameters().entrySet().iterator();
+    }
+
+    @Override
+    public boolean isEndOfInput()
+    {
+        return ended;
+    }
+
+    @Override
+    public void close()
+    {
+        currentElements = null;
+    }
+
+    @Deprecated
+    @Override
+    public ByteBuf readChunk( ChannelHandlerContext ctx )
+    {
+        return readChunk( ctx.alloc() );
+    }
+
+    @Override
+    public ByteBuf readChunk( ByteBufAllocator allocator )
+    {
+        if ( ended )
+        {
+            return null;
+        }
+
+        ByteBuf buf = allocator.ioBuffer( TARGET_BUFFER_SIZE );
+        output.start( buf );
+        try
+        {
+            if ( !started )
+            {
+                packer.packStructHeader( 2, MSG_RUN );
+                packer.pack( message.statement() );
+                packer.packMapHeader( message.parameters().size() );
+                started = true;
+            }
+            while ( buf.writerIndex() < TARGET_BUFFER_SIZE && hasMoreToWrite() )
+            {
+                writeNext();
+            }
+            ended = !hasMoreToWrite();
+            output.stop();
+        }
+        catch ( Throwable error )
+        {
+            output.stop();
+            buf.release();
+            throw new EncoderException( "Failed to write outbound message: " + message, error );
+        }
+
+        if ( ended )
+        {
+            BoltProtocolUtil.writeMessageBoundary( buf );
+        }
+        progress += buf.readableBytes();
+        return buf;
+    }
+
+    @Override
+    public long length()
+    {
+        return -1;
+    }
+
+    @Override
+    public long progress()
+    {
+        return progress;
+    }
+
+    private boolean hasMoreToWrite()
+    {
+        return (currentElements != null && currentElements.hasNext()) || parameters.hasNext();
+    }
+
+    private void writeNext() throws IOException
+    {
+        if ( currentElements != null && currentElements.hasNext() )
+        {
+            writer.writeValue( currentElements.next() );
+            return;
+        }
+
+        Map.Entry<String,Value> parameter = parameters.next();
+        packer.pack( parameter.getKey() );
+        Value parameterValue = parameter.getValue();
+        if ( parameterValue instanceof StreamingListValue )
+        {
+            StreamingListValue list = (StreamingListValue) parameterValue;
+            packer.packListHeader( list.size() );
+            currentElements = list.elements();
+        }
+        else
+        {
+            writer.writeValue( parameterValue );
+        }
+    }
+}
@@ -23,6 +23,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
 
 import java.util.Map;
 import java.util.Set;
@@ -30,11 +31,13 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.ChannelConnector;
+import org.neo4j.driver.internal.async.EventLoopGroupFactory;
 import org.neo4j.driver.internal.async.NettyConnection;
 import org.neo4j.driver.internal.metrics.ListenerEvent;
 import org.neo4j.driver.internal.metrics.MetricsListener;
@@ -48,8 +51,12 @@ import org.neo4j.driver.v1.exceptions.ClientException;
 
 public class ConnectionPoolImpl implements ConnectionPool
 {
+    private static final long MIN_LIFETIME_CHECK_INTERVAL = 100;
+    private static final long MAX_LIFETIME_CHECK_INTERVAL = TimeUnit.MINUTES.toMillis( 1 );
+
     private final ChannelConnector connector;
     private final Bootstrap bootstrap;
+    private final boolean ownsEventLoopGroup;
     private final NettyChannelTracker nettyChannelTracker;
     private final NettyChannelHealthChecker channelHealthChecker;
     private final PoolSettings settings;
@@ -57,26 +64,49 @@ public class ConnectionPoolImpl implements ConnectionPool
     private final Logger log;
     private MetricsListener metricsListener;
 
-    private final ConcurrentMap<BoltServerAddress,ChannelPool> pools = new ConcurrentHashMap<>();
+    private final ConcurrentMap<BoltServerAddress,NettyChannelPool> pools = new ConcurrentHashMap<>();
     private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledFuture<?> lifetimeCheckFuture;
 
     public ConnectionPoolImpl( ChannelConnector connector, Bootstrap bootstrap, PoolSettings settings,
             MetricsListener metricsListener, Logging logging, Clock clock )
     {
-        this( connector, bootstrap, new NettyChannelTracker( metricsListener, logging ), settings, metricsListener, logging, clock );
+        this( connector, bootstrap, true, settings, metricsListener, logging, clock );
+    }
+
+    public ConnectionPoolImpl( ChannelConnector connector, Bootstrap bootstrap, boolean ownsEventLoopGroup,
+            PoolSettings settings, MetricsListener metricsListener, Logging logging, Clock clock )
+    {
+        this( connector, bootstrap, ownsEventLoopGroup, new NettyChannelTracker( metricsListener, logging ), settings,
+                metricsListener, logging, clock );
     }
 
     ConnectionPoolImpl( ChannelConnector connector, Bootstrap bootstrap, NettyChannelTracker nettyChannelTracker,
             PoolSettings settings, MetricsListener metricsListener, Logging logging, Clock clock )
+    {
+        this( connector, bootstrap, true, nettyChannelTracker, settings, metricsListener, logging, clock );
+    }
+
+    private ConnectionPoolImpl( ChannelConnector connector, Bootstrap bootstrap, boolean ownsEventLoopGroup,
+            NettyChannelTracker nettyChannelTracker, PoolSettings settings, MetricsListener metricsListener,
+            Logging logging, Clock clock )
     {
         this.connector = connector;
         this.bootstrap = bootstrap;
+        this.ownsEventLoopGroup = ownsEventLoopGroup;
         this.nettyChannelTracker = nettyChannelTracker;
         this.channelHealthChecker = new NettyChannelHealthChecker( settings, clock, logging );
         this.settings = settings;
         this.metricsListener = metricsListener;
         this.clock = clock;
         this.log = logging.getLog( ConnectionPool.class.getSimpleName() );
+        this.lifetimeCheckFuture = scheduleLifetimeCheck();
+
+        if ( !ownsEventLoopGroup )
+        {
+            // make blocking API calls from threads of the external group fail instead of deadlocking
+            EventLoopGroupFactory.registerExternalEventLoopGroup( eventLoopGroup() );
+        }
     }
 
     @Override
@@ -122,7 +152,7 @@ public class ConnectionPoolImpl implements ConnectionPool
                     // address is not present in updated routing table and has no active connections
                     // it's now safe to terminate corresponding connection pool and forget about it
 
-                    ChannelPool pool = pools.remove( address );
+                    NettyChannelPool pool = pools.remove( address );
                     if ( pool != null )
                     {
                         log.info( "Closing connection pool towards %s, it has no active connections " +
@@ -153,10 +183,15 @@ public class ConnectionPoolImpl implements ConnectionPool
         {
             try
             {
-                for ( Map.Entry<BoltServerAddress,ChannelPool> entry : pools.entrySet() )
+                if ( lifetimeCheckFuture != null )
+                {
+                    lifetimeCheckFuture.cancel( false );
+                }
+
+                for ( Map.Entry<BoltServerAddress,NettyChannelPool> entry : pools.entrySet() )
                 {
                     BoltServerAddress address = entry.getKey();
-                    ChannelPool pool = entry.getValue();
+                    NettyChannelPool pool = entry.getValue();
 
                     log.info( "Closing connection pool towards %s", address );
                     pool.close();
@@ -166,9 +201,22 @@ public class ConnectionPoolImpl implements ConnectionPool
             }
             finally
             {
-                eventLoopGroup().shutdownGracefully();
+                connector.close();
+                if ( ownsEventLoopGroup )
+                {
+                    eventLoopGroup().shutdownGracefully();
+                }
+                else
+                {
+                    EventLoopGroupFactory.unregisterExternalEventLoopGroup( eventLoopGroup() );
+                }
             }
         }
+        if ( !ownsEventLoopGroup )
+        {
+            // lifecycle of the external event loop group is managed by the caller
+            return Futures.completedWithNull();
+        }
         return Futures.asCompletionStage( eventLoopGroup().terminationFuture() )
                 .thenApply( ignore -> null );
     }
@@ -181,7 +229,7 @@ public class ConnectionPoolImpl implements ConnectionPool
 
     private ChannelPool getOrCreatePool( BoltServerAddress address )
     {
-        ChannelPool pool = pools.get( address );
+        NettyChannelPool pool = pools.get( address );
         if ( pool != null )
         {
             return pool;
@@ -202,12 +250,45 @@ public class ConnectionPoolImpl implements ConnectionPool
         return pool;
     }
 
-    ChannelPool newPool( BoltServerAddress address )
+    NettyChannelPool newPool( BoltServerAddress address )
     {
         return new NettyChannelPool( address, connector, bootstrap, nettyChannelTracker, channelHealthChecker,
                 settings.connectionAcquisitionTimeout(), settings.maxConnectionPoolSize() );
     }
 
+    private ScheduledFuture<?> scheduleLifetimeCheck()
+    {
+        if ( !settings.maxConnectionLifetimeEnabled() )
+        {
+            return null;
+        }
+
+        // check often enough to always find channels before they expire, replace channels that expire before the
+        // next check, so that acquisition never has to discard an old channel and create a new one
+        long interval = Math.max( MIN_LIFETIME_CHECK_INTERVAL,
+                Math.min( MAX_LIFETIME_CHECK_INTERVAL, settings.maxConnectionLifetime() / 20 ) );
+        long replacementPeriod = interval * 2;
+
+        return eventLoopGroup().scheduleWithFixedDelay(
+                () -> replaceAgingChannels( replacementPeriod ), interval, interval, TimeUnit.MILLISECONDS );
+    }
+
+    private void replaceAgingChannels( long replacementPeriod )
+    {
+        try
+        {
+            for ( NettyChannelPool pool : pools.values() )
+            {
+                pool.replaceIdleChannels( channel -> channelHealthChecker.expiresWithin( channel, replacementPeriod ) );
+            }
+        }
+        catch ( Throwable error )
+        {
+            // error should not cancel periodic execution of this task
+            log.warn( "Failed to replace connections that are about to reach maximum lifetime", error );
+        }
+    }
+
     private EventLoopGroup eventLoopGroup()
     {
         return bootstrap.config().group();
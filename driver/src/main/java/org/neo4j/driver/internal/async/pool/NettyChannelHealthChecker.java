@@ -23,6 +23,8 @@ import io.netty.channel.pool.ChannelHealthChecker;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.Promise;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import org.neo4j.driver.internal.handlers.PingResponseHandler;
 import org.neo4j.driver.internal.messaging.ResetMessage;
 import org.neo4j.driver.internal.util.Clock;
@@ -31,7 +33,9 @@ import org.neo4j.driver.v1.Logging;
 
 import static org.neo4j.driver.internal.async.ChannelAttributes.creationTimestamp;
 import static org.neo4j.driver.internal.async.ChannelAttributes.lastUsedTimestamp;
+import static org.neo4j.driver.internal.async.ChannelAttributes.maxLifetime;
 import static org.neo4j.driver.internal.async.ChannelAttributes.messageDispatcher;
+import static org.neo4j.driver.internal.async.ChannelAttributes.setMaxLifetimeIfAbsent;
 
 public class NettyChannelHealthChecker implements ChannelHealthChecker
 {
@@ -60,15 +64,29 @@ public class NettyChannelHealthChecker implements ChannelHealthChecker
         return ACTIVE.isHealthy( channel );
     }
 
-    private boolean isTooOld( Channel channel )
+    /**
+     * Check if the given channel will reach its maximum lifetime within the given amount of time. Such channels can be
+     * replaced in the background before acquisition has to discard them.
+     *
+     * @param channel the channel to check.
+     * @param periodMillis the period of time in milliseconds.
+     * @return {@code true} if channel expires within the given period, {@code false} otherwise.
+     */
+    public boolean expiresWithin( Channel channel, long periodMillis )
     {
         if ( poolSettings.maxConnectionLifetimeEnabled() )
         {
-            long creationTimestampMillis = creationTimestamp( channel );
-            long currentTimestampMillis = clock.millis();
+            return ageMillis( channel ) + periodMillis > maxLifetimeMillis( channel );
+        }
+        return false;
+    }
 
-            long ageMillis = currentTimestampMillis - creationTimestampMillis;
-            long maxAgeMillis = poolSettings.maxConnectionLifetime();
+    private boolean isTooOld( Channel channel )
+    {
+        if ( poolSettings.maxConnectionLifetimeEnabled() )
+        {
+            long ageMillis = ageMillis( channel );
+            long maxAgeMillis = maxLifetimeMillis( channel );
 
             boolean tooOld = ageMillis > maxAgeMillis;
             if ( tooOld )
@@ -82,6 +100,26 @@ public class NettyChannelHealthChecker implements ChannelHealthChecker
         return false;
     }
 
+    private long ageMillis( Channel channel )
+    {
+        return clock.millis() - creationTimestamp( channel );
+    }
+
+    private long maxLifetimeMillis( Channel channel )
+    {
+        Long maxLifetime = maxLifetime( channel );
+        if ( maxLifetime != null )
+        {
+            return maxLifetime;
+        }
+
+        // every channel gets a slightly different lifetime so that channels created at the same time,
+        // e.g. during application startup, do not all expire at the same time
+        long jitter = poolSettings.maxConnectionLifetimeJitter();
+        long randomizedMaxLifetime = poolSettings.maxConnectionLifetime() - ThreadLocalRandom.current().nextLong( jitter + 1 );
+        return setMaxLifetimeIfAbsent( channel, randomizedMaxLifetime );
+    }
+
     private boolean hasBeenIdleForTooLong( Channel channel )
     {
         if ( poolSettings.idleTimeBeforeConnectionTestEnabled() )
@@ -24,6 +24,12 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.pool.ChannelHealthChecker;
 import io.netty.channel.pool.FixedChannelPool;
 
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Predicate;
+
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.ChannelConnector;
 import org.neo4j.driver.internal.metrics.ListenerEvent;
@@ -44,6 +50,9 @@ public class NettyChannelPool extends FixedChannelPool
     private final BoltServerAddress address;
     private final ChannelConnector connector;
     private final NettyChannelTracker handler;
+    private final Deque<Channel> idleChannels = new ConcurrentLinkedDeque<>();
+    private final Set<Channel> channelsBeingReplaced = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
 
     public NettyChannelPool( BoltServerAddress address, ChannelConnector connector, Bootstrap bootstrap,
             NettyChannelTracker handler, ChannelHealthChecker healthCheck, long acquireTimeoutMillis,
@@ -77,4 +86,68 @@ public class NettyChannelPool extends FixedChannelPool
         } );
         return channelFuture;
     }
+
+    /**
+     * Replace idle channels that match the given predicate with newly created channels. New channel is created first
+     * and the old one is closed only after the new one is available in the pool. Replacement happens in the background
+     * and does not affect concurrent acquisitions. Channels that are acquired while their replacements are being
+     * created remain usable and are not closed.
+     *
+     * @param shouldReplace predicate that selects channels to replace.
+     */
+    public void replaceIdleChannels( Predicate<Channel> shouldReplace )
+    {
+        for ( Channel channel : idleChannels )
+        {
+            if ( !closed && shouldReplace.test( channel ) && channelsBeingReplaced.add( channel ) )
+            {
+                replace( channel );
+            }
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        closed = true;
+        super.close();
+    }
+
+    @Override
+    protected Channel pollChannel()
+    {
+        return idleChannels.pollLast();
+    }
+
+    @Override
+    protected boolean offerChannel( Channel channel )
+    {
+        return idleChannels.offerLast( channel );
+    }
+
+    private void replace( Channel oldChannel )
+    {
+        Bootstrap bootstrap = bootstrap();
+        ChannelFuture channelFuture = connectChannel( bootstrap.clone( bootstrap.config().group().next() ) );
+        channelFuture.addListener( future ->
+        {
+            if ( future.isSuccess() )
+            {
+                // new channel is counted as in-use when created, move it to idle and make it available for acquisition
+                Channel newChannel = channelFuture.channel();
+                handler.channelReleased( newChannel );
+                offerChannel( newChannel );
+
+                if ( closed && idleChannels.remove( newChannel ) )
+                {
+                    newChannel.close();
+                }
+                if ( idleChannels.remove( oldChannel ) )
+                {
+                    oldChannel.close();
+                }
+            }
+            channelsBeingReplaced.remove( oldChannel );
+        } );
+    }
 }
@@ -27,20 +27,30 @@ public class PoolSettings
     public static final int DEFAULT_MAX_CONNECTION_POOL_SIZE = 100;
     public static final long DEFAULT_IDLE_TIME_BEFORE_CONNECTION_TEST = NOT_CONFIGURED;
     public static final long DEFAULT_MAX_CONNECTION_LIFETIME = TimeUnit.HOURS.toMillis( 1 );
+    public static final long DEFAULT_MAX_CONNECTION_LIFETIME_JITTER = NOT_CONFIGURED;
     public static final long DEFAULT_CONNECTION_ACQUISITION_TIMEOUT = TimeUnit.SECONDS.toMillis( 60 );
 
     private final int maxConnectionPoolSize;
     private final long connectionAcquisitionTimeout;
     private final long maxConnectionLifetime;
     private final long idleTimeBeforeConnectionTest;
+    private final long maxConnectionLifetimeJitter;
 
     public PoolSettings( int maxConnectionPoolSize, long connectionAcquisitionTimeout,
             long maxConnectionLifetime, long idleTimeBeforeConnectionTest )
+    {
+        this( maxConnectionPoolSize, connectionAcquisitionTimeout, maxConnectionLifetime,
+                idleTimeBeforeConnectionTest, DEFAULT_MAX_CONNECTION_LIFETIME_JITTER );
+    }
+
+    public PoolSettings( int maxConnectionPoolSize, long connectionAcquisitionTimeout,
+            long maxConnectionLifetime, long idleTimeBeforeConnectionTest, long maxConnectionLifetimeJitter )
     {
         this.maxConnectionPoolSize = maxConnectionPoolSize;
         this.connectionAcquisitionTimeout = connectionAcquisitionTimeout;
         this.maxConnectionLifetime = maxConnectionLifetime;
         this.idleTimeBeforeConnectionTest = idleTimeBeforeConnectionTest;
+        this.maxConnectionLifetimeJitter = maxConnectionLifetimeJitter;
     }
 
     public long idleTimeBeforeConnectionTest()
@@ -63,6 +73,24 @@ public class PoolSettings
         return maxConnectionLifetime > 0;
     }
 
+    /**
+     * Get the maximum amount of time subtracted from {@link #maxConnectionLifetime()} for every individual connection.
+     * Lifetime of each connection is chosen randomly from range {@code [maxLifetime - jitter, maxLifetime]} so that
+     * connections created at the same time do not expire at the same time. Ten percent of the maximum lifetime is
+     * used when jitter is not configured. Jitter is never larger than half of the maximum lifetime.
+     *
+     * @return the jitter in milliseconds or {@code 0} when connection lifetime should not be randomized.
+     */
+    public long maxConnectionLifetimeJitter()
+    {
+        if ( !maxConnectionLifetimeEnabled() )
+        {
+            return 0;
+        }
+        long jitter = maxConnectionLifetimeJitter < 0 ? maxConnectionLifetime / 10 : maxConnectionLifetimeJitter;
+        return Math.min( jitter, maxConnectionLifetime / 2 );
+    }
+
     public int maxConnectionPoolSize()
     {
         return maxConnectionPoolSize;
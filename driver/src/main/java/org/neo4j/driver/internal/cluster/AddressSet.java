@@ -23,11 +23,29 @@ import java.util.Set;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 
+/**
+ * Immutable ordered set of server addresses. Routing table publishes new sets instead of modifying existing ones.
+ */
 public class AddressSet
 {
     private static final BoltServerAddress[] NONE = {};
 
-    private volatile BoltServerAddress[] addresses = NONE;
+    private final BoltServerAddress[] addresses;
+
+    public AddressSet()
+    {
+        this( NONE );
+    }
+
+    public AddressSet( Set<BoltServerAddress> addresses )
+    {
+        this( addresses.toArray( NONE ) );
+    }
+
+    private AddressSet( BoltServerAddress[] addresses )
+    {
+        this.addresses = addresses;
+    }
 
     public BoltServerAddress[] toArray()
     {
@@ -39,33 +57,36 @@ public class AddressSet
         return addresses.length;
     }
 
-    public synchronized void update( Set<BoltServerAddress> addresses )
+    /**
+     * Create a copy of this set without the given address. This set is not modified.
+     *
+     * @param address the address to exclude.
+     * @return new set without the given address or this set when it does not contain the address.
+     */
+    AddressSet copyWithout( BoltServerAddress address )
     {
-        this.addresses = addresses.toArray( NONE );
+        BoltServerAddress[] addresses = this.addresses;
+        BoltServerAddress[] remaining = without( addresses, address );
+        return remaining == addresses ? this : new AddressSet( remaining );
     }
 
-    public synchronized void remove( BoltServerAddress address )
+    private static BoltServerAddress[] without( BoltServerAddress[] addresses, BoltServerAddress address )
     {
-        BoltServerAddress[] addresses = this.addresses;
-        if ( addresses != null )
+        for ( int i = 0; i < addresses.length; i++ )
         {
-            for ( int i = 0; i < addresses.length; i++ )
+            if ( addresses[i].equals( address ) )
             {
-                if ( addresses[i].equals( address ) )
+                if ( addresses.length == 1 )
                 {
-                    if ( addresses.length == 1 )
-                    {
-                        this.addresses = NONE;
-                        return;
-                    }
-                    BoltServerAddress[] copy = new BoltServerAddress[addresses.length - 1];
-                    System.arraycopy( addresses, 0, copy, 0, i );
-                    System.arraycopy( addresses, i + 1, copy, i, addresses.length - i - 1 );
-                    this.addresses = copy;
-                    return;
+                    return NONE;
                 }
+                BoltServerAddress[] copy = new BoltServerAddress[addresses.length - 1];
+                System.arraycopy( addresses, 0, copy, 0, i );
+                System.arraycopy( addresses, i + 1, copy, i, addresses.length - i - 1 );
+                return copy;
             }
         }
+        return addresses;
     }
 
     @Override
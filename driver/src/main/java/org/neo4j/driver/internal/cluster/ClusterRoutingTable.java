@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.util.Clock;
@@ -30,97 +31,122 @@ import org.neo4j.driver.v1.AccessMode;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 
+/**
+ * Routing table that keeps all its state in an immutable {@link Snapshot}. Modifications publish a new snapshot
+ * atomically, so concurrent readers never observe a partially updated table and never block.
+ */
 public class ClusterRoutingTable implements RoutingTable
 {
     private static final int MIN_ROUTERS = 1;
 
     private final Clock clock;
-    private volatile long expirationTimeout;
-    private final AddressSet readers;
-    private final AddressSet writers;
-    private final AddressSet routers;
+    private final AtomicReference<Snapshot> snapshot;
 
     public ClusterRoutingTable( Clock clock, BoltServerAddress... routingAddresses )
-    {
-        this( clock );
-        routers.update( new LinkedHashSet<>( asList( routingAddresses ) ) );
-    }
-
-    private ClusterRoutingTable( Clock clock )
     {
         this.clock = clock;
-        this.expirationTimeout = clock.millis() - 1;
-
-        this.readers = new AddressSet();
-        this.writers = new AddressSet();
-        this.routers = new AddressSet();
+        this.snapshot = new AtomicReference<>( new Snapshot( clock.millis() - 1, new AddressSet(), new AddressSet(),
+                new AddressSet( new LinkedHashSet<>( asList( routingAddresses ) ) ) ) );
     }
 
     @Override
     public boolean isStaleFor( AccessMode mode )
     {
-        return expirationTimeout < clock.millis() ||
-               routers.size() < MIN_ROUTERS ||
-               mode == AccessMode.READ && readers.size() == 0 ||
-               mode == AccessMode.WRITE && writers.size() == 0;
+        Snapshot current = snapshot.get();
+        return current.expirationTimeout < clock.millis() ||
+               current.routers.size() < MIN_ROUTERS ||
+               mode == AccessMode.READ && current.readers.size() == 0 ||
+               mode == AccessMode.WRITE && current.writers.size() == 0;
     }
 
     @Override
-    public synchronized void update( ClusterComposition cluster )
+    public void update( ClusterComposition cluster )
     {
-        expirationTimeout = cluster.expirationTimestamp();
-        readers.update( cluster.readers() );
-        writers.update( cluster.writers() );
-        routers.update( cluster.routers() );
+        snapshot.set( new Snapshot( cluster.expirationTimestamp(), new AddressSet( cluster.readers() ),
+                new AddressSet( cluster.writers() ), new AddressSet( cluster.routers() ) ) );
     }
 
     @Override
-    public synchronized void forget( BoltServerAddress address )
+    public void forget( BoltServerAddress address )
     {
-        routers.remove( address );
-        readers.remove( address );
-        writers.remove( address );
+        Snapshot current;
+        Snapshot updated;
+        do
+        {
+            current = snapshot.get();
+            updated = new Snapshot( current.expirationTimeout, current.readers.copyWithout( address ),
+                    current.writers.copyWithout( address ), current.routers.copyWithout( address ) );
+        }
+        while ( !snapshot.compareAndSet( current, updated ) );
     }
 
     @Override
     public AddressSet readers()
     {
-        return readers;
+        return snapshot.get().readers;
     }
 
     @Override
     public AddressSet writers()
     {
-        return writers;
+        return snapshot.get().writers;
     }
 
     @Override
     public AddressSet routers()
     {
-        return routers;
+        return snapshot.get().routers;
     }
 
     @Override
     public Set<BoltServerAddress> servers()
     {
+        Snapshot current = snapshot.get();
         Set<BoltServerAddress> servers = new HashSet<>();
-        Collections.addAll( servers, readers.toArray() );
-        Collections.addAll( servers, writers.toArray() );
-        Collections.addAll( servers, routers.toArray() );
+        Collections.addAll( servers, current.readers.toArray() );
+        Collections.addAll( servers, current.writers.toArray() );
+        Collections.addAll( servers, current.routers.toArray() );
         return servers;
     }
 
     @Override
     public void removeWriter( BoltServerAddress toRemove )
     {
-        writers.remove( toRemove );
+        Snapshot current;
+        Snapshot updated;
+        do
+        {
+            current = snapshot.get();
+            updated = new Snapshot( current.expirationTimeout, current.readers,
+                    current.writers.copyWithout( toRemove ), current.routers );
+        }
+        while ( !snapshot.compareAndSet( current, updated ) );
     }
 
-
     @Override
-    public synchronized String toString()
+    public String toString()
     {
+        Snapshot current = snapshot.get();
         return format( "Ttl %s, currentTime %s, routers %s, writers %s, readers %s",
-                expirationTimeout, clock.millis(), routers, writers, readers );
+                current.expirationTimeout, clock.millis(), current.routers, current.writers, current.readers );
+    }
+
+    /**
+     * Immutable state of the routing table. Address sets of a snapshot are never modified by the table.
+     */
+    private static class Snapshot
+    {
+        final long expirationTimeout;
+        final AddressSet readers;
+        final AddressSet writers;
+        final AddressSet routers;
+
+        Snapshot( long expirationTimeout, AddressSet readers, AddressSet writers, AddressSet routers )
+        {
+            this.expirationTimeout = expirationTimeout;
+            this.readers = readers;
+            this.writers = writers;
+            this.routers = routers;
+        }
     }
 }
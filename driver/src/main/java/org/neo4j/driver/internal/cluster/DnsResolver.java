@@ -19,43 +19,46 @@
 package org.neo4j.driver.internal.cluster;
 
 import java.net.InetAddress;
-import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
+import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.v1.Logger;
 
 public class DnsResolver implements HostNameResolver
 {
+    private final AsyncDnsResolver dnsResolver;
     private final Logger logger;
 
-    public DnsResolver( Logger logger )
+    public DnsResolver( AsyncDnsResolver dnsResolver, Logger logger )
     {
+        this.dnsResolver = dnsResolver;
         this.logger = logger;
     }
 
     @Override
-    public Set<BoltServerAddress> resolve( BoltServerAddress initialRouter )
+    public CompletionStage<Set<BoltServerAddress>> resolve( BoltServerAddress initialRouter )
     {
-        Set<BoltServerAddress> addresses = new HashSet<>();
-        try
+        return dnsResolver.resolveAll( initialRouter.host() ).handle( ( ipAddresses, completionError ) ->
         {
-            InetAddress[] ipAddresses = InetAddress.getAllByName( initialRouter.host() );
+            Set<BoltServerAddress> addresses = new HashSet<>();
+            Throwable error = Futures.completionExceptionCause( completionError );
+            if ( error != null )
+            {
+                logger.error( "Failed to resolve URI `" + initialRouter + "` to IPs due to error: " + error.getMessage(), error );
+
+                addresses.add( initialRouter );
+                return addresses;
+            }
 
             for ( InetAddress ipAddress : ipAddresses )
             {
                 addresses.add( new BoltServerAddress( ipAddress.getHostAddress(), initialRouter.port() ) );
             }
-
-            return addresses;
-        }
-        catch ( UnknownHostException e )
-        {
-            logger.error( "Failed to resolve URI `" + initialRouter + "` to IPs due to error: " + e.getMessage(), e );
-
-            addresses.add( initialRouter );
             return addresses;
-        }
+        } );
     }
 }
@@ -19,10 +19,18 @@
 package org.neo4j.driver.internal.cluster;
 
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 
 public interface HostNameResolver
 {
-    Set<BoltServerAddress> resolve( BoltServerAddress initialRouter );
+    /**
+     * Resolve the given router address into addresses of all its IPs. Implementations should not block the calling
+     * thread, it might be an event loop thread.
+     *
+     * @param initialRouter the address to resolve.
+     * @return stage completed with the resolved addresses.
+     */
+    CompletionStage<Set<BoltServerAddress>> resolve( BoltServerAddress initialRouter );
 }
@@ -19,13 +19,15 @@
 package org.neo4j.driver.internal.cluster;
 
 import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.neo4j.driver.internal.BoltServerAddress;
@@ -149,7 +151,7 @@ public class Rediscovery
     private CompletionStage<ClusterComposition> lookupOnKnownRoutersThenOnInitialRouter( RoutingTable routingTable,
             ConnectionPool connectionPool )
     {
-        Set<BoltServerAddress> seenServers = new HashSet<>();
+        Set<BoltServerAddress> seenServers = ConcurrentHashMap.newKeySet();
         return lookupOnKnownRouters( routingTable, connectionPool, seenServers ).thenCompose( composition ->
         {
             if ( composition != null )
@@ -170,7 +172,7 @@ public class Rediscovery
             {
                 return completedFuture( composition );
             }
-            return lookupOnKnownRouters( routingTable, connectionPool, new HashSet<>() );
+            return lookupOnKnownRouters( routingTable, connectionPool, ConcurrentHashMap.newKeySet() );
         } );
     }
 
@@ -178,31 +180,27 @@ public class Rediscovery
             ConnectionPool connectionPool, Set<BoltServerAddress> seenServers )
     {
         BoltServerAddress[] addresses = routingTable.routers().toArray();
-
-        CompletableFuture<ClusterComposition> result = completedWithNull();
-        for ( BoltServerAddress address : addresses )
-        {
-            result = result.thenCompose( composition ->
-            {
-                if ( composition != null )
-                {
-                    return completedFuture( composition );
-                }
-                else
-                {
-                    return lookupOnRouter( address, routingTable, connectionPool )
-                            .whenComplete( ( ignore, error ) -> seenServers.add( address ) );
-                }
-            } );
-        }
-        return result;
+        return lookupOnRouters( addresses, routingTable, connectionPool, seenServers );
     }
 
     private CompletionStage<ClusterComposition> lookupOnInitialRouter( RoutingTable routingTable,
             ConnectionPool connectionPool, Set<BoltServerAddress> seenServers )
     {
-        Set<BoltServerAddress> addresses = hostNameResolver.resolve( initialRouter );
-        addresses.removeAll( seenServers );
+        return hostNameResolver.resolve( initialRouter ).thenCompose( resolvedAddresses ->
+        {
+            Set<BoltServerAddress> addresses = new LinkedHashSet<>( resolvedAddresses );
+            addresses.removeAll( seenServers );
+            return lookupOnRouters( addresses.toArray( new BoltServerAddress[0] ), routingTable, connectionPool, null );
+        } );
+    }
+
+    private CompletionStage<ClusterComposition> lookupOnRouters( BoltServerAddress[] addresses,
+            RoutingTable routingTable, ConnectionPool connectionPool, Set<BoltServerAddress> seenServers )
+    {
+        if ( settings.lookupHedgingEnabled() )
+        {
+            return new HedgedLookup( addresses, routingTable, connectionPool, seenServers ).start();
+        }
 
         CompletableFuture<ClusterComposition> result = completedWithNull();
         for ( BoltServerAddress address : addresses )
@@ -213,7 +211,8 @@ public class Rediscovery
                 {
                     return completedFuture( composition );
                 }
-                return lookupOnRouter( address, routingTable, connectionPool );
+                return lookupOnRouter( address, routingTable, connectionPool )
+                        .whenComplete( ( ignore, error ) -> markSeen( address, seenServers ) );
             } );
         }
         return result;
@@ -255,4 +254,138 @@ public class Rediscovery
         }
     }
 
+    private static void markSeen( BoltServerAddress address, Set<BoltServerAddress> seenServers )
+    {
+        if ( seenServers != null )
+        {
+            seenServers.add( address );
+        }
+    }
+
+    /**
+     * Queries given routers with a delay between consecutive queries and completes with the first valid cluster
+     * composition. Query to the next router is started when the delay elapses or when the previous query fails.
+     * Routers that have not been queried when a composition is received are skipped and responses arriving after
+     * that are ignored.
+     */
+    private class HedgedLookup
+    {
+        final BoltServerAddress[] addresses;
+        final RoutingTable routingTable;
+        final ConnectionPool connectionPool;
+        final Set<BoltServerAddress> seenServers;
+        final CompletableFuture<ClusterComposition> result = new CompletableFuture<>();
+
+        int nextAddressIndex;
+        int queriesInProgress;
+        ScheduledFuture<?> nextQueryTimer;
+
+        HedgedLookup( BoltServerAddress[] addresses, RoutingTable routingTable, ConnectionPool connectionPool,
+                Set<BoltServerAddress> seenServers )
+        {
+            this.addresses = addresses;
+            this.routingTable = routingTable;
+            this.connectionPool = connectionPool;
+            this.seenServers = seenServers;
+        }
+
+        CompletionStage<ClusterComposition> start()
+        {
+            if ( addresses.length == 0 )
+            {
+                return completedWithNull();
+            }
+
+            if ( settings.lookupHedgeDelay() == 0 )
+            {
+                for ( int i = 0; i < addresses.length; i++ )
+                {
+                    queryNextRouter();
+                }
+            }
+            else
+            {
+                queryNextRouter();
+            }
+            return result;
+        }
+
+        private void queryNextRouter()
+        {
+            BoltServerAddress address;
+            synchronized ( this )
+            {
+                cancelNextQueryTimer();
+                if ( result.isDone() || nextAddressIndex >= addresses.length )
+                {
+                    return;
+                }
+                address = addresses[nextAddressIndex++];
+                queriesInProgress++;
+
+                long delay = settings.lookupHedgeDelay();
+                if ( delay > 0 && nextAddressIndex < addresses.length )
+                {
+                    nextQueryTimer = eventExecutorGroup.next().schedule( this::queryNextRouter, delay,
+                            TimeUnit.MILLISECONDS );
+                }
+            }
+
+            lookupOnRouter( address, routingTable, connectionPool ).whenComplete( ( composition, completionError ) ->
+                    queryCompleted( address, composition, completionError ) );
+        }
+
+        private void queryCompleted( BoltServerAddress address, ClusterComposition composition,
+                Throwable completionError )
+        {
+            markSeen( address, seenServers );
+
+            boolean allQueriesFailed;
+            synchronized ( this )
+            {
+                queriesInProgress--;
+                allQueriesFailed = queriesInProgress == 0 && nextAddressIndex >= addresses.length;
+            }
+
+            Throwable error = Futures.completionExceptionCause( completionError );
+            if ( error != null )
+            {
+                finish();
+                result.completeExceptionally( error );
+            }
+            else if ( composition != null )
+            {
+                finish();
+                if ( !result.complete( composition ) )
+                {
+                    logger.debug( "Ignoring routing table from '%s' because rediscovery is already completed",
+                            address );
+                }
+            }
+            else if ( allQueriesFailed )
+            {
+                result.complete( null );
+            }
+            else
+            {
+                // query failed, do not wait for the delay and query the next router right away
+                queryNextRouter();
+            }
+        }
+
+        private synchronized void finish()
+        {
+            cancelNextQueryTimer();
+            nextAddressIndex = addresses.length;
+        }
+
+        private void cancelNextQueryTimer()
+        {
+            if ( nextQueryTimer != null )
+            {
+                nextQueryTimer.cancel( false );
+                nextQueryTimer = null;
+            }
+        }
+    }
 }
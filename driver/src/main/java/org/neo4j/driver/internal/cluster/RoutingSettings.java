@@ -22,11 +22,15 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class RoutingSettings
 {
+    public static final double DEFAULT_ROUTING_TABLE_REFRESH_FRACTION = 0.1;
+    public static final long LOOKUP_HEDGING_DISABLED = -1;
     public static final RoutingSettings DEFAULT = new RoutingSettings( 1, SECONDS.toMillis( 5 ) );
 
     private final int maxRoutingFailures;
     private final long retryTimeoutDelay;
     private final RoutingContext routingContext;
+    private final double routingTableRefreshFraction;
+    private final long lookupHedgeDelay;
 
     public RoutingSettings( int maxRoutingFailures, long retryTimeoutDelay )
     {
@@ -34,15 +38,31 @@ public class RoutingSettings
     }
 
     public RoutingSettings( int maxRoutingFailures, long retryTimeoutDelay, RoutingContext routingContext )
+    {
+        this( maxRoutingFailures, retryTimeoutDelay, routingContext, DEFAULT_ROUTING_TABLE_REFRESH_FRACTION );
+    }
+
+    public RoutingSettings( int maxRoutingFailures, long retryTimeoutDelay, RoutingContext routingContext,
+            double routingTableRefreshFraction )
+    {
+        this( maxRoutingFailures, retryTimeoutDelay, routingContext, routingTableRefreshFraction,
+                LOOKUP_HEDGING_DISABLED );
+    }
+
+    public RoutingSettings( int maxRoutingFailures, long retryTimeoutDelay, RoutingContext routingContext,
+            double routingTableRefreshFraction, long lookupHedgeDelay )
     {
         this.maxRoutingFailures = maxRoutingFailures;
         this.retryTimeoutDelay = retryTimeoutDelay;
         this.routingContext = routingContext;
+        this.routingTableRefreshFraction = routingTableRefreshFraction;
+        this.lookupHedgeDelay = lookupHedgeDelay;
     }
 
     public RoutingSettings withRoutingContext( RoutingContext newRoutingContext )
     {
-        return new RoutingSettings( maxRoutingFailures, retryTimeoutDelay, newRoutingContext );
+        return new RoutingSettings( maxRoutingFailures, retryTimeoutDelay, newRoutingContext,
+                routingTableRefreshFraction, lookupHedgeDelay );
     }
 
     public int maxRoutingFailures()
@@ -59,4 +79,33 @@ public class RoutingSettings
     {
         return routingContext;
     }
+
+    /**
+     * @return fraction of the routing table TTL, counted back from its expiration, when the table is refreshed in
+     * background. Value of {@code 0} disables background refresh.
+     */
+    public double routingTableRefreshFraction()
+    {
+        return routingTableRefreshFraction;
+    }
+
+    public boolean backgroundRefreshEnabled()
+    {
+        return routingTableRefreshFraction > 0;
+    }
+
+    /**
+     * @return delay in milliseconds after which the next router is queried when previous one has not yet responded.
+     * Value of {@code 0} means all routers are queried in parallel and value of {@link #LOOKUP_HEDGING_DISABLED}
+     * means routers are queried one after another.
+     */
+    public long lookupHedgeDelay()
+    {
+        return lookupHedgeDelay;
+    }
+
+    public boolean lookupHedgingEnabled()
+    {
+        return lookupHedgeDelay >= 0;
+    }
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.util.Clock;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Persists the last known cluster composition to a local file, so that a new driver instance can start with a
+ * provisional routing table instead of an empty one.
+ * <p>
+ * File is a {@link Properties} file that also contains the initial router and the time when composition was saved.
+ * Compositions saved for a different initial router or older than the configured maximum age are ignored.
+ * <p>
+ * Compositions are written by a dedicated daemon thread, see {@link #saveAsync(ClusterComposition)}, so that a slow
+ * disk never stalls event loop threads that complete rediscovery.
+ */
+public class RoutingTableStore
+{
+    private static final String LOG_NAME = "RoutingTableStore";
+    private static final String THREAD_NAME_PREFIX = "Neo4jDriverRoutingTableStore";
+    private static final long WRITER_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private static final String INITIAL_ROUTER = "initialRouter";
+    private static final String SAVED_AT = "savedAt";
+    private static final String TIME_TO_LIVE = "timeToLive";
+    private static final String READERS = "readers";
+    private static final String WRITERS = "writers";
+    private static final String ROUTERS = "routers";
+    private static final String ADDRESS_SEPARATOR = ",";
+
+    private final File file;
+    private final BoltServerAddress initialRouter;
+    private final long maxAge;
+    private final Clock clock;
+    private final Logger log;
+    private final ExecutorService writeExecutor;
+    // latest composition that has not yet been written, older pending compositions are skipped
+    private final AtomicReference<ClusterComposition> pendingComposition = new AtomicReference<>();
+
+    public RoutingTableStore( File file, BoltServerAddress initialRouter, long maxAge, Clock clock, Logging logging )
+    {
+        this( file, initialRouter, maxAge, clock, newWriteExecutor(), logging );
+    }
+
+    public RoutingTableStore( File file, BoltServerAddress initialRouter, long maxAge, Clock clock,
+            ExecutorService writeExecutor, Logging logging )
+    {
+        this.file = file;
+        this.initialRouter = initialRouter;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.writeExecutor = writeExecutor;
+        this.log = logging.getLog( LOG_NAME );
+    }
+
+    /**
+     * Load the persisted cluster composition.
+     *
+     * @return composition with the same time to live as when it was saved, counted from now, or {@code null} when
+     * there is no usable persisted composition.
+     */
+    public ClusterComposition load()
+    {
+        if ( !file.isFile() )
+        {
+            return null;
+        }
+
+        try
+        {
+            Properties properties = new Properties();
+            try ( InputStream input = Files.newInputStream( file.toPath() ) )
+            {
+                properties.load( input );
+            }
+
+            if ( !initialRouter.toString().equals( properties.getProperty( INITIAL_ROUTER ) ) )
+            {
+                log.info( "Ignoring routing table persisted in '%s', it belongs to a different initial router %s",
+                        file, properties.getProperty( INITIAL_ROUTER ) );
+                return null;
+            }
+
+            long now = clock.millis();
+            long age = now - Long.parseLong( properties.getProperty( SAVED_AT ) );
+            if ( age > maxAge )
+            {
+                log.info( "Ignoring routing table persisted in '%s', it is %s ms old", file, age );
+                return null;
+            }
+
+            ClusterComposition composition = new ClusterComposition(
+                    now + Long.parseLong( properties.getProperty( TIME_TO_LIVE ) ),
+                    parseAddresses( properties.getProperty( READERS ) ),
+                    parseAddresses( properties.getProperty( WRITERS ) ),
+                    parseAddresses( properties.getProperty( ROUTERS ) ) );
+
+            return composition.hasRoutersAndReaders() ? composition : null;
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            log.warn( "Unable to load routing table persisted in '" + file + "'", e );
+            return null;
+        }
+    }
+
+    /**
+     * Persist the given cluster composition in background, replacing the previously persisted one. Returns without
+     * waiting for the file to be written. When multiple compositions are submitted before the writer thread gets to
+     * them, only the latest one is written. Failures are logged.
+     *
+     * @param composition the composition to persist.
+     */
+    public void saveAsync( ClusterComposition composition )
+    {
+        if ( pendingComposition.getAndSet( composition ) != null )
+        {
+            // write is already scheduled, it will pick up the given composition
+            return;
+        }
+
+        try
+        {
+            writeExecutor.execute( this::savePendingComposition );
+        }
+        catch ( Throwable error )
+        {
+            pendingComposition.set( null );
+            log.warn( "Unable to schedule persisting of the routing table to '" + file + "'", error );
+        }
+    }
+
+    /**
+     * Stop the writer thread. Already submitted composition is still written.
+     */
+    public void close()
+    {
+        writeExecutor.shutdown();
+    }
+
+    /**
+     * Persist the given cluster composition, replacing the previously persisted one. Blocks until the file is
+     * written. Failures are logged.
+     *
+     * @param composition the composition to persist.
+     */
+    public void save( ClusterComposition composition )
+    {
+        long now = clock.millis();
+
+        Properties properties = new Properties();
+        properties.setProperty( INITIAL_ROUTER, initialRouter.toString() );
+        properties.setProperty( SAVED_AT, String.valueOf( now ) );
+        properties.setProperty( TIME_TO_LIVE, String.valueOf( Math.max( composition.expirationTimestamp() - now, 0 ) ) );
+        properties.setProperty( READERS, formatAddresses( composition.readers() ) );
+        properties.setProperty( WRITERS, formatAddresses( composition.writers() ) );
+        properties.setProperty( ROUTERS, formatAddresses( composition.routers() ) );
+
+        Path target = file.toPath().toAbsolutePath();
+        Path tempFile = null;
+        try
+        {
+            Files.createDirectories( target.getParent() );
+            // write to a temporary file first, so that concurrent readers never observe a partially written table
+            tempFile = Files.createTempFile( target.getParent(), target.getFileName().toString(), ".tmp" );
+            try ( OutputStream output = Files.newOutputStream( tempFile ) )
+            {
+                properties.store( output, "Neo4j driver routing table" );
+            }
+            moveReplacing( tempFile, target );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            log.warn( "Unable to persist routing table to '" + file + "'", e );
+            deleteQuietly( tempFile );
+        }
+    }
+
+    private void savePendingComposition()
+    {
+        ClusterComposition composition = pendingComposition.getAndSet( null );
+        if ( composition != null )
+        {
+            save( composition );
+        }
+    }
+
+    private static ExecutorService newWriteExecutor()
+    {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor( 1, 1, WRITER_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DefaultThreadFactory( THREAD_NAME_PREFIX, true ) );
+        // thread is only needed while routing table is written, let it terminate when idle
+        executor.allowCoreThreadTimeOut( true );
+        return executor;
+    }
+
+    private static void moveReplacing( Path source, Path target ) throws IOException
+    {
+        try
+        {
+            Files.move( source, target, ATOMIC_MOVE, REPLACE_EXISTING );
+        }
+        catch ( AtomicMoveNotSupportedException e )
+        {
+            Files.move( source, target, REPLACE_EXISTING );
+        }
+    }
+
+    private static void deleteQuietly( Path path )
+    {
+        if ( path != null )
+        {
+            try
+            {
+                Files.deleteIfExists( path );
+            }
+            catch ( IOException ignore )
+            {
+            }
+        }
+    }
+
+    private static String formatAddresses( Set<BoltServerAddress> addresses )
+    {
+        StringBuilder result = new StringBuilder();
+        for ( BoltServerAddress address : addresses )
+        {
+            if ( result.length() > 0 )
+            {
+                result.append( ADDRESS_SEPARATOR );
+            }
+            result.append( address );
+        }
+        return result.toString();
+    }
+
+    private static Set<BoltServerAddress> parseAddresses( String value )
+    {
+        Set<BoltServerAddress> addresses = new LinkedHashSet<>();
+        if ( value == null || value.isEmpty() )
+        {
+            return addresses;
+        }
+        for ( String address : value.split( ADDRESS_SEPARATOR ) )
+        {
+            // host itself might contain ':' when it is an IPv6 address
+            int portSeparator = address.lastIndexOf( ':' );
+            addresses.add( new BoltServerAddress( address.substring( 0, portSeparator ),
+                    Integer.parseInt( address.substring( portSeparator + 1 ) ) ) );
+        }
+        return addresses;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class CircuitBreakerSettings
+{
+    public static final int DISABLED_FAILURE_THRESHOLD = 0;
+    public static final long DEFAULT_COOLDOWN = SECONDS.toMillis( 5 );
+
+    public static final CircuitBreakerSettings DISABLED =
+            new CircuitBreakerSettings( DISABLED_FAILURE_THRESHOLD, DEFAULT_COOLDOWN );
+
+    private final int failureThreshold;
+    private final long cooldown;
+
+    public CircuitBreakerSettings( int failureThreshold, long cooldown )
+    {
+        this.failureThreshold = failureThreshold;
+        this.cooldown = cooldown;
+    }
+
+    /**
+     * @return number of consecutive connection failures after which the server is excluded from load balancing.
+     */
+    public int failureThreshold()
+    {
+        return failureThreshold;
+    }
+
+    /**
+     * @return delay in milliseconds before an excluded server is probed in background.
+     */
+    public long cooldown()
+    {
+        return cooldown;
+    }
+
+    public boolean isEnabled()
+    {
+        return failureThreshold > DISABLED_FAILURE_THRESHOLD;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.spi.Connection;
+import org.neo4j.driver.internal.spi.ConnectionPool;
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.v1.Logger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Tracks health of servers using a circuit breaker per address. Breaker of a server opens after the configured
+ * number of consecutive connection failures. Servers with open breakers are skipped by the load balancer but stay in
+ * the routing table, so that a flapping server does not cause rediscovery. Open servers are probed in background
+ * after a cooldown by acquiring a connection and resetting it. Breaker closes when the probe succeeds and re-opens
+ * for another cooldown otherwise.
+ */
+public class CircuitBreakers
+{
+    enum State
+    {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final CircuitBreakerSettings settings;
+    private final ConnectionPool connectionPool;
+    private final EventExecutorGroup eventExecutorGroup;
+    private final Logger log;
+    private final ConcurrentMap<BoltServerAddress,CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final AtomicLong forgetUnavailableAllowedAt = new AtomicLong();
+
+    private volatile boolean closed;
+
+    public CircuitBreakers( CircuitBreakerSettings settings, ConnectionPool connectionPool,
+            EventExecutorGroup eventExecutorGroup, Logger log )
+    {
+        this.settings = settings;
+        this.connectionPool = connectionPool;
+        this.eventExecutorGroup = eventExecutorGroup;
+        this.log = log;
+    }
+
+    public boolean isEnabled()
+    {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Filter out addresses with open circuit breakers.
+     *
+     * @param addresses the addresses to filter.
+     * @return given array when all addresses are available, new array of available addresses otherwise.
+     */
+    public BoltServerAddress[] available( BoltServerAddress[] addresses )
+    {
+        if ( breakers.isEmpty() )
+        {
+            return addresses;
+        }
+
+        int availableCount = 0;
+        for ( BoltServerAddress address : addresses )
+        {
+            if ( isAvailable( address ) )
+            {
+                availableCount++;
+            }
+        }
+
+        if ( availableCount == addresses.length )
+        {
+            return addresses;
+        }
+
+        BoltServerAddress[] result = new BoltServerAddress[availableCount];
+        for ( int i = 0, j = 0; i < addresses.length && j < availableCount; i++ )
+        {
+            if ( isAvailable( addresses[i] ) )
+            {
+                result[j++] = addresses[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check if breakers of all given addresses are not closed. Addresses that merely failed without reaching the
+     * failure threshold are still considered available.
+     *
+     * @param addresses the addresses to check.
+     * @return {@code true} when at least one address is given and none of them is available.
+     */
+    public boolean noneAvailable( BoltServerAddress[] addresses )
+    {
+        if ( addresses.length == 0 || breakers.isEmpty() )
+        {
+            return false;
+        }
+        for ( BoltServerAddress address : addresses )
+        {
+            if ( isAvailable( address ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Allow forgetting of unavailable servers at most once per cooldown. Rediscovery is likely to return the same
+     * servers with breakers that are still open, so forgetting them again before the next probe only causes repeated
+     * rediscovery.
+     *
+     * @param now the current time in milliseconds.
+     * @return {@code true} when caller is allowed to forget servers, {@code false} otherwise.
+     */
+    public boolean tryForgetUnavailable( long now )
+    {
+        long allowedAt = forgetUnavailableAllowedAt.get();
+        return now >= allowedAt && forgetUnavailableAllowedAt.compareAndSet( allowedAt, now + settings.cooldown() );
+    }
+
+    public boolean isAvailable( BoltServerAddress address )
+    {
+        CircuitBreaker breaker = breakers.get( address );
+        return breaker == null || breaker.state() == State.CLOSED;
+    }
+
+    public void onSuccess( BoltServerAddress address )
+    {
+        CircuitBreaker breaker = breakers.get( address );
+        if ( breaker != null )
+        {
+            breaker.onSuccess();
+        }
+    }
+
+    public void onFailure( BoltServerAddress address )
+    {
+        CircuitBreaker breaker = breakers.computeIfAbsent( address, CircuitBreaker::new );
+        breaker.onFailure();
+    }
+
+    /**
+     * Stop tracking servers that are no longer part of the routing table.
+     *
+     * @param addressesToRetain the addresses to keep tracking.
+     */
+    public void retainAll( Set<BoltServerAddress> addressesToRetain )
+    {
+        breakers.entrySet().removeIf( entry ->
+        {
+            if ( !addressesToRetain.contains( entry.getKey() ) )
+            {
+                entry.getValue().stopProbing();
+                return true;
+            }
+            return false;
+        } );
+    }
+
+    public void close()
+    {
+        closed = true;
+        breakers.values().forEach( CircuitBreaker::stopProbing );
+        breakers.clear();
+    }
+
+    State state( BoltServerAddress address )
+    {
+        CircuitBreaker breaker = breakers.get( address );
+        return breaker == null ? State.CLOSED : breaker.state();
+    }
+
+    private static CompletionStage<Void> resetAndRelease( Connection connection )
+    {
+        // RESET requires a round trip to the server, which verifies that it is reachable and responsive
+        return connection.reset()
+                .handle( ( ignore, error ) -> error )
+                .thenCompose( resetError -> connection.release().thenApply( ignore ->
+                {
+                    if ( resetError != null )
+                    {
+                        throw Futures.asCompletionException( resetError );
+                    }
+                    return null;
+                } ) );
+    }
+
+    private class CircuitBreaker
+    {
+        final BoltServerAddress address;
+
+        // written under the breaker monitor, read without locking on every connection acquisition
+        volatile State state = State.CLOSED;
+        int consecutiveFailures;
+        ScheduledFuture<?> probeFuture;
+
+        CircuitBreaker( BoltServerAddress address )
+        {
+            this.address = address;
+        }
+
+        State state()
+        {
+            return state;
+        }
+
+        synchronized void onSuccess()
+        {
+            if ( state == State.CLOSED )
+            {
+                consecutiveFailures = 0;
+            }
+        }
+
+        synchronized void onFailure()
+        {
+            if ( state != State.CLOSED )
+            {
+                return;
+            }
+
+            consecutiveFailures++;
+            if ( consecutiveFailures >= settings.failureThreshold() )
+            {
+                log.warn( "Server at %s failed %s times in a row, it will not be used until a background probe " +
+                          "succeeds in %s ms", address, consecutiveFailures, settings.cooldown() );
+                open();
+            }
+        }
+
+        synchronized void stopProbing()
+        {
+            if ( probeFuture != null )
+            {
+                probeFuture.cancel( false );
+                probeFuture = null;
+            }
+        }
+
+        private void open()
+        {
+            state = State.OPEN;
+            if ( !closed )
+            {
+                probeFuture = eventExecutorGroup.next().schedule( this::probe, settings.cooldown(), MILLISECONDS );
+            }
+        }
+
+        private void probe()
+        {
+            synchronized ( this )
+            {
+                probeFuture = null;
+                if ( closed || breakers.get( address ) != this )
+                {
+                    // server is no longer tracked
+                    return;
+                }
+                state = State.HALF_OPEN;
+            }
+
+            log.debug( "Probing server at %s", address );
+            connectionPool.acquire( address )
+                    .thenCompose( CircuitBreakers::resetAndRelease )
+                    .whenComplete( ( ignore, error ) -> probeCompleted( Futures.completionExceptionCause( error ) ) );
+        }
+
+        private synchronized void probeCompleted( Throwable error )
+        {
+            if ( error == null )
+            {
+                log.info( "Server at %s is available again", address );
+                state = State.CLOSED;
+                consecutiveFailures = 0;
+            }
+            else
+            {
+                log.debug( "Probe of server at %s failed: %s", address, error );
+                open();
+            }
+        }
+    }
+}
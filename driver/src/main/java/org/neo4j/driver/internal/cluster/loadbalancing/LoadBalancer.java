@@ -19,12 +19,18 @@
 package org.neo4j.driver.internal.cluster.loadbalancing;
 
 import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.RoutingErrorHandler;
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
 import org.neo4j.driver.internal.async.RoutingConnection;
 import org.neo4j.driver.internal.cluster.AddressSet;
 import org.neo4j.driver.internal.cluster.ClusterComposition;
@@ -35,6 +41,7 @@ import org.neo4j.driver.internal.cluster.Rediscovery;
 import org.neo4j.driver.internal.cluster.RoutingProcedureClusterCompositionProvider;
 import org.neo4j.driver.internal.cluster.RoutingSettings;
 import org.neo4j.driver.internal.cluster.RoutingTable;
+import org.neo4j.driver.internal.cluster.RoutingTableStore;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ConnectionPool;
 import org.neo4j.driver.internal.spi.ConnectionProvider;
@@ -47,55 +54,132 @@ import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import org.neo4j.driver.v1.exceptions.SessionExpiredException;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
 {
     private static final String LOAD_BALANCER_LOG_NAME = "LoadBalancer";
+    static final long LEADER_SWITCH_MAX_PAUSE_MS = 5_000;
+    static final long LEADER_SWITCH_RETRY_DELAY_MS = 100;
 
     private final ConnectionPool connectionPool;
     private final RoutingTable routingTable;
+    private final CompletionStage<RoutingTable> freshRoutingTableStage;
     private final Rediscovery rediscovery;
     private final LoadBalancingStrategy loadBalancingStrategy;
+    private final ResponseTimeTracker responseTimeTracker;
+    private final CircuitBreakers circuitBreakers;
+    private final RoutingTableStore routingTableStore;
     private final EventExecutorGroup eventExecutorGroup;
+    private final Clock clock;
+    private final double routingTableRefreshFraction;
     private final Logger log;
 
     private CompletableFuture<RoutingTable> refreshRoutingTableFuture;
+    private ScheduledFuture<?> backgroundRefreshFuture;
+    // read without locking by every write acquisition
+    private final AtomicReference<CompletableFuture<Void>> leaderSwitchFuture = new AtomicReference<>();
+    private volatile boolean closed;
 
     public LoadBalancer( BoltServerAddress initialRouter, RoutingSettings settings, ConnectionPool connectionPool,
             EventExecutorGroup eventExecutorGroup, Clock clock, Logging logging,
-            LoadBalancingStrategy loadBalancingStrategy )
+            LoadBalancingStrategy loadBalancingStrategy, AsyncDnsResolver dnsResolver,
+            CircuitBreakerSettings circuitBreakerSettings, RoutingTableStore routingTableStore )
     {
         this( connectionPool, new ClusterRoutingTable( clock, initialRouter ),
-                createRediscovery( initialRouter, settings, eventExecutorGroup, clock, logging ),
-                loadBalancerLogger( logging ), loadBalancingStrategy, eventExecutorGroup );
+                createRediscovery( initialRouter, settings, eventExecutorGroup, clock, logging, dnsResolver ),
+                loadBalancerLogger( logging ), loadBalancingStrategy, eventExecutorGroup, clock,
+                settings.routingTableRefreshFraction(), circuitBreakerSettings, routingTableStore );
     }
 
     // Used only in testing
     public LoadBalancer( ConnectionPool connectionPool, RoutingTable routingTable, Rediscovery rediscovery,
             EventExecutorGroup eventExecutorGroup, Logging logging )
+    {
+        this( connectionPool, routingTable, rediscovery, eventExecutorGroup, Clock.SYSTEM, 0, logging );
+    }
+
+    // Used only in testing
+    public LoadBalancer( ConnectionPool connectionPool, RoutingTable routingTable, Rediscovery rediscovery,
+            EventExecutorGroup eventExecutorGroup, Clock clock, double routingTableRefreshFraction, Logging logging )
+    {
+        this( connectionPool, routingTable, rediscovery, loadBalancerLogger( logging ),
+                new LeastConnectedLoadBalancingStrategy( connectionPool, logging ),
+                eventExecutorGroup, clock, routingTableRefreshFraction, CircuitBreakerSettings.DISABLED, null );
+    }
+
+    // Used only in testing
+    public LoadBalancer( ConnectionPool connectionPool, RoutingTable routingTable, Rediscovery rediscovery,
+            EventExecutorGroup eventExecutorGroup, LoadBalancingStrategy loadBalancingStrategy, Logging logging )
+    {
+        this( connectionPool, routingTable, rediscovery, loadBalancerLogger( logging ), loadBalancingStrategy,
+                eventExecutorGroup, Clock.SYSTEM, 0, CircuitBreakerSettings.DISABLED, null );
+    }
+
+    // Used only in testing
+    public LoadBalancer( ConnectionPool connectionPool, RoutingTable routingTable, Rediscovery rediscovery,
+            EventExecutorGroup eventExecutorGroup, CircuitBreakerSettings circuitBreakerSettings, Logging logging )
+    {
+        this( connectionPool, routingTable, rediscovery, loadBalancerLogger( logging ),
+                new LeastConnectedLoadBalancingStrategy( connectionPool, logging ),
+                eventExecutorGroup, Clock.SYSTEM, 0, circuitBreakerSettings, null );
+    }
+
+    // Used only in testing
+    public LoadBalancer( ConnectionPool connectionPool, RoutingTable routingTable, Rediscovery rediscovery,
+            EventExecutorGroup eventExecutorGroup, Clock clock, RoutingTableStore routingTableStore, Logging logging )
     {
         this( connectionPool, routingTable, rediscovery, loadBalancerLogger( logging ),
                 new LeastConnectedLoadBalancingStrategy( connectionPool, logging ),
-                eventExecutorGroup );
+                eventExecutorGroup, clock, 0, CircuitBreakerSettings.DISABLED, routingTableStore );
     }
 
     private LoadBalancer( ConnectionPool connectionPool, RoutingTable routingTable, Rediscovery rediscovery,
-            Logger log, LoadBalancingStrategy loadBalancingStrategy, EventExecutorGroup eventExecutorGroup )
+            Logger log, LoadBalancingStrategy loadBalancingStrategy, EventExecutorGroup eventExecutorGroup,
+            Clock clock, double routingTableRefreshFraction, CircuitBreakerSettings circuitBreakerSettings,
+            RoutingTableStore routingTableStore )
     {
         this.connectionPool = connectionPool;
         this.routingTable = routingTable;
+        this.freshRoutingTableStage = completedFuture( routingTable );
         this.rediscovery = rediscovery;
         this.loadBalancingStrategy = loadBalancingStrategy;
+        this.responseTimeTracker = responseTimeTracker( loadBalancingStrategy );
         this.eventExecutorGroup = eventExecutorGroup;
+        this.clock = clock;
+        this.routingTableRefreshFraction = routingTableRefreshFraction;
         this.log = log;
+        this.circuitBreakers = new CircuitBreakers( circuitBreakerSettings, connectionPool, eventExecutorGroup, log );
+        this.routingTableStore = routingTableStore;
+
+        if ( routingTableStore != null )
+        {
+            // read the file without holding the lock of this load balancer
+            persistedRoutingTableLoaded( routingTableStore.load() );
+        }
     }
 
     @Override
     public CompletionStage<Connection> acquireConnection( AccessMode mode )
     {
         return freshRoutingTable( mode )
-                .thenCompose( routingTable -> acquire( mode, routingTable ) )
-                .thenApply( connection -> new RoutingConnection( connection, mode, this ) );
+                .thenCompose( routingTable -> acquire( mode, routingTable, null ) )
+                .thenApply( connection -> new RoutingConnection( connection, mode, this, responseTimeTracker ) );
+    }
+
+    /**
+     * Acquire a connection towards a server other than the given one. Used to send a hedged query to a different
+     * server than the original query.
+     *
+     * @param mode the access mode of the connection.
+     * @param excludedAddress the address of the server that should not be used.
+     * @return stage with the connection, failed with {@link SessionExpiredException} when no other server is available.
+     */
+    public CompletionStage<Connection> acquireConnection( AccessMode mode, BoltServerAddress excludedAddress )
+    {
+        return freshRoutingTable( mode )
+                .thenCompose( routingTable -> acquire( mode, routingTable, excludedAddress ) )
+                .thenApply( connection -> new RoutingConnection( connection, mode, this, responseTimeTracker ) );
     }
 
     @Override
@@ -107,105 +191,332 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
     @Override
     public void onConnectionFailure( BoltServerAddress address )
     {
-        forget( address );
+        connectionFailed( address );
     }
 
     @Override
     public void onWriteFailure( BoltServerAddress address )
     {
         routingTable.removeWriter( address );
+        startLeaderSwitch( address );
     }
 
     @Override
     public CompletionStage<Void> close()
     {
+        stopBackgroundRefresh();
+        finishLeaderSwitch();
+        circuitBreakers.close();
+        if ( routingTableStore != null )
+        {
+            routingTableStore.close();
+        }
         return connectionPool.close();
     }
 
-    private synchronized void forget( BoltServerAddress address )
+    private void forget( BoltServerAddress address )
     {
         // remove from the routing table, to prevent concurrent threads from making connections to this address
         routingTable.forget( address );
     }
 
-    private synchronized CompletionStage<RoutingTable> freshRoutingTable( AccessMode mode )
+    private void connectionFailed( BoltServerAddress address )
+    {
+        if ( circuitBreakers.isEnabled() )
+        {
+            // keep the address in the routing table, circuit breaker excludes it after repeated failures
+            circuitBreakers.onFailure( address );
+        }
+        else
+        {
+            forget( address );
+        }
+    }
+
+    private CompletionStage<RoutingTable> freshRoutingTable( AccessMode mode )
+    {
+        if ( mode == AccessMode.WRITE )
+        {
+            CompletionStage<Void> leaderSwitch = leaderSwitchFuture.get();
+            if ( leaderSwitch != null )
+            {
+                // writer is being replaced, wait for the new one instead of failing right away
+                return leaderSwitch.thenCompose( ignore -> freshRoutingTable( mode ) );
+            }
+        }
+        if ( !routingTable.isStaleFor( mode ) )
+        {
+            // existing routing table is fresh, use it even if background refresh is in progress
+            return freshRoutingTableStage;
+        }
+        return refreshStaleRoutingTable( mode );
+    }
+
+    private synchronized CompletionStage<RoutingTable> refreshStaleRoutingTable( AccessMode mode )
     {
         if ( refreshRoutingTableFuture != null )
         {
             // refresh is already happening concurrently, just use it's result
             return refreshRoutingTableFuture;
         }
-        else if ( routingTable.isStaleFor( mode ) )
+        else if ( !routingTable.isStaleFor( mode ) )
+        {
+            // routing table has been refreshed concurrently
+            return freshRoutingTableStage;
+        }
+        else
         {
             // existing routing table is not fresh and should be updated
             log.info( "Routing table is stale. %s", routingTable );
+            return refreshRoutingTable();
+        }
+    }
 
-            CompletableFuture<RoutingTable> resultFuture = new CompletableFuture<>();
-            refreshRoutingTableFuture = resultFuture;
+    private synchronized CompletableFuture<RoutingTable> refreshRoutingTable()
+    {
+        CompletableFuture<RoutingTable> resultFuture = new CompletableFuture<>();
+        refreshRoutingTableFuture = resultFuture;
 
-            rediscovery.lookupClusterComposition( routingTable, connectionPool )
-                    .whenComplete( ( composition, completionError ) ->
+        rediscovery.lookupClusterComposition( routingTable, connectionPool )
+                .whenComplete( ( composition, completionError ) ->
+                {
+                    Throwable error = Futures.completionExceptionCause( completionError );
+                    if ( error != null )
+                    {
+                        clusterCompositionLookupFailed( error );
+                    }
+                    else
                     {
-                        Throwable error = Futures.completionExceptionCause( completionError );
-                        if ( error != null )
-                        {
-                            clusterCompositionLookupFailed( error );
-                        }
-                        else
-                        {
-                            freshClusterCompositionFetched( composition );
-                        }
-                    } );
-
-            return resultFuture;
+                        freshClusterCompositionFetched( composition );
+                    }
+                } );
+
+        return resultFuture;
+    }
+
+    private synchronized void refreshRoutingTableInBackground()
+    {
+        backgroundRefreshFuture = null;
+        if ( closed || refreshRoutingTableFuture != null )
+        {
+            // driver is closed or foreground refresh is already in progress
+            return;
+        }
+
+        log.debug( "Refreshing routing table in background. %s", routingTable );
+        refreshRoutingTable().whenComplete( ( ignore, error ) ->
+        {
+            if ( error != null )
+            {
+                log.warn( "Background refresh of the routing table failed, current routing table is kept until " +
+                          "it expires", Futures.completionExceptionCause( error ) );
+            }
+        } );
+    }
+
+    /**
+     * Start looking up the new leader after the given writer refused a write. New writes wait until a writer is
+     * found or {@link #LEADER_SWITCH_MAX_PAUSE_MS} passes, so that a leader election results in a single coalesced
+     * lookup instead of every write failing and retrying on its own.
+     */
+    private void startLeaderSwitch( BoltServerAddress oldWriter )
+    {
+        if ( closed || leaderSwitchFuture.get() != null || !routingTable.isStaleFor( AccessMode.WRITE ) ||
+             !leaderSwitchFuture.compareAndSet( null, new CompletableFuture<>() ) )
+        {
+            // driver is closed, new leader is already being looked up or other writers are still known
+            return;
+        }
+        if ( closed )
+        {
+            // driver was closed concurrently and might not have seen the new future
+            finishLeaderSwitch();
+            return;
+        }
+
+        log.info( "Server at %s no longer accepts writes, looking up the new leader. %s", oldWriter, routingTable );
+        lookupNewLeader( clock.millis() + LEADER_SWITCH_MAX_PAUSE_MS );
+    }
+
+    private void lookupNewLeader( long deadline )
+    {
+        CompletableFuture<RoutingTable> lookup = newLeaderLookup();
+        if ( lookup == null )
+        {
+            finishLeaderSwitch();
+            return;
+        }
+        // listener is added without holding the lock because it might run right away and release waiting writes
+        lookup.whenComplete( ( ignore, error ) -> newLeaderLookupCompleted( deadline ) );
+    }
+
+    private synchronized CompletableFuture<RoutingTable> newLeaderLookup()
+    {
+        if ( closed )
+        {
+            return null;
+        }
+        return refreshRoutingTableFuture != null ? refreshRoutingTableFuture : refreshRoutingTable();
+    }
+
+    private void newLeaderLookupCompleted( long deadline )
+    {
+        if ( closed || !routingTable.isStaleFor( AccessMode.WRITE ) )
+        {
+            finishLeaderSwitch();
+        }
+        else if ( clock.millis() + LEADER_SWITCH_RETRY_DELAY_MS > deadline )
+        {
+            log.warn( "Unable to find the new leader in %sms, resuming writes. %s", LEADER_SWITCH_MAX_PAUSE_MS,
+                    routingTable );
+            finishLeaderSwitch();
         }
         else
         {
-            // existing routing table is fresh, use it
-            return completedFuture( routingTable );
+            // leader election is likely still in progress
+            eventExecutorGroup.next().schedule( () -> lookupNewLeader( deadline ),
+                    LEADER_SWITCH_RETRY_DELAY_MS, MILLISECONDS );
         }
     }
 
-    private synchronized void freshClusterCompositionFetched( ClusterComposition composition )
+    private void finishLeaderSwitch()
     {
-        try
+        // completed without holding the lock, waiting writes continue in this thread
+        CompletableFuture<Void> future = leaderSwitchFuture.getAndSet( null );
+        if ( future != null )
         {
-            routingTable.update( composition );
-            connectionPool.retainAll( routingTable.servers() );
+            future.complete( null );
+        }
+    }
+
+    private synchronized void persistedRoutingTableLoaded( ClusterComposition composition )
+    {
+        if ( composition == null )
+        {
+            return;
+        }
+
+        // use persisted routing table right away, it is replaced once it has been re-validated in background
+        routingTable.update( composition );
+        log.info( "Loaded persisted routing table. %s", routingTable );
+        refreshRoutingTableInBackground();
+    }
+
+    private synchronized void scheduleBackgroundRefresh( ClusterComposition composition )
+    {
+        cancelBackgroundRefresh();
+        if ( closed || routingTableRefreshFraction <= 0 )
+        {
+            return;
+        }
+
+        long timeToLive = composition.expirationTimestamp() - clock.millis();
+        if ( timeToLive <= 0 )
+        {
+            return;
+        }
+
+        long delay = (long) (timeToLive * (1 - routingTableRefreshFraction));
+        backgroundRefreshFuture = eventExecutorGroup.next().schedule(
+                this::refreshRoutingTableInBackground, delay, MILLISECONDS );
+    }
 
-            log.info( "Updated routing table. %s", routingTable );
+    private synchronized void stopBackgroundRefresh()
+    {
+        closed = true;
+        cancelBackgroundRefresh();
+    }
+
+    private synchronized void cancelBackgroundRefresh()
+    {
+        if ( backgroundRefreshFuture != null )
+        {
+            backgroundRefreshFuture.cancel( false );
+            backgroundRefreshFuture = null;
+        }
+    }
 
-            CompletableFuture<RoutingTable> routingTableFuture = refreshRoutingTableFuture;
-            refreshRoutingTableFuture = null;
-            routingTableFuture.complete( routingTable );
+    private void freshClusterCompositionFetched( ClusterComposition composition )
+    {
+        CompletableFuture<RoutingTable> routingTableFuture;
+        try
+        {
+            routingTableFuture = updateRoutingTable( composition );
         }
         catch ( Throwable error )
         {
             clusterCompositionLookupFailed( error );
+            return;
+        }
+
+        if ( routingTableStore != null )
+        {
+            // fetched composition is not modified afterwards, it is written by the store thread outside of the lock
+            routingTableStore.saveAsync( composition );
         }
+        // complete without holding the lock, dependent actions like waiting writes continue in this thread
+        routingTableFuture.complete( routingTable );
     }
 
-    private synchronized void clusterCompositionLookupFailed( Throwable error )
+    private synchronized CompletableFuture<RoutingTable> updateRoutingTable( ClusterComposition composition )
+    {
+        routingTable.update( composition );
+        Set<BoltServerAddress> servers = routingTable.servers();
+        connectionPool.retainAll( servers );
+        circuitBreakers.retainAll( servers );
+        if ( responseTimeTracker != null )
+        {
+            responseTimeTracker.retainAll( servers );
+        }
+        scheduleBackgroundRefresh( composition );
+
+        log.info( "Updated routing table. %s", routingTable );
+        return takeRefreshRoutingTableFuture();
+    }
+
+    private void clusterCompositionLookupFailed( Throwable error )
+    {
+        takeRefreshRoutingTableFuture().completeExceptionally( error );
+    }
+
+    private synchronized CompletableFuture<RoutingTable> takeRefreshRoutingTableFuture()
     {
         CompletableFuture<RoutingTable> routingTableFuture = refreshRoutingTableFuture;
         refreshRoutingTableFuture = null;
-        routingTableFuture.completeExceptionally( error );
+        return routingTableFuture;
     }
 
-    private CompletionStage<Connection> acquire( AccessMode mode, RoutingTable routingTable )
+    private CompletionStage<Connection> acquire( AccessMode mode, RoutingTable routingTable,
+            BoltServerAddress excludedAddress )
     {
-        AddressSet addresses = addressSet( mode, routingTable );
         CompletableFuture<Connection> result = new CompletableFuture<>();
-        acquire( mode, addresses, result );
+        acquire( mode, routingTable, result, excludedAddress, null );
         return result;
     }
 
-    private void acquire( AccessMode mode, AddressSet addresses, CompletableFuture<Connection> result )
+    private void acquire( AccessMode mode, RoutingTable routingTable, CompletableFuture<Connection> result,
+            BoltServerAddress excludedAddress, Set<BoltServerAddress> failedAddresses )
     {
+        // read addresses on every attempt, routing table publishes a new snapshot when failed address is forgotten
+        BoltServerAddress[] knownAddresses = addressSet( mode, routingTable ).toArray();
+        BoltServerAddress[] addresses = availableAddresses( knownAddresses, excludedAddress, failedAddresses );
         BoltServerAddress address = selectAddress( mode, addresses );
 
         if ( address == null )
         {
+            // servers that failed only during this acquisition still have closed breakers and are not forgotten,
+            // forgetting is rate-limited because rediscovery can return same servers with breakers still open
+            if ( circuitBreakers.isEnabled() && excludedAddress == null &&
+                 circuitBreakers.noneAvailable( knownAddresses ) &&
+                 circuitBreakers.tryForgetUnavailable( clock.millis() ) )
+            {
+                // none of the known servers is usable, topology has likely changed and rediscovery is needed
+                log.warn( "All known %s servers are unavailable, they will be removed from the routing table", mode );
+                for ( BoltServerAddress knownAddress : knownAddresses )
+                {
+                    forget( knownAddress );
+                }
+            }
             result.completeExceptionally( new SessionExpiredException(
                     "Failed to obtain connection towards " + mode + " server. " +
                     "Known routing table is: " + routingTable ) );
@@ -220,8 +531,12 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
                 if ( error instanceof ServiceUnavailableException )
                 {
                     log.error( "Failed to obtain a connection towards address " + address, error );
-                    forget( address );
-                    eventExecutorGroup.next().execute( () -> acquire( mode, addresses, result ) );
+                    connectionFailed( address );
+                    Set<BoltServerAddress> newFailedAddresses =
+                            failedAddresses == null ? new HashSet<>() : failedAddresses;
+                    newFailedAddresses.add( address );
+                    eventExecutorGroup.next().execute(
+                            () -> acquire( mode, routingTable, result, excludedAddress, newFailedAddresses ) );
                 }
                 else
                 {
@@ -230,11 +545,38 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
             }
             else
             {
+                circuitBreakers.onSuccess( address );
                 result.complete( connection );
             }
         } );
     }
 
+    private BoltServerAddress[] availableAddresses( BoltServerAddress[] addresses,
+            BoltServerAddress excludedAddress, Set<BoltServerAddress> failedAddresses )
+    {
+        BoltServerAddress[] available = circuitBreakers.available( addresses );
+        if ( excludedAddress == null && failedAddresses == null )
+        {
+            return available;
+        }
+        // do not use the excluded address and do not retry addresses that already failed during this acquisition
+        return Arrays.stream( available )
+                .filter( address -> !address.equals( excludedAddress ) )
+                .filter( address -> failedAddresses == null || !failedAddresses.contains( address ) )
+                .toArray( BoltServerAddress[]::new );
+    }
+
+    private static ResponseTimeTracker responseTimeTracker( LoadBalancingStrategy loadBalancingStrategy )
+    {
+        if ( loadBalancingStrategy instanceof LocalityAwareLoadBalancingStrategy )
+        {
+            // readers within the preferred group are selected by the delegate, it needs to see the response times
+            return responseTimeTracker( ((LocalityAwareLoadBalancingStrategy) loadBalancingStrategy).delegate() );
+        }
+        return loadBalancingStrategy instanceof ResponseTimeTracker ? (ResponseTimeTracker) loadBalancingStrategy
+                                                                    : null;
+    }
+
     private static AddressSet addressSet( AccessMode mode, RoutingTable routingTable )
     {
         switch ( mode )
@@ -248,10 +590,8 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
         }
     }
 
-    private BoltServerAddress selectAddress( AccessMode mode, AddressSet servers )
+    private BoltServerAddress selectAddress( AccessMode mode, BoltServerAddress[] addresses )
     {
-        BoltServerAddress[] addresses = servers.toArray();
-
         switch ( mode )
         {
         case READ:
@@ -264,13 +604,13 @@ public class LoadBalancer implements ConnectionProvider, RoutingErrorHandler
     }
 
     private static Rediscovery createRediscovery( BoltServerAddress initialRouter, RoutingSettings settings,
-            EventExecutorGroup eventExecutorGroup, Clock clock, Logging logging )
+            EventExecutorGroup eventExecutorGroup, Clock clock, Logging logging, AsyncDnsResolver dnsResolver )
     {
         Logger log = loadBalancerLogger( logging );
         ClusterCompositionProvider clusterCompositionProvider =
                 new RoutingProcedureClusterCompositionProvider( clock, settings );
         return new Rediscovery( initialRouter, settings, clusterCompositionProvider, eventExecutorGroup,
-                new DnsResolver( log ), log );
+                new DnsResolver( dnsResolver, log ), log );
     }
 
     private static Logger loadBalancerLogger( Logging logging )
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.spi.ConnectionPool;
+
+/**
+ * Load balancing strategy that prefers readers from the given server groups, for example servers in the same
+ * availability zone as the application. Each group is defined by a host name pattern where {@code *} matches any
+ * sequence of characters. Groups are ordered by preference and servers that do not match any group are the least
+ * preferred.
+ * <p>
+ * Readers are selected from the most preferred group that has at least one server which is not overloaded, i.e.
+ * has less than the given number of connections in use. Actual selection within the group is done by the delegate
+ * strategy. Writers are always selected by the delegate strategy because usually there is only a single writer.
+ * Delegate that is a {@link ResponseTimeTracker} receives response times of all requests.
+ */
+public class LocalityAwareLoadBalancingStrategy implements LoadBalancingStrategy
+{
+    private final LoadBalancingStrategy delegate;
+    private final ConnectionPool connectionPool;
+    private final List<Pattern> groups;
+    private final int overloadThreshold;
+    private final ConcurrentMap<BoltServerAddress,Integer> groupIndexes = new ConcurrentHashMap<>();
+
+    public LocalityAwareLoadBalancingStrategy( LoadBalancingStrategy delegate, ConnectionPool connectionPool,
+            List<String> hostPatterns, int overloadThreshold )
+    {
+        this.delegate = delegate;
+        this.connectionPool = connectionPool;
+        this.groups = compile( hostPatterns );
+        this.overloadThreshold = overloadThreshold;
+    }
+
+    @Override
+    public BoltServerAddress selectReader( BoltServerAddress[] knownReaders )
+    {
+        return delegate.selectReader( preferred( knownReaders ) );
+    }
+
+    @Override
+    public BoltServerAddress selectWriter( BoltServerAddress[] knownWriters )
+    {
+        return delegate.selectWriter( knownWriters );
+    }
+
+    LoadBalancingStrategy delegate()
+    {
+        return delegate;
+    }
+
+    private BoltServerAddress[] preferred( BoltServerAddress[] addresses )
+    {
+        int bestGroup = Integer.MAX_VALUE;
+        int bestGroupSize = 0;
+        int[] addressGroups = new int[addresses.length];
+
+        for ( int i = 0; i < addresses.length; i++ )
+        {
+            int group = overloaded( addresses[i] ) ? Integer.MAX_VALUE : groupIndex( addresses[i] );
+            addressGroups[i] = group;
+            if ( group < bestGroup )
+            {
+                bestGroup = group;
+                bestGroupSize = 1;
+            }
+            else if ( group == bestGroup )
+            {
+                bestGroupSize++;
+            }
+        }
+
+        if ( bestGroupSize == addresses.length )
+        {
+            // all servers are equally preferred or all are overloaded, let the delegate choose among all of them
+            return addresses;
+        }
+
+        BoltServerAddress[] result = new BoltServerAddress[bestGroupSize];
+        for ( int i = 0, j = 0; i < addresses.length; i++ )
+        {
+            if ( addressGroups[i] == bestGroup )
+            {
+                result[j++] = addresses[i];
+            }
+        }
+        return result;
+    }
+
+    private boolean overloaded( BoltServerAddress address )
+    {
+        return connectionPool.inUseConnections( address ) >= overloadThreshold;
+    }
+
+    int groupIndex( BoltServerAddress address )
+    {
+        // cluster members rarely change, so matching is done only once per address
+        return groupIndexes.computeIfAbsent( address, this::matchGroup );
+    }
+
+    private int matchGroup( BoltServerAddress address )
+    {
+        for ( int i = 0; i < groups.size(); i++ )
+        {
+            if ( groups.get( i ).matcher( address.host() ).matches() )
+            {
+                return i;
+            }
+        }
+        // servers not matching any group are preferred over overloaded ones
+        return groups.size();
+    }
+
+    private static List<Pattern> compile( List<String> hostPatterns )
+    {
+        List<Pattern> result = new ArrayList<>( hostPatterns.size() );
+        for ( String hostPattern : hostPatterns )
+        {
+            String[] literals = hostPattern.split( "\\*", -1 );
+            StringBuilder regex = new StringBuilder();
+            for ( int i = 0; i < literals.length; i++ )
+            {
+                if ( i > 0 )
+                {
+                    regex.append( ".*" );
+                }
+                regex.append( Pattern.quote( literals[i] ) );
+            }
+            result.add( Pattern.compile( regex.toString(), Pattern.CASE_INSENSITIVE ) );
+        }
+        return result;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.util.Clock;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Load balancing strategy that selects server with the lowest expected cost of a request. Cost is the peak
+ * exponentially weighted moving average (EWMA) of response times of the server multiplied by the number of its
+ * outstanding requests plus one. Peak EWMA reacts immediately to increased response times and decays slowly
+ * towards lower ones, so that temporarily slow servers quickly receive less traffic. Servers without measured
+ * response times are preferred while they have no outstanding requests, so that new servers get probed. Without new
+ * responses, the average decays towards zero, so that idle slow servers are eventually retried.
+ * <p>
+ * Response times are measured from sending of RUN message to receiving of its response.
+ */
+public class PeakEwmaLoadBalancingStrategy implements LoadBalancingStrategy, ResponseTimeTracker
+{
+    private static final String LOGGER_NAME = PeakEwmaLoadBalancingStrategy.class.getSimpleName();
+
+    static final long DEFAULT_DECAY_TIME = SECONDS.toMillis( 10 );
+    static final double UNKNOWN_RESPONSE_TIME_PENALTY = Long.MAX_VALUE >> 16;
+
+    private final RoundRobinArrayIndex readersIndex = new RoundRobinArrayIndex();
+    private final RoundRobinArrayIndex writersIndex = new RoundRobinArrayIndex();
+    private final ConcurrentMap<BoltServerAddress,ServerStats> statsByAddress = new ConcurrentHashMap<>();
+
+    private final Clock clock;
+    private final long decayTime;
+    private final Logger log;
+
+    public PeakEwmaLoadBalancingStrategy( Clock clock, Logging logging )
+    {
+        this( clock, DEFAULT_DECAY_TIME, logging );
+    }
+
+    PeakEwmaLoadBalancingStrategy( Clock clock, long decayTime, Logging logging )
+    {
+        this.clock = clock;
+        this.decayTime = decayTime;
+        this.log = logging.getLog( LOGGER_NAME );
+    }
+
+    @Override
+    public BoltServerAddress selectReader( BoltServerAddress[] knownReaders )
+    {
+        return select( knownReaders, readersIndex, "reader" );
+    }
+
+    @Override
+    public BoltServerAddress selectWriter( BoltServerAddress[] knownWriters )
+    {
+        return select( knownWriters, writersIndex, "writer" );
+    }
+
+    @Override
+    public void requestStarted( BoltServerAddress address )
+    {
+        stats( address ).requestStarted();
+    }
+
+    @Override
+    public void requestCompleted( BoltServerAddress address, long responseTimeNanos )
+    {
+        stats( address ).requestCompleted( responseTimeNanos, clock.millis() );
+    }
+
+    @Override
+    public void retainAll( Set<BoltServerAddress> addressesToRetain )
+    {
+        statsByAddress.keySet().retainAll( addressesToRetain );
+    }
+
+    int trackedServerCount()
+    {
+        return statsByAddress.size();
+    }
+
+    double cost( BoltServerAddress address )
+    {
+        return stats( address ).cost( clock.millis() );
+    }
+
+    private BoltServerAddress select( BoltServerAddress[] addresses, RoundRobinArrayIndex addressesIndex,
+            String addressType )
+    {
+        int size = addresses.length;
+        if ( size == 0 )
+        {
+            log.trace( "Unable to select %s, no known addresses given", addressType );
+            return null;
+        }
+
+        // choose start index for iteration in round-robin fashion, servers with equal cost are selected in turns
+        int startIndex = addressesIndex.next( size );
+        long now = clock.millis();
+
+        BoltServerAddress cheapestAddress = null;
+        double lowestCost = Double.MAX_VALUE;
+
+        for ( int i = 0; i < size; i++ )
+        {
+            BoltServerAddress address = addresses[(startIndex + i) % size];
+            double cost = stats( address ).cost( now );
+            if ( cheapestAddress == null || cost < lowestCost )
+            {
+                cheapestAddress = address;
+                lowestCost = cost;
+            }
+        }
+
+        log.trace( "Selected %s with address: '%s' and cost: %s", addressType, cheapestAddress, lowestCost );
+
+        return cheapestAddress;
+    }
+
+    private ServerStats stats( BoltServerAddress address )
+    {
+        return statsByAddress.computeIfAbsent( address, ignore -> new ServerStats( decayTime, clock.millis() ) );
+    }
+
+    private static class ServerStats
+    {
+        final long decayTime;
+
+        int outstandingRequests;
+        double responseTimeEwma;
+        long lastUpdateTime;
+
+        ServerStats( long decayTime, long now )
+        {
+            this.decayTime = decayTime;
+            this.lastUpdateTime = now;
+        }
+
+        synchronized void requestStarted()
+        {
+            outstandingRequests++;
+        }
+
+        synchronized void requestCompleted( long responseTime, long now )
+        {
+            if ( outstandingRequests > 0 )
+            {
+                outstandingRequests--;
+            }
+            observe( responseTime, now );
+        }
+
+        synchronized double cost( long now )
+        {
+            if ( responseTimeEwma == 0 && outstandingRequests > 0 )
+            {
+                return UNKNOWN_RESPONSE_TIME_PENALTY + outstandingRequests;
+            }
+            // decay is applied without modifying the average, only responses update it
+            return responseTimeEwma * decayWeight( now ) * (outstandingRequests + 1);
+        }
+
+        private double decayWeight( long now )
+        {
+            long elapsed = Math.max( now - lastUpdateTime, 0 );
+            return Math.exp( -(double) elapsed / decayTime );
+        }
+
+        private void observe( double responseTime, long now )
+        {
+            double weight = decayWeight( now );
+            lastUpdateTime = now;
+
+            if ( responseTime > responseTimeEwma )
+            {
+                // peak sensitivity, jump to higher response times right away
+                responseTimeEwma = responseTime;
+            }
+            else
+            {
+                responseTimeEwma = responseTimeEwma * weight + responseTime * (1 - weight);
+            }
+        }
+    }
+}
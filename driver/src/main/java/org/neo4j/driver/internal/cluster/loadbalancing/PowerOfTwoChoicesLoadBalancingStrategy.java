@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.spi.ConnectionPool;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+/**
+ * Load balancing strategy that randomly samples two distinct addresses from given readers or writers and selects the
+ * one with less active (checked out of the pool) connections. Selection takes constant time regardless of the number
+ * of known addresses. Randomization prevents all concurrent callers from choosing the single least loaded server at
+ * the same time, while sampling two addresses instead of one keeps the load close to even.
+ */
+public class PowerOfTwoChoicesLoadBalancingStrategy implements LoadBalancingStrategy
+{
+    private static final String LOGGER_NAME = PowerOfTwoChoicesLoadBalancingStrategy.class.getSimpleName();
+
+    private final ConnectionPool connectionPool;
+    private final Logger log;
+
+    public PowerOfTwoChoicesLoadBalancingStrategy( ConnectionPool connectionPool, Logging logging )
+    {
+        this.connectionPool = connectionPool;
+        this.log = logging.getLog( LOGGER_NAME );
+    }
+
+    @Override
+    public BoltServerAddress selectReader( BoltServerAddress[] knownReaders )
+    {
+        return select( knownReaders, "reader" );
+    }
+
+    @Override
+    public BoltServerAddress selectWriter( BoltServerAddress[] knownWriters )
+    {
+        return select( knownWriters, "writer" );
+    }
+
+    private BoltServerAddress select( BoltServerAddress[] addresses, String addressType )
+    {
+        int size = addresses.length;
+        if ( size == 0 )
+        {
+            log.trace( "Unable to select %s, no known addresses given", addressType );
+            return null;
+        }
+        else if ( size == 1 )
+        {
+            return addresses[0];
+        }
+
+        // sample two distinct indexes, second one is shifted past the first to avoid retries
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int firstIndex = random.nextInt( size );
+        int secondIndex = random.nextInt( size - 1 );
+        if ( secondIndex >= firstIndex )
+        {
+            secondIndex++;
+        }
+
+        BoltServerAddress first = addresses[firstIndex];
+        BoltServerAddress second = addresses[secondIndex];
+        int firstActiveConnections = connectionPool.inUseConnections( first );
+        int secondActiveConnections = connectionPool.inUseConnections( second );
+
+        BoltServerAddress selected;
+        int selectedActiveConnections;
+        if ( secondActiveConnections < firstActiveConnections )
+        {
+            selected = second;
+            selectedActiveConnections = secondActiveConnections;
+        }
+        else
+        {
+            selected = first;
+            selectedActiveConnections = firstActiveConnections;
+        }
+
+        log.trace( "Selected %s with address: '%s' and active connections: %s",
+                addressType, selected, selectedActiveConnections );
+
+        return selected;
+    }
+}
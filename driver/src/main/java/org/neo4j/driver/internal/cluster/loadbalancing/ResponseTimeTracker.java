@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import java.util.Set;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+
+/**
+ * Receives notifications about requests sent to servers and their response times. Implemented by load balancing
+ * strategies that take server latency into account.
+ */
+public interface ResponseTimeTracker
+{
+    /**
+     * Invoked when a request is sent to the given server.
+     *
+     * @param address the server address.
+     */
+    void requestStarted( BoltServerAddress address );
+
+    /**
+     * Invoked when a response to the previously started request is received from the given server, successful or not.
+     *
+     * @param address the server address.
+     * @param responseTimeNanos time between sending the request and receiving the response, in nanoseconds.
+     */
+    void requestCompleted( BoltServerAddress address, long responseTimeNanos );
+
+    /**
+     * Stop tracking servers that are no longer part of the routing table.
+     *
+     * @param addressesToRetain the addresses to keep tracking.
+     */
+    void retainAll( Set<BoltServerAddress> addressesToRetain );
+}
@@ -43,10 +43,12 @@ import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.neo4j.driver.internal.util.Futures.completedWithNull;
 import static org.neo4j.driver.internal.util.Futures.failedFuture;
+import static org.neo4j.driver.internal.util.RecordSizeEstimator.estimateSize;
 
 public abstract class PullAllResponseHandler implements ResponseHandler
 {
     private static final Queue<Record> UNINITIALIZED_RECORDS = Iterables.emptyQueue();
+    private static final Queue<Long> UNINITIALIZED_RECORD_SIZES = Iterables.emptyQueue();
 
     static final int RECORD_BUFFER_LOW_WATERMARK = Integer.getInteger( "recordBufferLowWatermark", 300 );
     static final int RECORD_BUFFER_HIGH_WATERMARK = Integer.getInteger( "recordBufferHighWatermark", 1000 );
@@ -55,8 +57,18 @@ public abstract class PullAllResponseHandler implements ResponseHandler
     private final RunResponseHandler runResponseHandler;
     protected final Connection connection;
 
+    // estimated size limit of buffered records in bytes, zero when buffer is limited by watermarks
+    private final long recordBufferSize;
+    private long bufferedSize;
+
     // initialized lazily when first record arrives
     private Queue<Record> records = UNINITIALIZED_RECORDS;
+    // estimated sizes of buffered records in the same order, only used when record buffer size is limited
+    private Queue<Long> recordSizes = UNINITIALIZED_RECORD_SIZES;
+
+    // records moved to the consumer by drainRecords and not yet consumed, they still count as buffered
+    private int drainedCount;
+    private Queue<Long> drainedSizes = UNINITIALIZED_RECORD_SIZES;
 
     private boolean finished;
     private Throwable failure;
@@ -66,67 +78,139 @@ public abstract class PullAllResponseHandler implements ResponseHandler
     private CompletableFuture<Record> recordFuture;
     private CompletableFuture<Throwable> failureFuture;
 
+    // demand-driven mode used by reactive publishers
+    private Runnable recordsListener;
+    private long demand;
+
     public PullAllResponseHandler( Statement statement, RunResponseHandler runResponseHandler, Connection connection )
     {
         this.statement = requireNonNull( statement );
         this.runResponseHandler = requireNonNull( runResponseHandler );
         this.connection = requireNonNull( connection );
+        this.recordBufferSize = connection.recordBufferSize();
     }
 
     @Override
-    public synchronized void onSuccess( Map<String,Value> metadata )
+    public void onSuccess( Map<String,Value> metadata )
     {
-        finished = true;
-        summary = extractResultSummary( metadata );
+        synchronized ( this )
+        {
+            finished = true;
+            summary = extractResultSummary( metadata );
 
-        afterSuccess();
+            afterSuccess();
 
-        completeRecordFuture( null );
-        completeFailureFuture( null );
+            completeRecordFuture( null );
+            completeFailureFuture( null );
+        }
+        notifyRecordsListener();
     }
 
     protected abstract void afterSuccess();
 
     @Override
-    public synchronized void onFailure( Throwable error )
+    public void onFailure( Throwable error )
     {
-        finished = true;
-        summary = extractResultSummary( emptyMap() );
+        synchronized ( this )
+        {
+            finished = true;
+            summary = extractResultSummary( emptyMap() );
 
-        afterFailure( error );
+            afterFailure( error );
 
-        boolean failedRecordFuture = failRecordFuture( error );
-        if ( failedRecordFuture )
-        {
-            // error propagated through the record future
-            completeFailureFuture( null );
-        }
-        else
-        {
-            boolean completedFailureFuture = completeFailureFuture( error );
-            if ( !completedFailureFuture )
+            boolean failedRecordFuture = failRecordFuture( error );
+            if ( failedRecordFuture )
+            {
+                // error propagated through the record future
+                completeFailureFuture( null );
+            }
+            else
             {
-                // error has not been propagated to the user, remember it
-                failure = error;
+                boolean completedFailureFuture = completeFailureFuture( error );
+                if ( !completedFailureFuture )
+                {
+                    // error has not been propagated to the user, remember it
+                    failure = error;
+                }
             }
         }
+        notifyRecordsListener();
     }
 
     protected abstract void afterFailure( Throwable error );
 
     @Override
-    public synchronized void onRecord( Value[] fields )
+    public void onRecord( Value[] fields )
     {
-        if ( ignoreRecords )
-        {
-            completeRecordFuture( null );
-        }
-        else
+        synchronized ( this )
         {
+            if ( ignoreRecords )
+            {
+                completeRecordFuture( null );
+                return;
+            }
             Record record = new InternalRecord( runResponseHandler.statementKeys(), fields );
             enqueueRecord( record );
             completeRecordFuture( record );
         }
+        notifyRecordsListener();
+    }
+
+    /**
+     * Switch this handler to demand-driven delivery of records. Auto-read is then controlled by the number of
+     * requested records instead of the buffer watermarks. Records should be taken using {@link #pollRequestedRecord()}.
+     *
+     * @param listener notified without holding the lock of this handler when new records or the end of the stream
+     * arrive, usually on the event loop thread.
+     */
+    public synchronized void enableDemandDrivenDelivery( Runnable listener )
+    {
+        recordsListener = requireNonNull( listener );
+        if ( !finished && records.size() >= demand )
+        {
+            connection.disableAutoRead();
+        }
+    }
+
+    /**
+     * Request given number of records in the demand-driven mode.
+     *
+     * @param n the number of additional records to fetch.
+     */
+    public synchronized void requestRecords( long n )
+    {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        if ( !finished && records.size() < demand )
+        {
+            connection.enableAutoRead();
+        }
+    }
+
+    /**
+     * Take the next record in the demand-driven mode.
+     *
+     * @return next record or {@code null} if no record is buffered or no more records were requested.
+     */
+    public synchronized Record pollRequestedRecord()
+    {
+        if ( demand == 0 )
+        {
+            return null;
+        }
+        Record record = pollRecord();
+        if ( record != null && demand != Long.MAX_VALUE )
+        {
+            demand--;
+        }
+        return record;
+    }
+
+    /**
+     * @return {@code true} when SUCCESS or FAILURE arrived and all buffered records were taken.
+     */
+    public synchronized boolean isExhausted()
+    {
+        return finished && records.isEmpty();
     }
 
     public synchronized CompletionStage<Record> peekAsync()
@@ -156,6 +240,46 @@ public abstract class PullAllResponseHandler implements ResponseHandler
         }
     }
 
+    /**
+     * Move all buffered records to the given queue. Lets blocking consumers take records in batches instead of
+     * synchronizing on this handler and completing a future for every record.
+     * <p>
+     * Moved records count as buffered until they are taken from the head of the given queue, so that the consumer
+     * never holds more than the buffer limit. Consumption is observed on the next invocation, consumers should call
+     * this method again when their queue runs low, not only when it is empty.
+     *
+     * @param target the queue to add records to, only this handler should add records to it.
+     * @return the number of moved records.
+     */
+    public synchronized int drainRecords( Queue<Record> target )
+    {
+        releaseConsumedDrainedRecords( target.size() );
+
+        int count = records.size();
+        if ( count > 0 )
+        {
+            target.addAll( records );
+            records.clear();
+            drainedCount += count;
+            if ( recordBufferSize > 0 )
+            {
+                if ( drainedSizes == UNINITIALIZED_RECORD_SIZES )
+                {
+                    drainedSizes = new ArrayDeque<>();
+                }
+                drainedSizes.addAll( recordSizes );
+                recordSizes.clear();
+            }
+        }
+
+        if ( isBufferedBelowLowMark() )
+        {
+            // consumer is about to run out of records, pre-fetch more while remaining ones are consumed
+            connection.enableAutoRead();
+        }
+        return count;
+    }
+
     public synchronized CompletionStage<Record> nextAsync()
     {
         return peekAsync().thenApply( ignore -> dequeueRecord() );
@@ -177,6 +301,10 @@ public abstract class PullAllResponseHandler implements ResponseHandler
     {
         ignoreRecords = true;
         records.clear();
+        recordSizes.clear();
+        drainedCount = 0;
+        drainedSizes.clear();
+        bufferedSize = 0;
         return summaryAsync();
     }
 
@@ -224,12 +352,39 @@ public abstract class PullAllResponseHandler implements ResponseHandler
         }
 
         records.add( record );
+        if ( recordBufferSize > 0 )
+        {
+            if ( recordSizes == UNINITIALIZED_RECORD_SIZES )
+            {
+                recordSizes = new ArrayDeque<>();
+            }
+            // estimate once, size is remembered to be subtracted when record is taken from the buffer
+            long size = estimateSize( record );
+            recordSizes.add( size );
+            bufferedSize += size;
+        }
 
         boolean shouldBufferAllRecords = failureFuture != null;
         // when failure is requested we have to buffer all remaining records and then return the error
         // do not disable auto-read in this case, otherwise records will not be consumed and trailing
         // SUCCESS or FAILURE message will not arrive as well, so callers will get stuck waiting for the error
-        if ( !shouldBufferAllRecords && records.size() > RECORD_BUFFER_HIGH_WATERMARK )
+        if ( recordsListener != null )
+        {
+            if ( !shouldBufferAllRecords && records.size() >= demand )
+            {
+                // all requested records are buffered, do not read more until they are requested
+                connection.disableAutoRead();
+            }
+        }
+        else if ( recordBufferSize > 0 )
+        {
+            if ( !shouldBufferAllRecords && bufferedSize > recordBufferSize )
+            {
+                // queued records are estimated to take more memory than allowed, stop auto-reading from network
+                connection.disableAutoRead();
+            }
+        }
+        else if ( !shouldBufferAllRecords && records.size() + drainedCount > RECORD_BUFFER_HIGH_WATERMARK )
         {
             // more than high watermark records are already queued, tell connection to stop auto-reading from network
             // this is needed to deal with slow consumers, we do not want to buffer all records in memory if they are
@@ -240,18 +395,64 @@ public abstract class PullAllResponseHandler implements ResponseHandler
 
     private Record dequeueRecord()
     {
-        Record record = records.poll();
+        Record record = pollRecord();
 
-        if ( records.size() < RECORD_BUFFER_LOW_WATERMARK )
+        if ( isBufferedBelowLowMark() )
         {
-            // less than low watermark records are now available in the buffer, tell connection to pre-fetch more
-            // and populate queue with new records from network
+            // consumer freed most of the buffer, tell connection to pre-fetch more records and populate queue with
+            // new records from network while remaining ones are consumed
             connection.enableAutoRead();
         }
 
         return record;
     }
 
+    private boolean isBufferedBelowLowMark()
+    {
+        if ( recordBufferSize > 0 )
+        {
+            return bufferedSize < recordBufferSize / 3;
+        }
+        return records.size() + drainedCount < RECORD_BUFFER_LOW_WATERMARK;
+    }
+
+    private void releaseConsumedDrainedRecords( int remainingCount )
+    {
+        // consumer takes records from the head of its queue, so consumed records are the oldest drained ones
+        int consumedCount = drainedCount - remainingCount;
+        for ( ; consumedCount > 0; consumedCount-- )
+        {
+            drainedCount--;
+            if ( recordBufferSize > 0 )
+            {
+                bufferedSize -= drainedSizes.remove();
+            }
+        }
+    }
+
+    private Record pollRecord()
+    {
+        Record record = records.poll();
+        if ( record != null && recordBufferSize > 0 )
+        {
+            bufferedSize -= recordSizes.remove();
+        }
+        return record;
+    }
+
+    private void notifyRecordsListener()
+    {
+        Runnable listener;
+        synchronized ( this )
+        {
+            listener = recordsListener;
+        }
+        if ( listener != null )
+        {
+            listener.run();
+        }
+    }
+
     private <T> List<T> recordsAsList( Function<Record,T> mapFunction )
     {
         if ( !finished )
@@ -262,7 +463,7 @@ public abstract class PullAllResponseHandler implements ResponseHandler
         List<T> result = new ArrayList<>( records.size() );
         while ( !records.isEmpty() )
         {
-            Record record = records.poll();
+            Record record = pollRecord();
             result.add( mapFunction.apply( record ) );
         }
         return result;
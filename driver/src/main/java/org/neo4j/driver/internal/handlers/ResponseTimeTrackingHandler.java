@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.handlers;
+
+import java.util.Map;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.cluster.loadbalancing.ResponseTimeTracker;
+import org.neo4j.driver.internal.spi.ResponseHandler;
+import org.neo4j.driver.v1.Value;
+
+/**
+ * Response handler that reports time between sending of the request and receiving of the response to the given
+ * {@link ResponseTimeTracker}.
+ */
+public class ResponseTimeTrackingHandler implements ResponseHandler
+{
+    private final ResponseHandler delegate;
+    private final BoltServerAddress address;
+    private final ResponseTimeTracker tracker;
+    private final long startNanos;
+
+    private boolean completed;
+
+    public ResponseTimeTrackingHandler( ResponseHandler delegate, BoltServerAddress address,
+            ResponseTimeTracker tracker )
+    {
+        this.delegate = delegate;
+        this.address = address;
+        this.tracker = tracker;
+        this.startNanos = System.nanoTime();
+        tracker.requestStarted( address );
+    }
+
+    @Override
+    public void onSuccess( Map<String,Value> metadata )
+    {
+        requestCompleted();
+        delegate.onSuccess( metadata );
+    }
+
+    @Override
+    public void onFailure( Throwable error )
+    {
+        requestCompleted();
+        delegate.onFailure( error );
+    }
+
+    @Override
+    public void onRecord( Value[] fields )
+    {
+        delegate.onRecord( fields );
+    }
+
+    private void requestCompleted()
+    {
+        if ( !completed )
+        {
+            completed = true;
+            tracker.requestCompleted( address, System.nanoTime() - startNanos );
+        }
+    }
+}
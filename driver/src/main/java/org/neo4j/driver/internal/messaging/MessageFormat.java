@@ -22,12 +22,18 @@ import java.io.IOException;
 
 import org.neo4j.driver.internal.packstream.PackInput;
 import org.neo4j.driver.internal.packstream.PackOutput;
+import org.neo4j.driver.v1.Value;
 
 public interface MessageFormat
 {
     interface Writer
     {
         void write( Message msg ) throws IOException;
+
+        /**
+         * Write a single value outside of a message, used when a message is written in multiple parts.
+         */
+        void writeValue( Value value ) throws IOException;
     }
 
     interface Reader
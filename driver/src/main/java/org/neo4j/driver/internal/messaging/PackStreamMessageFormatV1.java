@@ -35,6 +35,7 @@ import org.neo4j.driver.internal.packstream.PackStream;
 import org.neo4j.driver.internal.packstream.PackType;
 import org.neo4j.driver.internal.types.TypeConstructor;
 import org.neo4j.driver.internal.util.Iterables;
+import org.neo4j.driver.internal.value.ColumnarListValue;
 import org.neo4j.driver.internal.value.InternalValue;
 import org.neo4j.driver.internal.value.ListValue;
 import org.neo4j.driver.internal.value.MapValue;
@@ -244,6 +245,11 @@ public class PackStreamMessageFormatV1 implements MessageFormat
                 break;
 
             case LIST:
+                if ( value instanceof ColumnarListValue )
+                {
+                    packColumnarList( (ColumnarListValue) value );
+                    break;
+                }
                 packer.packListHeader( value.size() );
                 for ( Value item : value.values() )
                 {
@@ -256,11 +262,65 @@ public class PackStreamMessageFormatV1 implements MessageFormat
             }
         }
 
+        private void packColumnarList( ColumnarListValue value ) throws IOException
+        {
+            String[] names = value.columnNames();
+            int size = value.size();
+            packer.packListHeader( size );
+            for ( int row = 0; row < size; row++ )
+            {
+                packer.packMapHeader( names.length );
+                for ( int i = 0; i < names.length; i++ )
+                {
+                    packer.pack( names[i] );
+                    packColumnElement( value.column( i ), row );
+                }
+            }
+        }
+
+        private void packColumnElement( Object column, int row ) throws IOException
+        {
+            if ( column instanceof long[] )
+            {
+                packer.pack( ((long[]) column)[row] );
+            }
+            else if ( column instanceof int[] )
+            {
+                packer.pack( ((int[]) column)[row] );
+            }
+            else if ( column instanceof double[] )
+            {
+                packer.pack( ((double[]) column)[row] );
+            }
+            else if ( column instanceof float[] )
+            {
+                packer.pack( ((float[]) column)[row] );
+            }
+            else if ( column instanceof boolean[] )
+            {
+                packer.pack( ((boolean[]) column)[row] );
+            }
+            else if ( column instanceof String[] )
+            {
+                packer.pack( ((String[]) column)[row] );
+            }
+            else
+            {
+                packValue( value( ((Object[]) column)[row] ) );
+            }
+        }
+
         @Override
         public void write( Message msg ) throws IOException
         {
             msg.dispatch( this );
         }
+
+        @Override
+        public void writeValue( Value value ) throws IOException
+        {
+            packValue( value );
+        }
     }
 
     static class ReaderV1 implements MessageFormat.Reader
@@ -21,6 +21,7 @@ package org.neo4j.driver.internal.messaging;
 import java.io.IOException;
 import java.util.Map;
 
+import org.neo4j.driver.internal.value.StreamingListValue;
 import org.neo4j.driver.v1.Value;
 
 import static java.lang.String.format;
@@ -48,6 +49,35 @@ public class RunMessage implements Message
         handler.handleRunMessage( statement, parameters );
     }
 
+    public String statement()
+    {
+        return statement;
+    }
+
+    public Map<String,Value> parameters()
+    {
+        return parameters;
+    }
+
+    /**
+     * @return {@code true} when any of the parameters is a {@link StreamingListValue} that should be packed lazily.
+     */
+    public boolean hasStreamingParameters()
+    {
+        if ( parameters == null )
+        {
+            return false;
+        }
+        for ( Value value : parameters.values() )
+        {
+            if ( value instanceof StreamingListValue )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public String toString()
     {
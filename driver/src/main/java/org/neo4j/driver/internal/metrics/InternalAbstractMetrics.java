@@ -25,10 +25,13 @@ import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.pool.ConnectionPoolImpl;
 import org.neo4j.driver.internal.metrics.spi.ConnectionMetrics;
 import org.neo4j.driver.internal.metrics.spi.ConnectionPoolMetrics;
+import org.neo4j.driver.internal.metrics.spi.HedgingMetrics;
 import org.neo4j.driver.internal.metrics.spi.Metrics;
 
 public abstract class InternalAbstractMetrics implements Metrics, MetricsListener
 {
+    private static final HedgingMetrics NO_HEDGING_METRICS = new InternalHedgingMetrics();
+
     public static final InternalAbstractMetrics DEV_NULL_METRICS = new InternalAbstractMetrics()
     {
 
@@ -92,6 +95,24 @@ public abstract class InternalAbstractMetrics implements Metrics, MetricsListene
 
         }
 
+        @Override
+        public void afterHedgeIssued()
+        {
+
+        }
+
+        @Override
+        public void afterHedgeWon()
+        {
+
+        }
+
+        @Override
+        public void afterHedgeRejected()
+        {
+
+        }
+
         @Override
         public ListenerEvent createListenerEvent()
         {
@@ -116,6 +137,12 @@ public abstract class InternalAbstractMetrics implements Metrics, MetricsListene
             return Collections.emptyMap();
         }
 
+        @Override
+        public HedgingMetrics hedgingMetrics()
+        {
+            return NO_HEDGING_METRICS;
+        }
+
         @Override
         public String toString()
         {
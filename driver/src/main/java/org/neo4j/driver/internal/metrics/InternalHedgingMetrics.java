@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.driver.internal.metrics.spi.HedgingMetrics;
+
+import static java.lang.String.format;
+
+public class InternalHedgingMetrics implements HedgingMetrics
+{
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    void afterHedgeIssued()
+    {
+        issued.incrementAndGet();
+    }
+
+    void afterHedgeWon()
+    {
+        won.incrementAndGet();
+    }
+
+    void afterHedgeRejected()
+    {
+        rejected.incrementAndGet();
+    }
+
+    @Override
+    public long issued()
+    {
+        return issued.get();
+    }
+
+    @Override
+    public long won()
+    {
+        return won.get();
+    }
+
+    @Override
+    public long rejected()
+    {
+        return rejected.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "issued=%s, won=%s, rejected=%s", issued(), won(), rejected() );
+    }
+}
@@ -26,6 +26,7 @@ import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.async.pool.ConnectionPoolImpl;
 import org.neo4j.driver.internal.metrics.spi.ConnectionMetrics;
 import org.neo4j.driver.internal.metrics.spi.ConnectionPoolMetrics;
+import org.neo4j.driver.internal.metrics.spi.HedgingMetrics;
 import org.neo4j.driver.internal.spi.ConnectionPool;
 import org.neo4j.driver.v1.Config;
 import org.neo4j.driver.v1.exceptions.ClientException;
@@ -37,6 +38,7 @@ public class InternalMetrics extends InternalAbstractMetrics
 {
     private final Map<String,ConnectionPoolMetrics> connectionPoolMetrics;
     private final Map<String,ConnectionMetrics> connectionMetrics;
+    private final InternalHedgingMetrics hedgingMetrics;
     private final Config config;
 
     public InternalMetrics( Config config )
@@ -45,6 +47,7 @@ public class InternalMetrics extends InternalAbstractMetrics
         this.config = config;
         this.connectionPoolMetrics = new ConcurrentHashMap<>();
         this.connectionMetrics = new ConcurrentHashMap<>();
+        this.hedgingMetrics = new InternalHedgingMetrics();
     }
 
     @Override
@@ -116,6 +119,24 @@ public class InternalMetrics extends InternalAbstractMetrics
         poolMetrics( serverAddress ).afterTimedOutToAcquireOrCreate();
     }
 
+    @Override
+    public void afterHedgeIssued()
+    {
+        hedgingMetrics.afterHedgeIssued();
+    }
+
+    @Override
+    public void afterHedgeWon()
+    {
+        hedgingMetrics.afterHedgeWon();
+    }
+
+    @Override
+    public void afterHedgeRejected()
+    {
+        hedgingMetrics.afterHedgeRejected();
+    }
+
     @Override
     public ListenerEvent createListenerEvent()
     {
@@ -134,10 +155,17 @@ public class InternalMetrics extends InternalAbstractMetrics
         return unmodifiableMap( this.connectionMetrics );
     }
 
+    @Override
+    public HedgingMetrics hedgingMetrics()
+    {
+        return hedgingMetrics;
+    }
+
     @Override
     public String toString()
     {
-        return format( "PoolMetrics=%s, ConnMetrics=%s", connectionPoolMetrics, connectionMetrics );
+        return format( "PoolMetrics=%s, ConnMetrics=%s, HedgingMetrics=%s", connectionPoolMetrics, connectionMetrics,
+                hedgingMetrics );
     }
 
     static String serverAddressToUniqueName( BoltServerAddress serverAddress )
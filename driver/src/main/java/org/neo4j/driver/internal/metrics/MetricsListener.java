@@ -93,6 +93,21 @@ public interface MetricsListener
      */
     void afterConnectionReleased( BoltServerAddress serverAddress, ListenerEvent inUseEvent );
 
+    /**
+     * After a hedged read query is sent to a second reader.
+     */
+    void afterHedgeIssued();
+
+    /**
+     * After a hedged read query responded before the original query.
+     */
+    void afterHedgeWon();
+
+    /**
+     * After a hedged read query is not issued because hedging budget is exhausted.
+     */
+    void afterHedgeRejected();
+
     ListenerEvent createListenerEvent();
 
     void addMetrics( BoltServerAddress address, ConnectionPoolImpl connectionPool );
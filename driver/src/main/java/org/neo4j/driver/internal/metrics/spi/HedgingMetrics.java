@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.metrics.spi;
+
+public interface HedgingMetrics
+{
+    /**
+     * An increasing-only number to record how many hedged read queries have been sent to a second reader because the
+     * first reader did not respond within the hedging delay.
+     * @return The amount of hedged queries issued.
+     */
+    long issued();
+
+    /**
+     * An increasing-only number to record how many hedged read queries responded before the original query.
+     * @return The amount of hedged queries that won.
+     */
+    long won();
+
+    /**
+     * An increasing-only number to record how many hedged read queries have not been issued because the hedging budget
+     * was exhausted.
+     * @return The amount of hedged queries rejected by the budget.
+     */
+    long rejected();
+}
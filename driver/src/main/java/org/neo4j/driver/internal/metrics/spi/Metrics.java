@@ -43,4 +43,10 @@ public interface Metrics
      */
     Map<String,ConnectionMetrics> connectionMetrics();
 
+    /**
+     * Metrics of hedged read queries.
+     * @return The hedging metrics.
+     */
+    HedgingMetrics hedgingMetrics();
+
 }
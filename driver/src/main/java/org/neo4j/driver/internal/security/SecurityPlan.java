@@ -18,20 +18,34 @@
  */
 package org.neo4j.driver.internal.security;
 
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.IdentityCipherSuiteFilter;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.util.SimpleTrustManagerFactory;
+
 import java.io.File;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
-import java.security.KeyManagementException;
 import java.security.KeyStore;
-import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import javax.net.ssl.KeyManager;
+import javax.net.ssl.ManagerFactoryParameters;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 
 import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.v1.Config.TlsProvider;
 import org.neo4j.driver.v1.Logger;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.neo4j.driver.internal.util.CertificateTool.loadX509Cert;
 
 /**
@@ -41,14 +55,26 @@ public class SecurityPlan
 {
     public static SecurityPlan forAllCertificates( boolean requiresHostnameVerification ) throws GeneralSecurityException
     {
-        SSLContext sslContext = SSLContext.getInstance( "TLS" );
-        sslContext.init( new KeyManager[0], new TrustManager[]{new TrustAllTrustManager()}, null );
+        return forAllCertificates( requiresHostnameVerification, TlsSettings.DEFAULT );
+    }
+
+    public static SecurityPlan forAllCertificates( boolean requiresHostnameVerification, TlsSettings tlsSettings )
+            throws GeneralSecurityException
+    {
+        TrustManagerFactory trustManagerFactory = trustManagerFactory( new TrustAllTrustManager() );
+        SslContext sslContext = createSslContext( trustManagerFactory, tlsSettings );
 
         return new SecurityPlan( true, sslContext, true, requiresHostnameVerification );
     }
 
     public static SecurityPlan forCustomCASignedCertificates( File certFile, boolean requiresHostnameVerification )
             throws GeneralSecurityException, IOException
+    {
+        return forCustomCASignedCertificates( certFile, requiresHostnameVerification, TlsSettings.DEFAULT );
+    }
+
+    public static SecurityPlan forCustomCASignedCertificates( File certFile, boolean requiresHostnameVerification,
+            TlsSettings tlsSettings ) throws GeneralSecurityException, IOException
     {
         // A certificate file is specified so we will load the certificates in the file
         // Init a in memory TrustedKeyStore
@@ -62,23 +88,48 @@ public class SecurityPlan
         TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance( "SunX509" );
         trustManagerFactory.init( trustedKeyStore );
 
-        SSLContext sslContext = SSLContext.getInstance( "TLS" );
-        sslContext.init( new KeyManager[0], trustManagerFactory.getTrustManagers(), null );
+        SslContext sslContext = createSslContext( trustManagerFactory, tlsSettings );
 
         return new SecurityPlan( true, sslContext, true, requiresHostnameVerification );
     }
 
-    public static SecurityPlan forSystemCASignedCertificates( boolean requiresHostnameVerification ) throws NoSuchAlgorithmException
+    public static SecurityPlan forSystemCASignedCertificates( boolean requiresHostnameVerification )
+            throws GeneralSecurityException
     {
-        return new SecurityPlan( true, SSLContext.getDefault(), true, requiresHostnameVerification );
+        return forSystemCASignedCertificates( requiresHostnameVerification, TlsSettings.DEFAULT );
+    }
+
+    public static SecurityPlan forSystemCASignedCertificates( boolean requiresHostnameVerification,
+            TlsSettings tlsSettings ) throws GeneralSecurityException
+    {
+        SslContext sslContext;
+        if ( tlsSettings.provider() == TlsProvider.JDK && !tlsSettings.sessionCacheConfigured() )
+        {
+            // JVM-wide default context is used as is, its session cache is shared with everything else in the JVM
+            sslContext = jdkSslContext( SSLContext.getDefault() );
+        }
+        else
+        {
+            // null trust manager factory means trust managers of the JVM with system CA certificates
+            sslContext = createSslContext( null, tlsSettings );
+        }
+
+        return new SecurityPlan( true, sslContext, true, requiresHostnameVerification );
     }
 
     @Deprecated
     public static SecurityPlan forTrustOnFirstUse( File knownHosts, boolean requiresHostnameVerification, BoltServerAddress address, Logger logger )
-            throws IOException, KeyManagementException, NoSuchAlgorithmException
+            throws IOException, GeneralSecurityException
     {
-        SSLContext sslContext = SSLContext.getInstance( "TLS" );
-        sslContext.init( new KeyManager[0], new TrustManager[]{new TrustOnFirstUseTrustManager( address, knownHosts, logger )}, null );
+        return forTrustOnFirstUse( knownHosts, requiresHostnameVerification, address, logger, TlsSettings.DEFAULT );
+    }
+
+    @Deprecated
+    public static SecurityPlan forTrustOnFirstUse( File knownHosts, boolean requiresHostnameVerification, BoltServerAddress address, Logger logger,
+            TlsSettings tlsSettings ) throws IOException, GeneralSecurityException
+    {
+        TrustManagerFactory trustManagerFactory = trustManagerFactory( new TrustOnFirstUseTrustManager( address, knownHosts, logger ) );
+        SslContext sslContext = createSslContext( trustManagerFactory, tlsSettings );
 
         return new SecurityPlan( true, sslContext, false, requiresHostnameVerification );
     }
@@ -88,12 +139,22 @@ public class SecurityPlan
         return new SecurityPlan( false, null, true, false );
     }
 
+    /**
+     * Check if OpenSSL based TLS provider can be used. It requires netty-tcnative to be present on the classpath.
+     *
+     * @return {@code true} when OpenSSL is available, {@code false} otherwise.
+     */
+    public static boolean isOpenSslAvailable()
+    {
+        return OpenSsl.isAvailable();
+    }
+
     private final boolean requiresEncryption;
-    private final SSLContext sslContext;
+    private final SslContext sslContext;
     private final boolean routingCompatible;
     private final boolean requiresHostnameVerification;
 
-    private SecurityPlan( boolean requiresEncryption, SSLContext sslContext, boolean routingCompatible, boolean requiresHostnameVerification )
+    private SecurityPlan( boolean requiresEncryption, SslContext sslContext, boolean routingCompatible, boolean requiresHostnameVerification )
     {
         this.requiresEncryption = requiresEncryption;
         this.sslContext = sslContext;
@@ -111,7 +172,7 @@ public class SecurityPlan
         return routingCompatible;
     }
 
-    public SSLContext sslContext()
+    public SslContext sslContext()
     {
         return sslContext;
     }
@@ -120,4 +181,75 @@ public class SecurityPlan
     {
         return requiresHostnameVerification;
     }
+
+    private static SslContext createSslContext( TrustManagerFactory trustManagerFactory, TlsSettings tlsSettings )
+            throws GeneralSecurityException
+    {
+        if ( tlsSettings.provider() == TlsProvider.OPENSSL )
+        {
+            // OpenSSL client contexts in Netty do not cache sessions, so session settings are not applied
+            try
+            {
+                return SslContextBuilder.forClient()
+                        .sslProvider( SslProvider.OPENSSL )
+                        .trustManager( trustManagerFactory )
+                        .build();
+            }
+            catch ( SSLException e )
+            {
+                throw new GeneralSecurityException( "Unable to create OpenSSL context", e );
+            }
+        }
+
+        SSLContext sslContext = SSLContext.getInstance( "TLS" );
+        TrustManager[] trustManagers = trustManagerFactory == null ? null : trustManagerFactory.getTrustManagers();
+        sslContext.init( new KeyManager[0], trustManagers, null );
+        configureSessionCache( sslContext.getClientSessionContext(), tlsSettings );
+        return jdkSslContext( sslContext );
+    }
+
+    private static void configureSessionCache( SSLSessionContext sessionContext, TlsSettings tlsSettings )
+    {
+        // sessions are cached per host and port of the server, see NettyChannelInitializer
+        if ( tlsSettings.sessionCacheSize() != TlsSettings.NOT_CONFIGURED )
+        {
+            sessionContext.setSessionCacheSize( tlsSettings.sessionCacheSize() );
+        }
+        if ( tlsSettings.sessionTimeoutMillis() != TlsSettings.NOT_CONFIGURED )
+        {
+            long timeoutSeconds = MILLISECONDS.toSeconds( tlsSettings.sessionTimeoutMillis() );
+            // zero means no timeout for the JDK, so round sub-second timeouts up
+            sessionContext.setSessionTimeout( (int) Math.max( 1, Math.min( Integer.MAX_VALUE, timeoutSeconds ) ) );
+        }
+    }
+
+    private static SslContext jdkSslContext( SSLContext sslContext )
+    {
+        // use cipher suites enabled by the JDK by default instead of the list preferred by Netty
+        Iterable<String> cipherSuites = Arrays.asList( sslContext.getDefaultSSLParameters().getCipherSuites() );
+        return new JdkSslContext( sslContext, true, cipherSuites, IdentityCipherSuiteFilter.INSTANCE,
+                ApplicationProtocolConfig.DISABLED, ClientAuth.NONE );
+    }
+
+    private static TrustManagerFactory trustManagerFactory( TrustManager trustManager )
+    {
+        return new SimpleTrustManagerFactory()
+        {
+            @Override
+            protected void engineInit( KeyStore keyStore )
+            {
+            }
+
+            @Override
+            protected void engineInit( ManagerFactoryParameters managerFactoryParameters )
+            {
+            }
+
+            @Override
+            protected TrustManager[] engineGetTrustManagers()
+            {
+                return new TrustManager[]{trustManager};
+            }
+        };
+    }
 }
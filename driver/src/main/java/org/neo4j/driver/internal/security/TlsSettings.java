@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.security;
+
+import org.neo4j.driver.v1.Config.TlsProvider;
+
+/**
+ * TLS provider and session caching details used by a {@link SecurityPlan}.
+ */
+public class TlsSettings
+{
+    public static final int NOT_CONFIGURED = -1;
+
+    public static final TlsSettings DEFAULT = new TlsSettings( TlsProvider.JDK, NOT_CONFIGURED, NOT_CONFIGURED );
+
+    private final TlsProvider provider;
+    private final int sessionCacheSize;
+    private final long sessionTimeoutMillis;
+
+    public TlsSettings( TlsProvider provider, int sessionCacheSize, long sessionTimeoutMillis )
+    {
+        this.provider = provider;
+        this.sessionCacheSize = sessionCacheSize;
+        this.sessionTimeoutMillis = sessionTimeoutMillis;
+    }
+
+    public TlsProvider provider()
+    {
+        return provider;
+    }
+
+    public TlsSettings withProvider( TlsProvider provider )
+    {
+        return new TlsSettings( provider, sessionCacheSize, sessionTimeoutMillis );
+    }
+
+    public int sessionCacheSize()
+    {
+        return sessionCacheSize;
+    }
+
+    public long sessionTimeoutMillis()
+    {
+        return sessionTimeoutMillis;
+    }
+
+    public boolean sessionCacheConfigured()
+    {
+        return sessionCacheSize != NOT_CONFIGURED || sessionTimeoutMillis != NOT_CONFIGURED;
+    }
+}
@@ -48,4 +48,6 @@ public interface Connection
     BoltServerAddress serverAddress();
 
     ServerVersion serverVersion();
+
+    long recordBufferSize();
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.util;
+
+import org.neo4j.driver.internal.value.InternalValue;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.types.Entity;
+import org.neo4j.driver.v1.types.Node;
+import org.neo4j.driver.v1.types.Path;
+import org.neo4j.driver.v1.types.Relationship;
+
+/**
+ * Estimates the amount of heap memory occupied by decoded records. Estimates are approximate and only meant to be
+ * used for limiting the amount of buffered data, they do not depend on the JVM in use.
+ */
+public final class RecordSizeEstimator
+{
+    private static final int OBJECT_SIZE = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int NUMBER_SIZE = 24;
+    private static final int TEMPORAL_SIZE = 48;
+    private static final int STRING_SIZE = 56;
+    private static final int BYTES_SIZE = 32;
+    private static final int COLLECTION_SIZE = 32;
+    private static final int MAP_ENTRY_SIZE = 48;
+    private static final int ENTITY_SIZE = 64;
+
+    private RecordSizeEstimator()
+    {
+    }
+
+    public static long estimateSize( Record record )
+    {
+        long size = COLLECTION_SIZE + (long) REFERENCE_SIZE * record.size();
+        for ( Value value : record.values() )
+        {
+            size += estimateSize( value );
+        }
+        return size;
+    }
+
+    public static long estimateSize( Value value )
+    {
+        switch ( ((InternalValue) value).typeConstructor() )
+        {
+        case NULL:
+        case BOOLEAN:
+            return OBJECT_SIZE;
+        case INTEGER:
+        case FLOAT:
+            return NUMBER_SIZE;
+        case STRING:
+            return estimateSize( value.asString() );
+        case BYTES:
+            return BYTES_SIZE + value.size();
+        case LIST:
+            return estimateListSize( value.values(), value.size() );
+        case MAP:
+            return OBJECT_SIZE + estimateEntriesSize( value.keys(), value );
+        case NODE:
+            return estimateNodeSize( value.asNode() );
+        case RELATIONSHIP:
+            return estimateRelationshipSize( value.asRelationship() );
+        case PATH:
+            return estimatePathSize( value.asPath() );
+        default:
+            return TEMPORAL_SIZE;
+        }
+    }
+
+    private static long estimateSize( String string )
+    {
+        return STRING_SIZE + 2L * string.length();
+    }
+
+    private static long estimateListSize( Iterable<Value> values, int count )
+    {
+        long size = COLLECTION_SIZE + (long) REFERENCE_SIZE * count;
+        for ( Value value : values )
+        {
+            size += estimateSize( value );
+        }
+        return size;
+    }
+
+    private static long estimateEntriesSize( Iterable<String> keys, Value map )
+    {
+        long size = COLLECTION_SIZE;
+        for ( String key : keys )
+        {
+            size += MAP_ENTRY_SIZE + estimateSize( key ) + estimateSize( map.get( key ) );
+        }
+        return size;
+    }
+
+    private static long estimateEntitySize( Entity entity )
+    {
+        long size = ENTITY_SIZE;
+        for ( String key : entity.keys() )
+        {
+            size += MAP_ENTRY_SIZE + estimateSize( key ) + estimateSize( entity.get( key ) );
+        }
+        return size;
+    }
+
+    private static long estimateNodeSize( Node node )
+    {
+        long size = estimateEntitySize( node );
+        for ( String label : node.labels() )
+        {
+            size += REFERENCE_SIZE + estimateSize( label );
+        }
+        return size;
+    }
+
+    private static long estimateRelationshipSize( Relationship relationship )
+    {
+        return estimateEntitySize( relationship ) + estimateSize( relationship.type() );
+    }
+
+    private static long estimatePathSize( Path path )
+    {
+        long size = ENTITY_SIZE;
+        for ( Node node : path.nodes() )
+        {
+            size += REFERENCE_SIZE + estimateNodeSize( node );
+        }
+        for ( Relationship relationship : path.relationships() )
+        {
+            size += REFERENCE_SIZE + estimateRelationshipSize( relationship );
+        }
+        return size;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.value;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.internal.util.Extract;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.Values;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.types.Type;
+import org.neo4j.driver.v1.util.Function;
+
+import static org.neo4j.driver.internal.util.Iterables.newLinkedHashMapWithSize;
+import static org.neo4j.driver.v1.Values.ofObject;
+
+/**
+ * List of maps stored as named columns of arrays. Row maps are only created when the list is read, packing writes
+ * column elements directly. Column arrays are not copied and should not be modified while the value is in use.
+ */
+public class ColumnarListValue extends ValueAdapter
+{
+    private final String[] names;
+    private final Object[] columns;
+    private final int size;
+
+    public ColumnarListValue( String[] names, Object[] columns )
+    {
+        if ( names == null || columns == null || names.length != columns.length )
+        {
+            throw new IllegalArgumentException( "Cannot construct ColumnarListValue from " +
+                                                Arrays.toString( names ) + " and " + Arrays.toString( columns ) );
+        }
+        this.names = names;
+        this.columns = columns;
+        this.size = columns.length == 0 ? 0 : rowCount( names, columns );
+    }
+
+    public String[] columnNames()
+    {
+        return names;
+    }
+
+    public Object column( int index )
+    {
+        return columns[index];
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public List<Object> asObject()
+    {
+        return asList( ofObject() );
+    }
+
+    @Override
+    public List<Object> asList()
+    {
+        return asList( ofObject() );
+    }
+
+    @Override
+    public <T> List<T> asList( Function<Value,T> mapFunction )
+    {
+        return Extract.list( rows(), mapFunction );
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public Value get( int index )
+    {
+        return index >= 0 && index < size ? row( index ) : Values.NULL;
+    }
+
+    @Override
+    public <T> Iterable<T> values( final Function<Value,T> mapFunction )
+    {
+        return () -> new Iterator<T>()
+        {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return cursor < size;
+            }
+
+            @Override
+            public T next()
+            {
+                return mapFunction.apply( row( cursor++ ) );
+            }
+        };
+    }
+
+    @Override
+    public Type type()
+    {
+        return InternalTypeSystem.TYPE_SYSTEM.LIST();
+    }
+
+    @Override
+    public String toString()
+    {
+        return Arrays.toString( rows() );
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( this == o )
+        {
+            return true;
+        }
+        if ( o == null || getClass() != o.getClass() )
+        {
+            return false;
+        }
+
+        ColumnarListValue that = (ColumnarListValue) o;
+        return Arrays.equals( names, that.names ) && Arrays.deepEquals( columns, that.columns );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Arrays.hashCode( names ) + Arrays.deepHashCode( columns );
+    }
+
+    private Value[] rows()
+    {
+        Value[] rows = new Value[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            rows[i] = row( i );
+        }
+        return rows;
+    }
+
+    private Value row( int index )
+    {
+        Map<String,Value> row = newLinkedHashMapWithSize( names.length );
+        for ( int i = 0; i < names.length; i++ )
+        {
+            row.put( names[i], Values.value( Array.get( columns[i], index ) ) );
+        }
+        return new MapValue( row );
+    }
+
+    private static int rowCount( String[] names, Object[] columns )
+    {
+        int rowCount = -1;
+        for ( int i = 0; i < columns.length; i++ )
+        {
+            Object column = columns[i];
+            if ( !isSupportedColumn( column ) )
+            {
+                throw new ClientException( "Unable to use " + (column == null ? "null" : column.getClass().getName()) +
+                                           " as column '" + names[i] + "'. Columns should be arrays of long, int, " +
+                                           "double, float, boolean or objects." );
+            }
+            int length = Array.getLength( column );
+            if ( rowCount != -1 && rowCount != length )
+            {
+                throw new ClientException( "All columns should have the same length. Column '" + names[i] +
+                                           "' has " + length + " elements but previous columns have " + rowCount );
+            }
+            rowCount = length;
+        }
+        return rowCount;
+    }
+
+    private static boolean isSupportedColumn( Object column )
+    {
+        return column instanceof long[] || column instanceof int[] || column instanceof double[] ||
+               column instanceof float[] || column instanceof boolean[] || column instanceof Object[];
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.value;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.Values;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.types.Type;
+import org.neo4j.driver.v1.util.Function;
+
+import static org.neo4j.driver.v1.Values.ofObject;
+
+/**
+ * List of a known size whose elements are produced by an {@link Iterable} only when the list is packed. Elements are
+ * never held in memory all at once. When used as a top-level statement parameter, list is packed incrementally as the
+ * network channel becomes writable.
+ */
+public class StreamingListValue extends ValueAdapter
+{
+    private final int size;
+    private final Iterable<?> elements;
+
+    public StreamingListValue( int size, Iterable<?> elements )
+    {
+        if ( size < 0 )
+        {
+            throw new IllegalArgumentException( "Size of a streaming list can't be negative: " + size );
+        }
+        if ( elements == null )
+        {
+            throw new IllegalArgumentException( "Cannot construct StreamingListValue from null" );
+        }
+        this.size = size;
+        this.elements = elements;
+    }
+
+    /**
+     * Create a new iterator over exactly {@link #size()} element values.
+     *
+     * @return new iterator that fails with {@link ClientException} when underlying elements don't match the size.
+     */
+    public Iterator<Value> elements()
+    {
+        return new SizedIterator( elements.iterator() );
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public List<Object> asObject()
+    {
+        return asList( ofObject() );
+    }
+
+    @Override
+    public List<Object> asList()
+    {
+        return asList( ofObject() );
+    }
+
+    @Override
+    public <T> List<T> asList( Function<Value,T> mapFunction )
+    {
+        List<T> result = new ArrayList<>( size );
+        for ( T element : values( mapFunction ) )
+        {
+            result.add( element );
+        }
+        return result;
+    }
+
+    @Override
+    public <T> Iterable<T> values( Function<Value,T> mapFunction )
+    {
+        return () ->
+        {
+            Iterator<Value> iterator = elements();
+            return new Iterator<T>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T next()
+                {
+                    return mapFunction.apply( iterator.next() );
+                }
+            };
+        };
+    }
+
+    @Override
+    public Type type()
+    {
+        return InternalTypeSystem.TYPE_SYSTEM.LIST();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[" + size + " streamed elements]";
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return System.identityHashCode( this );
+    }
+
+    private class SizedIterator implements Iterator<Value>
+    {
+        final Iterator<?> delegate;
+        int returned;
+
+        SizedIterator( Iterator<?> delegate )
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if ( returned < size )
+            {
+                return true;
+            }
+            if ( delegate.hasNext() )
+            {
+                throw new ClientException( "Streamed list has more elements than its declared size " + size );
+            }
+            return false;
+        }
+
+        @Override
+        public Value next()
+        {
+            if ( returned >= size )
+            {
+                throw new NoSuchElementException();
+            }
+            if ( !delegate.hasNext() )
+            {
+                throw new ClientException( "Streamed list has only " + returned + " elements but its declared size " +
+                                           "is " + size );
+            }
+            returned++;
+            return Values.value( delegate.next() );
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.v1;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.v1.util.Experimental;
+
+/**
+ * Executes many small independent write statements by grouping them into shared transactions. Statements submitted
+ * within a short time window are executed together in a single {@link AccessMode#WRITE write} transaction, which
+ * saves a connection acquisition, a transaction and a network round trip per statement.
+ * <p>
+ * Each submitted statement gets its own result. When a shared transaction fails, its statements are executed again,
+ * each in a separate transaction, so that a failing statement does not fail statements it happened to be grouped
+ * with. Because of this and because transient failures are retried, submitted statements should be idempotent.
+ * <p>
+ * Statements submitted to the same executor are not guaranteed to be executed in submission order or to observe
+ * each other's writes. Use sessions and explicit transactions when ordering or causal consistency is required.
+ * <p>
+ * Instances are thread-safe and are obtained from {@link Driver#coalescingExecutor(int, long, TimeUnit)}.
+ *
+ * @since 1.7
+ */
+@Experimental
+public interface CoalescingExecutor extends AutoCloseable
+{
+    /**
+     * Submit a statement for execution in a shared write transaction.
+     * <p>
+     * It is not allowed to chain blocking operations on the returned {@link CompletionStage}. See {@link Session}
+     * javadoc for more information.
+     *
+     * @param statement the statement to execute.
+     * @return new {@link CompletionStage} that gets completed with all records of the statement after the transaction
+     * that executed it has been committed. Stage is completed exceptionally when the statement fails.
+     */
+    CompletionStage<List<Record>> submitAsync( Statement statement );
+
+    /**
+     * Submit a statement for execution in a shared write transaction.
+     *
+     * @param statementTemplate text of a Neo4j statement.
+     * @param statementParameters input data for the statement.
+     * @return new {@link CompletionStage} that gets completed with all records of the statement after the transaction
+     * that executed it has been committed. Stage is completed exceptionally when the statement fails.
+     * @see #submitAsync(Statement)
+     */
+    CompletionStage<List<Record>> submitAsync( String statementTemplate, Map<String,Object> statementParameters );
+
+    /**
+     * Stop accepting new statements, execute all already submitted ones and wait for them to complete.
+     */
+    @Override
+    void close();
+
+    /**
+     * Stop accepting new statements and execute all already submitted ones in asynchronous fashion.
+     *
+     * @return a {@link CompletionStage completion stage} that gets completed with {@code null} when all submitted
+     * statements have completed.
+     */
+    CompletionStage<Void> closeAsync();
+}
@@ -18,13 +18,24 @@
  */
 package org.neo4j.driver.v1;
 
+import io.netty.channel.EventLoopGroup;
+
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
+import org.neo4j.driver.internal.async.EventLoopGroupFactory;
+import org.neo4j.driver.internal.async.HedgingSettings;
+import org.neo4j.driver.internal.async.SocketSettings;
 import org.neo4j.driver.internal.async.pool.PoolSettings;
+import org.neo4j.driver.internal.cluster.RoutingContext;
 import org.neo4j.driver.internal.cluster.RoutingSettings;
+import org.neo4j.driver.internal.cluster.loadbalancing.CircuitBreakerSettings;
 import org.neo4j.driver.internal.retry.RetrySettings;
+import org.neo4j.driver.internal.security.TlsSettings;
 import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import org.neo4j.driver.v1.exceptions.SessionExpiredException;
 import org.neo4j.driver.v1.exceptions.TransientException;
@@ -32,6 +43,10 @@ import org.neo4j.driver.v1.util.Experimental;
 import org.neo4j.driver.v1.util.Immutable;
 import org.neo4j.driver.v1.util.Resource;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
 import static org.neo4j.driver.v1.Config.TrustStrategy.trustAllCertificates;
 import static org.neo4j.driver.v1.Logging.javaUtilLogging;
 
@@ -74,6 +89,7 @@ public class Config
 
     private final long idleTimeBeforeConnectionTest;
     private final long maxConnectionLifetimeMillis;
+    private final long maxConnectionLifetimeJitterMillis;
     private final long connectionAcquisitionTimeoutMillis;
 
     /** Indicator for encrypted traffic */
@@ -84,10 +100,39 @@ public class Config
 
     private final int routingFailureLimit;
     private final long routingRetryDelayMillis;
+    private final double routingTableRefreshFraction;
+    private final long routingLookupHedgeDelayMillis;
+    private final int circuitBreakerFailureThreshold;
+    private final long circuitBreakerCooldownMillis;
+    private final File persistedRoutingTableFile;
+    private final long persistedRoutingTableMaxAgeMillis;
     private final int connectionTimeoutMillis;
     private final RetrySettings retrySettings;
 
+    private final boolean tcpNoDelay;
+    private final boolean socketKeepAlive;
+    private final int socketReceiveBufferSize;
+    private final int socketSendBufferSize;
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
+    private final long recordBufferSize;
+
+    private final TlsProvider tlsProvider;
+    private final int tlsSessionCacheSize;
+    private final long tlsSessionTimeoutMillis;
+
+    private final long dnsCacheTtlMillis;
+    private final long dnsNegativeCacheTtlMillis;
+
+    private final EventLoopGroup eventLoopGroup;
+    private final int eventLoopThreads;
+    private final int eventLoopThreadPriority;
+
     private final LoadBalancingStrategy loadBalancingStrategy;
+    private final List<String> preferredServerGroups;
+    private final long hedgedReadsDelayMillis;
+    private final boolean hedgedReadsAdaptive;
+    private final double hedgedReadsBudget;
 
     private Config( ConfigBuilder builder)
     {
@@ -96,6 +141,7 @@ public class Config
 
         this.idleTimeBeforeConnectionTest = builder.idleTimeBeforeConnectionTest;
         this.maxConnectionLifetimeMillis = builder.maxConnectionLifetimeMillis;
+        this.maxConnectionLifetimeJitterMillis = builder.maxConnectionLifetimeJitterMillis;
         this.maxConnectionPoolSize = builder.maxConnectionPoolSize;
         this.connectionAcquisitionTimeoutMillis = builder.connectionAcquisitionTimeoutMillis;
 
@@ -103,9 +149,38 @@ public class Config
         this.trustStrategy = builder.trustStrategy;
         this.routingFailureLimit = builder.routingFailureLimit;
         this.routingRetryDelayMillis = builder.routingRetryDelayMillis;
+        this.routingTableRefreshFraction = builder.routingTableRefreshFraction;
+        this.routingLookupHedgeDelayMillis = builder.routingLookupHedgeDelayMillis;
+        this.circuitBreakerFailureThreshold = builder.circuitBreakerFailureThreshold;
+        this.circuitBreakerCooldownMillis = builder.circuitBreakerCooldownMillis;
+        this.persistedRoutingTableFile = builder.persistedRoutingTableFile;
+        this.persistedRoutingTableMaxAgeMillis = builder.persistedRoutingTableMaxAgeMillis;
         this.connectionTimeoutMillis = builder.connectionTimeoutMillis;
         this.retrySettings = builder.retrySettings;
         this.loadBalancingStrategy = builder.loadBalancingStrategy;
+        this.preferredServerGroups = builder.preferredServerGroups;
+        this.hedgedReadsDelayMillis = builder.hedgedReadsDelayMillis;
+        this.hedgedReadsAdaptive = builder.hedgedReadsAdaptive;
+        this.hedgedReadsBudget = builder.hedgedReadsBudget;
+
+        this.tcpNoDelay = builder.tcpNoDelay;
+        this.socketKeepAlive = builder.socketKeepAlive;
+        this.socketReceiveBufferSize = builder.socketReceiveBufferSize;
+        this.socketSendBufferSize = builder.socketSendBufferSize;
+        this.writeBufferLowWaterMark = builder.writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = builder.writeBufferHighWaterMark;
+        this.recordBufferSize = builder.recordBufferSize;
+
+        this.tlsProvider = builder.tlsProvider;
+        this.tlsSessionCacheSize = builder.tlsSessionCacheSize;
+        this.tlsSessionTimeoutMillis = builder.tlsSessionTimeoutMillis;
+
+        this.dnsCacheTtlMillis = builder.dnsCacheTtlMillis;
+        this.dnsNegativeCacheTtlMillis = builder.dnsNegativeCacheTtlMillis;
+
+        this.eventLoopGroup = builder.eventLoopGroup;
+        this.eventLoopThreads = builder.eventLoopThreads;
+        this.eventLoopThreadPriority = builder.eventLoopThreadPriority;
     }
 
     /**
@@ -172,6 +247,17 @@ public class Config
         return maxConnectionLifetimeMillis;
     }
 
+    /**
+     * Maximum amount of time randomly subtracted from the {@link #maxConnectionLifetimeMillis() maximum lifetime} of
+     * every pooled connection.
+     *
+     * @return maximum lifetime jitter in milliseconds or {@code -1} when default jitter is used.
+     */
+    public long maxConnectionLifetimeJitterMillis()
+    {
+        return maxConnectionLifetimeJitterMillis;
+    }
+
     /**
      * @return the configured connection timeout value in milliseconds.
      */
@@ -226,6 +312,224 @@ public class Config
         return loadBalancingStrategy;
     }
 
+    /**
+     * Host name patterns of server groups preferred for reading, in order of preference.
+     *
+     * @return the patterns, empty when all readers are equally preferred
+     */
+    @Experimental
+    public List<String> preferredServerGroups()
+    {
+        return preferredServerGroups;
+    }
+
+    /**
+     * @return delay after which a slow read query is hedged, in milliseconds. Initial delay when delay is adaptive.
+     */
+    @Experimental
+    public long hedgedReadsDelayMillis()
+    {
+        return hedgedReadsDelayMillis;
+    }
+
+    /**
+     * @return {@code true} when hedging delay follows the observed response times, {@code false} otherwise.
+     */
+    @Experimental
+    public boolean hedgedReadsAdaptive()
+    {
+        return hedgedReadsAdaptive;
+    }
+
+    /**
+     * @return maximum number of hedged queries per read query, {@code 0} when read queries are not hedged.
+     */
+    @Experimental
+    public double hedgedReadsBudget()
+    {
+        return hedgedReadsBudget;
+    }
+
+    /**
+     * Check if Nagle's algorithm is disabled for network connections.
+     *
+     * @return {@code true} if {@code TCP_NODELAY} is set on sockets, {@code false} otherwise.
+     */
+    public boolean tcpNoDelay()
+    {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Check if TCP keep-alive probes are enabled for network connections.
+     *
+     * @return {@code true} if {@code SO_KEEPALIVE} is set on sockets, {@code false} otherwise.
+     */
+    public boolean socketKeepAlive()
+    {
+        return socketKeepAlive;
+    }
+
+    /**
+     * @return the configured socket receive buffer size in bytes or {@code -1} when operating system default is used.
+     */
+    public int socketReceiveBufferSize()
+    {
+        return socketReceiveBufferSize;
+    }
+
+    /**
+     * @return the configured socket send buffer size in bytes or {@code -1} when operating system default is used.
+     */
+    public int socketSendBufferSize()
+    {
+        return socketSendBufferSize;
+    }
+
+    /**
+     * @return the configured write buffer low water mark in bytes or {@code -1} when default is used.
+     */
+    public int writeBufferLowWaterMark()
+    {
+        return writeBufferLowWaterMark;
+    }
+
+    /**
+     * @return the configured write buffer high water mark in bytes or {@code -1} when default is used.
+     */
+    public int writeBufferHighWaterMark()
+    {
+        return writeBufferHighWaterMark;
+    }
+
+    /**
+     * @return the maximum estimated size of records buffered for a single query in bytes or {@code 0} when records
+     * are buffered up to a fixed number of records.
+     */
+    @Experimental
+    public long recordBufferSize()
+    {
+        return recordBufferSize;
+    }
+
+    /**
+     * @return the preferred TLS provider for encrypted connections.
+     */
+    public TlsProvider tlsProvider()
+    {
+        return tlsProvider;
+    }
+
+    /**
+     * @return the maximum number of cached TLS sessions or {@code -1} when provider default is used.
+     */
+    public int tlsSessionCacheSize()
+    {
+        return tlsSessionCacheSize;
+    }
+
+    /**
+     * @return the timeout of cached TLS sessions in milliseconds or {@code -1} when provider default is used.
+     */
+    public long tlsSessionTimeoutMillis()
+    {
+        return tlsSessionTimeoutMillis;
+    }
+
+    /**
+     * @return fraction of the routing table TTL before its expiry when the table is refreshed in background.
+     */
+    public double routingTableRefreshFraction()
+    {
+        return routingTableRefreshFraction;
+    }
+
+    /**
+     * @return delay before querying the next router during rediscovery, in milliseconds, or {@code -1} when routers
+     * are queried one after another.
+     */
+    public long routingLookupHedgeDelayMillis()
+    {
+        return routingLookupHedgeDelayMillis;
+    }
+
+    /**
+     * @return number of consecutive connection failures after which a server is temporarily excluded from load
+     * balancing, or {@code 0} when servers are removed from the routing table on the first failure.
+     */
+    public int circuitBreakerFailureThreshold()
+    {
+        return circuitBreakerFailureThreshold;
+    }
+
+    /**
+     * @return delay before an excluded server is probed, in milliseconds.
+     */
+    public long circuitBreakerCooldownMillis()
+    {
+        return circuitBreakerCooldownMillis;
+    }
+
+    /**
+     * @return file where the last known routing table is persisted, or {@code null} when it is not persisted.
+     */
+    public File persistedRoutingTableFile()
+    {
+        return persistedRoutingTableFile;
+    }
+
+    /**
+     * @return maximum age of a persisted routing table that is still used at startup, in milliseconds.
+     */
+    public long persistedRoutingTableMaxAgeMillis()
+    {
+        return persistedRoutingTableMaxAgeMillis;
+    }
+
+    /**
+     * @return for how long successfully resolved host names are cached, in milliseconds.
+     */
+    public long dnsCacheTtlMillis()
+    {
+        return dnsCacheTtlMillis;
+    }
+
+    /**
+     * @return for how long failures to resolve host names are cached, in milliseconds.
+     */
+    public long dnsNegativeCacheTtlMillis()
+    {
+        return dnsNegativeCacheTtlMillis;
+    }
+
+    /**
+     * @return the externally supplied event loop group or {@code null} when driver creates and owns its own group.
+     */
+    @Experimental
+    public EventLoopGroup eventLoopGroup()
+    {
+        return eventLoopGroup;
+    }
+
+    /**
+     * @return the number of IO threads driver creates when it owns the event loop group or {@code 0} when Netty
+     * default is used.
+     */
+    @Experimental
+    public int eventLoopThreads()
+    {
+        return eventLoopThreads;
+    }
+
+    /**
+     * @return the priority of IO threads driver creates when it owns the event loop group.
+     */
+    @Experimental
+    public int eventLoopThreadPriority()
+    {
+        return eventLoopThreadPriority;
+    }
+
     /**
      * Return a {@link ConfigBuilder} instance
      * @return a {@link ConfigBuilder} instance
@@ -245,7 +549,8 @@ public class Config
 
     RoutingSettings routingSettings()
     {
-        return new RoutingSettings( routingFailureLimit, routingRetryDelayMillis );
+        return new RoutingSettings( routingFailureLimit, routingRetryDelayMillis, RoutingContext.EMPTY,
+                routingTableRefreshFraction, routingLookupHedgeDelayMillis );
     }
 
     RetrySettings retrySettings()
@@ -263,14 +568,40 @@ public class Config
         private int maxConnectionPoolSize = PoolSettings.DEFAULT_MAX_CONNECTION_POOL_SIZE;
         private long idleTimeBeforeConnectionTest = PoolSettings.DEFAULT_IDLE_TIME_BEFORE_CONNECTION_TEST;
         private long maxConnectionLifetimeMillis = PoolSettings.DEFAULT_MAX_CONNECTION_LIFETIME;
+        private long maxConnectionLifetimeJitterMillis = PoolSettings.DEFAULT_MAX_CONNECTION_LIFETIME_JITTER;
         private long connectionAcquisitionTimeoutMillis = PoolSettings.DEFAULT_CONNECTION_ACQUISITION_TIMEOUT;
         private boolean encrypted = true;
         private TrustStrategy trustStrategy = trustAllCertificates();
         private LoadBalancingStrategy loadBalancingStrategy = LoadBalancingStrategy.LEAST_CONNECTED;
+        private List<String> preferredServerGroups = emptyList();
+        private long hedgedReadsDelayMillis = HedgingSettings.DISABLED.delay();
+        private boolean hedgedReadsAdaptive = HedgingSettings.DISABLED.adaptive();
+        private double hedgedReadsBudget = HedgingSettings.DISABLED.budget();
         private int routingFailureLimit = RoutingSettings.DEFAULT.maxRoutingFailures();
         private long routingRetryDelayMillis = RoutingSettings.DEFAULT.retryTimeoutDelay();
+        private double routingTableRefreshFraction = RoutingSettings.DEFAULT.routingTableRefreshFraction();
+        private long routingLookupHedgeDelayMillis = RoutingSettings.DEFAULT.lookupHedgeDelay();
+        private int circuitBreakerFailureThreshold = CircuitBreakerSettings.DISABLED_FAILURE_THRESHOLD;
+        private long circuitBreakerCooldownMillis = CircuitBreakerSettings.DEFAULT_COOLDOWN;
+        private File persistedRoutingTableFile;
+        private long persistedRoutingTableMaxAgeMillis;
         private int connectionTimeoutMillis = (int) TimeUnit.SECONDS.toMillis( 5 );
         private RetrySettings retrySettings = RetrySettings.DEFAULT;
+        private boolean tcpNoDelay = SocketSettings.DEFAULT_TCP_NO_DELAY;
+        private boolean socketKeepAlive = SocketSettings.DEFAULT_KEEP_ALIVE;
+        private int socketReceiveBufferSize = SocketSettings.NOT_CONFIGURED;
+        private int socketSendBufferSize = SocketSettings.NOT_CONFIGURED;
+        private int writeBufferLowWaterMark = SocketSettings.NOT_CONFIGURED;
+        private int writeBufferHighWaterMark = SocketSettings.NOT_CONFIGURED;
+        private long recordBufferSize;
+        private TlsProvider tlsProvider = TlsProvider.JDK;
+        private int tlsSessionCacheSize = TlsSettings.NOT_CONFIGURED;
+        private long tlsSessionTimeoutMillis = TlsSettings.NOT_CONFIGURED;
+        private long dnsCacheTtlMillis = AsyncDnsResolver.DEFAULT_CACHE_TTL;
+        private long dnsNegativeCacheTtlMillis = AsyncDnsResolver.DEFAULT_NEGATIVE_CACHE_TTL;
+        private EventLoopGroup eventLoopGroup;
+        private int eventLoopThreads = EventLoopGroupFactory.DEFAULT_THREAD_COUNT;
+        private int eventLoopThreadPriority = EventLoopGroupFactory.DEFAULT_THREAD_PRIORITY;
 
         private ConfigBuilder() {}
 
@@ -307,6 +638,102 @@ public class Config
             return this;
         }
 
+        /**
+         * Prefer readers from the given server groups, for example readers located in the same availability zone as
+         * the application. Each group is defined by a host name pattern, where {@code *} matches any sequence of
+         * characters, like {@code *.eu-west-1a.internal} or {@code 10.0.1.*}. Matching is case insensitive.
+         * <p>
+         * Groups are given in order of preference and readers that do not match any group are the least preferred.
+         * Reader is selected from the most preferred group that has a server with free connections in the pool, by the
+         * configured {@link #withLoadBalancingStrategy(LoadBalancingStrategy) load balancing strategy}. Readers from
+         * less preferred groups are used only when the more preferred ones are missing from the routing table or all
+         * their connection pools are fully in use. Selection of writers is not affected.
+         * <p>
+         * This setting only applies to drivers created with {@code bolt+routing} URI scheme.
+         *
+         * @param hostPatterns the host name patterns of preferred server groups, most preferred first
+         * @return this builder
+         * @throws IllegalArgumentException when any of the patterns is {@code null} or empty
+         */
+        @Experimental
+        public ConfigBuilder withPreferredServerGroups( String... hostPatterns )
+        {
+            for ( String hostPattern : hostPatterns )
+            {
+                if ( hostPattern == null || hostPattern.isEmpty() )
+                {
+                    throw new IllegalArgumentException(
+                            "The preferred server group pattern may not be empty, but was: " + hostPattern );
+                }
+            }
+            this.preferredServerGroups = unmodifiableList( new ArrayList<>( asList( hostPatterns ) ) );
+            return this;
+        }
+
+        /**
+         * Protect read queries from slow readers by hedging. When a query executed by {@link Session#run(Statement)}
+         * in a {@link AccessMode#READ read} session does not produce the first record or its summary within the
+         * given delay, the same query is sent to a different reader. Result that arrives first is used and the other
+         * query is terminated.
+         * <p>
+         * Budget limits the load added by hedged queries. For example, budget of {@code 0.05} allows at most one hedged
+         * query per twenty read queries. Statistics of hedged queries are available in driver metrics.
+         * <p>
+         * <b>Note:</b> the same query might be executed by two servers, so only queries that do not write should be
+         * executed in read sessions with hedging enabled. Queries in explicit transactions and transaction functions
+         * are not hedged. This setting only applies to drivers created with {@code bolt+routing} URI scheme.
+         * By default, read queries are not hedged.
+         *
+         * @param delay the delay after which a slow read query is hedged
+         * @param unit the unit in which the delay is given
+         * @param budget the maximum number of hedged queries per read query, in range {@code (0, 1]}
+         * @return this builder
+         * @throws IllegalArgumentException when delay is negative or budget is out of range
+         * @see #withAdaptiveHedgedReads(long, TimeUnit, double)
+         */
+        @Experimental
+        public ConfigBuilder withHedgedReads( long delay, TimeUnit unit, double budget )
+        {
+            return withHedgedReads( delay, unit, false, budget );
+        }
+
+        /**
+         * Protect read queries from slow readers by hedging with a delay that follows the 95th percentile of observed
+         * response times. The given initial delay is used until enough response times have been observed.
+         * <p>
+         * See {@link #withHedgedReads(long, TimeUnit, double)} for details about hedging.
+         *
+         * @param initialDelay the delay after which a slow read query is hedged before response times are known
+         * @param unit the unit in which the delay is given
+         * @param budget the maximum number of hedged queries per read query, in range {@code (0, 1]}
+         * @return this builder
+         * @throws IllegalArgumentException when delay is negative or budget is out of range
+         */
+        @Experimental
+        public ConfigBuilder withAdaptiveHedgedReads( long initialDelay, TimeUnit unit, double budget )
+        {
+            return withHedgedReads( initialDelay, unit, true, budget );
+        }
+
+        private ConfigBuilder withHedgedReads( long delay, TimeUnit unit, boolean adaptive, double budget )
+        {
+            long delayMillis = unit.toMillis( delay );
+            if ( delayMillis < 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The hedged reads delay may not be smaller than 0, but was %d %s.", delay, unit ) );
+            }
+            if ( !(budget > 0 && budget <= 1) )
+            {
+                throw new IllegalArgumentException(
+                        "The hedged reads budget should be greater than 0 and not greater than 1, but was: " + budget );
+            }
+            this.hedgedReadsDelayMillis = delayMillis;
+            this.hedgedReadsAdaptive = adaptive;
+            this.hedgedReadsBudget = budget;
+            return this;
+        }
+
         /**
          * Enable logging of leaked sessions.
          * <p>
@@ -430,7 +857,8 @@ public class Config
         }
 
         /**
-         * Pooled connections older than this threshold will be closed and removed from the pool. Such discarding
+         * Pooled connections older than this threshold will be closed and removed from the pool. Idle connections
+         * that are about to reach this threshold are replaced with new connections in the background. Discarding also
          * happens during connection acquisition so that new session is never backed by an old connection.
          * <p>
          * Setting this option to a low value will cause a high connection churn and might result in a performance hit.
@@ -455,6 +883,35 @@ public class Config
             return this;
         }
 
+        /**
+         * Configure the maximum amount of time randomly subtracted from the
+         * {@link #withMaxConnectionLifetime(long, TimeUnit) maximum connection lifetime} of each pooled connection.
+         * Every connection gets a lifetime between {@code maxLifetime - jitter} and {@code maxLifetime}. This spreads
+         * expiration of connections created at the same time, for example during application startup, so that they
+         * are not all closed and re-created at once.
+         * <p>
+         * Default jitter is 10% of the maximum connection lifetime. Jitter is never larger than half of the maximum
+         * connection lifetime. Value of {@code 0} disables jitter and gives all connections exactly the maximum
+         * lifetime.
+         *
+         * @param value the maximum connection lifetime jitter
+         * @param unit the unit in which the duration is given
+         * @return this builder
+         * @throws IllegalArgumentException when given value is negative
+         * @see #withMaxConnectionLifetime(long, TimeUnit)
+         */
+        public ConfigBuilder withMaxConnectionLifetimeJitter( long value, TimeUnit unit )
+        {
+            long jitterMillis = unit.toMillis( value );
+            if ( jitterMillis < 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The max connection lifetime jitter may not be smaller than 0, but was %d %s.", value, unit ) );
+            }
+            this.maxConnectionLifetimeJitterMillis = jitterMillis;
+            return this;
+        }
+
         /**
          * Configure maximum amount of connections in the connection pool towards a single database. This setting
          * limits total amount of connections in the pool when used in direct driver, created for URI with 'bolt'
@@ -649,6 +1106,130 @@ public class Config
             return this;
         }
 
+        /**
+         * Specify how long before the expiration of the routing table it should be refreshed in background. Value is
+         * a fraction of the routing table TTL returned by the cluster. For example, with TTL of {@code 300} seconds
+         * and fraction of {@code 0.1} the refresh is started {@code 30} seconds before the table expires.
+         * <p>
+         * Current routing table keeps being used while background refresh is in progress, so that acquisition of
+         * connections does not wait for rediscovery in steady state. Failed background refresh is logged and
+         * retried when routing table expires. Value of {@code 0} disables background refresh and makes the driver
+         * refresh the routing table only when it is found to be stale.
+         * <p>
+         * This setting only applies to drivers created with {@code bolt+routing} URI scheme.
+         * The default value of this parameter is {@code 0.1}.
+         *
+         * @param fraction the fraction of routing table TTL, from {@code 0} inclusive to {@code 1} exclusive
+         * @return this builder
+         * @throws IllegalArgumentException when given value is not in the allowed range
+         */
+        public ConfigBuilder withRoutingTableRefreshFraction( double fraction )
+        {
+            if ( !(fraction >= 0 && fraction < 1) )
+            {
+                throw new IllegalArgumentException(
+                        "The routing table refresh fraction should be in range [0, 1), but was: " + fraction );
+            }
+            this.routingTableRefreshFraction = fraction;
+            return this;
+        }
+
+        /**
+         * Query multiple routing servers concurrently during rediscovery. The first router is queried immediately and
+         * every next router is queried when the given delay elapses or when the previous query fails, whichever
+         * happens first. The first valid routing table returned by any router is used, remaining routers are not
+         * queried and late responses are ignored. Value of {@code 0} queries all known routers in parallel.
+         * <p>
+         * Hedging makes rediscovery fast when some routers are slow or unreachable, at the cost of sending more
+         * routing procedure calls to the cluster. By default, routers are queried one after another and an
+         * unreachable router delays rediscovery by up to the {@linkplain #withConnectionTimeout(long, TimeUnit)
+         * connection timeout}.
+         * <p>
+         * This setting only applies to drivers created with {@code bolt+routing} URI scheme.
+         *
+         * @param delay the delay before querying the next router
+         * @param unit the unit in which the delay is given
+         * @return this builder
+         * @throws IllegalArgumentException when given delay is negative
+         */
+        public ConfigBuilder withRoutingLookupHedgeDelay( long delay, TimeUnit unit )
+        {
+            long delayMillis = unit.toMillis( delay );
+            if ( delayMillis < 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The routing lookup hedge delay may not be smaller than 0, but was %d %s.", delay, unit ) );
+            }
+            this.routingLookupHedgeDelayMillis = delayMillis;
+            return this;
+        }
+
+        /**
+         * Track health of cluster members with a circuit breaker per server. By default, a server is removed from
+         * the routing table as soon as the driver fails to connect to it, which can cause frequent rediscovery when
+         * network is flapping. With circuit breaker enabled, a server stays in the routing table and is skipped by
+         * load balancing after the given number of consecutive connection failures. Skipped server is probed in
+         * background after the given cooldown and used again once the probe succeeds. Servers are removed from the
+         * routing table, and rediscovery is triggered, only when all known readers or writers are unavailable.
+         * <p>
+         * This setting only applies to drivers created with {@code bolt+routing} URI scheme.
+         *
+         * @param failureThreshold the number of consecutive connection failures after which server is skipped
+         * @param cooldown the delay before a skipped server is probed
+         * @param unit the unit in which the cooldown is given
+         * @return this builder
+         * @throws IllegalArgumentException when failure threshold is not positive or cooldown is negative
+         */
+        public ConfigBuilder withCircuitBreaker( int failureThreshold, long cooldown, TimeUnit unit )
+        {
+            if ( failureThreshold <= 0 )
+            {
+                throw new IllegalArgumentException(
+                        "The circuit breaker failure threshold should be positive, but was: " + failureThreshold );
+            }
+            long cooldownMillis = unit.toMillis( cooldown );
+            if ( cooldownMillis < 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The circuit breaker cooldown may not be smaller than 0, but was %d %s.", cooldown, unit ) );
+            }
+            this.circuitBreakerFailureThreshold = failureThreshold;
+            this.circuitBreakerCooldownMillis = cooldownMillis;
+            return this;
+        }
+
+        /**
+         * Persist the last known routing table to the given file. A new driver created with the same file and
+         * initial router loads the persisted routing table at startup and uses it right away, instead of performing
+         * rediscovery before the first query. Loaded routing table is provisional and is re-validated in background
+         * immediately. Persisted routing tables older than the given maximum age are ignored.
+         * <p>
+         * This is useful for short-lived applications that need to reach full throughput quickly. File is not
+         * persisted by default. This setting only applies to drivers created with {@code bolt+routing} URI scheme.
+         *
+         * @param file the file to persist routing table to, created if it does not exist
+         * @param maxAge the maximum age of a persisted routing table that is still used at startup
+         * @param unit the unit in which the maximum age is given
+         * @return this builder
+         * @throws IllegalArgumentException when file is {@code null} or maximum age is not positive
+         */
+        public ConfigBuilder withPersistedRoutingTable( File file, long maxAge, TimeUnit unit )
+        {
+            if ( file == null )
+            {
+                throw new IllegalArgumentException( "The persisted routing table file may not be null" );
+            }
+            long maxAgeMillis = unit.toMillis( maxAge );
+            if ( maxAgeMillis <= 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The persisted routing table max age should be positive, but was %d %s.", maxAge, unit ) );
+            }
+            this.persistedRoutingTableFile = file;
+            this.persistedRoutingTableMaxAgeMillis = maxAgeMillis;
+            return this;
+        }
+
         /**
          * Specify socket connection timeout.
          * <p>
@@ -685,6 +1266,308 @@ public class Config
             return this;
         }
 
+        /**
+         * Enable or disable Nagle's algorithm for network connections by setting the {@code TCP_NODELAY} socket
+         * option. Disabling Nagle's algorithm lowers latency of small messages, which is what most Bolt messages are.
+         * <p>
+         * The default value of this parameter is {@code true}, meaning Nagle's algorithm is disabled.
+         *
+         * @param value {@code true} to disable Nagle's algorithm, {@code false} to enable it
+         * @return this builder
+         */
+        public ConfigBuilder withTcpNoDelay( boolean value )
+        {
+            this.tcpNoDelay = value;
+            return this;
+        }
+
+        /**
+         * Enable or disable TCP keep-alive probes for network connections by setting the {@code SO_KEEPALIVE} socket
+         * option.
+         * <p>
+         * The default value of this parameter is {@code true}.
+         *
+         * @param value {@code true} to enable keep-alive probes, {@code false} to disable them
+         * @return this builder
+         */
+        public ConfigBuilder withSocketKeepAlive( boolean value )
+        {
+            this.socketKeepAlive = value;
+            return this;
+        }
+
+        /**
+         * Specify the size of the socket receive buffer by setting the {@code SO_RCVBUF} socket option. Larger
+         * buffers can improve throughput of large results over networks with high latency.
+         * <p>
+         * Buffer size chosen by the operating system is used by default.
+         *
+         * @param sizeInBytes the buffer size in bytes
+         * @return this builder
+         * @throws IllegalArgumentException when given value is not positive
+         */
+        public ConfigBuilder withSocketReceiveBufferSize( int sizeInBytes )
+        {
+            if ( sizeInBytes <= 0 )
+            {
+                throw new IllegalArgumentException(
+                        "The socket receive buffer size must be positive, but was: " + sizeInBytes );
+            }
+            this.socketReceiveBufferSize = sizeInBytes;
+            return this;
+        }
+
+        /**
+         * Specify the size of the socket send buffer by setting the {@code SO_SNDBUF} socket option.
+         * <p>
+         * Buffer size chosen by the operating system is used by default.
+         *
+         * @param sizeInBytes the buffer size in bytes
+         * @return this builder
+         * @throws IllegalArgumentException when given value is not positive
+         */
+        public ConfigBuilder withSocketSendBufferSize( int sizeInBytes )
+        {
+            if ( sizeInBytes <= 0 )
+            {
+                throw new IllegalArgumentException(
+                        "The socket send buffer size must be positive, but was: " + sizeInBytes );
+            }
+            this.socketSendBufferSize = sizeInBytes;
+            return this;
+        }
+
+        /**
+         * Specify the write buffer water marks of network connections. Connection becomes not writable when amount of
+         * outbound data queued in the driver exceeds the high water mark and becomes writable again when it drops
+         * below the low water mark.
+         * <p>
+         * Netty defaults of 32KB and 64KB are used when water marks are not configured.
+         *
+         * @param lowInBytes the low water mark in bytes
+         * @param highInBytes the high water mark in bytes
+         * @return this builder
+         * @throws IllegalArgumentException when low water mark is negative or greater than high water mark
+         */
+        public ConfigBuilder withWriteBufferWaterMark( int lowInBytes, int highInBytes )
+        {
+            if ( lowInBytes < 0 || highInBytes < lowInBytes )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The write buffer water marks must satisfy 0 <= low <= high, but were low: %d, high: %d",
+                        lowInBytes, highInBytes ) );
+            }
+            this.writeBufferLowWaterMark = lowInBytes;
+            this.writeBufferHighWaterMark = highInBytes;
+            return this;
+        }
+
+        /**
+         * Specify the maximum size of records buffered for a single query. Driver estimates the heap size of every
+         * received record and stops reading from the network when records of a query that have not yet been consumed
+         * exceed the given size. Reading is resumed when the consumer brings buffered size below one third of it.
+         * Records that a blocking result already took in a batch count as buffered until they are returned to the user.
+         * <p>
+         * Limiting buffer size in bytes keeps memory bounded for results with large records and allows deeper
+         * prefetching for results with small records. By default, buffering is limited to 1000 records regardless of
+         * their size.
+         *
+         * @param sizeInBytes the maximum buffered size in bytes
+         * @return this builder
+         * @throws IllegalArgumentException when given value is not positive
+         */
+        @Experimental
+        public ConfigBuilder withRecordBufferSize( long sizeInBytes )
+        {
+            if ( sizeInBytes <= 0 )
+            {
+                throw new IllegalArgumentException(
+                        "The record buffer size must be positive, but was: " + sizeInBytes );
+            }
+            this.recordBufferSize = sizeInBytes;
+            return this;
+        }
+
+        /**
+         * Specify the TLS provider to use for encrypted connections. {@link TlsProvider#OPENSSL} requires
+         * netty-tcnative to be on the classpath and driver falls back to {@link TlsProvider#JDK} when it is not
+         * available. OpenSSL performs handshakes and encryption with less CPU than the JDK, but does not support
+         * resumption of cached TLS sessions.
+         * <p>
+         * The default value of this parameter is {@link TlsProvider#JDK}.
+         *
+         * @param tlsProvider the TLS provider to use
+         * @return this builder
+         * @throws NullPointerException when given provider is {@code null}
+         */
+        public ConfigBuilder withTlsProvider( TlsProvider tlsProvider )
+        {
+            this.tlsProvider = requireNonNull( tlsProvider, "TLS provider can't be null" );
+            return this;
+        }
+
+        /**
+         * Specify the maximum number of TLS sessions to cache for resumption. Cached sessions allow new encrypted
+         * connections to the same server to skip the full TLS handshake. Value of {@code 0} means no limit.
+         * <p>
+         * Default of the TLS provider is used when not configured.
+         *
+         * @param size the maximum number of cached sessions
+         * @return this builder
+         * @throws IllegalArgumentException when given value is negative
+         */
+        public ConfigBuilder withTlsSessionCacheSize( int size )
+        {
+            if ( size < 0 )
+            {
+                throw new IllegalArgumentException( "The TLS session cache size may not be smaller than 0, but was: " + size );
+            }
+            this.tlsSessionCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Specify for how long cached TLS sessions can be used for resumption. Timeout is rounded up to whole
+         * seconds.
+         * <p>
+         * Default of the TLS provider is used when not configured.
+         *
+         * @param value the timeout value
+         * @param unit the unit in which the value is given
+         * @return this builder
+         * @throws IllegalArgumentException when given value is not positive
+         */
+        public ConfigBuilder withTlsSessionTimeout( long value, TimeUnit unit )
+        {
+            long timeoutMillis = unit.toMillis( value );
+            if ( timeoutMillis <= 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The TLS session timeout must be positive, but was %d %s.", value, unit ) );
+            }
+            this.tlsSessionTimeoutMillis = timeoutMillis;
+            return this;
+        }
+
+        /**
+         * Specify for how long successfully resolved IP addresses of servers are cached by the driver. Host names are
+         * resolved in the background, on dedicated threads, and the cache prevents repeated lookups when new
+         * connections are created. Value of {@code 0} disables caching.
+         * <p>
+         * Note that the JVM also caches lookups, see {@code networkaddress.cache.ttl} security property.
+         * <p>
+         * The default value of this parameter is {@code 30} seconds.
+         *
+         * @param value the TTL value
+         * @param unit the unit in which the value is given
+         * @return this builder
+         * @throws IllegalArgumentException when given value is negative
+         */
+        public ConfigBuilder withDnsCacheTtl( long value, TimeUnit unit )
+        {
+            long ttlMillis = unit.toMillis( value );
+            if ( ttlMillis < 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The DNS cache TTL may not be smaller than 0, but was %d %s.", value, unit ) );
+            }
+            this.dnsCacheTtlMillis = ttlMillis;
+            return this;
+        }
+
+        /**
+         * Specify for how long failures to resolve host names of servers are cached by the driver. Value of {@code 0}
+         * disables caching of failures.
+         * <p>
+         * The default value of this parameter is {@code 10} seconds.
+         *
+         * @param value the TTL value
+         * @param unit the unit in which the value is given
+         * @return this builder
+         * @throws IllegalArgumentException when given value is negative
+         */
+        public ConfigBuilder withDnsNegativeCacheTtl( long value, TimeUnit unit )
+        {
+            long ttlMillis = unit.toMillis( value );
+            if ( ttlMillis < 0 )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The DNS negative cache TTL may not be smaller than 0, but was %d %s.", value, unit ) );
+            }
+            this.dnsNegativeCacheTtlMillis = ttlMillis;
+            return this;
+        }
+
+        /**
+         * Specify an external event loop group to perform network IO. Such group can be shared between multiple
+         * drivers and other Netty-based components of the application to limit the total number of IO threads.
+         * <p>
+         * Driver does not shut down the supplied group when it is closed, its lifecycle is managed by the caller.
+         * Supplied group should be either {@code NioEventLoopGroup} or, when native transport is on the classpath,
+         * {@code EpollEventLoopGroup}. Blocking API methods of the driver can't be used from the threads of the given
+         * group, same as for the IO threads created by the driver itself.
+         * <p>
+         * Note that Netty is shaded in the default driver artifact, so the group has to be created using the shaded
+         * classes. By default, driver creates and owns its own event loop group.
+         *
+         * @param eventLoopGroup the event loop group to use
+         * @return this builder
+         * @throws NullPointerException when given group is {@code null}
+         * @see #withEventLoopThreads(int)
+         */
+        @Experimental
+        public ConfigBuilder withEventLoopGroup( EventLoopGroup eventLoopGroup )
+        {
+            this.eventLoopGroup = requireNonNull( eventLoopGroup, "Event loop group can't be null" );
+            return this;
+        }
+
+        /**
+         * Specify the number of IO threads driver creates for its own event loop group. Setting is ignored when an
+         * external group is specified via {@link #withEventLoopGroup(EventLoopGroup)}.
+         * <p>
+         * Netty default of twice the number of available processors is used when not configured.
+         *
+         * @param threadCount the number of IO threads
+         * @return this builder
+         * @throws IllegalArgumentException when given value is not positive
+         */
+        @Experimental
+        public ConfigBuilder withEventLoopThreads( int threadCount )
+        {
+            if ( threadCount <= 0 )
+            {
+                throw new IllegalArgumentException(
+                        "The number of event loop threads must be positive, but was: " + threadCount );
+            }
+            this.eventLoopThreads = threadCount;
+            return this;
+        }
+
+        /**
+         * Specify the priority of IO threads driver creates for its own event loop group. Setting is ignored when an
+         * external group is specified via {@link #withEventLoopGroup(EventLoopGroup)}.
+         * <p>
+         * The default value of this parameter is {@link Thread#MAX_PRIORITY}.
+         *
+         * @param priority the thread priority
+         * @return this builder
+         * @throws IllegalArgumentException when given value is outside of the range
+         * [{@link Thread#MIN_PRIORITY}, {@link Thread#MAX_PRIORITY}]
+         */
+        @Experimental
+        public ConfigBuilder withEventLoopThreadPriority( int priority )
+        {
+            if ( priority < Thread.MIN_PRIORITY || priority > Thread.MAX_PRIORITY )
+            {
+                throw new IllegalArgumentException( String.format(
+                        "The event loop thread priority must be in range [%d, %d], but was: %d",
+                        Thread.MIN_PRIORITY, Thread.MAX_PRIORITY, priority ) );
+            }
+            this.eventLoopThreadPriority = priority;
+            return this;
+        }
+
         /**
          * Specify the maximum time transactions are allowed to retry via
          * {@link Session#readTransaction(TransactionWork)} and {@link Session#writeTransaction(TransactionWork)}
@@ -733,11 +1616,35 @@ public class Config
         REQUIRED
     }
 
+    /**
+     * Implementation of TLS used for encrypted connections.
+     */
+    public enum TlsProvider
+    {
+        /** TLS implementation of the JDK. */
+        JDK,
+
+        /** OpenSSL implementation provided by netty-tcnative, when it is on the classpath. */
+        OPENSSL
+    }
+
     @Experimental
     public enum LoadBalancingStrategy
     {
         ROUND_ROBIN,
-        LEAST_CONNECTED
+        LEAST_CONNECTED,
+
+        /**
+         * Select server with the lowest product of peak exponentially weighted moving average of its response times
+         * and the number of its outstanding requests. Slow servers receive less traffic than fast ones.
+         */
+        PEAK_EWMA,
+
+        /**
+         * Select the server with less active connections out of two randomly sampled servers. Selection time does
+         * not depend on the number of servers, which makes this strategy suitable for large clusters.
+         */
+        POWER_OF_TWO_CHOICES
     }
 
     /**
@@ -18,7 +18,13 @@
  */
 package org.neo4j.driver.v1;
 
+import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.neo4j.driver.v1.util.Experimental;
 
 /**
  * Accessor for a specific Neo4j graph database.
@@ -155,4 +161,57 @@ public interface Driver extends AutoCloseable
      * @return a {@link CompletionStage completion stage} that represents the asynchronous close.
      */
     CompletionStage<Void> closeAsync();
+
+    /**
+     * Create a new {@link CoalescingExecutor} for executing many small independent write statements in shared
+     * transactions. Submitted statements are collected until the given number of statements is reached or the given
+     * delay passes since the first of them was submitted, whichever comes first, and then executed in a single
+     * transaction.
+     * <p>
+     * Executor should be closed when it is no longer needed, before this driver is closed.
+     *
+     * @param maxBatchSize maximum number of statements executed in a single transaction.
+     * @param maxDelay maximum time a submitted statement waits for other statements to be grouped with.
+     * @param unit the unit in which the delay is given.
+     * @return new coalescing executor.
+     * @throws IllegalArgumentException when batch size is not positive or delay is negative.
+     */
+    @Experimental
+    CoalescingExecutor coalescingExecutor( int maxBatchSize, long maxDelay, TimeUnit unit );
+
+    /**
+     * Import rows from the given iterator using the given statement. Rows are grouped into batches of the given size
+     * and every batch is executed in a separate write transaction, with up to the given number of transactions running
+     * concurrently. Each batch is available to the statement as {@code $rows} parameter, so the statement is usually
+     * an {@code UNWIND}, like {@code "UNWIND $rows AS row CREATE (:Person {name: row.name})"}.
+     * <p>
+     * Batches are executed using transaction functions and are retried on transient errors. Iterator is only advanced
+     * when there is capacity for a new batch, so rows are not read faster than they can be written. Import stops on the
+     * first failed batch. Batches committed before the failure remain committed.
+     * <p>
+     * This method blocks until all batches are executed.
+     *
+     * @param statementTemplate the statement executed for every batch.
+     * @param rows the rows to import.
+     * @param batchSize maximum number of rows in a single batch.
+     * @param parallelism maximum number of batches executed concurrently.
+     * @return the number of imported rows.
+     * @throws IllegalArgumentException when batch size or parallelism is not positive.
+     */
+    @Experimental
+    long bulkImport( String statementTemplate, Iterator<Map<String,Object>> rows, int batchSize, int parallelism );
+
+    /**
+     * Import rows from the given stream using the given statement. Works the same way as
+     * {@link #bulkImport(String, Iterator, int, int)}.
+     *
+     * @param statementTemplate the statement executed for every batch.
+     * @param rows the rows to import.
+     * @param batchSize maximum number of rows in a single batch.
+     * @param parallelism maximum number of batches executed concurrently.
+     * @return the number of imported rows.
+     * @throws IllegalArgumentException when batch size or parallelism is not positive.
+     */
+    @Experimental
+    long bulkImport( String statementTemplate, Stream<Map<String,Object>> rows, int batchSize, int parallelism );
 }
@@ -25,6 +25,7 @@ import java.util.concurrent.Executor;
 import org.neo4j.driver.v1.exceptions.NoSuchRecordException;
 import org.neo4j.driver.v1.summary.ResultSummary;
 import org.neo4j.driver.v1.util.Consumer;
+import org.neo4j.driver.v1.util.Experimental;
 import org.neo4j.driver.v1.util.Function;
 
 /**
@@ -125,6 +126,20 @@ public interface StatementResultCursor
      */
     CompletionStage<ResultSummary> forEachAsync( Consumer<Record> action );
 
+    /**
+     * Asynchronously apply the given {@link Consumer action} to every record in the result using the given
+     * {@link Executor}, yielding a summary of it. Records that are already buffered are processed in batches within
+     * a single task. A new task is only submitted when waiting for more records to arrive from the network and after
+     * every batch.
+     *
+     * @param action the function to be applied to every record in the result.
+     * @param executor the executor to run the action in. It should not run tasks in the calling thread.
+     * @return a {@link CompletionStage} completed with a summary for the whole query result. Stage can also be
+     * completed exceptionally if query execution or provided function fails.
+     */
+    @Experimental
+    CompletionStage<ResultSummary> forEachAsync( Consumer<Record> action, Executor executor );
+
     /**
      * Asynchronously retrieve and store the entire result stream.
      * This can be used if you want to iterate over the stream multiple times or to store the
@@ -18,6 +18,8 @@
  */
 package org.neo4j.driver.v1;
 
+import org.reactivestreams.Publisher;
+
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
@@ -316,6 +318,34 @@ public interface StatementRunner
      */
     CompletionStage<StatementResultCursor> runAsync( Statement statement );
 
+    /**
+     * Run a statement and return a Reactive Streams {@link Publisher} of its records.
+     * <p>
+     * Statement is executed when the first records are requested by the subscriber. Records are fetched from the
+     * network only as they are requested, so a slow subscriber does not cause records to pile up in memory. Publisher
+     * completes when all records have been delivered and signals an error when the statement fails. Cancelling the
+     * subscription discards all remaining records.
+     * <p>
+     * Every subscription executes the statement again. It is not allowed to invoke blocking operations in the
+     * subscriber, records might be delivered on an IO thread.
+     *
+     * @param statement a Neo4j statement
+     * @return new publisher of records
+     */
+    @Experimental
+    Publisher<Record> runRx( Statement statement );
+
+    /**
+     * Run a statement and return a Reactive Streams {@link Publisher} of its records. Works the same way as
+     * {@link #runRx(Statement)}.
+     *
+     * @param statementTemplate text of a Neo4j statement
+     * @param statementParameters input data for the statement
+     * @return new publisher of records
+     */
+    @Experimental
+    Publisher<Record> runRx( String statementTemplate, Map<String,Object> statementParameters );
+
     /**
      * @return type system used by this statement runner for classifying values
      */
@@ -18,6 +18,7 @@
  */
 package org.neo4j.driver.v1;
 
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -146,4 +147,40 @@ public interface Transaction extends Resource, StatementRunner
      * be completed exceptionally when rollback fails.
      */
     CompletionStage<Void> rollbackAsync();
+
+    /**
+     * Run multiple statements in this transaction. Statements are sent to the database together, without waiting for
+     * each other's results, which is considerably faster than running them one by one when the transaction consists of
+     * many small statements.
+     * <p>
+     * Results are returned in the order of given statements. When a statement fails, all subsequent statements in the
+     * batch fail with the same error and the transaction can only be rolled back.
+     * <p>
+     * This method is a blocking counterpart of {@link #runBatchAsync(List)}. Like {@link #run(Statement)}, it returns
+     * without waiting for statements to be executed, errors are reported when results are consumed.
+     *
+     * @param statements statements to run, in order of execution
+     * @return results of given statements, in the same order
+     * @since 1.7
+     */
+    List<StatementResult> runBatch( List<Statement> statements );
+
+    /**
+     * Run multiple statements in this transaction in asynchronous fashion. Statements are sent to the database
+     * together, without waiting for each other's results, which is considerably faster than running them one by one
+     * when the transaction consists of many small statements.
+     * <p>
+     * Returned stage gets completed with result cursors, in the order of given statements, when the database has
+     * responded to all statements. Like with {@link #runAsync(Statement)}, failure of a statement is reported by its
+     * cursor. All subsequent statements in the batch fail with the same error and the transaction can only be rolled
+     * back.
+     * <p>
+     * It is not allowed to chain blocking operations on the returned {@link CompletionStage}. See class javadoc for
+     * more information.
+     *
+     * @param statements statements to run, in order of execution
+     * @return new {@link CompletionStage} that gets completed with result cursors of given statements.
+     * @since 1.7
+     */
+    CompletionStage<List<StatementResultCursor>> runBatchAsync( List<Statement> statements );
 }
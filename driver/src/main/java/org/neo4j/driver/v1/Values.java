@@ -33,6 +33,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.neo4j.driver.internal.AsValue;
 import org.neo4j.driver.internal.InternalIsoDuration;
@@ -40,6 +41,7 @@ import org.neo4j.driver.internal.InternalPoint2D;
 import org.neo4j.driver.internal.InternalPoint3D;
 import org.neo4j.driver.internal.value.BooleanValue;
 import org.neo4j.driver.internal.value.BytesValue;
+import org.neo4j.driver.internal.value.ColumnarListValue;
 import org.neo4j.driver.internal.value.DateTimeValue;
 import org.neo4j.driver.internal.value.DateValue;
 import org.neo4j.driver.internal.value.DurationValue;
@@ -51,6 +53,7 @@ import org.neo4j.driver.internal.value.LocalTimeValue;
 import org.neo4j.driver.internal.value.MapValue;
 import org.neo4j.driver.internal.value.NullValue;
 import org.neo4j.driver.internal.value.PointValue;
+import org.neo4j.driver.internal.value.StreamingListValue;
 import org.neo4j.driver.internal.value.StringValue;
 import org.neo4j.driver.internal.value.TimeValue;
 import org.neo4j.driver.v1.exceptions.ClientException;
@@ -62,6 +65,7 @@ import org.neo4j.driver.v1.types.Path;
 import org.neo4j.driver.v1.types.Point;
 import org.neo4j.driver.v1.types.Relationship;
 import org.neo4j.driver.v1.types.TypeSystem;
+import org.neo4j.driver.v1.util.Experimental;
 import org.neo4j.driver.v1.util.Function;
 
 import static org.neo4j.driver.internal.util.Extract.assertParameter;
@@ -388,6 +392,93 @@ public abstract class Values
         return value( map );
     }
 
+    /**
+     * Create a list of maps from columns of values, which is useful as a parameter for {@code UNWIND} statements
+     * that write many rows at once. Every map in the list contains one entry per column:
+     * <pre>
+     * {@code
+     * long[] ids = ...;
+     * String[] names = ...;
+     * session.run( "UNWIND $rows AS row CREATE (:Person {id: row.id, name: row.name})",
+     *         parameters( "rows", columns( "id", ids, "name", names ) ) );
+     * }
+     * </pre>
+     * Columns of primitives and strings are packed directly onto the wire without creating a map or a value for
+     * every row. Arrays are not copied and should not be modified until the statement has been executed.
+     *
+     * @param namesAndColumns alternating sequence of column names and arrays of {@code long}, {@code int},
+     * {@code double}, {@code float}, {@code boolean} or objects, all of the same length.
+     * @return list value containing a map for every row.
+     */
+    @Experimental
+    public static Value columns( Object... namesAndColumns )
+    {
+        if ( namesAndColumns.length % 2 != 0 )
+        {
+            throw new ClientException( "Columns function requires an even number of arguments, " +
+                                       "alternating column name and column. Arguments were: " +
+                                       Arrays.toString( namesAndColumns ) + "." );
+        }
+        String[] names = new String[namesAndColumns.length / 2];
+        Object[] columns = new Object[names.length];
+        for ( int i = 0; i < names.length; i++ )
+        {
+            names[i] = namesAndColumns[2 * i].toString();
+            columns[i] = namesAndColumns[2 * i + 1];
+        }
+        return new ColumnarListValue( names, columns );
+    }
+
+    /**
+     * Create a list of the given size whose elements are taken from the given {@link Iterable} only when the list is
+     * sent to the database. When used as a statement parameter, elements are packed in pieces as the network
+     * connection becomes writable, so they never have to be in memory all at once. This is useful for very large
+     * {@code UNWIND} parameters:
+     * <pre>
+     * {@code
+     * session.run( "UNWIND $ids AS id CREATE (:Node {id: id})",
+     *         parameters( "ids", streamingList( count, idsFromFile ) ) );
+     * }
+     * </pre>
+     * A new iterator is requested every time the list is sent, for example when a transaction function is retried.
+     * Sending fails with {@link ClientException} and closes the connection when the iterator produces a different
+     * number of elements than the given size.
+     *
+     * @param size the number of elements.
+     * @param elements the elements, of any type allowed for {@link #parameters(Object...) parameters}.
+     * @return list value that is packed lazily.
+     */
+    @Experimental
+    public static Value streamingList( int size, Iterable<?> elements )
+    {
+        return new StreamingListValue( size, elements );
+    }
+
+    /**
+     * Create a list of the given size whose elements are taken from the given {@link Iterator} only when the list is
+     * sent to the database. Works the same way as {@link #streamingList(int, Iterable)} but the list can only be sent
+     * once.
+     *
+     * @param size the number of elements.
+     * @param elements the elements, of any type allowed for {@link #parameters(Object...) parameters}.
+     * @param <T> the type of elements.
+     * @return list value that is packed lazily.
+     */
+    @Experimental
+    public static <T> Value streamingList( int size, Iterator<T> elements )
+    {
+        AtomicBoolean consumed = new AtomicBoolean();
+        Iterable<T> singleUseElements = () ->
+        {
+            if ( !consumed.compareAndSet( false, true ) )
+            {
+                throw new ClientException( "Streamed list backed by an iterator can only be consumed once" );
+            }
+            return elements;
+        };
+        return new StreamingListValue( size, singleUseElements );
+    }
+
     /**
      * The identity function for value conversion - returns the value untouched.
      *
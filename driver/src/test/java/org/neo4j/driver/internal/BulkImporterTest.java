@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.TransactionWork;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.summary.ResultSummary;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.v1.AccessMode.WRITE;
+
+class BulkImporterTest
+{
+    private final SessionFactory sessionFactory = mock( SessionFactory.class );
+    private final Session session = mock( Session.class );
+    private final List<Integer> executedBatchSizes = Collections.synchronizedList( new ArrayList<>() );
+    private final BlockingQueue<CompletableFuture<ResultSummary>> runningBatches = new LinkedBlockingQueue<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile boolean completeImmediately = true;
+
+    BulkImporterTest()
+    {
+        when( sessionFactory.newInstance( any(), any() ) ).thenReturn( session );
+        when( session.closeAsync() ).thenReturn( completedFuture( null ) );
+        when( session.writeTransactionAsync( any() ) ).thenAnswer( invocation ->
+        {
+            TransactionWork<CompletionStage<?>> work = invocation.getArgument( 0 );
+            return work.execute( newTransactionMock() );
+        } );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldImportRowsInBatches()
+    {
+        BulkImporter importer = new BulkImporter( sessionFactory, DEV_NULL_LOGGING );
+
+        long imported = importer.importRows( "UNWIND $rows AS row CREATE (:Node {id: row.id})", rows( 10 ), 4, 2 );
+
+        assertEquals( 10, imported );
+        assertEquals( asList( 4, 4, 2 ), executedBatchSizes );
+        verify( sessionFactory, times( 3 ) ).newInstance( eq( WRITE ), any() );
+        verify( session, times( 3 ) ).closeAsync();
+    }
+
+    @Test
+    void shouldNotImportAnythingWhenSourceIsEmpty()
+    {
+        BulkImporter importer = new BulkImporter( sessionFactory, DEV_NULL_LOGGING );
+
+        assertEquals( 0, importer.importRows( "UNWIND $rows AS row CREATE ()", rows( 0 ), 4, 2 ) );
+        verify( sessionFactory, times( 0 ) ).newInstance( any(), any() );
+    }
+
+    @Test
+    void shouldNotReadSourceFasterThanBatchesAreExecuted() throws Exception
+    {
+        completeImmediately = false;
+        BulkImporter importer = new BulkImporter( sessionFactory, DEV_NULL_LOGGING );
+        AtomicInteger readRows = new AtomicInteger();
+        Iterator<Map<String,Object>> source = IntStream.range( 0, 10 )
+                .peek( i -> readRows.incrementAndGet() )
+                .mapToObj( i -> Collections.<String,Object>singletonMap( "id", i ) )
+                .iterator();
+
+        Future<Long> result = executor.submit( () -> importer.importRows( "UNWIND $rows AS row CREATE ()", source, 2, 3 ) );
+
+        List<CompletableFuture<ResultSummary>> firstBatches = new ArrayList<>();
+        for ( int i = 0; i < 3; i++ )
+        {
+            firstBatches.add( runningBatches.poll( 10, TimeUnit.SECONDS ) );
+        }
+        // two batches are still waiting in the source
+        assertEquals( 6, readRows.get() );
+
+        completeImmediately = true;
+        firstBatches.forEach( batch -> batch.complete( mock( ResultSummary.class ) ) );
+
+        assertEquals( 10, result.get( 10, TimeUnit.SECONDS ).longValue() );
+        assertEquals( asList( 2, 2, 2, 2, 2 ), executedBatchSizes );
+    }
+
+    @Test
+    void shouldStopImportWhenBatchFails()
+    {
+        BulkImporter importer = new BulkImporter( sessionFactory, DEV_NULL_LOGGING );
+
+        ClientException e = assertThrows( ClientException.class,
+                () -> importer.importRows( "FAIL", rows( 100 ), 10, 1 ) );
+
+        assertEquals( "Failed: FAIL", e.getMessage() );
+        assertEquals( asList( 10 ), executedBatchSizes );
+    }
+
+    private Transaction newTransactionMock()
+    {
+        Transaction tx = mock( Transaction.class );
+        when( tx.runAsync( any( Statement.class ) ) ).thenAnswer( invocation ->
+        {
+            Statement statement = invocation.getArgument( 0 );
+            List<Object> rows = statement.parameters().get( BulkImporter.ROWS_PARAMETER ).asList();
+            executedBatchSizes.add( rows.size() );
+
+            StatementResultCursor cursor = mock( StatementResultCursor.class );
+            if ( statement.text().equals( "FAIL" ) )
+            {
+                CompletableFuture<ResultSummary> failure = new CompletableFuture<>();
+                failure.completeExceptionally( new ClientException( "Failed: FAIL" ) );
+                when( cursor.consumeAsync() ).thenReturn( failure );
+            }
+            else if ( completeImmediately )
+            {
+                when( cursor.consumeAsync() ).thenReturn( completedFuture( mock( ResultSummary.class ) ) );
+            }
+            else
+            {
+                CompletableFuture<ResultSummary> summary = new CompletableFuture<>();
+                runningBatches.add( summary );
+                when( cursor.consumeAsync() ).thenReturn( summary );
+            }
+            return completedFuture( cursor );
+        } );
+        return tx;
+    }
+
+    private static Iterator<Map<String,Object>> rows( int count )
+    {
+        return IntStream.range( 0, count )
+                .mapToObj( i -> Collections.<String,Object>singletonMap( "id", i ) )
+                .collect( Collectors.toList() )
+                .iterator();
+    }
+}
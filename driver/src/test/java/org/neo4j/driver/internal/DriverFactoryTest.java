@@ -19,6 +19,8 @@
 package org.neo4j.driver.internal;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,12 +29,16 @@ import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
 import org.neo4j.driver.internal.async.BootstrapFactory;
+import org.neo4j.driver.internal.async.HedgedReadRunner;
 import org.neo4j.driver.internal.cluster.RoutingSettings;
 import org.neo4j.driver.internal.cluster.loadbalancing.LoadBalancer;
+import org.neo4j.driver.internal.metrics.InternalAbstractMetrics;
 import org.neo4j.driver.internal.metrics.InternalMetrics;
 import org.neo4j.driver.internal.metrics.MetricsListener;
 import org.neo4j.driver.internal.metrics.spi.Metrics;
@@ -54,6 +60,8 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.any;
@@ -145,6 +153,41 @@ public class DriverFactoryTest
         assertThat( capturedFactory.newInstance( READ, null ), instanceOf( LeakLoggingNetworkSession.class ) );
     }
 
+    @Test
+    public void usesExternalEventLoopGroupWhenConfigured()
+    {
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup( 1 );
+        try
+        {
+            Config config = Config.build().withEventLoopGroup( eventLoopGroup ).toConfig();
+            BootstrapCapturingDriverFactory factory = new BootstrapCapturingDriverFactory();
+
+            createDriver( factory, config );
+
+            assertSame( eventLoopGroup, factory.capturedBootstrap.config().group() );
+        }
+        finally
+        {
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void createsNewDnsResolverForEveryDriver()
+    {
+        DnsResolverCapturingDriverFactory factory = new DnsResolverCapturingDriverFactory();
+
+        createDriver( factory );
+        createDriver( factory );
+
+        assertEquals( 2, factory.capturedPoolDnsResolvers.size() );
+        assertNotSame( factory.capturedPoolDnsResolvers.get( 0 ), factory.capturedPoolDnsResolvers.get( 1 ) );
+        if ( uri.getScheme().equals( DriverFactory.BOLT_ROUTING_URI_SCHEME ) )
+        {
+            assertEquals( factory.capturedPoolDnsResolvers, factory.capturedLoadBalancerDnsResolvers );
+        }
+    }
+
     @Test
     public void shouldVerifyConnectivity()
     {
@@ -235,20 +278,23 @@ public class DriverFactoryTest
         }
 
         @Override
-        protected InternalDriver createDriver( SecurityPlan securityPlan, SessionFactory sessionFactory, Metrics metrics, Config config )
+        protected InternalDriver createDriver( SecurityPlan securityPlan, SessionFactory sessionFactory,
+                EventExecutorGroup eventExecutorGroup, Metrics metrics, Config config )
         {
             throw new UnsupportedOperationException( "Can't create direct driver" );
         }
 
         @Override
         protected InternalDriver createRoutingDriver( SecurityPlan securityPlan, BoltServerAddress address, ConnectionPool connectionPool,
-                EventExecutorGroup eventExecutorGroup, RoutingSettings routingSettings, RetryLogic retryLogic, Metrics metrics, Config config )
+                EventExecutorGroup eventExecutorGroup, AsyncDnsResolver dnsResolver, RoutingSettings routingSettings, RetryLogic retryLogic,
+                InternalAbstractMetrics metrics, Config config )
         {
             throw new UnsupportedOperationException( "Can't create routing driver" );
         }
 
         @Override
-        protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap, MetricsListener metrics, Config config )
+        protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap,
+                AsyncDnsResolver dnsResolver, MetricsListener metrics, Config config )
         {
             return connectionPool;
         }
@@ -259,7 +305,8 @@ public class DriverFactoryTest
         SessionFactory capturedSessionFactory;
 
         @Override
-        protected InternalDriver createDriver( SecurityPlan securityPlan, SessionFactory sessionFactory, Metrics metrics, Config config )
+        protected InternalDriver createDriver( SecurityPlan securityPlan, SessionFactory sessionFactory,
+                EventExecutorGroup eventExecutorGroup, Metrics metrics, Config config )
         {
             InternalDriver driver = mock( InternalDriver.class );
             when( driver.verifyConnectivity() ).thenReturn( completedWithNull() );
@@ -268,27 +315,67 @@ public class DriverFactoryTest
 
         @Override
         protected LoadBalancer createLoadBalancer( BoltServerAddress address, ConnectionPool connectionPool,
-                EventExecutorGroup eventExecutorGroup, Config config, RoutingSettings routingSettings )
+                EventExecutorGroup eventExecutorGroup, AsyncDnsResolver dnsResolver, Config config,
+                RoutingSettings routingSettings )
         {
             return null;
         }
 
         @Override
         protected SessionFactory createSessionFactory( ConnectionProvider connectionProvider,
-                RetryLogic retryLogic, Config config )
+                RetryLogic retryLogic, HedgedReadRunner hedgedReadRunner, Config config )
         {
-            SessionFactory sessionFactory = super.createSessionFactory( connectionProvider, retryLogic, config );
+            SessionFactory sessionFactory = super.createSessionFactory( connectionProvider, retryLogic,
+                    hedgedReadRunner, config );
             capturedSessionFactory = sessionFactory;
             return sessionFactory;
         }
 
         @Override
-        protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap, MetricsListener metrics, Config config )
+        protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap,
+                AsyncDnsResolver dnsResolver, MetricsListener metrics, Config config )
         {
             return connectionPoolMock();
         }
     }
 
+    private static class BootstrapCapturingDriverFactory extends SessionFactoryCapturingDriverFactory
+    {
+        Bootstrap capturedBootstrap;
+
+        @Override
+        protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap,
+                AsyncDnsResolver dnsResolver, MetricsListener metrics, Config config )
+        {
+            capturedBootstrap = bootstrap;
+            return super.createConnectionPool( authToken, securityPlan, bootstrap, dnsResolver, metrics, config );
+        }
+    }
+
+    private static class DnsResolverCapturingDriverFactory extends SessionFactoryCapturingDriverFactory
+    {
+        final List<AsyncDnsResolver> capturedPoolDnsResolvers = new ArrayList<>();
+        final List<AsyncDnsResolver> capturedLoadBalancerDnsResolvers = new ArrayList<>();
+
+        @Override
+        protected LoadBalancer createLoadBalancer( BoltServerAddress address, ConnectionPool connectionPool,
+                EventExecutorGroup eventExecutorGroup, AsyncDnsResolver dnsResolver, Config config,
+                RoutingSettings routingSettings )
+        {
+            capturedLoadBalancerDnsResolvers.add( dnsResolver );
+            return super.createLoadBalancer( address, connectionPool, eventExecutorGroup, dnsResolver, config,
+                    routingSettings );
+        }
+
+        @Override
+        protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap,
+                AsyncDnsResolver dnsResolver, MetricsListener metrics, Config config )
+        {
+            capturedPoolDnsResolvers.add( dnsResolver );
+            return super.createConnectionPool( authToken, securityPlan, bootstrap, dnsResolver, metrics, config );
+        }
+    }
+
     private static class DriverFactoryWithSessions extends DriverFactory
     {
         final SessionFactory sessionFactory;
@@ -299,20 +386,21 @@ public class DriverFactoryTest
         }
 
         @Override
-        protected Bootstrap createBootstrap()
+        protected Bootstrap createBootstrap( Config config )
         {
             return BootstrapFactory.newBootstrap( 1 );
         }
 
         @Override
-        protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap, MetricsListener metrics, Config config )
+        protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap,
+                AsyncDnsResolver dnsResolver, MetricsListener metrics, Config config )
         {
             return connectionPoolMock();
         }
 
         @Override
         protected SessionFactory createSessionFactory( ConnectionProvider connectionProvider, RetryLogic retryLogic,
-                Config config )
+                HedgedReadRunner hedgedReadRunner, Config config )
         {
             return sessionFactory;
         }
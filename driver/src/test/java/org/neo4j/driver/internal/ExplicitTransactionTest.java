@@ -20,15 +20,24 @@ package org.neo4j.driver.internal;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
+import org.mockito.stubbing.Answer;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ResponseHandler;
+import org.neo4j.driver.internal.util.ServerVersion;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.StatementResultCursor;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -40,6 +49,7 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.neo4j.driver.v1.util.TestUtil.await;
 import static org.neo4j.driver.v1.util.TestUtil.connectionMock;
 
@@ -111,15 +121,28 @@ class ExplicitTransactionTest
     }
 
     @Test
-    void shouldFlushWhenBookmarkGiven()
+    void shouldOnlyQueueMessagesWhenBookmarkGiven()
     {
         Bookmark bookmark = Bookmark.from( "hi, I'm bookmark" );
         Connection connection = connectionMock();
 
         beginTx( connection, bookmark );
 
-        verify( connection ).runAndFlush( eq( "BEGIN" ), any(), any(), any() );
-        verify( connection, never() ).run( any(), any(), any(), any() );
+        verify( connection ).run( eq( "BEGIN" ), eq( bookmark.asBeginTransactionParameters() ), any(), any() );
+        verify( connection, never() ).runAndFlush( any(), any(), any(), any() );
+    }
+
+    @Test
+    void shouldFlushBeginTogetherWithFirstQueryWhenBookmarkGiven()
+    {
+        Connection connection = connectionMock();
+        ExplicitTransaction tx = beginTx( connection, Bookmark.from( "hi, I'm bookmark" ) );
+
+        tx.runAsync( new Statement( "RETURN 1" ) );
+
+        InOrder order = inOrder( connection );
+        order.verify( connection ).run( eq( "BEGIN" ), any(), any(), any() );
+        order.verify( connection ).runAndFlush( eq( "RETURN 1" ), any(), any(), any() );
     }
 
     @Test
@@ -228,15 +251,31 @@ class ExplicitTransactionTest
     }
 
     @Test
-    void shouldReleaseConnectionWhenBeginFails()
+    void shouldReportBeginFailureOnCommitAndReleaseConnection()
     {
         RuntimeException error = new RuntimeException( "Wrong bookmark!" );
         Connection connection = connectionWithBegin( handler -> handler.onFailure( error ) );
-        ExplicitTransaction tx = new ExplicitTransaction( connection, mock( NetworkSession.class ) );
+        ExplicitTransaction tx = beginTx( connection, Bookmark.from( "SomeBookmark" ) );
 
-        RuntimeException e = assertThrows( RuntimeException.class, () -> await( tx.beginAsync( Bookmark.from( "SomeBookmark" ) ) ) );
+        RuntimeException e = assertThrows( RuntimeException.class, () -> await( tx.commitAsync() ) );
         assertEquals( error, e );
 
+        verify( connection, never() ).runAndFlush( eq( "COMMIT" ), any(), any(), any() );
+        verify( connection ).release();
+    }
+
+    @Test
+    void shouldReportBeginFailureOnRun()
+    {
+        RuntimeException error = new RuntimeException( "Wrong bookmark!" );
+        Connection connection = connectionWithBegin( handler -> handler.onFailure( error ) );
+        ExplicitTransaction tx = beginTx( connection, Bookmark.from( "SomeBookmark" ) );
+
+        ClientException e = assertThrows( ClientException.class, () -> tx.run( "RETURN 1" ) );
+        assertEquals( error, e.getCause() );
+
+        await( tx.rollbackAsync() );
+        verify( connection, never() ).runAndFlush( eq( "ROLLBACK" ), any(), any(), any() );
         verify( connection ).release();
     }
 
@@ -276,6 +315,83 @@ class ExplicitTransactionTest
         verify( connection ).release();
     }
 
+    @Test
+    void shouldFlushBatchOnce()
+    {
+        Connection connection = connectionMock();
+        ExplicitTransaction tx = beginTx( connection );
+
+        List<StatementResult> results = tx.runBatch( asList(
+                new Statement( "CREATE (:A)" ), new Statement( "CREATE (:B)" ), new Statement( "CREATE (:C)" ) ) );
+
+        assertEquals( 3, results.size() );
+        InOrder order = inOrder( connection );
+        order.verify( connection ).run( eq( "BEGIN" ), any(), any(), any() );
+        order.verify( connection ).run( eq( "CREATE (:A)" ), any(), any(), any() );
+        order.verify( connection ).run( eq( "CREATE (:B)" ), any(), any(), any() );
+        order.verify( connection ).runAndFlush( eq( "CREATE (:C)" ), any(), any(), any() );
+        verify( connection, never() ).runAndFlush( eq( "CREATE (:A)" ), any(), any(), any() );
+        verify( connection, never() ).runAndFlush( eq( "CREATE (:B)" ), any(), any(), any() );
+    }
+
+    @Test
+    void shouldRunEmptyBatch()
+    {
+        Connection connection = connectionMock();
+        ExplicitTransaction tx = beginTx( connection );
+
+        assertTrue( tx.runBatch( emptyList() ).isEmpty() );
+        assertTrue( await( tx.runBatchAsync( emptyList() ) ).isEmpty() );
+        verify( connection, never() ).runAndFlush( any(), any(), any(), any() );
+    }
+
+    @Test
+    void shouldReturnCursorsOfBatchInOrder()
+    {
+        Connection connection = connectionMock();
+        respondToRun( connection, "RETURN 1", null );
+        respondToRun( connection, "RETURN 2", null );
+        ExplicitTransaction tx = beginTx( connection );
+
+        List<StatementResultCursor> cursors = await( tx.runBatchAsync( asList(
+                new Statement( "RETURN 1" ), new Statement( "RETURN 2" ) ) ) );
+
+        assertEquals( 2, cursors.size() );
+        verify( connection ).run( eq( "RETURN 1" ), any(), any(), any() );
+        verify( connection ).runAndFlush( eq( "RETURN 2" ), any(), any(), any() );
+    }
+
+    @Test
+    void shouldReportFailureOfBatchStatementThroughItsCursor()
+    {
+        RuntimeException error = new RuntimeException( "Syntax error" );
+        Connection connection = connectionMock();
+        when( connection.serverAddress() ).thenReturn( BoltServerAddress.LOCAL_DEFAULT );
+        when( connection.serverVersion() ).thenReturn( ServerVersion.v3_2_0 );
+        respondToRun( connection, "RETURN 1", null );
+        respondToRun( connection, "RETUR 2", error );
+        respondToRun( connection, "RETURN 3", error );
+        ExplicitTransaction tx = beginTx( connection );
+
+        List<StatementResultCursor> cursors = await( tx.runBatchAsync( asList(
+                new Statement( "RETURN 1" ), new Statement( "RETUR 2" ), new Statement( "RETURN 3" ) ) ) );
+
+        assertEquals( 3, cursors.size() );
+        assertEquals( error, assertThrows( RuntimeException.class, () -> await( cursors.get( 1 ).consumeAsync() ) ) );
+        assertEquals( error, assertThrows( RuntimeException.class, () -> await( cursors.get( 2 ).consumeAsync() ) ) );
+        assertThrows( ClientException.class, () -> tx.run( "RETURN 4" ) );
+    }
+
+    @Test
+    void shouldNotRunBatchInCommittedTransaction()
+    {
+        Connection connection = connectionMock();
+        ExplicitTransaction tx = beginTx( connection );
+        await( tx.commitAsync() );
+
+        assertThrows( ClientException.class, () -> tx.runBatch( singletonList( new Statement( "RETURN 1" ) ) ) );
+    }
+
     private static ExplicitTransaction beginTx( Connection connection )
     {
         return beginTx( connection, Bookmark.empty() );
@@ -293,6 +409,27 @@ class ExplicitTransactionTest
         return await( tx.beginAsync( initialBookmark ) );
     }
 
+    private static void respondToRun( Connection connection, String query, Throwable error )
+    {
+        Answer<Void> answer = invocation ->
+        {
+            ResponseHandler runHandler = invocation.getArgument( 2 );
+            ResponseHandler pullAllHandler = invocation.getArgument( 3 );
+            if ( error == null )
+            {
+                runHandler.onSuccess( emptyMap() );
+            }
+            else
+            {
+                runHandler.onFailure( error );
+                pullAllHandler.onFailure( error );
+            }
+            return null;
+        };
+        doAnswer( answer ).when( connection ).run( eq( query ), any(), any(), any() );
+        doAnswer( answer ).when( connection ).runAndFlush( eq( query ), any(), any(), any() );
+    }
+
     private static Connection connectionWithBegin( Consumer<ResponseHandler> beginBehaviour )
     {
         Connection connection = mock( Connection.class );
@@ -302,7 +439,7 @@ class ExplicitTransactionTest
             ResponseHandler beginHandler = invocation.getArgument( 3 );
             beginBehaviour.accept( beginHandler );
             return null;
-        } ).when( connection ).runAndFlush( eq( "BEGIN" ), any(), any(), any() );
+        } ).when( connection ).run( eq( "BEGIN" ), any(), any(), any() );
 
         return connection;
     }
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.TransactionWork;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.internal.util.Futures.failedFuture;
+import static org.neo4j.driver.v1.Values.value;
+import static org.neo4j.driver.v1.util.TestUtil.await;
+
+class InternalCoalescingExecutorTest
+{
+    private final SessionFactory sessionFactory = mock( SessionFactory.class );
+    private final EventExecutor eventExecutor = mock( EventExecutor.class );
+    private final List<List<String>> executedBatches = new ArrayList<>();
+    private CompletableFuture<List<Record>> pendingRecords;
+
+    InternalCoalescingExecutorTest()
+    {
+        Session session = mock( Session.class );
+        when( sessionFactory.newInstance( any(), any() ) ).thenReturn( session );
+        when( session.writeTransactionAsync( any() ) ).thenAnswer( invocation ->
+        {
+            TransactionWork<CompletionStage<?>> work = invocation.getArgument( 0 );
+            return work.execute( newTransactionMock() );
+        } );
+        doReturn( mock( ScheduledFuture.class ) ).when( eventExecutor )
+                .schedule( any( Runnable.class ), anyLong(), any( TimeUnit.class ) );
+    }
+
+    @Test
+    void shouldExecuteFullBatchInSingleTransaction()
+    {
+        InternalCoalescingExecutor executor = newExecutor( 3 );
+
+        CompletionStage<List<Record>> result1 = executor.submitAsync( "RETURN 1", singletonMap( "x", 1 ) );
+        CompletionStage<List<Record>> result2 = executor.submitAsync( new Statement( "RETURN 2" ) );
+        assertTrue( executedBatches.isEmpty() );
+        CompletionStage<List<Record>> result3 = executor.submitAsync( new Statement( "RETURN 3" ) );
+
+        assertEquals( singletonList( asList( "RETURN 1", "RETURN 2", "RETURN 3" ) ), executedBatches );
+        assertEquals( value( "RETURN 1" ), await( result1 ).get( 0 ).get( 0 ) );
+        assertEquals( value( "RETURN 2" ), await( result2 ).get( 0 ).get( 0 ) );
+        assertEquals( value( "RETURN 3" ), await( result3 ).get( 0 ).get( 0 ) );
+    }
+
+    @Test
+    void shouldExecuteBatchWhenDelayPasses()
+    {
+        InternalCoalescingExecutor executor = newExecutor( 10 );
+
+        CompletionStage<List<Record>> result1 = executor.submitAsync( new Statement( "RETURN 1" ) );
+        CompletionStage<List<Record>> result2 = executor.submitAsync( new Statement( "RETURN 2" ) );
+        assertFalse( result1.toCompletableFuture().isDone() );
+
+        ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass( Runnable.class );
+        verify( eventExecutor ).schedule( flushCaptor.capture(), eq( 42L ), eq( TimeUnit.MILLISECONDS ) );
+        flushCaptor.getValue().run();
+
+        assertEquals( singletonList( asList( "RETURN 1", "RETURN 2" ) ), executedBatches );
+        assertEquals( 1, await( result1 ).size() );
+        assertEquals( 1, await( result2 ).size() );
+    }
+
+    @Test
+    void shouldExecuteStatementsSeparatelyWhenTransactionFails()
+    {
+        InternalCoalescingExecutor executor = newExecutor( 3 );
+
+        CompletionStage<List<Record>> result1 = executor.submitAsync( new Statement( "RETURN 1" ) );
+        CompletionStage<List<Record>> result2 = executor.submitAsync( new Statement( "FAIL" ) );
+        CompletionStage<List<Record>> result3 = executor.submitAsync( new Statement( "RETURN 3" ) );
+
+        assertEquals( 1, await( result1 ).size() );
+        ClientException e = assertThrows( ClientException.class, () -> await( result2 ) );
+        assertEquals( "Failed: FAIL", e.getMessage() );
+        assertEquals( 1, await( result3 ).size() );
+        assertEquals( 4, executedBatches.size() );
+    }
+
+    @Test
+    void shouldExecutePendingStatementsOnClose()
+    {
+        InternalCoalescingExecutor executor = newExecutor( 10 );
+        CompletionStage<List<Record>> result = executor.submitAsync( new Statement( "RETURN 1" ) );
+
+        await( executor.closeAsync() );
+
+        assertEquals( 1, await( result ).size() );
+        assertEquals( singletonList( singletonList( "RETURN 1" ) ), executedBatches );
+    }
+
+    @Test
+    void shouldNotAcceptStatementsAfterClose()
+    {
+        InternalCoalescingExecutor executor = newExecutor( 10 );
+        executor.close();
+
+        assertThrows( ClientException.class, () -> await( executor.submitAsync( new Statement( "RETURN 1" ) ) ) );
+        verify( sessionFactory, never() ).newInstance( any(), any() );
+    }
+
+    @Test
+    void shouldWaitForRunningBatchesOnClose()
+    {
+        CompletableFuture<List<Record>> records = new CompletableFuture<>();
+        InternalCoalescingExecutor executor = newExecutor( 1, records );
+        CompletionStage<List<Record>> result = executor.submitAsync( new Statement( "RETURN 1" ) );
+
+        CompletableFuture<Void> closeFuture = executor.closeAsync().toCompletableFuture();
+        assertFalse( closeFuture.isDone() );
+
+        records.complete( singletonList( mock( Record.class ) ) );
+        await( closeFuture );
+        assertEquals( 1, await( result ).size() );
+        verify( sessionFactory, times( 1 ) ).newInstance( any(), any() );
+    }
+
+    private InternalCoalescingExecutor newExecutor( int maxBatchSize )
+    {
+        return newExecutor( maxBatchSize, null );
+    }
+
+    private InternalCoalescingExecutor newExecutor( int maxBatchSize, CompletableFuture<List<Record>> records )
+    {
+        this.pendingRecords = records;
+        EventExecutorGroup eventExecutorGroup = mock( EventExecutorGroup.class );
+        when( eventExecutorGroup.next() ).thenReturn( eventExecutor );
+        return new InternalCoalescingExecutor( sessionFactory, eventExecutorGroup, maxBatchSize, 42,
+                DEV_NULL_LOGGING );
+    }
+
+    private Transaction newTransactionMock()
+    {
+        Transaction tx = mock( Transaction.class );
+        when( tx.runBatchAsync( any() ) ).thenAnswer( invocation ->
+        {
+            List<Statement> statements = invocation.getArgument( 0 );
+            List<String> texts = new ArrayList<>();
+            List<StatementResultCursor> cursors = new ArrayList<>();
+            for ( Statement statement : statements )
+            {
+                texts.add( statement.text() );
+                cursors.add( newCursorMock( statement ) );
+            }
+            executedBatches.add( texts );
+            if ( texts.contains( "FAIL" ) )
+            {
+                return failedFuture( new ClientException( "Failed: FAIL" ) );
+            }
+            return completedFuture( cursors );
+        } );
+        return tx;
+    }
+
+    private StatementResultCursor newCursorMock( Statement statement )
+    {
+        StatementResultCursor cursor = mock( StatementResultCursor.class );
+        if ( pendingRecords != null )
+        {
+            when( cursor.listAsync() ).thenReturn( pendingRecords );
+        }
+        else
+        {
+            Record record = new InternalRecord( singletonList( "text" ), new Value[]{value( statement.text() )} );
+            when( cursor.listAsync() ).thenReturn( completedFuture( singletonList( record ) ) );
+        }
+        return cursor;
+    }
+}
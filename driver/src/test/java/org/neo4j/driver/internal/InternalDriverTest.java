@@ -18,14 +18,19 @@
  */
 package org.neo4j.driver.internal;
 
+import io.netty.util.concurrent.EventExecutorGroup;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.neo4j.driver.internal.security.SecurityPlan;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -71,9 +76,38 @@ class InternalDriverTest
         assertEquals( connectivityStage, driver.verifyConnectivity() );
     }
 
+    @Test
+    void shouldCreateCoalescingExecutor()
+    {
+        InternalDriver driver = newDriver( sessionFactoryMock() );
+
+        assertNotNull( driver.coalescingExecutor( 100, 10, TimeUnit.MILLISECONDS ) );
+        assertNotNull( driver.coalescingExecutor( 1, 0, TimeUnit.MILLISECONDS ) );
+    }
+
+    @Test
+    void shouldNotCreateCoalescingExecutorWithInvalidSettings()
+    {
+        InternalDriver driver = newDriver( sessionFactoryMock() );
+
+        assertThrows( IllegalArgumentException.class, () -> driver.coalescingExecutor( 0, 10, TimeUnit.MILLISECONDS ) );
+        assertThrows( IllegalArgumentException.class, () -> driver.coalescingExecutor( 10, -1, TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    void shouldNotBulkImportWithInvalidSettings()
+    {
+        InternalDriver driver = newDriver( sessionFactoryMock() );
+
+        assertThrows( IllegalArgumentException.class,
+                () -> driver.bulkImport( "UNWIND $rows AS row CREATE ()", Stream.empty(), 0, 1 ) );
+        assertThrows( IllegalArgumentException.class,
+                () -> driver.bulkImport( "UNWIND $rows AS row CREATE ()", Stream.empty(), 100, -1 ) );
+    }
+
     private static InternalDriver newDriver( SessionFactory sessionFactory )
     {
-        return new InternalDriver( SecurityPlan.insecure(), sessionFactory, DEV_NULL_METRICS, DEV_NULL_LOGGING );
+        return new InternalDriver( SecurityPlan.insecure(), sessionFactory, mock( EventExecutorGroup.class ), DEV_NULL_METRICS, DEV_NULL_LOGGING );
     }
 
     private static SessionFactory sessionFactoryMock()
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.neo4j.driver.internal.handlers.PullAllResponseHandler;
+import org.neo4j.driver.internal.handlers.RunResponseHandler;
+import org.neo4j.driver.internal.handlers.SessionPullAllResponseHandler;
+import org.neo4j.driver.internal.spi.Connection;
+import org.neo4j.driver.internal.util.ServerVersion;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.StatementResultCursor;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.util.Futures.failedFuture;
+import static org.neo4j.driver.v1.Values.value;
+import static org.neo4j.driver.v1.Values.values;
+
+class InternalRecordPublisherTest
+{
+    private final Connection connection = connectionMock();
+    private final PullAllResponseHandler pullAllHandler = newPullAllHandler( connection );
+    private final CompletableFuture<StatementResultCursor> cursorFuture = new CompletableFuture<>();
+    private final InternalRecordPublisher publisher = new InternalRecordPublisher( () -> cursorFuture );
+
+    @Test
+    void shouldNotRunStatementUntilRecordsAreRequested()
+    {
+        List<Object> runs = new ArrayList<>();
+        InternalRecordPublisher publisher = new InternalRecordPublisher( () ->
+        {
+            runs.add( new Object() );
+            return cursorFuture;
+        } );
+        TestSubscriber subscriber = new TestSubscriber();
+
+        publisher.subscribe( subscriber );
+        assertEquals( 0, runs.size() );
+
+        subscriber.subscription.request( 1 );
+        assertEquals( 1, runs.size() );
+    }
+
+    @Test
+    void shouldDeliverOnlyRequestedRecords()
+    {
+        TestSubscriber subscriber = subscribe();
+        subscriber.subscription.request( 2 );
+        cursorFuture.complete( new InternalStatementResultCursor( mock( RunResponseHandler.class ), pullAllHandler ) );
+
+        pullAllHandler.onRecord( values( 1 ) );
+        pullAllHandler.onRecord( values( 2 ) );
+        pullAllHandler.onRecord( values( 3 ) );
+
+        assertEquals( 2, subscriber.records.size() );
+        assertEquals( 2, subscriber.records.get( 1 ).get( 0 ).asInt() );
+
+        pullAllHandler.onSuccess( emptyMap() );
+        assertFalse( subscriber.completed );
+
+        subscriber.subscription.request( 10 );
+        assertEquals( 3, subscriber.records.size() );
+        assertTrue( subscriber.completed );
+        assertNull( subscriber.error );
+    }
+
+    @Test
+    void shouldPauseReadingWhenRequestedRecordsAreBuffered()
+    {
+        TestSubscriber subscriber = subscribe();
+        subscriber.subscription.request( 1 );
+        cursorFuture.complete( new InternalStatementResultCursor( mock( RunResponseHandler.class ), pullAllHandler ) );
+        verify( connection, never() ).disableAutoRead();
+
+        // all requested records have arrived, reading should pause
+        pullAllHandler.onRecord( values( 1 ) );
+        verify( connection ).disableAutoRead();
+
+        // record that was already in flight is buffered
+        pullAllHandler.onRecord( values( 2 ) );
+        assertEquals( 1, subscriber.records.size() );
+    }
+
+    @Test
+    void shouldSignalStatementFailure()
+    {
+        TestSubscriber subscriber = subscribe();
+        subscriber.subscription.request( 10 );
+        cursorFuture.complete( new InternalStatementResultCursor( mock( RunResponseHandler.class ), pullAllHandler ) );
+
+        pullAllHandler.onRecord( values( 1 ) );
+        ClientException error = new ClientException( "Syntax error" );
+        pullAllHandler.onFailure( error );
+
+        assertEquals( 1, subscriber.records.size() );
+        assertEquals( error, subscriber.error );
+        assertFalse( subscriber.completed );
+    }
+
+    @Test
+    void shouldSignalRunFailure()
+    {
+        ClientException error = new ClientException( "Session is closed" );
+        InternalRecordPublisher publisher = new InternalRecordPublisher( () -> failedFuture( error ) );
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe( subscriber );
+
+        subscriber.subscription.request( 1 );
+
+        assertEquals( error, subscriber.error );
+    }
+
+    @Test
+    void shouldSignalErrorWhenNonPositiveNumberOfRecordsRequested()
+    {
+        TestSubscriber subscriber = subscribe();
+        subscriber.subscription.request( 1 );
+        cursorFuture.complete( new InternalStatementResultCursor( mock( RunResponseHandler.class ), pullAllHandler ) );
+
+        subscriber.subscription.request( 0 );
+
+        assertThat( subscriber.error, instanceOf( IllegalArgumentException.class ) );
+    }
+
+    @Test
+    void shouldDiscardRecordsWhenCancelled()
+    {
+        TestSubscriber subscriber = subscribe();
+        subscriber.subscription.request( 1 );
+        cursorFuture.complete( new InternalStatementResultCursor( mock( RunResponseHandler.class ), pullAllHandler ) );
+        pullAllHandler.onRecord( values( 1 ) );
+
+        subscriber.subscription.cancel();
+
+        pullAllHandler.onRecord( values( 2 ) );
+        pullAllHandler.onSuccess( emptyMap() );
+
+        assertEquals( 1, subscriber.records.size() );
+        assertFalse( subscriber.completed );
+        assertNull( subscriber.error );
+        verify( connection ).release();
+    }
+
+    @Test
+    void shouldDiscardRecordsWhenCancelledBeforeCursorArrives()
+    {
+        TestSubscriber subscriber = subscribe();
+        subscriber.subscription.request( 1 );
+        subscriber.subscription.cancel();
+
+        cursorFuture.complete( new InternalStatementResultCursor( mock( RunResponseHandler.class ), pullAllHandler ) );
+        pullAllHandler.onRecord( values( 1 ) );
+        pullAllHandler.onRecord( values( 2 ) );
+
+        verify( connection, never() ).disableAutoRead();
+
+        pullAllHandler.onSuccess( emptyMap() );
+
+        assertEquals( 0, subscriber.records.size() );
+        assertFalse( subscriber.completed );
+        assertNull( subscriber.error );
+        verify( connection ).release();
+    }
+
+    @Test
+    void shouldDiscardRecordsWhenInvalidRequestPrecedesCursor()
+    {
+        TestSubscriber subscriber = subscribe();
+        subscriber.subscription.request( 1 );
+        subscriber.subscription.request( -1 );
+        assertThat( subscriber.error, instanceOf( IllegalArgumentException.class ) );
+
+        cursorFuture.complete( new InternalStatementResultCursor( mock( RunResponseHandler.class ), pullAllHandler ) );
+        pullAllHandler.onRecord( values( 1 ) );
+
+        verify( connection, never() ).disableAutoRead();
+
+        pullAllHandler.onSuccess( emptyMap() );
+
+        assertEquals( 0, subscriber.records.size() );
+        verify( connection ).release();
+    }
+
+    private TestSubscriber subscribe()
+    {
+        TestSubscriber subscriber = new TestSubscriber();
+        publisher.subscribe( subscriber );
+        return subscriber;
+    }
+
+    private static PullAllResponseHandler newPullAllHandler( Connection connection )
+    {
+        RunResponseHandler runResponseHandler = new RunResponseHandler( new CompletableFuture<>() );
+        runResponseHandler.onSuccess( singletonMap( "fields", value( singletonList( "x" ) ) ) );
+        return new SessionPullAllResponseHandler( new Statement( "RETURN 1" ), runResponseHandler, connection );
+    }
+
+    private static Connection connectionMock()
+    {
+        Connection connection = mock( Connection.class );
+        when( connection.serverAddress() ).thenReturn( BoltServerAddress.LOCAL_DEFAULT );
+        when( connection.serverVersion() ).thenReturn( ServerVersion.v3_2_0 );
+        when( connection.release() ).thenReturn( completedFuture( null ) );
+        return connection;
+    }
+
+    private static class TestSubscriber implements Subscriber<Record>
+    {
+        final List<Record> records = new ArrayList<>();
+        Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe( Subscription subscription )
+        {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext( Record record )
+        {
+            records.add( record );
+        }
+
+        @Override
+        public void onError( Throwable error )
+        {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete()
+        {
+            completed = true;
+        }
+    }
+}
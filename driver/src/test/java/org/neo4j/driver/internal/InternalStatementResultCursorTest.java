@@ -19,11 +19,15 @@
 package org.neo4j.driver.internal;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
 
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.neo4j.driver.internal.handlers.PullAllResponseHandler;
@@ -49,10 +53,12 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.driver.internal.util.Futures.completedWithNull;
@@ -191,9 +197,7 @@ class InternalStatementResultCursorTest
         Record record1 = new InternalRecord( asList( "key1", "key2", "key3" ), values( 1, 1, 1 ) );
         Record record2 = new InternalRecord( asList( "key1", "key2", "key3" ), values( 2, 2, 2 ) );
         Record record3 = new InternalRecord( asList( "key1", "key2", "key3" ), values( 3, 3, 3 ) );
-        when( pullAllHandler.nextAsync() ).thenReturn( completedFuture( record1 ) )
-                .thenReturn( completedFuture( record2 ) ).thenReturn( completedFuture( record3 ) )
-                .thenReturn( completedWithNull() );
+        bufferRecords( pullAllHandler, record1, record2, record3 );
 
         ResultSummary summary = mock( ResultSummary.class );
         when( pullAllHandler.summaryAsync() ).thenReturn( completedFuture( summary ) );
@@ -213,8 +217,7 @@ class InternalStatementResultCursorTest
         PullAllResponseHandler pullAllHandler = mock( PullAllResponseHandler.class );
 
         Record record = new InternalRecord( asList( "key1", "key2", "key3" ), values( 1, 1, 1 ) );
-        when( pullAllHandler.nextAsync() ).thenReturn( completedFuture( record ) )
-                .thenReturn( completedWithNull() );
+        bufferRecords( pullAllHandler, record );
 
         ResultSummary summary = mock( ResultSummary.class );
         when( pullAllHandler.summaryAsync() ).thenReturn( completedFuture( summary ) );
@@ -232,7 +235,7 @@ class InternalStatementResultCursorTest
     void shouldForEachAsyncWhenResultContainsNoRecords()
     {
         PullAllResponseHandler pullAllHandler = mock( PullAllResponseHandler.class );
-        when( pullAllHandler.nextAsync() ).thenReturn( completedWithNull() );
+        bufferRecords( pullAllHandler );
 
         ResultSummary summary = mock( ResultSummary.class );
         when( pullAllHandler.summaryAsync() ).thenReturn( completedFuture( summary ) );
@@ -254,9 +257,7 @@ class InternalStatementResultCursorTest
         Record record1 = new InternalRecord( asList( "key1", "key2" ), values( 1, 1 ) );
         Record record2 = new InternalRecord( asList( "key1", "key2" ), values( 2, 2 ) );
         Record record3 = new InternalRecord( asList( "key1", "key2" ), values( 3, 3 ) );
-        when( pullAllHandler.nextAsync() ).thenReturn( completedFuture( record1 ) )
-                .thenReturn( completedFuture( record2 ) ).thenReturn( completedFuture( record3 ) )
-                .thenReturn( completedWithNull() );
+        bufferRecords( pullAllHandler, record1, record2, record3 );
 
         InternalStatementResultCursor cursor = newCursor( pullAllHandler );
 
@@ -279,7 +280,114 @@ class InternalStatementResultCursorTest
         assertEquals( error, e );
 
         assertEquals( 1, recordsProcessed.get() );
-        verify( pullAllHandler, times( 2 ) ).nextAsync();
+        verify( pullAllHandler ).drainRecords( any() );
+        verify( pullAllHandler, never() ).peekAsync();
+    }
+
+    @Test
+    void shouldForEachAsyncWhenRecordsArriveAfterWaiting()
+    {
+        PullAllResponseHandler pullAllHandler = mock( PullAllResponseHandler.class );
+
+        Record record1 = new InternalRecord( asList( "key1", "key2" ), values( 1, 1 ) );
+        Record record2 = new InternalRecord( asList( "key1", "key2" ), values( 2, 2 ) );
+        CompletableFuture<Record> recordArrived = new CompletableFuture<>();
+        when( pullAllHandler.drainRecords( any() ) ).thenReturn( 0 )
+                .thenAnswer( drainAnswer( record1, record2 ) ).thenReturn( 0 );
+        when( pullAllHandler.peekAsync() ).thenReturn( recordArrived ).thenReturn( completedWithNull() );
+
+        ResultSummary summary = mock( ResultSummary.class );
+        when( pullAllHandler.summaryAsync() ).thenReturn( completedFuture( summary ) );
+
+        InternalStatementResultCursor cursor = newCursor( pullAllHandler );
+
+        List<Record> records = new CopyOnWriteArrayList<>();
+        CompletionStage<ResultSummary> summaryStage = cursor.forEachAsync( records::add, Runnable::run );
+        assertFalse( summaryStage.toCompletableFuture().isDone() );
+
+        recordArrived.complete( record1 );
+
+        assertEquals( summary, await( summaryStage ) );
+        assertEquals( asList( record1, record2 ), records );
+    }
+
+    @Test
+    void shouldForEachAsyncInBoundedBatchesInGivenExecutor()
+    {
+        PullAllResponseHandler pullAllHandler = mock( PullAllResponseHandler.class );
+
+        Record[] buffered = new Record[InternalStatementResultCursor.FOR_EACH_BATCH_SIZE * 2 + 1];
+        for ( int i = 0; i < buffered.length; i++ )
+        {
+            buffered[i] = new InternalRecord( singletonList( "key" ), values( i ) );
+        }
+        bufferRecords( pullAllHandler, buffered );
+
+        ResultSummary summary = mock( ResultSummary.class );
+        when( pullAllHandler.summaryAsync() ).thenReturn( completedFuture( summary ) );
+
+        InternalStatementResultCursor cursor = newCursor( pullAllHandler );
+
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task ->
+        {
+            tasks.incrementAndGet();
+            task.run();
+        };
+        List<Record> records = new CopyOnWriteArrayList<>();
+
+        assertEquals( summary, await( cursor.forEachAsync( records::add, executor ) ) );
+        assertEquals( asList( buffered ), records );
+        // initial task, one task after each full batch and one task after waiting for the end of the result
+        assertEquals( 4, tasks.get() );
+    }
+
+    @Test
+    void shouldFailForEachWhenExecutorRejects()
+    {
+        PullAllResponseHandler pullAllHandler = mock( PullAllResponseHandler.class );
+        InternalStatementResultCursor cursor = newCursor( pullAllHandler );
+
+        RejectedExecutionException error = new RejectedExecutionException( "Hello" );
+        CompletionStage<ResultSummary> stage = cursor.forEachAsync( record ->
+        {
+        }, task ->
+        {
+            throw error;
+        } );
+
+        RejectedExecutionException e = assertThrows( RejectedExecutionException.class, () -> await( stage ) );
+        assertEquals( error, e );
+    }
+
+    @Test
+    void shouldFailForEachWhenExecutorRejectsAfterWaiting()
+    {
+        PullAllResponseHandler pullAllHandler = mock( PullAllResponseHandler.class );
+        Record record = new InternalRecord( asList( "key1", "key2" ), values( 1, 1 ) );
+        CompletableFuture<Record> recordArrived = new CompletableFuture<>();
+        when( pullAllHandler.drainRecords( any() ) ).thenReturn( 0 );
+        when( pullAllHandler.peekAsync() ).thenReturn( recordArrived );
+        InternalStatementResultCursor cursor = newCursor( pullAllHandler );
+
+        RejectedExecutionException error = new RejectedExecutionException( "Hello" );
+        AtomicInteger tasks = new AtomicInteger();
+        CompletionStage<ResultSummary> stage = cursor.forEachAsync( ignore ->
+        {
+        }, task ->
+        {
+            if ( tasks.incrementAndGet() > 1 )
+            {
+                throw error;
+            }
+            task.run();
+        } );
+        assertFalse( stage.toCompletableFuture().isDone() );
+
+        recordArrived.complete( record );
+
+        RejectedExecutionException e = assertThrows( RejectedExecutionException.class, () -> await( stage ) );
+        assertEquals( error, e );
     }
 
     @Test
@@ -403,4 +511,20 @@ class InternalStatementResultCursorTest
     {
         return new InternalStatementResultCursor( runHandler, pullAllHandler );
     }
+
+    private static void bufferRecords( PullAllResponseHandler pullAllHandler, Record... records )
+    {
+        when( pullAllHandler.drainRecords( any() ) ).thenAnswer( drainAnswer( records ) ).thenReturn( 0 );
+        when( pullAllHandler.peekAsync() ).thenReturn( completedWithNull() );
+    }
+
+    private static Answer<Integer> drainAnswer( Record... records )
+    {
+        return invocation ->
+        {
+            Queue<Record> target = invocation.getArgument( 0 );
+            target.addAll( asList( records ) );
+            return records.length;
+        };
+    }
 }
@@ -34,7 +34,6 @@ import org.neo4j.driver.internal.value.NullValue;
 import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Statement;
 import org.neo4j.driver.v1.StatementResult;
-import org.neo4j.driver.v1.StatementResultCursor;
 import org.neo4j.driver.v1.Value;
 import org.neo4j.driver.v1.exceptions.NoSuchRecordException;
 import org.neo4j.driver.v1.util.Pair;
@@ -223,6 +222,39 @@ class InternalStatementResultTest
         assertThat( secondList.size(), equalTo( 0 ) );
     }
 
+    @Test
+    void shouldListRemainingRecordsAfterPartialIteration()
+    {
+        // GIVEN
+        StatementResult result = createResult( 3 );
+        assertThat( values( result.next() ), equalTo( asList( value( "v1-1" ), value( "v2-1" ) ) ) );
+
+        // WHEN
+        List<String> remaining = result.list( column( "k1", ofString() ) );
+
+        // THEN
+        assertThat( remaining, equalTo( asList( "v1-2", "v1-3" ) ) );
+        assertFalse( result.hasNext() );
+    }
+
+    @Test
+    void shouldIterateRecordsArrivingAfterBufferWasDrained()
+    {
+        // GIVEN
+        PullAllResponseHandler pullAllHandler = newPullAllHandler();
+        StatementResult result = newResult( pullAllHandler );
+        pullAllHandler.onRecord( new Value[]{value( "v1-1" ), value( "v2-1" )} );
+
+        // WHEN
+        assertThat( values( result.next() ), equalTo( asList( value( "v1-1" ), value( "v2-1" ) ) ) );
+        pullAllHandler.onRecord( new Value[]{value( "v1-2" ), value( "v2-2" )} );
+        pullAllHandler.onSuccess( emptyMap() );
+
+        // THEN
+        assertThat( values( result.next() ), equalTo( asList( value( "v1-2" ), value( "v2-2" ) ) ) );
+        assertFalse( result.hasNext() );
+    }
+
     @Test
     void singleShouldNotThrowOnPartiallyConsumedResult()
     {
@@ -348,14 +380,7 @@ class InternalStatementResultTest
 
     private StatementResult createResult( int numberOfRecords )
     {
-        RunResponseHandler runHandler = new RunResponseHandler( new CompletableFuture<>() );
-        runHandler.onSuccess( singletonMap( "fields", value( Arrays.asList( "k1", "k2" ) ) ) );
-
-        Statement statement = new Statement( "<unknown>" );
-        Connection connection = mock( Connection.class );
-        when( connection.serverAddress() ).thenReturn( LOCAL_DEFAULT );
-        when( connection.serverVersion() ).thenReturn( ServerVersion.v3_2_0 );
-        PullAllResponseHandler pullAllHandler = new SessionPullAllResponseHandler( statement, runHandler, connection );
+        PullAllResponseHandler pullAllHandler = newPullAllHandler();
 
         for ( int i = 1; i <= numberOfRecords; i++ )
         {
@@ -363,8 +388,29 @@ class InternalStatementResultTest
         }
         pullAllHandler.onSuccess( emptyMap() );
 
-        StatementResultCursor cursor = new InternalStatementResultCursor( runHandler, pullAllHandler );
-        return new InternalStatementResult( connection, cursor );
+        return newResult( pullAllHandler );
+    }
+
+    private static PullAllResponseHandler newPullAllHandler()
+    {
+        Statement statement = new Statement( "<unknown>" );
+        Connection connection = mock( Connection.class );
+        when( connection.serverAddress() ).thenReturn( LOCAL_DEFAULT );
+        when( connection.serverVersion() ).thenReturn( ServerVersion.v3_2_0 );
+        return new SessionPullAllResponseHandler( statement, newRunHandler(), connection );
+    }
+
+    private static StatementResult newResult( PullAllResponseHandler pullAllHandler )
+    {
+        InternalStatementResultCursor cursor = new InternalStatementResultCursor( newRunHandler(), pullAllHandler );
+        return new InternalStatementResult( mock( Connection.class ), cursor );
+    }
+
+    private static RunResponseHandler newRunHandler()
+    {
+        RunResponseHandler runHandler = new RunResponseHandler( new CompletableFuture<>() );
+        runHandler.onSuccess( singletonMap( "fields", value( Arrays.asList( "k1", "k2" ) ) ) );
+        return runHandler;
     }
 
     private List<Value> values( Record record )
@@ -94,7 +94,7 @@ class LeakLoggingNetworkSessionTest
     private static LeakLoggingNetworkSession newSession( Logging logging, boolean openConnection )
     {
         return new LeakLoggingNetworkSession( connectionProviderMock( openConnection ), READ,
-                new FixedRetryLogic( 0 ), logging );
+                new FixedRetryLogic( 0 ), null, logging );
     }
 
     private static ConnectionProvider connectionProviderMock( boolean openConnection )
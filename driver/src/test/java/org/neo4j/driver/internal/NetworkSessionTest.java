@@ -549,8 +549,10 @@ class NetworkSessionTest
         Bookmark bookmark = Bookmark.from( "neo4j:bookmark:v1:tx42" );
         session.setBookmark( bookmark );
 
-        Exception e = assertThrows( Exception.class, session::beginTransaction );
-        assertEquals( error, e );
+        Transaction tx = session.beginTransaction();
+        ClientException e = assertThrows( ClientException.class, () -> tx.run( "RETURN 1" ) );
+        assertEquals( error, e.getCause() );
+        tx.close();
 
         session.run( "RETURN 2" );
 
@@ -573,7 +575,8 @@ class NetworkSessionTest
         Bookmark bookmark = Bookmark.from( "neo4j:bookmark:v1:tx42" );
         session.setBookmark( bookmark );
 
-        Exception e = assertThrows( Exception.class, session::beginTransaction );
+        Transaction tx = session.beginTransaction();
+        Exception e = assertThrows( Exception.class, () -> await( tx.commitAsync() ) );
         assertEquals( error, e );
 
         session.beginTransaction();
@@ -842,7 +845,7 @@ class NetworkSessionTest
         else
         {
             Map<String,Value> params = bookmark.asBeginTransactionParameters();
-            verify( connectionMock ).runAndFlush( eq( "BEGIN" ), eq( params ), any(), any() );
+            verify( connectionMock ).run( eq( "BEGIN" ), eq( params ), any(), any() );
         }
     }
 
@@ -901,7 +904,7 @@ class NetworkSessionTest
             ResponseHandler handler = invocation.getArgument( 3 );
             handler.onFailure( error );
             return null;
-        } ).when( connection ).runAndFlush( eq( "BEGIN" ), any(), any(), any() );
+        } ).when( connection ).run( eq( "BEGIN" ), any(), any(), any() );
     }
 
     private void setupSuccessfulPullAll( String query )
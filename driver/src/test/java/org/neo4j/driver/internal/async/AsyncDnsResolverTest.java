@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.neo4j.driver.internal.util.FakeClock;
+
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.driver.v1.util.TestUtil.await;
+
+class AsyncDnsResolverTest
+{
+    private static final long TTL = 30_000;
+    private static final long NEGATIVE_TTL = 10_000;
+
+    private final FakeClock clock = new FakeClock();
+    private final CountingExecutor executor = new CountingExecutor();
+    private final AsyncDnsResolver resolver = new AsyncDnsResolver( executor, TTL, NEGATIVE_TTL, clock );
+
+    @Test
+    void shouldResolveHostName()
+    {
+        InetAddress[] addresses = await( resolver.resolveAll( "localhost" ) );
+
+        assertThat( addresses.length, greaterThanOrEqualTo( 1 ) );
+        assertEquals( 1, executor.executions );
+    }
+
+    @Test
+    void shouldResolveIpAddressesWithoutLookup()
+    {
+        assertThat( await( resolver.resolveAll( "127.0.0.1" ) ), arrayWithSize( 1 ) );
+        assertThat( await( resolver.resolveAll( "::1" ) ), arrayWithSize( 1 ) );
+
+        assertEquals( 0, executor.executions );
+    }
+
+    @Test
+    void shouldCacheResolvedAddressesForTtl()
+    {
+        InetAddress[] addresses1 = await( resolver.resolveAll( "localhost" ) );
+        clock.progress( TTL - 1 );
+        InetAddress[] addresses2 = await( resolver.resolveAll( "localhost" ) );
+
+        assertSame( addresses1, addresses2 );
+        assertEquals( 1, executor.executions );
+
+        clock.progress( 1 );
+        await( resolver.resolveAll( "localhost" ) );
+
+        assertEquals( 2, executor.executions );
+    }
+
+    @Test
+    void shouldCacheFailuresForNegativeTtl()
+    {
+        assertThrows( UnknownHostException.class, () -> await( resolver.resolveAll( "[/]" ) ) );
+        clock.progress( NEGATIVE_TTL - 1 );
+        assertThrows( UnknownHostException.class, () -> await( resolver.resolveAll( "[/]" ) ) );
+
+        assertEquals( 1, executor.executions );
+
+        clock.progress( 1 );
+        assertThrows( UnknownHostException.class, () -> await( resolver.resolveAll( "[/]" ) ) );
+
+        assertEquals( 2, executor.executions );
+    }
+
+    @Test
+    void shouldNotCacheWhenTtlIsZero()
+    {
+        AsyncDnsResolver resolver = new AsyncDnsResolver( executor, 0, 0, clock );
+
+        await( resolver.resolveAll( "localhost" ) );
+        await( resolver.resolveAll( "localhost" ) );
+
+        assertEquals( 2, executor.executions );
+    }
+
+    @Test
+    void shouldShareLookupInProgress()
+    {
+        List<Runnable> lookups = new ArrayList<>();
+        AsyncDnsResolver resolver = new AsyncDnsResolver( lookups::add, TTL, NEGATIVE_TTL, clock );
+
+        CompletionStage<InetAddress[]> result1 = resolver.resolveAll( "localhost" );
+        clock.progress( TTL * 2 );
+        CompletionStage<InetAddress[]> result2 = resolver.resolveAll( "localhost" );
+
+        assertSame( result1, result2 );
+        assertEquals( 1, lookups.size() );
+        assertFalse( result1.toCompletableFuture().isDone() );
+
+        lookups.get( 0 ).run();
+        assertThat( await( result2 ).length, greaterThanOrEqualTo( 1 ) );
+    }
+
+    @Test
+    void shouldNotCacheRejectedLookups()
+    {
+        Executor rejectingExecutor = command ->
+        {
+            throw new RejectedExecutionException();
+        };
+        AsyncDnsResolver resolver = new AsyncDnsResolver( rejectingExecutor, TTL, NEGATIVE_TTL, clock );
+
+        assertThrows( RejectedExecutionException.class, () -> await( resolver.resolveAll( "localhost" ) ) );
+        assertThrows( RejectedExecutionException.class, () -> await( resolver.resolveAll( "localhost" ) ) );
+    }
+
+    @Test
+    void shouldEvictExpiredEntriesWhenNewLookupStarts()
+    {
+        await( resolver.resolveAll( "localhost" ) );
+        assertThrows( UnknownHostException.class, () -> await( resolver.resolveAll( "[/]" ) ) );
+        assertEquals( 2, resolver.cachedHostCount() );
+
+        clock.progress( TTL );
+        assertThrows( UnknownHostException.class, () -> await( resolver.resolveAll( "[/]" ) ) );
+
+        assertEquals( 1, resolver.cachedHostCount() );
+    }
+
+    @Test
+    void shouldStopOwnLookupThreadsWhenClosed()
+    {
+        AsyncDnsResolver resolver = new AsyncDnsResolver( TTL, NEGATIVE_TTL, clock );
+        assertThat( await( resolver.resolveAll( "localhost" ) ).length, greaterThanOrEqualTo( 1 ) );
+
+        resolver.close();
+
+        assertEquals( 0, resolver.cachedHostCount() );
+        assertThrows( RejectedExecutionException.class, () -> await( resolver.resolveAll( "localhost" ) ) );
+    }
+
+    @Test
+    void shouldNotShutdownGivenExecutorWhenClosed()
+    {
+        ExecutorService givenExecutor = mock( ExecutorService.class );
+        AsyncDnsResolver resolver = new AsyncDnsResolver( givenExecutor, TTL, NEGATIVE_TTL, clock );
+
+        resolver.close();
+
+        verify( givenExecutor, never() ).shutdown();
+    }
+
+    private static class CountingExecutor implements Executor
+    {
+        int executions;
+
+        @Override
+        public void execute( Runnable command )
+        {
+            executions++;
+            command.run();
+        }
+    }
+}
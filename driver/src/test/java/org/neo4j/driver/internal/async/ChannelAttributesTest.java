@@ -31,11 +31,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.neo4j.driver.internal.async.ChannelAttributes.creationTimestamp;
 import static org.neo4j.driver.internal.async.ChannelAttributes.lastUsedTimestamp;
+import static org.neo4j.driver.internal.async.ChannelAttributes.maxLifetime;
 import static org.neo4j.driver.internal.async.ChannelAttributes.messageDispatcher;
 import static org.neo4j.driver.internal.async.ChannelAttributes.serverAddress;
 import static org.neo4j.driver.internal.async.ChannelAttributes.serverVersion;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setCreationTimestamp;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setLastUsedTimestamp;
+import static org.neo4j.driver.internal.async.ChannelAttributes.setMaxLifetimeIfAbsent;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setMessageDispatcher;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setServerAddress;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setServerVersion;
@@ -143,4 +145,21 @@ class ChannelAttributesTest
 
         assertThrows( IllegalStateException.class, () -> setTerminationReason( channel, "Reason 2" ) );
     }
+
+    @Test
+    void shouldSetAndGetMaxLifetime()
+    {
+        assertNull( maxLifetime( channel ) );
+        assertEquals( 42L, setMaxLifetimeIfAbsent( channel, 42L ) );
+        assertEquals( 42L, maxLifetime( channel ).longValue() );
+    }
+
+    @Test
+    void shouldNotOverwriteExistingMaxLifetime()
+    {
+        setMaxLifetimeIfAbsent( channel, 42L );
+
+        assertEquals( 42L, setMaxLifetimeIfAbsent( channel, 4242L ) );
+        assertEquals( 42L, maxLifetime( channel ).longValue() );
+    }
 }
@@ -20,6 +20,7 @@ package org.neo4j.driver.internal.async;
 
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import org.junit.jupiter.api.Test;
 
 import java.util.Iterator;
@@ -53,6 +54,7 @@ class ChannelPipelineBuilderImplTest
         assertThat( iterator.next().getValue(), instanceOf( MessageDecoder.class ) );
         assertThat( iterator.next().getValue(), instanceOf( InboundMessageHandler.class ) );
 
+        assertThat( iterator.next().getValue(), instanceOf( ChunkedWriteHandler.class ) );
         assertThat( iterator.next().getValue(), instanceOf( OutboundMessageHandler.class ) );
 
         assertThat( iterator.next().getValue(), instanceOf( ChannelErrorHandler.class ) );
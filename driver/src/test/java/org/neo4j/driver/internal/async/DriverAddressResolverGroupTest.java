@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+
+import org.neo4j.driver.internal.util.FakeClock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.driver.v1.util.TestUtil.await;
+
+class DriverAddressResolverGroupTest
+{
+    private final AsyncDnsResolver dnsResolver = new AsyncDnsResolver( Runnable::run, 1000, 1000, new FakeClock() );
+    private final DriverAddressResolverGroup resolverGroup = new DriverAddressResolverGroup( dnsResolver );
+
+    @AfterEach
+    void tearDown()
+    {
+        resolverGroup.close();
+    }
+
+    @Test
+    void shouldResolveUnresolvedAddress()
+    {
+        AddressResolver<InetSocketAddress> resolver = resolverGroup.getResolver( ImmediateEventExecutor.INSTANCE );
+
+        InetSocketAddress address = await( resolver.resolve( InetSocketAddress.createUnresolved( "localhost", 7687 ) ) );
+
+        assertFalse( address.isUnresolved() );
+        assertEquals( 7687, address.getPort() );
+    }
+
+    @Test
+    void shouldFailToResolveUnknownHost()
+    {
+        AddressResolver<InetSocketAddress> resolver = resolverGroup.getResolver( ImmediateEventExecutor.INSTANCE );
+
+        assertThrows( UnknownHostException.class,
+                () -> await( resolver.resolve( InetSocketAddress.createUnresolved( "[/]", 7687 ) ) ) );
+    }
+}
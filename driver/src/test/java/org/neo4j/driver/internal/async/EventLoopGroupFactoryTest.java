@@ -18,6 +18,8 @@
  */
 package org.neo4j.driver.internal.async;
 
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
@@ -35,6 +37,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.neo4j.driver.internal.util.Iterables.count;
 import static org.neo4j.driver.internal.util.Matchers.blockingOperationInEventLoopError;
 
@@ -51,7 +54,14 @@ class EventLoopGroupFactoryTest
     @Test
     void shouldReturnCorrectChannelClass()
     {
-        assertEquals( NioSocketChannel.class, EventLoopGroupFactory.channelClass() );
+        if ( EventLoopGroupFactory.isNativeTransportAvailable() )
+        {
+            assertEquals( NativeTransport.channelClass(), EventLoopGroupFactory.channelClass() );
+        }
+        else
+        {
+            assertEquals( NioSocketChannel.class, EventLoopGroupFactory.channelClass() );
+        }
     }
 
     @Test
@@ -60,6 +70,7 @@ class EventLoopGroupFactoryTest
         int threadCount = 2;
         eventLoopGroup = EventLoopGroupFactory.newEventLoopGroup( threadCount );
         assertEquals( threadCount, count( eventLoopGroup ) );
+        assumeFalse( EventLoopGroupFactory.isNativeTransportAvailable() );
         assertThat( eventLoopGroup, instanceOf( NioEventLoopGroup.class ) );
     }
 
@@ -67,6 +78,7 @@ class EventLoopGroupFactoryTest
     void shouldCreateEventLoopGroup()
     {
         eventLoopGroup = EventLoopGroupFactory.newEventLoopGroup();
+        assumeFalse( EventLoopGroupFactory.isNativeTransportAvailable() );
         assertThat( eventLoopGroup, instanceOf( NioEventLoopGroup.class ) );
     }
 
@@ -96,6 +108,85 @@ class EventLoopGroupFactoryTest
         assertFalse( EventLoopGroupFactory.isEventLoopThread( Thread.currentThread() ) );
     }
 
+    @Test
+    void shouldCreateEventLoopGroupWithSpecifiedThreadPriority() throws Exception
+    {
+        eventLoopGroup = EventLoopGroupFactory.newEventLoopGroup( 1, Thread.MIN_PRIORITY );
+
+        assertEquals( Thread.MIN_PRIORITY, getThread( eventLoopGroup ).getPriority() );
+    }
+
+    @Test
+    void shouldReturnNioChannelClassForExternalNioEventLoopGroup()
+    {
+        eventLoopGroup = new NioEventLoopGroup( 1 );
+
+        assertEquals( NioSocketChannel.class, EventLoopGroupFactory.channelClass( eventLoopGroup ) );
+    }
+
+    @Test
+    void shouldThrowForUnsupportedExternalEventLoopGroup()
+    {
+        eventLoopGroup = new DefaultEventLoopGroup( 1 );
+
+        assertThrows( IllegalArgumentException.class, () -> EventLoopGroupFactory.channelClass( eventLoopGroup ) );
+    }
+
+    @Test
+    void shouldRecognizeThreadsOfRegisteredExternalEventLoopGroup() throws Exception
+    {
+        eventLoopGroup = new NioEventLoopGroup( 1 );
+        Thread externalThread = getThread( eventLoopGroup );
+        assertFalse( EventLoopGroupFactory.isEventLoopThread( externalThread ) );
+
+        EventLoopGroupFactory.registerExternalEventLoopGroup( eventLoopGroup );
+        EventLoopGroupFactory.registerExternalEventLoopGroup( eventLoopGroup );
+        try
+        {
+            assertTrue( EventLoopGroupFactory.isEventLoopThread( externalThread ) );
+            assertFalse( EventLoopGroupFactory.isEventLoopThread( Thread.currentThread() ) );
+
+            Future<?> assertFuture = eventLoopGroup.submit( EventLoopGroupFactory::assertNotInEventLoopThread );
+            ExecutionException error = assertThrows( ExecutionException.class, () -> assertFuture.get( 30, SECONDS ) );
+            assertThat( error.getCause(), is( blockingOperationInEventLoopError() ) );
+
+            // group was registered twice and should still be recognized after the first unregistration
+            EventLoopGroupFactory.unregisterExternalEventLoopGroup( eventLoopGroup );
+            assertTrue( EventLoopGroupFactory.isEventLoopThread( externalThread ) );
+        }
+        finally
+        {
+            EventLoopGroupFactory.unregisterExternalEventLoopGroup( eventLoopGroup );
+        }
+
+        assertFalse( EventLoopGroupFactory.isEventLoopThread( externalThread ) );
+    }
+
+    @Test
+    void shouldRecognizeThreadsOfExternalEventLoopGroupRegisteredFromItsEventLoop() throws Exception
+    {
+        eventLoopGroup = new NioEventLoopGroup( 2 );
+        EventLoop registeringEventLoop = eventLoopGroup.next();
+        EventLoop otherEventLoop = eventLoopGroup.next();
+        Thread registeringThread = getThread( registeringEventLoop );
+        Thread otherThread = getThread( otherEventLoop );
+
+        registeringEventLoop.submit( () -> EventLoopGroupFactory.registerExternalEventLoopGroup( eventLoopGroup ) )
+                .get( 30, SECONDS );
+        try
+        {
+            assertTrue( EventLoopGroupFactory.isEventLoopThread( registeringThread ) );
+            assertTrue( EventLoopGroupFactory.isEventLoopThread( otherThread ) );
+        }
+        finally
+        {
+            EventLoopGroupFactory.unregisterExternalEventLoopGroup( eventLoopGroup );
+        }
+
+        assertFalse( EventLoopGroupFactory.isEventLoopThread( registeringThread ) );
+        assertFalse( EventLoopGroupFactory.isEventLoopThread( otherThread ) );
+    }
+
     /**
      * Test verifies that our event loop group uses same kind of thread as Netty does by default.
      * It's needed because default Netty setup has good performance.
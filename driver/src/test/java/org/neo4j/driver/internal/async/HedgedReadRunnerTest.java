@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.cluster.loadbalancing.LoadBalancer;
+import org.neo4j.driver.internal.metrics.MetricsListener;
+import org.neo4j.driver.internal.spi.Connection;
+import org.neo4j.driver.internal.spi.ResponseHandler;
+import org.neo4j.driver.internal.util.FakeClock;
+import org.neo4j.driver.internal.util.ServerVersion;
+import org.neo4j.driver.v1.Statement;
+import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.v1.exceptions.TransientException;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.internal.util.Futures.failedFuture;
+import static org.neo4j.driver.v1.AccessMode.READ;
+import static org.neo4j.driver.v1.util.TestUtil.await;
+
+class HedgedReadRunnerTest
+{
+    private static final Statement STATEMENT = new Statement( "MATCH (n) RETURN n" );
+    private static final BoltServerAddress PRIMARY = new BoltServerAddress( "primary", 7687 );
+    private static final BoltServerAddress SECONDARY = new BoltServerAddress( "secondary", 7687 );
+
+    private final LoadBalancer loadBalancer = mock( LoadBalancer.class );
+    private final EventExecutor eventExecutor = mock( EventExecutor.class );
+    private final ScheduledFuture<?> scheduledHedge = mock( ScheduledFuture.class );
+    private final MetricsListener metrics = mock( MetricsListener.class );
+    private final FakeClock clock = new FakeClock();
+
+    HedgedReadRunnerTest()
+    {
+        doReturn( scheduledHedge ).when( eventExecutor ).schedule( any( Runnable.class ), anyLong(),
+                any( TimeUnit.class ) );
+    }
+
+    @Test
+    void shouldUseOriginalQueryWhenItRespondsBeforeDelay()
+    {
+        HedgedReadRunner runner = newRunner( new HedgingSettings( 100, false, 1 ) );
+        Connection primary = newConnectionMock( PRIMARY );
+
+        CompletionStage<HedgedReadRunner.Result> result = runner.runInSession( primary, STATEMENT, false );
+        respondWithSummary( primary );
+
+        assertSame( primary, await( result ).connection() );
+        verify( eventExecutor ).schedule( any( Runnable.class ), eq( 100L ), eq( MILLISECONDS ) );
+        verify( scheduledHedge ).cancel( false );
+        verify( loadBalancer, never() ).acquireConnection( any(), any() );
+    }
+
+    @Test
+    void shouldUseHedgedQueryWhenItRespondsFirst()
+    {
+        HedgedReadRunner runner = newRunner( new HedgingSettings( 100, false, 1 ) );
+        Connection primary = newConnectionMock( PRIMARY );
+        Connection secondary = newConnectionMock( SECONDARY );
+        when( loadBalancer.acquireConnection( READ, PRIMARY ) ).thenReturn( completedFuture( secondary ) );
+
+        CompletionStage<HedgedReadRunner.Result> result = runner.runInSession( primary, STATEMENT, false );
+        fireHedge();
+        respondWithSummary( secondary );
+
+        assertSame( secondary, await( result ).connection() );
+        verify( primary ).reset();
+        verify( metrics ).afterHedgeIssued();
+        verify( metrics ).afterHedgeWon();
+    }
+
+    @Test
+    void shouldResetHedgedQueryWhenOriginalRespondsFirst()
+    {
+        HedgedReadRunner runner = newRunner( new HedgingSettings( 100, false, 1 ) );
+        Connection primary = newConnectionMock( PRIMARY );
+        Connection secondary = newConnectionMock( SECONDARY );
+        when( loadBalancer.acquireConnection( READ, PRIMARY ) ).thenReturn( completedFuture( secondary ) );
+
+        CompletionStage<HedgedReadRunner.Result> result = runner.runInSession( primary, STATEMENT, false );
+        fireHedge();
+        respondWithSummary( primary );
+
+        assertSame( primary, await( result ).connection() );
+        verify( secondary ).reset();
+        verify( primary, never() ).reset();
+        verify( metrics, never() ).afterHedgeWon();
+    }
+
+    @Test
+    void shouldNotHedgeWhenBudgetIsExhausted()
+    {
+        HedgedReadRunner runner = newRunner( new HedgingSettings( 100, false, 0.1 ) );
+        Connection primary = newConnectionMock( PRIMARY );
+
+        CompletionStage<HedgedReadRunner.Result> result = runner.runInSession( primary, STATEMENT, false );
+        fireHedge();
+        respondWithSummary( primary );
+
+        assertSame( primary, await( result ).connection() );
+        verify( metrics ).afterHedgeRejected();
+        verify( loadBalancer, never() ).acquireConnection( any(), any() );
+    }
+
+    @Test
+    void shouldWaitForOriginalQueryWhenNoOtherReaderIsAvailable()
+    {
+        HedgedReadRunner runner = newRunner( new HedgingSettings( 100, false, 1 ) );
+        Connection primary = newConnectionMock( PRIMARY );
+        when( loadBalancer.acquireConnection( READ, PRIMARY ) )
+                .thenReturn( failedFuture( new ServiceUnavailableException( "No readers" ) ) );
+
+        CompletionStage<HedgedReadRunner.Result> result = runner.runInSession( primary, STATEMENT, false );
+        fireHedge();
+        assertFalse( result.toCompletableFuture().isDone() );
+        respondWithSummary( primary );
+
+        assertSame( primary, await( result ).connection() );
+    }
+
+    @Test
+    void shouldFailWhenOriginalQueryFailsBeforeDelay()
+    {
+        HedgedReadRunner runner = newRunner( new HedgingSettings( 100, false, 1 ) );
+        Connection primary = newConnectionMock( PRIMARY );
+        TransientException error = new TransientException( "Neo.TransientError.General.DatabaseUnavailable", "Oh!" );
+
+        CompletionStage<HedgedReadRunner.Result> result = runner.runInSession( primary, STATEMENT, false );
+        respondWithFailure( primary, error );
+
+        TransientException e = assertThrows( TransientException.class, () -> await( result ) );
+        assertEquals( error, e );
+        verify( loadBalancer, never() ).acquireConnection( any(), any() );
+    }
+
+    @Test
+    void shouldUseOriginalQueryWhenHedgedQueryFails()
+    {
+        HedgedReadRunner runner = newRunner( new HedgingSettings( 100, false, 1 ) );
+        Connection primary = newConnectionMock( PRIMARY );
+        Connection secondary = newConnectionMock( SECONDARY );
+        when( loadBalancer.acquireConnection( READ, PRIMARY ) ).thenReturn( completedFuture( secondary ) );
+
+        CompletionStage<HedgedReadRunner.Result> result = runner.runInSession( primary, STATEMENT, false );
+        fireHedge();
+        respondWithFailure( secondary, new ServiceUnavailableException( "Connection lost" ) );
+        assertFalse( result.toCompletableFuture().isDone() );
+        respondWithSummary( primary );
+
+        assertSame( primary, await( result ).connection() );
+        verify( metrics, never() ).afterHedgeWon();
+    }
+
+    @Test
+    void shouldAdaptDelayToResponseTimes() throws ExecutionException, InterruptedException
+    {
+        HedgedReadRunner runner = newRunner( new HedgingSettings( 100, true, 1 ) );
+        assertEquals( 100, runner.hedgeDelay() );
+
+        for ( int i = 0; i < HedgedReadRunner.ADAPTIVE_DELAY_WINDOW; i++ )
+        {
+            Connection connection = newConnectionMock( PRIMARY );
+            CompletableFuture<HedgedReadRunner.Result> result =
+                    runner.runInSession( connection, STATEMENT, false ).toCompletableFuture();
+            clock.progress( 20 );
+            respondWithSummary( connection );
+            assertTrue( result.isDone() );
+            result.get();
+        }
+
+        assertEquals( 20, runner.hedgeDelay() );
+    }
+
+    private HedgedReadRunner newRunner( HedgingSettings settings )
+    {
+        EventExecutorGroup eventExecutorGroup = mock( EventExecutorGroup.class );
+        when( eventExecutorGroup.next() ).thenReturn( eventExecutor );
+        return new HedgedReadRunner( loadBalancer, eventExecutorGroup, settings, metrics, clock, DEV_NULL_LOGGING );
+    }
+
+    private void fireHedge()
+    {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass( Runnable.class );
+        verify( eventExecutor ).schedule( captor.capture(), anyLong(), any( TimeUnit.class ) );
+        captor.getValue().run();
+    }
+
+    private static Connection newConnectionMock( BoltServerAddress address )
+    {
+        Connection connection = mock( Connection.class );
+        when( connection.serverAddress() ).thenReturn( address );
+        when( connection.serverVersion() ).thenReturn( ServerVersion.v3_2_0 );
+        return connection;
+    }
+
+    private static void respondWithSummary( Connection connection )
+    {
+        ArgumentCaptor<ResponseHandler> runHandler = ArgumentCaptor.forClass( ResponseHandler.class );
+        ArgumentCaptor<ResponseHandler> pullAllHandler = ArgumentCaptor.forClass( ResponseHandler.class );
+        verify( connection ).runAndFlush( anyString(), anyMap(), runHandler.capture(), pullAllHandler.capture() );
+        runHandler.getValue().onSuccess( emptyMap() );
+        pullAllHandler.getValue().onSuccess( emptyMap() );
+    }
+
+    private static void respondWithFailure( Connection connection, Throwable error )
+    {
+        ArgumentCaptor<ResponseHandler> runHandler = ArgumentCaptor.forClass( ResponseHandler.class );
+        ArgumentCaptor<ResponseHandler> pullAllHandler = ArgumentCaptor.forClass( ResponseHandler.class );
+        verify( connection ).runAndFlush( anyString(), anyMap(), runHandler.capture(), pullAllHandler.capture() );
+        runHandler.getValue().onFailure( error );
+        pullAllHandler.getValue().onFailure( error );
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingBudgetTest
+{
+    @Test
+    void shouldStartEmpty()
+    {
+        HedgingBudget budget = new HedgingBudget( 0.5 );
+
+        assertFalse( budget.tryAcquire() );
+    }
+
+    @Test
+    void shouldAllowFractionOfQueries()
+    {
+        HedgingBudget budget = new HedgingBudget( 0.1 );
+
+        int acquired = 0;
+        for ( int i = 0; i < 100; i++ )
+        {
+            budget.onQuery();
+            if ( budget.tryAcquire() )
+            {
+                acquired++;
+            }
+        }
+
+        assertEquals( 10, acquired );
+    }
+
+    @Test
+    void shouldLimitNumberOfSavedTokens()
+    {
+        HedgingBudget budget = new HedgingBudget( 1 );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            budget.onQuery();
+        }
+
+        for ( int i = 0; i < HedgingBudget.MAX_TOKENS; i++ )
+        {
+            assertTrue( budget.tryAcquire() );
+        }
+        assertFalse( budget.tryAcquire() );
+    }
+}
@@ -27,6 +27,7 @@ import java.security.GeneralSecurityException;
 import java.util.List;
 import javax.net.ssl.SNIHostName;
 import javax.net.ssl.SNIServerName;
+import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
 
@@ -39,6 +40,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -128,6 +130,30 @@ class NettyChannelInitializerTest
         assertThat( ((SNIHostName) sniServerNames.get( 0 )).getAsciiName(), equalTo( address.host() ) );
     }
 
+    @Test
+    void shouldCreateSslEngineForPeerToAllowSessionResumption() throws Exception
+    {
+        NettyChannelInitializer initializer = newInitializer( trustAllCertificates() );
+
+        initializer.initChannel( channel );
+
+        SSLEngine sslEngine = channel.pipeline().get( SslHandler.class ).engine();
+        assertEquals( LOCAL_DEFAULT.host(), sslEngine.getPeerHost() );
+        assertEquals( LOCAL_DEFAULT.port(), sslEngine.getPeerPort() );
+    }
+
+    @Test
+    void shouldEnableDefaultJdkProtocolsForSystemCertificates() throws Exception
+    {
+        testEnabledProtocols( SecurityPlan.forSystemCASignedCertificates( false ) );
+    }
+
+    @Test
+    void shouldEnableDefaultJdkProtocolsForAllCertificates() throws Exception
+    {
+        testEnabledProtocols( trustAllCertificates() );
+    }
+
     @Test
     void shouldEnableHostnameVerificationWhenConfigured() throws Exception
     {
@@ -140,6 +166,17 @@ class NettyChannelInitializerTest
         testHostnameVerificationSetting( false, null );
     }
 
+    private void testEnabledProtocols( SecurityPlan securityPlan ) throws Exception
+    {
+        NettyChannelInitializer initializer = newInitializer( securityPlan );
+
+        initializer.initChannel( channel );
+
+        SSLEngine sslEngine = channel.pipeline().get( SslHandler.class ).engine();
+        String[] defaultProtocols = SSLContext.getDefault().getDefaultSSLParameters().getProtocols();
+        assertArrayEquals( defaultProtocols, sslEngine.getEnabledProtocols() );
+    }
+
     private void testHostnameVerificationSetting( boolean enabled, String expectedValue ) throws Exception
     {
         NettyChannelInitializer initializer = newInitializer( SecurityPlan.forAllCertificates( enabled ) );
@@ -22,6 +22,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import org.neo4j.driver.internal.RoutingErrorHandler;
+import org.neo4j.driver.internal.cluster.loadbalancing.ResponseTimeTracker;
+import org.neo4j.driver.internal.handlers.ResponseTimeTrackingHandler;
 import org.neo4j.driver.internal.handlers.RoutingResponseHandler;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ResponseHandler;
@@ -29,9 +31,12 @@ import org.neo4j.driver.internal.spi.ResponseHandler;
 import static java.util.Collections.emptyMap;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.BoltServerAddress.LOCAL_DEFAULT;
 import static org.neo4j.driver.v1.AccessMode.READ;
 
 class RoutingConnectionTest
@@ -82,4 +87,30 @@ class RoutingConnectionTest
         assertThat( runHandlerCaptor.getValue(), instanceOf( RoutingResponseHandler.class ) );
         assertThat( pullAllHandlerCaptor.getValue(), instanceOf( RoutingResponseHandler.class ) );
     }
+
+    @Test
+    void shouldTrackResponseTimeOfRunWhenTrackerGiven()
+    {
+        Connection connection = mock( Connection.class );
+        when( connection.serverAddress() ).thenReturn( LOCAL_DEFAULT );
+        ResponseTimeTracker tracker = mock( ResponseTimeTracker.class );
+        RoutingConnection routingConnection = new RoutingConnection( connection, READ,
+                mock( RoutingErrorHandler.class ), tracker );
+
+        ResponseHandler runHandler = mock( ResponseHandler.class );
+        routingConnection.runAndFlush( "RETURN 1", emptyMap(), runHandler, mock( ResponseHandler.class ) );
+
+        ArgumentCaptor<ResponseHandler> runHandlerCaptor = ArgumentCaptor.forClass( ResponseHandler.class );
+        ArgumentCaptor<ResponseHandler> pullAllHandlerCaptor = ArgumentCaptor.forClass( ResponseHandler.class );
+        verify( connection ).runAndFlush( eq( "RETURN 1" ), eq( emptyMap() ), runHandlerCaptor.capture(),
+                pullAllHandlerCaptor.capture() );
+
+        assertThat( runHandlerCaptor.getValue(), instanceOf( ResponseTimeTrackingHandler.class ) );
+        assertThat( pullAllHandlerCaptor.getValue(), instanceOf( RoutingResponseHandler.class ) );
+        verify( tracker ).requestStarted( LOCAL_DEFAULT );
+
+        runHandlerCaptor.getValue().onSuccess( emptyMap() );
+        verify( tracker ).requestCompleted( eq( LOCAL_DEFAULT ), anyLong() );
+        verify( runHandler ).onSuccess( emptyMap() );
+    }
 }
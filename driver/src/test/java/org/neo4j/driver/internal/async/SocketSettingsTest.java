@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SocketSettingsTest
+{
+    @Test
+    void shouldApplyDefaultSettings()
+    {
+        Bootstrap bootstrap = new Bootstrap();
+
+        SocketSettings.DEFAULT.applyTo( bootstrap );
+
+        Map<ChannelOption<?>,Object> options = bootstrap.config().options();
+        assertEquals( true, options.get( ChannelOption.TCP_NODELAY ) );
+        assertEquals( true, options.get( ChannelOption.SO_KEEPALIVE ) );
+        assertFalse( options.containsKey( ChannelOption.SO_RCVBUF ) );
+        assertFalse( options.containsKey( ChannelOption.SO_SNDBUF ) );
+        assertFalse( options.containsKey( ChannelOption.WRITE_BUFFER_WATER_MARK ) );
+    }
+
+    @Test
+    void shouldApplyConfiguredSettings()
+    {
+        Bootstrap bootstrap = new Bootstrap();
+        SocketSettings settings = new SocketSettings( false, false, 1024, 2048, 4096, 8192 );
+
+        settings.applyTo( bootstrap );
+
+        Map<ChannelOption<?>,Object> options = bootstrap.config().options();
+        assertEquals( false, options.get( ChannelOption.TCP_NODELAY ) );
+        assertEquals( false, options.get( ChannelOption.SO_KEEPALIVE ) );
+        assertEquals( 1024, options.get( ChannelOption.SO_RCVBUF ) );
+        assertEquals( 2048, options.get( ChannelOption.SO_SNDBUF ) );
+
+        WriteBufferWaterMark waterMark = (WriteBufferWaterMark) options.get( ChannelOption.WRITE_BUFFER_WATER_MARK );
+        assertEquals( 4096, waterMark.low() );
+        assertEquals( 8192, waterMark.high() );
+    }
+
+    @Test
+    void shouldNotApplyPartiallyConfiguredWaterMark()
+    {
+        Bootstrap bootstrap = new Bootstrap();
+        SocketSettings settings = new SocketSettings( true, true, SocketSettings.NOT_CONFIGURED,
+                SocketSettings.NOT_CONFIGURED, 4096, SocketSettings.NOT_CONFIGURED );
+
+        settings.applyTo( bootstrap );
+
+        assertNull( bootstrap.config().options().get( ChannelOption.WRITE_BUFFER_WATER_MARK ) );
+        assertTrue( (Boolean) bootstrap.config().options().get( ChannelOption.TCP_NODELAY ) );
+    }
+}
@@ -21,13 +21,17 @@ package org.neo4j.driver.internal.async.outbound;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.EncoderException;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.neo4j.driver.internal.async.ChannelAttributes;
 import org.neo4j.driver.internal.async.inbound.ChannelErrorHandler;
@@ -40,6 +44,7 @@ import org.neo4j.driver.internal.packstream.PackOutput;
 import org.neo4j.driver.internal.packstream.PackStream;
 import org.neo4j.driver.v1.Value;
 
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -53,6 +58,7 @@ import static org.mockito.Mockito.when;
 import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
 import static org.neo4j.driver.internal.messaging.MessageFormat.Writer;
 import static org.neo4j.driver.internal.messaging.PullAllMessage.PULL_ALL;
+import static org.neo4j.driver.v1.Values.streamingList;
 import static org.neo4j.driver.v1.Values.value;
 import static org.neo4j.driver.v1.util.TestUtil.assertByteBufContains;
 
@@ -120,6 +126,22 @@ class OutboundMessageHandlerTest
         assertThat( error.getCause(), instanceOf( PackStream.UnPackable.class ) );
     }
 
+    @Test
+    void shouldWriteStreamingParametersInMultipleBuffers()
+    {
+        OutboundMessageHandler handler = newHandler( new PackStreamMessageFormatV1() );
+        channel.pipeline().addLast( new ChunkedWriteHandler(), handler );
+
+        List<Long> elements = LongStream.range( 0, 100_000 ).boxed().collect( Collectors.toList() );
+        Map<String,Value> params = new HashMap<>();
+        params.put( "list", streamingList( elements.size(), elements ) );
+
+        assertTrue( channel.writeOutbound( new RunMessage( "UNWIND $list AS x RETURN x", params ) ) );
+        assertTrue( channel.finish() );
+
+        assertThat( channel.outboundMessages().size(), greaterThan( 1 ) );
+    }
+
     private static MessageFormat mockMessageFormatWithWriter( final int... bytesToWrite )
     {
         MessageFormat messageFormat = mock( MessageFormat.class );
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.outbound;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.EncoderException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.neo4j.driver.internal.messaging.PackStreamMessageFormatV1;
+import org.neo4j.driver.internal.messaging.RunMessage;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.v1.Values.streamingList;
+import static org.neo4j.driver.v1.Values.value;
+
+class StreamingRunMessageInputTest
+{
+    private static final int SIZE = 100_000;
+
+    @Test
+    void shouldWriteSameBytesAsRegularRunMessage() throws Exception
+    {
+        List<Object> elements = IntStream.range( 0, SIZE ).mapToObj( i -> "element-" + i ).collect( Collectors.toList() );
+        RunMessage streamingMessage = runMessage( streamingList( SIZE, elements ) );
+        RunMessage regularMessage = runMessage( value( elements ) );
+
+        List<ByteBuf> buffers = readAll( newInput( streamingMessage ) );
+
+        assertTrue( buffers.size() > 1 );
+        for ( ByteBuf buffer : buffers )
+        {
+            assertThat( buffer.readableBytes(), lessThan( StreamingRunMessageInput.TARGET_BUFFER_SIZE + 1024 ) );
+        }
+        // chunk boundaries differ because every buffer ends its last chunk, message content is the same
+        ByteBuf streamed = Unpooled.wrappedBuffer( buffers.toArray( new ByteBuf[0] ) );
+        assertEquals( messageBody( packRegularMessage( regularMessage ) ), messageBody( streamed ) );
+    }
+
+    @Test
+    void shouldReadElementsLazily() throws Exception
+    {
+        AtomicInteger readElements = new AtomicInteger();
+        Iterator<Long> elements = IntStream.range( 0, SIZE )
+                .peek( i -> readElements.incrementAndGet() )
+                .mapToObj( i -> (long) i )
+                .iterator();
+        StreamingRunMessageInput input = newInput( runMessage( streamingList( SIZE, elements ) ) );
+
+        ByteBuf first = input.readChunk( UnpooledByteBufAllocator.DEFAULT );
+
+        assertFalse( input.isEndOfInput() );
+        assertThat( readElements.get(), lessThan( SIZE ) );
+        first.release();
+
+        readAll( input ).forEach( ByteBuf::release );
+        assertTrue( input.isEndOfInput() );
+        assertEquals( SIZE, readElements.get() );
+        assertNull( input.readChunk( UnpooledByteBufAllocator.DEFAULT ) );
+    }
+
+    @Test
+    void shouldFailWhenListHasFewerElementsThanDeclared()
+    {
+        List<Object> elements = new ArrayList<>();
+        elements.add( 1 );
+        StreamingRunMessageInput input = newInput( runMessage( streamingList( 2, elements ) ) );
+
+        EncoderException e = assertThrows( EncoderException.class, () -> readAll( input ) );
+        assertThat( e.getCause(), instanceOf( ClientException.class ) );
+    }
+
+    @Test
+    void shouldFailWhenListHasMoreElementsThanDeclared()
+    {
+        List<Object> elements = new ArrayList<>();
+        elements.add( 1 );
+        elements.add( 2 );
+        StreamingRunMessageInput input = newInput( runMessage( streamingList( 1, elements ) ) );
+
+        EncoderException e = assertThrows( EncoderException.class, () -> readAll( input ) );
+        assertThat( e.getCause(), instanceOf( ClientException.class ) );
+    }
+
+    private static RunMessage runMessage( Value list )
+    {
+        Map<String,Value> parameters = new LinkedHashMap<>();
+        parameters.put( "first", value( 42 ) );
+        parameters.put( "list", list );
+        parameters.put( "last", value( "done" ) );
+        return new RunMessage( "UNWIND $list AS x RETURN x", parameters );
+    }
+
+    private static StreamingRunMessageInput newInput( RunMessage message )
+    {
+        return new StreamingRunMessageInput( message, new PackStreamMessageFormatV1(), true );
+    }
+
+    private static List<ByteBuf> readAll( StreamingRunMessageInput input ) throws Exception
+    {
+        List<ByteBuf> buffers = new ArrayList<>();
+        while ( !input.isEndOfInput() )
+        {
+            buffers.add( input.readChunk( UnpooledByteBufAllocator.DEFAULT ) );
+        }
+        return buffers;
+    }
+
+    private static ByteBuf messageBody( ByteBuf chunkedMessage )
+    {
+        ByteBuf body = Unpooled.buffer();
+        int chunkSize;
+        while ( (chunkSize = chunkedMessage.readUnsignedShort()) != 0 )
+        {
+            body.writeBytes( chunkedMessage, chunkSize );
+        }
+        assertFalse( chunkedMessage.isReadable() );
+        return body;
+    }
+
+    private static ByteBuf packRegularMessage( RunMessage message )
+    {
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new OutboundMessageHandler( new PackStreamMessageFormatV1(), DEV_NULL_LOGGING ) );
+        assertTrue( channel.writeOutbound( message ) );
+        return channel.readOutbound();
+    }
+}
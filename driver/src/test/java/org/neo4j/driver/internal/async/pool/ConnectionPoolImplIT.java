@@ -230,7 +230,7 @@ public class ConnectionPoolImplIT
 
     private static class TestConnectionPool extends ConnectionPoolImpl
     {
-        final Map<BoltServerAddress,ChannelPool> channelPoolsByAddress = new HashMap<>();
+        final Map<BoltServerAddress,NettyChannelPool> channelPoolsByAddress = new HashMap<>();
 
         TestConnectionPool( NettyChannelTracker nettyChannelTracker )
         {
@@ -238,17 +238,17 @@ public class ConnectionPoolImplIT
                     DEV_NULL_METRICS, DEV_NULL_LOGGING, new FakeClock() );
         }
 
-        ChannelPool getPool( BoltServerAddress address )
+        NettyChannelPool getPool( BoltServerAddress address )
         {
-            ChannelPool pool = channelPoolsByAddress.get( address );
+            NettyChannelPool pool = channelPoolsByAddress.get( address );
             assertNotNull( pool );
             return pool;
         }
 
         @Override
-        ChannelPool newPool( BoltServerAddress address )
+        NettyChannelPool newPool( BoltServerAddress address )
         {
-            ChannelPool channelPool = mock( ChannelPool.class );
+            NettyChannelPool channelPool = mock( NettyChannelPool.class );
             Channel channel = mock( Channel.class );
             doReturn( ImmediateEventExecutor.INSTANCE.newSucceededFuture( channel ) ).when( channelPool ).acquire();
             channelPoolsByAddress.put( address, channelPool );
@@ -35,8 +35,11 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.async.ChannelAttributes.maxLifetime;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setCreationTimestamp;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setLastUsedTimestamp;
+import static org.neo4j.driver.internal.async.ChannelAttributes.setMaxLifetimeIfAbsent;
 import static org.neo4j.driver.internal.async.ChannelAttributes.setMessageDispatcher;
 import static org.neo4j.driver.internal.async.pool.PoolSettings.DEFAULT_CONNECTION_ACQUISITION_TIMEOUT;
 import static org.neo4j.driver.internal.async.pool.PoolSettings.DEFAULT_IDLE_TIME_BEFORE_CONNECTION_TEST;
@@ -91,6 +94,67 @@ class NettyChannelHealthCheckerTest
         assertThat( await( healthy ), is( true ) );
     }
 
+    @Test
+    void shouldAssignJitteredMaxLifetimeToChannels()
+    {
+        int maxLifetime = 1000;
+        int jitter = 200;
+        PoolSettings settings = new PoolSettings( DEFAULT_MAX_CONNECTION_POOL_SIZE,
+                DEFAULT_CONNECTION_ACQUISITION_TIMEOUT, maxLifetime, DEFAULT_IDLE_TIME_BEFORE_CONNECTION_TEST, jitter );
+        Clock clock = Clock.SYSTEM;
+        NettyChannelHealthChecker healthChecker = newHealthChecker( settings, clock );
+
+        setCreationTimestamp( channel, clock.millis() );
+        assertThat( await( healthChecker.isHealthy( channel ) ), is( true ) );
+
+        long channelMaxLifetime = maxLifetime( channel );
+        assertTrue( channelMaxLifetime <= maxLifetime );
+        assertTrue( channelMaxLifetime >= maxLifetime - jitter );
+    }
+
+    @Test
+    void shouldDropChannelsOlderThanTheirOwnMaxLifetime()
+    {
+        int maxLifetime = 1000;
+        PoolSettings settings = new PoolSettings( DEFAULT_MAX_CONNECTION_POOL_SIZE,
+                DEFAULT_CONNECTION_ACQUISITION_TIMEOUT, maxLifetime, DEFAULT_IDLE_TIME_BEFORE_CONNECTION_TEST );
+        Clock clock = Clock.SYSTEM;
+        NettyChannelHealthChecker healthChecker = newHealthChecker( settings, clock );
+
+        setMaxLifetimeIfAbsent( channel, maxLifetime / 2 );
+        setCreationTimestamp( channel, clock.millis() - maxLifetime * 3 / 4 );
+        Future<Boolean> healthy = healthChecker.isHealthy( channel );
+
+        assertThat( await( healthy ), is( false ) );
+    }
+
+    @Test
+    void shouldDetectChannelsThatExpireWithinGivenPeriod()
+    {
+        int maxLifetime = 1000;
+        PoolSettings settings = new PoolSettings( DEFAULT_MAX_CONNECTION_POOL_SIZE,
+                DEFAULT_CONNECTION_ACQUISITION_TIMEOUT, maxLifetime, DEFAULT_IDLE_TIME_BEFORE_CONNECTION_TEST, 0 );
+        Clock clock = Clock.SYSTEM;
+        NettyChannelHealthChecker healthChecker = newHealthChecker( settings, clock );
+
+        setCreationTimestamp( channel, clock.millis() - maxLifetime / 2 );
+
+        assertFalse( healthChecker.expiresWithin( channel, maxLifetime / 10 ) );
+        assertTrue( healthChecker.expiresWithin( channel, maxLifetime ) );
+    }
+
+    @Test
+    void shouldNotDetectExpiringChannelsWhenMaxLifetimeDisabled()
+    {
+        PoolSettings settings = new PoolSettings( DEFAULT_MAX_CONNECTION_POOL_SIZE,
+                DEFAULT_CONNECTION_ACQUISITION_TIMEOUT, NOT_CONFIGURED, DEFAULT_IDLE_TIME_BEFORE_CONNECTION_TEST );
+        NettyChannelHealthChecker healthChecker = newHealthChecker( settings, Clock.SYSTEM );
+
+        setCreationTimestamp( channel, 0 );
+
+        assertFalse( healthChecker.expiresWithin( channel, Long.MAX_VALUE / 2 ) );
+    }
+
     @Test
     void shouldKeepIdleConnectionWhenPingSucceeds()
     {
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.async.pool;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.util.AttributeKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.async.BootstrapFactory;
+import org.neo4j.driver.internal.async.ChannelConnector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.BoltServerAddress.LOCAL_DEFAULT;
+import static org.neo4j.driver.internal.async.ChannelAttributes.setServerAddress;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.internal.metrics.InternalAbstractMetrics.DEV_NULL_METRICS;
+
+class NettyChannelPoolTest
+{
+    private final Bootstrap bootstrap = BootstrapFactory.newBootstrap( 1 );
+    private final NettyChannelTracker tracker = new NettyChannelTracker( DEV_NULL_METRICS, DEV_NULL_LOGGING );
+    private final ChannelConnector connector = mock( ChannelConnector.class );
+
+    @AfterEach
+    void tearDown()
+    {
+        bootstrap.config().group().shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Test
+    void shouldReplaceMatchingIdleChannels() throws Exception
+    {
+        EmbeddedChannel oldChannel = newChannel();
+        EmbeddedChannel newChannel = newChannel();
+        NettyChannelPool pool = newPool();
+
+        acquireAndRelease( pool, oldChannel );
+        assertEquals( 1, tracker.idleChannelCount( LOCAL_DEFAULT ) );
+
+        when( connector.connect( any( BoltServerAddress.class ), any( Bootstrap.class ) ) )
+                .thenAnswer( connectTo( newChannel ) );
+        pool.replaceIdleChannels( channel -> channel == oldChannel );
+
+        assertFalse( oldChannel.isOpen() );
+        assertTrue( newChannel.isOpen() );
+        assertEquals( 1, tracker.idleChannelCount( LOCAL_DEFAULT ) );
+        assertEquals( 0, tracker.inUseChannelCount( LOCAL_DEFAULT ) );
+        assertSame( newChannel, acquire( pool ) );
+    }
+
+    @Test
+    void shouldNotReplaceNonMatchingIdleChannels() throws Exception
+    {
+        EmbeddedChannel channel = newChannel();
+        NettyChannelPool pool = newPool();
+
+        acquireAndRelease( pool, channel );
+        pool.replaceIdleChannels( ignore -> false );
+
+        assertTrue( channel.isOpen() );
+        assertSame( channel, acquire( pool ) );
+    }
+
+    @Test
+    void shouldKeepOldChannelWhenReplacementFails() throws Exception
+    {
+        EmbeddedChannel oldChannel = newChannel();
+        NettyChannelPool pool = newPool();
+
+        acquireAndRelease( pool, oldChannel );
+
+        EmbeddedChannel failedChannel = newChannel();
+        when( connector.connect( any( BoltServerAddress.class ), any( Bootstrap.class ) ) )
+                .thenReturn( failedChannel.newFailedFuture( new RuntimeException( "Connection refused" ) ) );
+        pool.replaceIdleChannels( channel -> true );
+
+        assertTrue( oldChannel.isOpen() );
+        assertEquals( 1, tracker.idleChannelCount( LOCAL_DEFAULT ) );
+        assertSame( oldChannel, acquire( pool ) );
+    }
+
+    private NettyChannelPool newPool()
+    {
+        return new NettyChannelPool( LOCAL_DEFAULT, connector, bootstrap, tracker, ChannelHealthChecker.ACTIVE,
+                1_000, 10 );
+    }
+
+    private void acquireAndRelease( NettyChannelPool pool, EmbeddedChannel channel ) throws Exception
+    {
+        when( connector.connect( any( BoltServerAddress.class ), any( Bootstrap.class ) ) )
+                .thenAnswer( connectTo( channel ) );
+        assertSame( channel, acquire( pool ) );
+        // embedded channel releases synchronously in the caller thread
+        pool.release( channel );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static Answer<ChannelFuture> connectTo( EmbeddedChannel channel )
+    {
+        return invocation ->
+        {
+            // apply bootstrap attributes like a real connect would do, pool uses them to recognize its channels
+            Bootstrap bootstrap = invocation.getArgument( 1 );
+            bootstrap.config().attrs().forEach( ( key, value ) -> channel.attr( (AttributeKey<Object>) key ).set( value ) );
+            return channel.newSucceededFuture();
+        };
+    }
+
+    private static Channel acquire( NettyChannelPool pool ) throws Exception
+    {
+        return pool.acquire().get( 5, TimeUnit.SECONDS );
+    }
+
+    private static EmbeddedChannel newChannel()
+    {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        setServerAddress( channel, LOCAL_DEFAULT );
+        return channel;
+    }
+}
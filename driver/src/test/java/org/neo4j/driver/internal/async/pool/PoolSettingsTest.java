@@ -69,6 +69,41 @@ class PoolSettingsTest
         testMaxConnectionLifetimeWithIllegalValue( Integer.MIN_VALUE );
     }
 
+    @Test
+    void maxConnectionLifetimeJitterWhenNotConfigured()
+    {
+        PoolSettings settings = new PoolSettings( 5, -1, 1000, 10 );
+        assertEquals( 100, settings.maxConnectionLifetimeJitter() );
+    }
+
+    @Test
+    void maxConnectionLifetimeJitterWhenConfigured()
+    {
+        PoolSettings settings = new PoolSettings( 5, -1, 1000, 10, 42 );
+        assertEquals( 42, settings.maxConnectionLifetimeJitter() );
+    }
+
+    @Test
+    void maxConnectionLifetimeJitterWhenSetToZero()
+    {
+        PoolSettings settings = new PoolSettings( 5, -1, 1000, 10, 0 );
+        assertEquals( 0, settings.maxConnectionLifetimeJitter() );
+    }
+
+    @Test
+    void maxConnectionLifetimeJitterLimitedByHalfOfMaxConnectionLifetime()
+    {
+        PoolSettings settings = new PoolSettings( 5, -1, 1000, 10, 4242 );
+        assertEquals( 500, settings.maxConnectionLifetimeJitter() );
+    }
+
+    @Test
+    void maxConnectionLifetimeJitterWhenMaxConnectionLifetimeDisabled()
+    {
+        PoolSettings settings = new PoolSettings( 5, -1, -1, 10, 42 );
+        assertEquals( 0, settings.maxConnectionLifetimeJitter() );
+    }
+
     private static void testIdleTimeBeforeConnectionTestWithIllegalValue( int value )
     {
         PoolSettings settings = new PoolSettings( 5, -1, 10, value );
@@ -27,78 +27,45 @@ import org.neo4j.driver.internal.BoltServerAddress;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class AddressSetTest
 {
     @Test
-    void shouldPreserveOrderWhenAdding() throws Exception
+    void shouldPreserveOrder()
     {
-        // given
-        Set<BoltServerAddress> servers = addresses( "one", "two", "tre" );
-
-        AddressSet set = new AddressSet();
-        set.update( servers );
+        AddressSet set = new AddressSet( addresses( "one", "two", "tre" ) );
 
         assertArrayEquals( new BoltServerAddress[]{
                 new BoltServerAddress( "one" ),
                 new BoltServerAddress( "two" ),
                 new BoltServerAddress( "tre" )}, set.toArray() );
-
-        // when
-        servers.add( new BoltServerAddress( "fyr" ) );
-        set.update( servers );
-
-        // then
-        assertArrayEquals( new BoltServerAddress[]{
-                new BoltServerAddress( "one" ),
-                new BoltServerAddress( "two" ),
-                new BoltServerAddress( "tre" ),
-                new BoltServerAddress( "fyr" )}, set.toArray() );
     }
 
     @Test
-    void shouldPreserveOrderWhenRemoving() throws Exception
+    void shouldPreserveOrderWhenCopyingWithoutAddress()
     {
-        // given
-        Set<BoltServerAddress> servers = addresses( "one", "two", "tre" );
-        AddressSet set = new AddressSet();
-        set.update( servers );
-
-        assertArrayEquals( new BoltServerAddress[]{
-                new BoltServerAddress( "one" ),
-                new BoltServerAddress( "two" ),
-                new BoltServerAddress( "tre" )}, set.toArray() );
+        AddressSet set = new AddressSet( addresses( "one", "two", "tre" ) );
 
-        // when
-        set.remove( new BoltServerAddress( "one" ) );
+        AddressSet copy = set.copyWithout( new BoltServerAddress( "one" ) );
 
-        // then
         assertArrayEquals( new BoltServerAddress[]{
                 new BoltServerAddress( "two" ),
-                new BoltServerAddress( "tre" )}, set.toArray() );
+                new BoltServerAddress( "tre" )}, copy.toArray() );
     }
 
     @Test
-    void shouldPreserveOrderWhenRemovingThroughUpdate() throws Exception
+    void shouldNotChangeWhenSourceSetChanges()
     {
-        // given
-        Set<BoltServerAddress> servers = addresses( "one", "two", "tre" );
-        AddressSet set = new AddressSet();
-        set.update( servers );
+        Set<BoltServerAddress> servers = addresses( "one", "two" );
+        AddressSet set = new AddressSet( servers );
 
-        assertArrayEquals( new BoltServerAddress[]{
-                new BoltServerAddress( "one" ),
-                new BoltServerAddress( "two" ),
-                new BoltServerAddress( "tre" )}, set.toArray() );
-
-        // when
+        servers.add( new BoltServerAddress( "tre" ) );
         servers.remove( new BoltServerAddress( "one" ) );
-        set.update( servers );
 
-        // then
         assertArrayEquals( new BoltServerAddress[]{
-                new BoltServerAddress( "two" ),
-                new BoltServerAddress( "tre" )}, set.toArray() );
+                new BoltServerAddress( "one" ),
+                new BoltServerAddress( "two" )}, set.toArray() );
     }
 
     @Test
@@ -114,8 +81,7 @@ class AddressSetTest
     @Test
     void shouldExposeCorrectArray()
     {
-        AddressSet addressSet = new AddressSet();
-        addressSet.update( addresses( "one", "two", "tre" ) );
+        AddressSet addressSet = new AddressSet( addresses( "one", "two", "tre" ) );
 
         BoltServerAddress[] addresses = addressSet.toArray();
 
@@ -136,12 +102,32 @@ class AddressSetTest
     @Test
     void shouldHaveCorrectSize()
     {
-        AddressSet addressSet = new AddressSet();
-        addressSet.update( addresses( "one", "two" ) );
+        AddressSet addressSet = new AddressSet( addresses( "one", "two" ) );
 
         assertEquals( 2, addressSet.size() );
     }
 
+    @Test
+    void shouldCopyWithoutAddress()
+    {
+        AddressSet addressSet = new AddressSet( addresses( "one", "two", "tre" ) );
+
+        AddressSet copy = addressSet.copyWithout( new BoltServerAddress( "two" ) );
+
+        assertArrayEquals( new BoltServerAddress[]{
+                new BoltServerAddress( "one" ),
+                new BoltServerAddress( "tre" )}, copy.toArray() );
+        assertEquals( 3, addressSet.size() );
+    }
+
+    @Test
+    void shouldReturnSameSetWhenCopyingWithoutUnknownAddress()
+    {
+        AddressSet addressSet = new AddressSet( addresses( "one", "two" ) );
+
+        assertSame( addressSet, addressSet.copyWithout( new BoltServerAddress( "tre" ) ) );
+    }
+
     private static Set<BoltServerAddress> addresses( String... strings )
     {
         Set<BoltServerAddress> set = new LinkedHashSet<>();
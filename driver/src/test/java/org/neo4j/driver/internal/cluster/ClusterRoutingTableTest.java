@@ -20,14 +20,20 @@ package org.neo4j.driver.internal.cluster;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.util.FakeClock;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.A;
@@ -181,4 +187,90 @@ class ClusterRoutingTableTest
         assertFalse( routingTable.isStaleFor( READ ) );
         assertFalse( routingTable.isStaleFor( WRITE ) );
     }
+
+    @Test
+    void shouldForgetAddressInAllRoles()
+    {
+        ClusterRoutingTable routingTable = new ClusterRoutingTable( new FakeClock() );
+        routingTable.update( createClusterComposition( asList( A, B ), asList( A, C ), asList( A, D ) ) );
+
+        routingTable.forget( A );
+
+        assertArrayEquals( new BoltServerAddress[]{B}, routingTable.routers().toArray() );
+        assertArrayEquals( new BoltServerAddress[]{C}, routingTable.writers().toArray() );
+        assertArrayEquals( new BoltServerAddress[]{D}, routingTable.readers().toArray() );
+    }
+
+    @Test
+    void shouldRemoveWriterButKeepSameAddressAsReaderAndRouter()
+    {
+        ClusterRoutingTable routingTable = new ClusterRoutingTable( new FakeClock() );
+        routingTable.update( createClusterComposition( asList( A, B ), asList( A, C ), asList( A, D ) ) );
+
+        routingTable.removeWriter( A );
+
+        assertArrayEquals( new BoltServerAddress[]{A, B}, routingTable.routers().toArray() );
+        assertArrayEquals( new BoltServerAddress[]{C}, routingTable.writers().toArray() );
+        assertArrayEquals( new BoltServerAddress[]{A, D}, routingTable.readers().toArray() );
+    }
+
+    @Test
+    void shouldNotModifyPreviouslyReturnedAddressSets()
+    {
+        ClusterRoutingTable routingTable = new ClusterRoutingTable( new FakeClock() );
+        routingTable.update( createClusterComposition( asList( A, B ), asList( C ), asList( D, E ) ) );
+
+        AddressSet readers = routingTable.readers();
+        AddressSet writers = routingTable.writers();
+
+        routingTable.forget( D );
+        routingTable.update( createClusterComposition( asList( A ), asList( F ), asList( B ) ) );
+
+        assertArrayEquals( new BoltServerAddress[]{D, E}, readers.toArray() );
+        assertArrayEquals( new BoltServerAddress[]{C}, writers.toArray() );
+        assertArrayEquals( new BoltServerAddress[]{B}, routingTable.readers().toArray() );
+        assertArrayEquals( new BoltServerAddress[]{F}, routingTable.writers().toArray() );
+    }
+
+    @Test
+    void shouldNotLoseConcurrentRemovals() throws Exception
+    {
+        int threadCount = 8;
+        List<BoltServerAddress> readers = new ArrayList<>();
+        for ( int i = 0; i < threadCount * 100; i++ )
+        {
+            readers.add( new BoltServerAddress( "reader-" + i, 7687 ) );
+        }
+        ClusterRoutingTable routingTable = new ClusterRoutingTable( new FakeClock() );
+        routingTable.update( createClusterComposition( asList( A ), asList( B ), readers ) );
+
+        ExecutorService executor = Executors.newFixedThreadPool( threadCount );
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( int i = 0; i < threadCount; i++ )
+            {
+                int offset = i;
+                futures.add( executor.submit( () ->
+                {
+                    for ( int j = offset; j < readers.size(); j += threadCount )
+                    {
+                        routingTable.forget( readers.get( j ) );
+                    }
+                } ) );
+            }
+            for ( Future<?> future : futures )
+            {
+                future.get( 1, MINUTES );
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals( 0, routingTable.readers().size() );
+        assertArrayEquals( new BoltServerAddress[]{A}, routingTable.routers().toArray() );
+        assertArrayEquals( new BoltServerAddress[]{B}, routingTable.writers().toArray() );
+    }
 }
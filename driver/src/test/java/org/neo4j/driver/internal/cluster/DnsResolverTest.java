@@ -24,6 +24,8 @@ import java.net.UnknownHostException;
 import java.util.Set;
 
 import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
+import org.neo4j.driver.internal.util.Clock;
 import org.neo4j.driver.v1.Logger;
 
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
@@ -31,36 +33,37 @@ import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.neo4j.driver.v1.util.TestUtil.await;
 
 class DnsResolverTest
 {
-    private DnsResolver resolver = new DnsResolver( mock( Logger.class ) );
+    private DnsResolver resolver = newResolver( mock( Logger.class ) );
 
     @Test
     void shouldResolveDNSToIPs()
     {
-        Set<BoltServerAddress> resolve = resolver.resolve( new BoltServerAddress( "google.com", 80 ) );
+        Set<BoltServerAddress> resolve = await( resolver.resolve( new BoltServerAddress( "google.com", 80 ) ) );
         assertThat( resolve.size(), greaterThanOrEqualTo( 1 ) );
     }
 
     @Test
     void shouldResolveLocalhostIPDNSToIPs()
     {
-        Set<BoltServerAddress> resolve = resolver.resolve( new BoltServerAddress( "127.0.0.1", 80 ) );
+        Set<BoltServerAddress> resolve = await( resolver.resolve( new BoltServerAddress( "127.0.0.1", 80 ) ) );
         assertThat( resolve.size(), greaterThanOrEqualTo( 1 ) );
     }
 
     @Test
     void shouldResolveLocalhostDNSToIPs()
     {
-        Set<BoltServerAddress> resolve = resolver.resolve( new BoltServerAddress( "localhost", 80 ) );
+        Set<BoltServerAddress> resolve = await( resolver.resolve( new BoltServerAddress( "localhost", 80 ) ) );
         assertThat( resolve.size(), greaterThanOrEqualTo( 1 ) );
     }
 
     @Test
     void shouldResolveIPv6LocalhostDNSToIPs()
     {
-        Set<BoltServerAddress> resolve = resolver.resolve( new BoltServerAddress( "[::1]", 80 ) );
+        Set<BoltServerAddress> resolve = await( resolver.resolve( new BoltServerAddress( "[::1]", 80 ) ) );
         assertThat( resolve.size(), greaterThanOrEqualTo( 1 ) );
     }
 
@@ -68,9 +71,16 @@ class DnsResolverTest
     void shouldExceptionAndGiveDefaultValue()
     {
         Logger logger = mock( Logger.class );
-        DnsResolver resolver = new DnsResolver( logger );
-        Set<BoltServerAddress> resolve = resolver.resolve( new BoltServerAddress( "[/]", 80 ) );
+        DnsResolver resolver = newResolver( logger );
+        Set<BoltServerAddress> resolve = await( resolver.resolve( new BoltServerAddress( "[/]", 80 ) ) );
         verify( logger ).error( any( String.class ), any( UnknownHostException.class ) );
         assertThat( resolve.size(), greaterThanOrEqualTo( 1 ) );
     }
+
+    private static DnsResolver newResolver( Logger logger )
+    {
+        AsyncDnsResolver dnsResolver = new AsyncDnsResolver( AsyncDnsResolver.DEFAULT_CACHE_TTL,
+                AsyncDnsResolver.DEFAULT_NEGATIVE_CACHE_TTL, Clock.SYSTEM );
+        return new DnsResolver( dnsResolver, logger );
+    }
 }
@@ -24,7 +24,9 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.cluster.ClusterCompositionResponse.Failure;
@@ -76,7 +78,7 @@ class RediscoveryTest
         responsesByAddress.put( B, new Success( expectedComposition ) ); // first -> valid cluster composition
 
         ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
-        Rediscovery rediscovery = newRediscovery( A, compositionProvider, mock( HostNameResolver.class ) );
+        Rediscovery rediscovery = newRediscovery( A, compositionProvider, hostNameResolverMock( A ) );
         RoutingTable table = routingTableMock( B );
 
         ClusterComposition actualComposition = await( rediscovery.lookupClusterComposition( table, pool ) );
@@ -97,7 +99,7 @@ class RediscoveryTest
         responsesByAddress.put( C, new Success( expectedComposition ) ); // third -> valid cluster composition
 
         ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
-        Rediscovery rediscovery = newRediscovery( A, compositionProvider, mock( HostNameResolver.class ) );
+        Rediscovery rediscovery = newRediscovery( A, compositionProvider, hostNameResolverMock( A ) );
         RoutingTable table = routingTableMock( A, B, C );
 
         ClusterComposition actualComposition = await( rediscovery.lookupClusterComposition( table, pool ) );
@@ -119,7 +121,7 @@ class RediscoveryTest
         responsesByAddress.put( B, authError ); // second router -> fatal auth error
 
         ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
-        Rediscovery rediscovery = newRediscovery( A, compositionProvider, mock( HostNameResolver.class ) );
+        Rediscovery rediscovery = newRediscovery( A, compositionProvider, hostNameResolverMock( A ) );
         RoutingTable table = routingTableMock( A, B, C );
 
         AuthenticationException error = assertThrows( AuthenticationException.class, () -> await( rediscovery.lookupClusterComposition( table, pool ) ) );
@@ -163,7 +165,7 @@ class RediscoveryTest
         responsesByAddress.put( C, new Success( validComposition ) ); // second -> valid cluster composition
 
         ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
-        Rediscovery rediscovery = newRediscovery( A, compositionProvider, mock( HostNameResolver.class ) );
+        Rediscovery rediscovery = newRediscovery( A, compositionProvider, hostNameResolverMock( A ) );
         RoutingTable table = routingTableMock( B, C );
 
         ProtocolException error = assertThrows( ProtocolException.class, () -> await( rediscovery.lookupClusterComposition( table, pool ) ) );
@@ -206,7 +208,7 @@ class RediscoveryTest
         responsesByAddress.put( C, new IOException( "Hi!" ) ); // third -> non-fatal failure
 
         ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
-        Rediscovery rediscovery = newRediscovery( A, compositionProvider, mock( HostNameResolver.class ) );
+        Rediscovery rediscovery = newRediscovery( A, compositionProvider, hostNameResolverMock( A ) );
         RoutingTable table = routingTableMock( A, B, C );
 
         ServiceUnavailableException e = assertThrows( ServiceUnavailableException.class, () -> await( rediscovery.lookupClusterComposition( table, pool ) ) );
@@ -295,9 +297,9 @@ class RediscoveryTest
 
         ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
         HostNameResolver resolver = mock( HostNameResolver.class );
-        when( resolver.resolve( A ) ).thenReturn( asOrderedSet( A ) )
-                .thenReturn( asOrderedSet( A ) )
-                .thenReturn( asOrderedSet( E ) );
+        when( resolver.resolve( A ) ).thenReturn( completedFuture( asOrderedSet( A ) ) )
+                .thenReturn( completedFuture( asOrderedSet( A ) ) )
+                .thenReturn( completedFuture( asOrderedSet( E ) ) );
 
         ImmediateSchedulingEventExecutor eventExecutor = new ImmediateSchedulingEventExecutor();
         RoutingSettings settings = new RoutingSettings( maxRoutingFailures, retryTimeoutDelay );
@@ -338,6 +340,116 @@ class RediscoveryTest
         assertEquals( 0, eventExecutor.scheduleDelays().size() );
     }
 
+    @Test
+    void shouldQueryNextRouterWhenHedgeDelayElapses()
+    {
+        ClusterComposition expectedComposition = new ClusterComposition( 42,
+                asOrderedSet( A, B, C ), asOrderedSet( B, C, D ), asOrderedSet( A, B ) );
+
+        Map<BoltServerAddress,Object> responsesByAddress = new HashMap<>();
+        responsesByAddress.put( B, new CompletableFuture<>() ); // first -> never responds
+        responsesByAddress.put( C, new Success( expectedComposition ) ); // second -> valid cluster composition
+
+        ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
+        Rediscovery rediscovery = newHedgingRediscovery( A, compositionProvider, hostNameResolverMock( A ), 10 );
+        RoutingTable table = routingTableMock( B, C );
+
+        ClusterComposition actualComposition = await( rediscovery.lookupClusterComposition( table, pool ) );
+
+        assertEquals( expectedComposition, actualComposition );
+        verify( table, never() ).forget( any() );
+    }
+
+    @Test
+    void shouldQueryAllRoutersInParallelWhenHedgeDelayIsZero()
+    {
+        ClusterComposition expectedComposition = new ClusterComposition( 42,
+                asOrderedSet( A, B, C ), asOrderedSet( B, C, D ), asOrderedSet( A, B ) );
+
+        Map<BoltServerAddress,Object> responsesByAddress = new HashMap<>();
+        responsesByAddress.put( B, new CompletableFuture<>() ); // first -> never responds
+        responsesByAddress.put( C, new CompletableFuture<>() ); // second -> never responds
+        responsesByAddress.put( D, new Success( expectedComposition ) ); // third -> valid cluster composition
+
+        ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
+        Rediscovery rediscovery = newHedgingRediscovery( A, compositionProvider, hostNameResolverMock( A ), 0 );
+        RoutingTable table = routingTableMock( B, C, D );
+
+        ClusterComposition actualComposition = await( rediscovery.lookupClusterComposition( table, pool ) );
+
+        assertEquals( expectedComposition, actualComposition );
+        verify( pool ).acquire( B );
+        verify( pool ).acquire( C );
+        verify( pool ).acquire( D );
+    }
+
+    @Test
+    void shouldQueryNextRouterWithoutDelayWhenPreviousFails()
+    {
+        ClusterComposition expectedComposition = new ClusterComposition( 42,
+                asOrderedSet( A, B, C ), asOrderedSet( B, C, D ), asOrderedSet( A, B ) );
+
+        Map<BoltServerAddress,Object> responsesByAddress = new HashMap<>();
+        responsesByAddress.put( B, new ServiceUnavailableException( "Hi!" ) ); // first -> non-fatal failure
+        responsesByAddress.put( C, new Success( expectedComposition ) ); // second -> valid cluster composition
+
+        ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
+        Rediscovery rediscovery = newHedgingRediscovery( A, compositionProvider, hostNameResolverMock( A ),
+                TimeUnit.HOURS.toMillis( 1 ) );
+        RoutingTable table = routingTableMock( B, C );
+
+        ClusterComposition actualComposition = await( rediscovery.lookupClusterComposition( table, pool ) );
+
+        assertEquals( expectedComposition, actualComposition );
+        verify( table ).forget( B );
+        verify( table, never() ).forget( C );
+    }
+
+    @Test
+    void shouldNotQueryRemainingRoutersWhenHedgedLookupSucceeds()
+    {
+        ClusterComposition expectedComposition = new ClusterComposition( 42,
+                asOrderedSet( A, B, C ), asOrderedSet( B, C, D ), asOrderedSet( A, B ) );
+
+        Map<BoltServerAddress,Object> responsesByAddress = new HashMap<>();
+        responsesByAddress.put( B, new Success( expectedComposition ) ); // first -> valid cluster composition
+
+        ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
+        Rediscovery rediscovery = newHedgingRediscovery( A, compositionProvider, hostNameResolverMock( A ), 10 );
+        RoutingTable table = routingTableMock( B, C, D );
+
+        ClusterComposition actualComposition = await( rediscovery.lookupClusterComposition( table, pool ) );
+
+        assertEquals( expectedComposition, actualComposition );
+        verify( pool ).acquire( B );
+        verify( pool, never() ).acquire( C );
+        verify( pool, never() ).acquire( D );
+    }
+
+    @Test
+    void shouldFallbackToInitialRouterWhenAllHedgedQueriesFail()
+    {
+        ClusterComposition expectedComposition = new ClusterComposition( 42,
+                asOrderedSet( A, B, C ), asOrderedSet( B, C, D ), asOrderedSet( A, B ) );
+
+        Map<BoltServerAddress,Object> responsesByAddress = new HashMap<>();
+        responsesByAddress.put( B, new ServiceUnavailableException( "Hi!" ) ); // first -> non-fatal failure
+        responsesByAddress.put( C, new IOException( "Hi!" ) ); // second -> non-fatal failure
+        responsesByAddress.put( E, new Success( expectedComposition ) ); // initial router -> valid composition
+
+        ClusterCompositionProvider compositionProvider = compositionProviderMock( responsesByAddress );
+        Rediscovery rediscovery = newHedgingRediscovery( A, compositionProvider, hostNameResolverMock( A, B, E ), 0 );
+        RoutingTable table = routingTableMock( B, C );
+
+        ClusterComposition actualComposition = await( rediscovery.lookupClusterComposition( table, pool ) );
+
+        assertEquals( expectedComposition, actualComposition );
+        // B was already tried as a known router and is not queried again as a resolved initial router
+        verify( pool ).acquire( B );
+        verify( table ).forget( B );
+        verify( table ).forget( C );
+    }
+
     private Rediscovery newRediscovery( BoltServerAddress initialRouter, ClusterCompositionProvider compositionProvider,
             HostNameResolver hostNameResolver )
     {
@@ -352,6 +464,15 @@ class RediscoveryTest
                 GlobalEventExecutor.INSTANCE, DEV_NULL_LOGGER, useInitialRouter );
     }
 
+    private Rediscovery newHedgingRediscovery( BoltServerAddress initialRouter,
+            ClusterCompositionProvider compositionProvider, HostNameResolver hostNameResolver, long hedgeDelay )
+    {
+        RoutingSettings settings = new RoutingSettings( 1, 0, RoutingContext.EMPTY,
+                RoutingSettings.DEFAULT_ROUTING_TABLE_REFRESH_FRACTION, hedgeDelay );
+        return new Rediscovery( initialRouter, settings, compositionProvider, hostNameResolver,
+                GlobalEventExecutor.INSTANCE, DEV_NULL_LOGGER, false );
+    }
+
     @SuppressWarnings( "unchecked" )
     private static ClusterCompositionProvider compositionProviderMock(
             Map<BoltServerAddress,Object> responsesByAddress )
@@ -367,6 +488,10 @@ class RediscoveryTest
             {
                 return failedFuture( (Throwable) response );
             }
+            else if ( response instanceof CompletionStage )
+            {
+                return response;
+            }
             else
             {
                 return completedFuture( response );
@@ -378,7 +503,7 @@ class RediscoveryTest
     private static HostNameResolver hostNameResolverMock( BoltServerAddress address, BoltServerAddress... resolved )
     {
         HostNameResolver resolver = mock( HostNameResolver.class );
-        when( resolver.resolve( address ) ).thenReturn( asOrderedSet( resolved ) );
+        when( resolver.resolve( address ) ).thenReturn( completedFuture( asOrderedSet( resolved ) ) );
         return resolver;
     }
 
@@ -403,8 +528,7 @@ class RediscoveryTest
     private static RoutingTable routingTableMock( BoltServerAddress... routers )
     {
         RoutingTable routingTable = mock( RoutingTable.class );
-        AddressSet addressSet = new AddressSet();
-        addressSet.update( asOrderedSet( routers ) );
+        AddressSet addressSet = new AddressSet( asOrderedSet( routers ) );
         when( routingTable.routers() ).thenReturn( addressSet );
         return routingTable;
     }
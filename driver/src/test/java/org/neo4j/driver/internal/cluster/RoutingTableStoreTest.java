@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.util.FakeClock;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.A;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.B;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.C;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.D;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.E;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+import static org.neo4j.driver.v1.util.FileTools.deleteRecursively;
+import static org.neo4j.driver.v1.util.FileTools.tmpDir;
+import static org.neo4j.driver.v1.util.TestUtil.asOrderedSet;
+
+class RoutingTableStoreTest
+{
+    private static final long MAX_AGE = 60_000;
+
+    private final FakeClock clock = new FakeClock();
+    private File directory;
+    private File file;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        directory = tmpDir();
+        file = new File( directory, "routing-table" );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        deleteRecursively( directory );
+    }
+
+    @Test
+    void shouldLoadNothingWhenFileDoesNotExist()
+    {
+        assertNull( newStore( A ).load() );
+    }
+
+    @Test
+    void shouldLoadSavedComposition()
+    {
+        RoutingTableStore store = newStore( A );
+        clock.progress( 1000 );
+        store.save( new ClusterComposition( 31_000, asOrderedSet( A, B ), asOrderedSet( C ), asOrderedSet( D, E ) ) );
+
+        clock.progress( 5000 );
+        ClusterComposition loaded = newStore( A ).load();
+
+        // time to live is counted from the moment of loading
+        assertEquals( new ClusterComposition( 36_000, asOrderedSet( A, B ), asOrderedSet( C ), asOrderedSet( D, E ) ),
+                loaded );
+    }
+
+    @Test
+    void shouldLoadCompositionWithoutWriters()
+    {
+        RoutingTableStore store = newStore( A );
+        ClusterComposition composition = new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet(),
+                asOrderedSet( C ) );
+        store.save( composition );
+
+        assertEquals( composition, store.load() );
+    }
+
+    @Test
+    void shouldLoadIpv6Addresses()
+    {
+        RoutingTableStore store = newStore( A );
+        BoltServerAddress ipv6 = new BoltServerAddress( "::1", 7687 );
+        ClusterComposition composition = new ClusterComposition( 1000, asOrderedSet( ipv6 ), asOrderedSet( ipv6 ),
+                asOrderedSet( ipv6 ) );
+        store.save( composition );
+
+        assertEquals( composition, store.load() );
+    }
+
+    @Test
+    void shouldReplacePreviouslySavedComposition()
+    {
+        RoutingTableStore store = newStore( A );
+        store.save( new ClusterComposition( 1000, asOrderedSet( A ), asOrderedSet( A ), asOrderedSet( A ) ) );
+        store.save( new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( D ) ) );
+
+        assertEquals( new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( D ) ),
+                store.load() );
+        assertEquals( singletonList( file ), asList( directory.listFiles() ) );
+    }
+
+    @Test
+    void shouldIgnoreCompositionOlderThanMaxAge()
+    {
+        RoutingTableStore store = newStore( A );
+        store.save( new ClusterComposition( 1000, asOrderedSet( A ), asOrderedSet( B ), asOrderedSet( C ) ) );
+
+        clock.progress( MAX_AGE + 1 );
+
+        assertNull( store.load() );
+    }
+
+    @Test
+    void shouldIgnoreCompositionSavedForDifferentInitialRouter()
+    {
+        newStore( A ).save( new ClusterComposition( 1000, asOrderedSet( A ), asOrderedSet( B ), asOrderedSet( C ) ) );
+
+        assertNull( newStore( B ).load() );
+    }
+
+    @Test
+    void shouldIgnoreCompositionWithoutRouters()
+    {
+        RoutingTableStore store = newStore( A );
+        store.save( new ClusterComposition( 1000, asOrderedSet( A ), asOrderedSet( B ), asOrderedSet() ) );
+
+        assertNull( store.load() );
+    }
+
+    @Test
+    void shouldIgnoreMalformedFile() throws IOException
+    {
+        Files.write( file.toPath(), "initialRouter=1111:11\nsavedAt=yesterday\n".getBytes( UTF_8 ) );
+
+        assertNull( newStore( A ).load() );
+    }
+
+    @Test
+    void shouldCreateMissingDirectories()
+    {
+        file = new File( new File( directory, "nested" ), "routing-table" );
+        RoutingTableStore store = newStore( A );
+        ClusterComposition composition = new ClusterComposition( 1000, asOrderedSet( A ), asOrderedSet( B ),
+                asOrderedSet( C ) );
+
+        store.save( composition );
+
+        assertEquals( composition, store.load() );
+    }
+
+    @Test
+    void shouldSaveInBackground()
+    {
+        ExecutorService executor = mock( ExecutorService.class );
+        RoutingTableStore store = new RoutingTableStore( file, A, MAX_AGE, clock, executor, DEV_NULL_LOGGING );
+        ClusterComposition composition = new ClusterComposition( 1000, asOrderedSet( A ), asOrderedSet( B ),
+                asOrderedSet( C ) );
+
+        store.saveAsync( composition );
+        assertNull( store.load() );
+
+        ArgumentCaptor<Runnable> writeCaptor = ArgumentCaptor.forClass( Runnable.class );
+        verify( executor ).execute( writeCaptor.capture() );
+        writeCaptor.getValue().run();
+
+        assertEquals( composition, store.load() );
+    }
+
+    @Test
+    void shouldWriteOnlyLatestPendingComposition()
+    {
+        ExecutorService executor = mock( ExecutorService.class );
+        RoutingTableStore store = new RoutingTableStore( file, A, MAX_AGE, clock, executor, DEV_NULL_LOGGING );
+        ClusterComposition composition1 = new ClusterComposition( 1000, asOrderedSet( A ), asOrderedSet( B ),
+                asOrderedSet( C ) );
+        ClusterComposition composition2 = new ClusterComposition( 1000, asOrderedSet( D ), asOrderedSet( E ),
+                asOrderedSet( C ) );
+
+        store.saveAsync( composition1 );
+        store.saveAsync( composition2 );
+
+        ArgumentCaptor<Runnable> writeCaptor = ArgumentCaptor.forClass( Runnable.class );
+        verify( executor ).execute( writeCaptor.capture() );
+        writeCaptor.getValue().run();
+
+        assertEquals( composition2, store.load() );
+    }
+
+    @Test
+    void shouldNotPropagateRejectedWrites()
+    {
+        ExecutorService executor = mock( ExecutorService.class );
+        doThrow( new RejectedExecutionException() ).when( executor ).execute( any() );
+        RoutingTableStore store = new RoutingTableStore( file, A, MAX_AGE, clock, executor, DEV_NULL_LOGGING );
+        ClusterComposition composition = new ClusterComposition( 1000, asOrderedSet( A ), asOrderedSet( B ),
+                asOrderedSet( C ) );
+
+        store.saveAsync( composition );
+        store.close();
+
+        verify( executor ).shutdown();
+        assertNull( store.load() );
+    }
+
+    private RoutingTableStore newStore( BoltServerAddress initialRouter )
+    {
+        return new RoutingTableStore( file, initialRouter, MAX_AGE, clock, DEV_NULL_LOGGING );
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.spi.Connection;
+import org.neo4j.driver.internal.spi.ConnectionPool;
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
+
+import static java.util.Collections.singleton;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.A;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.B;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.C;
+import static org.neo4j.driver.internal.cluster.loadbalancing.CircuitBreakers.State.CLOSED;
+import static org.neo4j.driver.internal.cluster.loadbalancing.CircuitBreakers.State.HALF_OPEN;
+import static org.neo4j.driver.internal.cluster.loadbalancing.CircuitBreakers.State.OPEN;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+
+class CircuitBreakersTest
+{
+    private static final CircuitBreakerSettings SETTINGS = new CircuitBreakerSettings( 3, 42 );
+
+    private final ConnectionPool connectionPool = mock( ConnectionPool.class );
+    private final ScheduledFuture<?> probeFuture = mock( ScheduledFuture.class );
+    private final EventExecutor eventExecutor = newEventExecutorMock( probeFuture );
+    private final CircuitBreakers breakers = new CircuitBreakers( SETTINGS, connectionPool,
+            newEventExecutorGroupMock( eventExecutor ), DEV_NULL_LOGGING.getLog( "CircuitBreakers" ) );
+
+    @Test
+    void shouldBeEnabledOnlyWithPositiveFailureThreshold()
+    {
+        assertTrue( SETTINGS.isEnabled() );
+        assertFalse( CircuitBreakerSettings.DISABLED.isEnabled() );
+        assertFalse( new CircuitBreakerSettings( 0, 1000 ).isEnabled() );
+    }
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures()
+    {
+        breakers.onFailure( A );
+        breakers.onFailure( A );
+        assertEquals( CLOSED, breakers.state( A ) );
+        assertTrue( breakers.isAvailable( A ) );
+
+        breakers.onFailure( A );
+        assertEquals( OPEN, breakers.state( A ) );
+        assertFalse( breakers.isAvailable( A ) );
+        verify( eventExecutor ).schedule( any( Runnable.class ), eq( 42L ), eq( MILLISECONDS ) );
+    }
+
+    @Test
+    void shouldResetFailureCountOnSuccess()
+    {
+        breakers.onFailure( A );
+        breakers.onFailure( A );
+        breakers.onSuccess( A );
+        breakers.onFailure( A );
+        breakers.onFailure( A );
+
+        assertEquals( CLOSED, breakers.state( A ) );
+    }
+
+    @Test
+    void shouldReturnSameArrayWhenAllAddressesAvailable()
+    {
+        BoltServerAddress[] addresses = {A, B, C};
+        breakers.onFailure( B );
+
+        assertSame( addresses, breakers.available( addresses ) );
+    }
+
+    @Test
+    void shouldFilterOutAddressesWithOpenBreakers()
+    {
+        openBreaker( B );
+
+        assertArrayEquals( new BoltServerAddress[]{A, C}, breakers.available( new BoltServerAddress[]{A, B, C} ) );
+    }
+
+    @Test
+    void shouldReportNoneAvailableOnlyWhenAllBreakersAreOpen()
+    {
+        BoltServerAddress[] addresses = {A, B};
+        breakers.onFailure( A );
+        breakers.onFailure( B );
+        openBreaker( A );
+
+        assertFalse( breakers.noneAvailable( addresses ) );
+        assertFalse( breakers.noneAvailable( new BoltServerAddress[0] ) );
+
+        openBreaker( B );
+        assertTrue( breakers.noneAvailable( addresses ) );
+    }
+
+    @Test
+    void shouldAllowForgettingUnavailableServersOncePerCooldown()
+    {
+        assertTrue( breakers.tryForgetUnavailable( 1000 ) );
+        assertFalse( breakers.tryForgetUnavailable( 1000 ) );
+        assertFalse( breakers.tryForgetUnavailable( 1041 ) );
+        assertTrue( breakers.tryForgetUnavailable( 1042 ) );
+    }
+
+    @Test
+    void shouldCloseWhenProbeSucceeds()
+    {
+        Connection connection = newConnectionMock( completedFuture( null ) );
+        when( connectionPool.acquire( A ) ).thenReturn( completedFuture( connection ) );
+        Runnable probe = openBreaker( A );
+
+        probe.run();
+
+        assertEquals( CLOSED, breakers.state( A ) );
+        assertTrue( breakers.isAvailable( A ) );
+        verify( connection ).reset();
+        verify( connection ).release();
+    }
+
+    @Test
+    void shouldBeHalfOpenWhileProbing()
+    {
+        when( connectionPool.acquire( A ) ).thenReturn( new CompletableFuture<>() );
+        Runnable probe = openBreaker( A );
+
+        probe.run();
+
+        assertEquals( HALF_OPEN, breakers.state( A ) );
+        assertFalse( breakers.isAvailable( A ) );
+    }
+
+    @Test
+    void shouldReopenWhenProbeFailsToConnect()
+    {
+        when( connectionPool.acquire( A ) ).thenReturn( Futures.failedFuture( new ServiceUnavailableException( "" ) ) );
+        Runnable probe = openBreaker( A );
+
+        probe.run();
+
+        assertEquals( OPEN, breakers.state( A ) );
+        verify( eventExecutor, times( 2 ) ).schedule( any( Runnable.class ), eq( 42L ), eq( MILLISECONDS ) );
+    }
+
+    @Test
+    void shouldReopenAndReleaseConnectionWhenProbeFailsToReset()
+    {
+        Connection connection = newConnectionMock( Futures.failedFuture( new ServiceUnavailableException( "" ) ) );
+        when( connectionPool.acquire( A ) ).thenReturn( completedFuture( connection ) );
+        Runnable probe = openBreaker( A );
+
+        probe.run();
+
+        assertEquals( OPEN, breakers.state( A ) );
+        verify( connection ).release();
+        verify( eventExecutor, times( 2 ) ).schedule( any( Runnable.class ), eq( 42L ), eq( MILLISECONDS ) );
+    }
+
+    @Test
+    void shouldStopTrackingRemovedAddresses()
+    {
+        Runnable probe = openBreaker( A );
+        openBreaker( B );
+
+        breakers.retainAll( singleton( B ) );
+
+        assertEquals( CLOSED, breakers.state( A ) );
+        assertEquals( OPEN, breakers.state( B ) );
+        verify( probeFuture ).cancel( false );
+
+        probe.run();
+        verify( connectionPool, never() ).acquire( A );
+    }
+
+    @Test
+    void shouldCancelProbesWhenClosed()
+    {
+        Runnable probe = openBreaker( A );
+
+        breakers.close();
+
+        verify( probeFuture ).cancel( false );
+        probe.run();
+        verify( connectionPool, never() ).acquire( A );
+    }
+
+    private Runnable openBreaker( BoltServerAddress address )
+    {
+        for ( int i = 0; i < SETTINGS.failureThreshold(); i++ )
+        {
+            breakers.onFailure( address );
+        }
+        assertEquals( OPEN, breakers.state( address ) );
+
+        ArgumentCaptor<Runnable> probeCaptor = ArgumentCaptor.forClass( Runnable.class );
+        verify( eventExecutor, atLeastOnce() ).schedule( probeCaptor.capture(), anyLong(), any( TimeUnit.class ) );
+        return probeCaptor.getValue();
+    }
+
+    private static Connection newConnectionMock( CompletableFuture<Void> resetFuture )
+    {
+        Connection connection = mock( Connection.class );
+        when( connection.reset() ).thenReturn( resetFuture );
+        when( connection.release() ).thenReturn( completedFuture( null ) );
+        return connection;
+    }
+
+    private static EventExecutor newEventExecutorMock( ScheduledFuture<?> scheduledFuture )
+    {
+        EventExecutor eventExecutor = mock( EventExecutor.class );
+        doReturn( scheduledFuture ).when( eventExecutor )
+                .schedule( any( Runnable.class ), anyLong(), any( TimeUnit.class ) );
+        return eventExecutor;
+    }
+
+    private static EventExecutorGroup newEventExecutorGroupMock( EventExecutor eventExecutor )
+    {
+        EventExecutorGroup eventExecutorGroup = mock( EventExecutorGroup.class );
+        when( eventExecutorGroup.next() ).thenReturn( eventExecutor );
+        return eventExecutorGroup;
+    }
+}
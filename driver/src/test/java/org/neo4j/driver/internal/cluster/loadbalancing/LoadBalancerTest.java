@@ -18,13 +18,19 @@
  */
 package org.neo4j.driver.internal.cluster.loadbalancing;
 
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
 import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.cluster.AddressSet;
@@ -32,28 +38,40 @@ import org.neo4j.driver.internal.cluster.ClusterComposition;
 import org.neo4j.driver.internal.cluster.ClusterRoutingTable;
 import org.neo4j.driver.internal.cluster.Rediscovery;
 import org.neo4j.driver.internal.cluster.RoutingTable;
+import org.neo4j.driver.internal.cluster.RoutingTableStore;
 import org.neo4j.driver.internal.spi.Connection;
 import org.neo4j.driver.internal.spi.ConnectionPool;
+import org.neo4j.driver.internal.spi.ResponseHandler;
 import org.neo4j.driver.internal.util.FakeClock;
 import org.neo4j.driver.internal.util.Futures;
 import org.neo4j.driver.v1.AccessMode;
 import org.neo4j.driver.v1.exceptions.ServiceUnavailableException;
 import org.neo4j.driver.v1.exceptions.SessionExpiredException;
 
+import static java.time.Duration.ofMinutes;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.driver.internal.BoltServerAddress.LOCAL_DEFAULT;
@@ -180,6 +198,45 @@ class LoadBalancerTest
         assertTrue( seenAddresses.containsAll( asList( A, C ) ) );
     }
 
+    @Test
+    void shouldNotSelectExcludedAddress()
+    {
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        RoutingTable routingTable = mock( RoutingTable.class );
+        AddressSet readerAddresses = mock( AddressSet.class );
+        when( readerAddresses.toArray() ).thenReturn( new BoltServerAddress[]{A, B, C} );
+        when( routingTable.readers() ).thenReturn( readerAddresses );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, mock( Rediscovery.class ),
+                GlobalEventExecutor.INSTANCE, DEV_NULL_LOGGING );
+
+        Set<BoltServerAddress> seenAddresses = new HashSet<>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            Connection connection = await( loadBalancer.acquireConnection( READ, B ) );
+            seenAddresses.add( connection.serverAddress() );
+        }
+
+        assertEquals( new HashSet<>( asList( A, C ) ), seenAddresses );
+    }
+
+    @Test
+    void shouldFailWhenOnlyExcludedAddressIsAvailable()
+    {
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        RoutingTable routingTable = mock( RoutingTable.class );
+        AddressSet readerAddresses = mock( AddressSet.class );
+        when( readerAddresses.toArray() ).thenReturn( new BoltServerAddress[]{A} );
+        when( routingTable.readers() ).thenReturn( readerAddresses );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, mock( Rediscovery.class ),
+                GlobalEventExecutor.INSTANCE, DEV_NULL_LOGGING );
+
+        assertThrows( SessionExpiredException.class, () -> await( loadBalancer.acquireConnection( READ, A ) ) );
+        verify( connectionPool, never() ).acquire( A );
+        verify( routingTable, never() ).forget( A );
+    }
+
     @Test
     void shouldRoundRobinWhenNoActiveConnections()
     {
@@ -230,6 +287,25 @@ class LoadBalancerTest
         assertArrayEquals( new BoltServerAddress[]{B}, routingTable.readers().toArray() );
     }
 
+    @Test
+    void shouldFailWhenOnlyKnownReaderIsUnavailable()
+    {
+        ConnectionPool connectionPool = newConnectionPoolMockWithFailures( asOrderedSet( B ) );
+
+        ClusterRoutingTable routingTable = new ClusterRoutingTable( new FakeClock(), A );
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( any(), any() ) ).thenReturn( completedFuture(
+                new ClusterComposition( 42, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                GlobalEventExecutor.INSTANCE, DEV_NULL_LOGGING );
+
+        assertTimeoutPreemptively( ofMinutes( 1 ), () ->
+                assertThrows( SessionExpiredException.class, () -> await( loadBalancer.acquireConnection( READ ) ) ) );
+        verify( connectionPool ).acquire( B );
+        assertEquals( 0, routingTable.readers().size() );
+    }
+
     @Test
     void shouldRemoveAddressFromRoutingTableOnConnectionFailure()
     {
@@ -253,6 +329,100 @@ class LoadBalancerTest
         assertArrayEquals( new BoltServerAddress[]{D, F}, routingTable.routers().toArray() );
     }
 
+    @Test
+    void shouldKeepAddressInRoutingTableOnConnectionFailureWhenCircuitBreakersEnabled()
+    {
+        RoutingTable routingTable = new ClusterRoutingTable( new FakeClock() );
+        routingTable.update( new ClusterComposition(
+                42, asOrderedSet( B, C ), asOrderedSet( A ), asOrderedSet( A ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, newRediscoveryMock(),
+                newEventExecutorGroupMock( newEventExecutorMock() ), new CircuitBreakerSettings( 2, 1000 ),
+                DEV_NULL_LOGGING );
+
+        loadBalancer.onConnectionFailure( B );
+        loadBalancer.onConnectionFailure( B );
+
+        assertArrayEquals( new BoltServerAddress[]{B, C}, routingTable.readers().toArray() );
+        for ( int i = 0; i < 10; i++ )
+        {
+            Connection connection = await( loadBalancer.acquireConnection( READ ) );
+            assertEquals( C, connection.serverAddress() );
+        }
+        verify( connectionPool, never() ).acquire( B );
+    }
+
+    @Test
+    void shouldRemoveAddressesFromRoutingTableWhenAllAreUnavailableAndCircuitBreakersEnabled()
+    {
+        RoutingTable routingTable = new ClusterRoutingTable( new FakeClock() );
+        routingTable.update( new ClusterComposition(
+                42, asOrderedSet( B, C ), asOrderedSet( A ), asOrderedSet( A ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMockWithFailures( asOrderedSet( B, C ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, newRediscoveryMock(),
+                GlobalEventExecutor.INSTANCE, new CircuitBreakerSettings( 1, ofMinutes( 1 ).toMillis() ),
+                DEV_NULL_LOGGING );
+
+        assertThrows( SessionExpiredException.class, () -> await( loadBalancer.acquireConnection( READ ) ) );
+
+        verify( connectionPool ).acquire( B );
+        verify( connectionPool ).acquire( C );
+        assertEquals( 0, routingTable.readers().size() );
+        assertArrayEquals( new BoltServerAddress[]{A}, routingTable.writers().toArray() );
+        loadBalancer.close();
+    }
+
+    @Test
+    void shouldKeepAddressesThatFailedBelowThresholdWhenCircuitBreakersEnabled()
+    {
+        RoutingTable routingTable = new ClusterRoutingTable( new FakeClock() );
+        routingTable.update( new ClusterComposition(
+                42, asOrderedSet( B, C ), asOrderedSet( A ), asOrderedSet( A ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMockWithFailures( asOrderedSet( B, C ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, newRediscoveryMock(),
+                GlobalEventExecutor.INSTANCE, new CircuitBreakerSettings( 2, ofMinutes( 1 ).toMillis() ),
+                DEV_NULL_LOGGING );
+
+        assertThrows( SessionExpiredException.class, () -> await( loadBalancer.acquireConnection( READ ) ) );
+
+        verify( connectionPool ).acquire( B );
+        verify( connectionPool ).acquire( C );
+        assertArrayEquals( new BoltServerAddress[]{B, C}, routingTable.readers().toArray() );
+        loadBalancer.close();
+    }
+
+    @Test
+    void shouldNotRemoveRediscoveredUnavailableAddressesAgainDuringCooldown()
+    {
+        RoutingTable routingTable = new ClusterRoutingTable( new FakeClock() );
+        ClusterComposition composition = new ClusterComposition(
+                42, asOrderedSet( B, C ), asOrderedSet( A ), asOrderedSet( A ) );
+        routingTable.update( composition );
+        ConnectionPool connectionPool = newConnectionPoolMockWithFailures( asOrderedSet( B, C ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, newRediscoveryMock(),
+                GlobalEventExecutor.INSTANCE, new CircuitBreakerSettings( 1, ofMinutes( 1 ).toMillis() ),
+                DEV_NULL_LOGGING );
+
+        assertThrows( SessionExpiredException.class, () -> await( loadBalancer.acquireConnection( READ ) ) );
+        assertEquals( 0, routingTable.readers().size() );
+
+        // rediscovery returns same servers while their breakers are still open
+        routingTable.update( composition );
+        for ( int i = 0; i < 10; i++ )
+        {
+            assertThrows( SessionExpiredException.class, () -> await( loadBalancer.acquireConnection( READ ) ) );
+        }
+
+        assertArrayEquals( new BoltServerAddress[]{B, C}, routingTable.readers().toArray() );
+        verify( connectionPool ).acquire( B );
+        verify( connectionPool ).acquire( C );
+        loadBalancer.close();
+    }
+
     @Test
     void shouldRetainAllFetchedAddressesInConnectionPoolAfterFetchingOfRoutingTable()
     {
@@ -275,6 +445,350 @@ class LoadBalancerTest
         verify( connectionPool ).retainAll( new HashSet<>( asList( A, B, C ) ) );
     }
 
+    @Test
+    void shouldRetainAllFetchedAddressesInResponseTimeTracker()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock );
+        routingTable.update( new ClusterComposition(
+                42, asOrderedSet(), asOrderedSet( B, C ), asOrderedSet( D, E ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        PeakEwmaLoadBalancingStrategy peakEwmaStrategy = spy( new PeakEwmaLoadBalancingStrategy( clock,
+                DEV_NULL_LOGGING ) );
+
+        Rediscovery rediscovery = newRediscoveryMock();
+        when( rediscovery.lookupClusterComposition( any(), any() ) ).thenReturn( completedFuture(
+                new ClusterComposition( 42, asOrderedSet( A, B ), asOrderedSet( B, C ), asOrderedSet( A, C ) ) ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                GlobalEventExecutor.INSTANCE, peakEwmaStrategy, DEV_NULL_LOGGING );
+
+        assertNotNull( await( loadBalancer.acquireConnection( READ ) ) );
+
+        verify( peakEwmaStrategy ).retainAll( new HashSet<>( asList( A, B, C ) ) );
+    }
+
+    @Test
+    void shouldScheduleBackgroundRefreshBeforeRoutingTableExpires()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        EventExecutor eventExecutor = newEventExecutorMock();
+
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) ).thenReturn( completedFuture(
+                new ClusterComposition( clock.millis() + 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( eventExecutor ), clock, 0.2, DEV_NULL_LOGGING );
+
+        assertNotNull( await( loadBalancer.acquireConnection( READ ) ) );
+
+        verify( eventExecutor ).schedule( any( Runnable.class ), eq( 800L ), eq( MILLISECONDS ) );
+    }
+
+    @Test
+    void shouldServeCurrentRoutingTableWhileBackgroundRefreshIsInProgress()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        EventExecutor eventExecutor = newEventExecutorMock();
+
+        CompletableFuture<ClusterComposition> backgroundLookup = new CompletableFuture<>();
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) )
+                .thenReturn( completedFuture( new ClusterComposition( clock.millis() + 1000,
+                        asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) ) )
+                .thenReturn( backgroundLookup );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( eventExecutor ), clock, 0.1, DEV_NULL_LOGGING );
+
+        assertNotNull( await( loadBalancer.acquireConnection( READ ) ) );
+
+        ArgumentCaptor<Runnable> refreshCaptor = ArgumentCaptor.forClass( Runnable.class );
+        verify( eventExecutor ).schedule( refreshCaptor.capture(), eq( 900L ), eq( MILLISECONDS ) );
+        clock.progress( 900 );
+        refreshCaptor.getValue().run();
+        verify( rediscovery, times( 2 ) ).lookupClusterComposition( routingTable, connectionPool );
+
+        // background lookup is not yet completed but connection is acquired from the current routing table
+        Connection connection = await( loadBalancer.acquireConnection( WRITE ) );
+        assertEquals( C, connection.serverAddress() );
+
+        backgroundLookup.complete( new ClusterComposition( clock.millis() + 1000,
+                asOrderedSet( D ), asOrderedSet( E ), asOrderedSet( A ) ) );
+
+        assertArrayEquals( new BoltServerAddress[]{D}, routingTable.readers().toArray() );
+        assertArrayEquals( new BoltServerAddress[]{E}, routingTable.writers().toArray() );
+        verify( eventExecutor, times( 2 ) ).schedule( any( Runnable.class ), eq( 900L ), eq( MILLISECONDS ) );
+    }
+
+    @Test
+    void shouldKeepCurrentRoutingTableWhenBackgroundRefreshFails()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        EventExecutor eventExecutor = newEventExecutorMock();
+
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) )
+                .thenReturn( completedFuture( new ClusterComposition( clock.millis() + 1000,
+                        asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) ) )
+                .thenReturn( Futures.failedFuture( new ServiceUnavailableException( "No routers" ) ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( eventExecutor ), clock, 0.1, DEV_NULL_LOGGING );
+
+        assertNotNull( await( loadBalancer.acquireConnection( READ ) ) );
+
+        ArgumentCaptor<Runnable> refreshCaptor = ArgumentCaptor.forClass( Runnable.class );
+        verify( eventExecutor ).schedule( refreshCaptor.capture(), eq( 900L ), eq( MILLISECONDS ) );
+        refreshCaptor.getValue().run();
+
+        assertArrayEquals( new BoltServerAddress[]{B}, routingTable.readers().toArray() );
+        assertEquals( B, await( loadBalancer.acquireConnection( READ ) ).serverAddress() );
+    }
+
+    @Test
+    void shouldCancelBackgroundRefreshOnClose()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        ScheduledFuture<?> scheduledRefresh = mock( ScheduledFuture.class );
+        EventExecutor eventExecutor = newEventExecutorMock( scheduledRefresh );
+
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) ).thenReturn( completedFuture(
+                new ClusterComposition( clock.millis() + 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( eventExecutor ), clock, 0.1, DEV_NULL_LOGGING );
+
+        assertNotNull( await( loadBalancer.acquireConnection( READ ) ) );
+        loadBalancer.close();
+
+        verify( scheduledRefresh ).cancel( false );
+    }
+
+    @Test
+    void shouldNotScheduleBackgroundRefreshWhenDisabled()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        EventExecutor eventExecutor = newEventExecutorMock();
+
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) ).thenReturn( completedFuture(
+                new ClusterComposition( clock.millis() + 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( eventExecutor ), clock, 0, DEV_NULL_LOGGING );
+
+        assertNotNull( await( loadBalancer.acquireConnection( READ ) ) );
+
+        verify( eventExecutor, never() ).schedule( any( Runnable.class ), anyLong(), any( TimeUnit.class ) );
+    }
+
+    @Test
+    void shouldUsePersistedRoutingTableAndRevalidateItInBackground()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        RoutingTableStore store = mock( RoutingTableStore.class );
+        when( store.load() ).thenReturn(
+                new ClusterComposition( clock.millis() + 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( D ) ) );
+
+        CompletableFuture<ClusterComposition> lookupFuture = new CompletableFuture<>();
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) ).thenReturn( lookupFuture );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( newEventExecutorMock() ), clock, store, DEV_NULL_LOGGING );
+
+        // persisted routing table is used while it is being re-validated
+        verify( rediscovery ).lookupClusterComposition( routingTable, connectionPool );
+        Connection connection = await( loadBalancer.acquireConnection( READ ) );
+        assertEquals( B, connection.serverAddress() );
+
+        ClusterComposition fetched =
+                new ClusterComposition( clock.millis() + 1000, asOrderedSet( E ), asOrderedSet( F ), asOrderedSet( D ) );
+        lookupFuture.complete( fetched );
+
+        assertArrayEquals( new BoltServerAddress[]{E}, routingTable.readers().toArray() );
+        verify( store ).saveAsync( fetched );
+        verify( rediscovery ).lookupClusterComposition( routingTable, connectionPool );
+    }
+
+    @Test
+    void shouldStartWithInitialRouterWhenNoRoutingTableIsPersisted()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        RoutingTableStore store = mock( RoutingTableStore.class );
+        Rediscovery rediscovery = newRediscoveryMock();
+
+        new LoadBalancer( newConnectionPoolMock(), routingTable, rediscovery,
+                newEventExecutorGroupMock( newEventExecutorMock() ), clock, store, DEV_NULL_LOGGING );
+
+        verify( store ).load();
+        verify( rediscovery, never() ).lookupClusterComposition( any(), any() );
+        assertTrue( routingTable.isStaleFor( READ ) );
+    }
+
+    @Test
+    void shouldTrackResponseTimesForStrategyWrappedInLocalityAwareStrategy()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        routingTable.update( new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        PeakEwmaLoadBalancingStrategy peakEwmaStrategy = spy( new PeakEwmaLoadBalancingStrategy( clock,
+                DEV_NULL_LOGGING ) );
+        LoadBalancingStrategy localityAwareStrategy = new LocalityAwareLoadBalancingStrategy( peakEwmaStrategy,
+                connectionPool, singletonList( "*" ), 10 );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, newRediscoveryMock(),
+                newEventExecutorGroupMock( newEventExecutorMock() ), localityAwareStrategy, DEV_NULL_LOGGING );
+
+        Connection connection = await( loadBalancer.acquireConnection( READ ) );
+        connection.runAndFlush( "RETURN 1", emptyMap(), mock( ResponseHandler.class ), mock( ResponseHandler.class ) );
+
+        verify( peakEwmaStrategy ).requestStarted( B );
+    }
+
+    @Test
+    void shouldCloseRoutingTableStore()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTableStore store = mock( RoutingTableStore.class );
+        LoadBalancer loadBalancer = new LoadBalancer( newConnectionPoolMock(), new ClusterRoutingTable( clock, A ),
+                newRediscoveryMock(), newEventExecutorGroupMock( newEventExecutorMock() ), clock, store,
+                DEV_NULL_LOGGING );
+
+        loadBalancer.close();
+
+        verify( store ).close();
+    }
+
+    @Test
+    void shouldLookupNewLeaderRightAfterWriteFailure()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        routingTable.update( new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) ).thenReturn( completedFuture(
+                new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( D ), asOrderedSet( A ) ) ) );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( newEventExecutorMock() ), clock, null, DEV_NULL_LOGGING );
+
+        loadBalancer.onWriteFailure( C );
+
+        verify( rediscovery ).lookupClusterComposition( routingTable, connectionPool );
+        assertArrayEquals( new BoltServerAddress[]{D}, routingTable.writers().toArray() );
+        assertEquals( D, await( loadBalancer.acquireConnection( WRITE ) ).serverAddress() );
+        verify( rediscovery ).lookupClusterComposition( routingTable, connectionPool );
+    }
+
+    @Test
+    void shouldPauseWritesUntilNewLeaderIsElected()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        routingTable.update( new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) )
+                .thenReturn( completedFuture( new ClusterComposition( 1000, asOrderedSet( B ), emptySet(),
+                        asOrderedSet( A ) ) ) )
+                .thenReturn( completedFuture( new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( D ),
+                        asOrderedSet( A ) ) ) );
+        EventExecutor eventExecutor = newEventExecutorMock();
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( eventExecutor ), clock, null, DEV_NULL_LOGGING );
+
+        loadBalancer.onWriteFailure( C );
+        CompletableFuture<Connection> write1 = loadBalancer.acquireConnection( WRITE ).toCompletableFuture();
+        CompletableFuture<Connection> write2 = loadBalancer.acquireConnection( WRITE ).toCompletableFuture();
+
+        // writes wait for the election while reads proceed
+        assertFalse( write1.isDone() );
+        assertFalse( write2.isDone() );
+        assertEquals( B, await( loadBalancer.acquireConnection( READ ) ).serverAddress() );
+
+        ArgumentCaptor<Runnable> retryCaptor = ArgumentCaptor.forClass( Runnable.class );
+        verify( eventExecutor ).schedule( retryCaptor.capture(),
+                eq( LoadBalancer.LEADER_SWITCH_RETRY_DELAY_MS ), eq( MILLISECONDS ) );
+        clock.progress( LoadBalancer.LEADER_SWITCH_RETRY_DELAY_MS );
+        retryCaptor.getValue().run();
+
+        assertEquals( D, await( write1 ).serverAddress() );
+        assertEquals( D, await( write2 ).serverAddress() );
+        verify( rediscovery, times( 2 ) ).lookupClusterComposition( routingTable, connectionPool );
+    }
+
+    @Test
+    void shouldResumeWaitingWritesWithoutHoldingLock()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        routingTable.update( new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( C ), asOrderedSet( A ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        CompletableFuture<ClusterComposition> lookupFuture = new CompletableFuture<>();
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) ).thenReturn( lookupFuture );
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( newEventExecutorMock() ), clock, null, DEV_NULL_LOGGING );
+
+        loadBalancer.onWriteFailure( C );
+        CompletableFuture<Boolean> writeResumedUnderLock = loadBalancer.acquireConnection( WRITE )
+                .thenApply( connection -> Thread.holdsLock( loadBalancer ) ).toCompletableFuture();
+        assertFalse( writeResumedUnderLock.isDone() );
+
+        lookupFuture.complete( new ClusterComposition( 1000, asOrderedSet( B ), asOrderedSet( D ), asOrderedSet( A ) ) );
+
+        assertFalse( await( writeResumedUnderLock ) );
+    }
+
+    @Test
+    void shouldResumeWritesWhenNewLeaderIsNotElectedInTime()
+    {
+        FakeClock clock = new FakeClock();
+        RoutingTable routingTable = new ClusterRoutingTable( clock, A );
+        routingTable.update( new ClusterComposition( 100_000, asOrderedSet( B ), asOrderedSet( C ),
+                asOrderedSet( A ) ) );
+        ConnectionPool connectionPool = newConnectionPoolMock();
+        Rediscovery rediscovery = mock( Rediscovery.class );
+        when( rediscovery.lookupClusterComposition( routingTable, connectionPool ) ).thenReturn( completedFuture(
+                new ClusterComposition( 100_000, asOrderedSet( B ), emptySet(), asOrderedSet( A ) ) ) );
+        EventExecutor eventExecutor = newEventExecutorMock();
+
+        LoadBalancer loadBalancer = new LoadBalancer( connectionPool, routingTable, rediscovery,
+                newEventExecutorGroupMock( eventExecutor ), clock, null, DEV_NULL_LOGGING );
+
+        loadBalancer.onWriteFailure( C );
+        CompletableFuture<Connection> write = loadBalancer.acquireConnection( WRITE ).toCompletableFuture();
+        assertFalse( write.isDone() );
+
+        ArgumentCaptor<Runnable> retryCaptor = ArgumentCaptor.forClass( Runnable.class );
+        verify( eventExecutor ).schedule( retryCaptor.capture(), anyLong(), eq( MILLISECONDS ) );
+        clock.progress( LoadBalancer.LEADER_SWITCH_MAX_PAUSE_MS );
+        retryCaptor.getValue().run();
+
+        assertThrows( SessionExpiredException.class, () -> await( write ) );
+    }
+
     private void testRediscoveryWhenStale( AccessMode mode )
     {
         ConnectionPool connectionPool = mock( ConnectionPool.class );
@@ -289,7 +803,8 @@ class LoadBalancerTest
         Connection connection = await( loadBalancer.acquireConnection( mode ) );
         assertNotNull( connection );
 
-        verify( routingTable ).isStaleFor( mode );
+        // staleness is checked once on the lock-free path and once more under the lock before refreshing
+        verify( routingTable, times( 2 ) ).isStaleFor( mode );
         verify( rediscovery ).lookupClusterComposition( routingTable, connectionPool );
     }
 
@@ -315,8 +830,7 @@ class LoadBalancerTest
         RoutingTable routingTable = mock( RoutingTable.class );
         when( routingTable.isStaleFor( mode ) ).thenReturn( true );
 
-        AddressSet addresses = new AddressSet();
-        addresses.update( new HashSet<>( singletonList( LOCAL_DEFAULT ) ) );
+        AddressSet addresses = new AddressSet( new HashSet<>( singletonList( LOCAL_DEFAULT ) ) );
         when( routingTable.readers() ).thenReturn( addresses );
         when( routingTable.writers() ).thenReturn( addresses );
 
@@ -333,6 +847,26 @@ class LoadBalancerTest
         return rediscovery;
     }
 
+    private static EventExecutor newEventExecutorMock()
+    {
+        return newEventExecutorMock( mock( ScheduledFuture.class ) );
+    }
+
+    private static EventExecutor newEventExecutorMock( ScheduledFuture<?> scheduledFuture )
+    {
+        EventExecutor eventExecutor = mock( EventExecutor.class );
+        doReturn( scheduledFuture ).when( eventExecutor )
+                .schedule( any( Runnable.class ), anyLong(), any( TimeUnit.class ) );
+        return eventExecutor;
+    }
+
+    private static EventExecutorGroup newEventExecutorGroupMock( EventExecutor eventExecutor )
+    {
+        EventExecutorGroup eventExecutorGroup = mock( EventExecutorGroup.class );
+        when( eventExecutorGroup.next() ).thenReturn( eventExecutor );
+        return eventExecutorGroup;
+    }
+
     private static ConnectionPool newConnectionPoolMock()
     {
         return newConnectionPoolMockWithFailures( emptySet() );
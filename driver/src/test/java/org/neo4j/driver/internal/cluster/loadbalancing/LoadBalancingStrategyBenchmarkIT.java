@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.spi.Connection;
+import org.neo4j.driver.internal.spi.ConnectionPool;
+import org.neo4j.driver.internal.util.Clock;
+import org.neo4j.driver.internal.util.Futures;
+import org.neo4j.driver.v1.Logger;
+import org.neo4j.driver.v1.Logging;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+
+/**
+ * Compares throughput of address selection and evenness of the resulting load for all load balancing strategies.
+ * Many threads concurrently select readers and keep selected "connections" in use for a while, so that thousands of
+ * connections are in use at any point in time. In-use connections are tracked in a concurrent map per address, same
+ * as in the real connection pool. Results are logged at INFO level.
+ * <p>
+ * Benchmark takes a while and keeps many threads busy, so it only runs when the {@value #ENABLED_PROPERTY} system
+ * property is set to {@code true}, e.g. {@code mvn verify -Dit.test=LoadBalancingStrategyBenchmarkIT
+ * -DloadBalancingBenchmark=true}.
+ */
+@EnabledIfSystemProperty( named = LoadBalancingStrategyBenchmarkIT.ENABLED_PROPERTY, matches = "true" )
+class LoadBalancingStrategyBenchmarkIT
+{
+    static final String ENABLED_PROPERTY = "loadBalancingBenchmark";
+
+    private static final int READER_COUNT = 24;
+    private static final int THREAD_COUNT = 64;
+    private static final int IN_USE_CONNECTIONS_PER_THREAD = 32;
+    private static final long WARMUP_MILLIS = SECONDS.toMillis( 1 );
+    private static final long MEASUREMENT_MILLIS = SECONDS.toMillis( 3 );
+
+    @Test
+    void compareLoadBalancingStrategies() throws Exception
+    {
+        BoltServerAddress[] readers = new BoltServerAddress[READER_COUNT];
+        for ( int i = 0; i < READER_COUNT; i++ )
+        {
+            readers[i] = new BoltServerAddress( "reader-" + i, 7687 );
+        }
+
+        List<Result> results = new ArrayList<>();
+        results.add( run( "ROUND_ROBIN", readers, pool -> new RoundRobinLoadBalancingStrategy( DEV_NULL_LOGGING ) ) );
+        results.add( run( "LEAST_CONNECTED", readers,
+                pool -> new LeastConnectedLoadBalancingStrategy( pool, DEV_NULL_LOGGING ) ) );
+        results.add( run( "PEAK_EWMA", readers,
+                pool -> new PeakEwmaLoadBalancingStrategy( Clock.SYSTEM, DEV_NULL_LOGGING ) ) );
+        results.add( run( "POWER_OF_TWO_CHOICES", readers,
+                pool -> new PowerOfTwoChoicesLoadBalancingStrategy( pool, DEV_NULL_LOGGING ) ) );
+
+        Logger log = Logging.javaUtilLogging( Level.INFO )
+                .getLog( LoadBalancingStrategyBenchmarkIT.class.getSimpleName() );
+        log.info( "%d readers, %d threads, %d connections in use",
+                READER_COUNT, THREAD_COUNT, THREAD_COUNT * IN_USE_CONNECTIONS_PER_THREAD );
+        for ( Result result : results )
+        {
+            log.info( "%-22s %15d selections/sec %8.2f max/mean in use",
+                    result.strategy, result.selectionsPerSecond, result.imbalance );
+
+            assertTrue( result.selectionsPerSecond > 0 );
+            assertEquals( READER_COUNT, result.selectedAddresses.size(), result.strategy + " did not use all readers" );
+        }
+    }
+
+    private static Result run( String name, BoltServerAddress[] readers,
+            Function<ConnectionPool,LoadBalancingStrategy> strategyFactory ) throws Exception
+    {
+        InUseTrackingPool pool = new InUseTrackingPool();
+        LoadBalancingStrategy strategy = strategyFactory.apply( pool );
+        ResponseTimeTracker tracker = strategy instanceof ResponseTimeTracker ? (ResponseTimeTracker) strategy : null;
+
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger selections = new AtomicInteger();
+        Set<BoltServerAddress> selectedAddresses = ConcurrentHashMap.newKeySet();
+        CountDownLatch startLatch = new CountDownLatch( 1 );
+
+        ExecutorService executor = Executors.newFixedThreadPool( THREAD_COUNT );
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( int i = 0; i < THREAD_COUNT; i++ )
+            {
+                futures.add( executor.submit( () ->
+                {
+                    ArrayDeque<InUseConnection> inUse = new ArrayDeque<>();
+                    startLatch.await();
+                    while ( !stop.get() )
+                    {
+                        BoltServerAddress address = strategy.selectReader( readers );
+                        assertNotNull( address );
+                        inUse.addLast( new InUseConnection( address, System.nanoTime() ) );
+                        pool.acquired( address );
+                        if ( tracker != null )
+                        {
+                            tracker.requestStarted( address );
+                        }
+
+                        if ( inUse.size() > IN_USE_CONNECTIONS_PER_THREAD )
+                        {
+                            InUseConnection released = inUse.removeFirst();
+                            pool.released( released.address );
+                            if ( tracker != null )
+                            {
+                                tracker.requestCompleted( released.address, System.nanoTime() - released.startNanos );
+                            }
+                        }
+
+                        if ( measuring.get() )
+                        {
+                            selections.incrementAndGet();
+                            selectedAddresses.add( address );
+                        }
+                    }
+                    return null;
+                } ) );
+            }
+
+            startLatch.countDown();
+            Thread.sleep( WARMUP_MILLIS );
+
+            measuring.set( true );
+            long start = System.nanoTime();
+            double imbalanceSum = 0;
+            int imbalanceSamples = 0;
+            while ( System.nanoTime() - start < MILLISECONDS.toNanos( MEASUREMENT_MILLIS ) )
+            {
+                Thread.sleep( 10 );
+                imbalanceSum += pool.imbalance( readers );
+                imbalanceSamples++;
+            }
+            measuring.set( false );
+            long elapsedNanos = System.nanoTime() - start;
+            stop.set( true );
+
+            for ( Future<?> future : futures )
+            {
+                future.get( 1, MINUTES );
+            }
+
+            long selectionsPerSecond = selections.get() * SECONDS.toNanos( 1 ) / elapsedNanos;
+            return new Result( name, selectionsPerSecond, imbalanceSum / imbalanceSamples, selectedAddresses );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class InUseConnection
+    {
+        final BoltServerAddress address;
+        final long startNanos;
+
+        InUseConnection( BoltServerAddress address, long startNanos )
+        {
+            this.address = address;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static class Result
+    {
+        final String strategy;
+        final long selectionsPerSecond;
+        final double imbalance;
+        final Set<BoltServerAddress> selectedAddresses;
+
+        Result( String strategy, long selectionsPerSecond, double imbalance, Set<BoltServerAddress> selectedAddresses )
+        {
+            this.strategy = strategy;
+            this.selectionsPerSecond = selectionsPerSecond;
+            this.imbalance = imbalance;
+            this.selectedAddresses = selectedAddresses;
+        }
+    }
+
+    /**
+     * Pool that only counts in-use connections per address, the same way {@code NettyChannelTracker} does.
+     */
+    private static class InUseTrackingPool implements ConnectionPool
+    {
+        final Map<BoltServerAddress,AtomicInteger> inUseCounts = new ConcurrentHashMap<>();
+
+        void acquired( BoltServerAddress address )
+        {
+            inUseCounts.computeIfAbsent( address, ignore -> new AtomicInteger() ).incrementAndGet();
+        }
+
+        void released( BoltServerAddress address )
+        {
+            inUseCounts.get( address ).decrementAndGet();
+        }
+
+        double imbalance( BoltServerAddress[] addresses )
+        {
+            int max = 0;
+            long total = 0;
+            for ( BoltServerAddress address : addresses )
+            {
+                int count = inUseConnections( address );
+                max = Math.max( max, count );
+                total += count;
+            }
+            return total == 0 ? 1 : max / ((double) total / addresses.length);
+        }
+
+        @Override
+        public int inUseConnections( BoltServerAddress address )
+        {
+            AtomicInteger count = inUseCounts.get( address );
+            return count == null ? 0 : count.get();
+        }
+
+        @Override
+        public CompletionStage<Connection> acquire( BoltServerAddress address )
+        {
+            // strategies only select addresses, connections are never acquired
+            return Futures.failedFuture( new IllegalStateException( "Benchmark pool does not create connections" ) );
+        }
+
+        @Override
+        public void retainAll( Set<BoltServerAddress> addressesToRetain )
+        {
+        }
+
+        @Override
+        public int idleConnections( BoltServerAddress address )
+        {
+            return 0;
+        }
+
+        @Override
+        public CompletionStage<Void> close()
+        {
+            return Futures.completedWithNull();
+        }
+
+        @Override
+        public boolean isOpen( BoltServerAddress address )
+        {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.spi.ConnectionPool;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocalityAwareLoadBalancingStrategyTest
+{
+    private static final int OVERLOAD_THRESHOLD = 10;
+
+    private static final BoltServerAddress LOCAL_1 = new BoltServerAddress( "db-1.zone-a.internal", 7687 );
+    private static final BoltServerAddress LOCAL_2 = new BoltServerAddress( "db-2.ZONE-A.internal", 7687 );
+    private static final BoltServerAddress NEAR = new BoltServerAddress( "db-3.zone-b.internal", 7687 );
+    private static final BoltServerAddress REMOTE_1 = new BoltServerAddress( "db-4.zone-c.internal", 7687 );
+    private static final BoltServerAddress REMOTE_2 = new BoltServerAddress( "10.0.2.1", 7687 );
+
+    private ConnectionPool connectionPool;
+    private LoadBalancingStrategy delegate;
+    private LocalityAwareLoadBalancingStrategy strategy;
+
+    @BeforeEach
+    void setUp()
+    {
+        connectionPool = mock( ConnectionPool.class );
+        delegate = mock( LoadBalancingStrategy.class );
+        strategy = new LocalityAwareLoadBalancingStrategy( delegate, connectionPool,
+                asList( "*.zone-a.internal", "db-3.*" ), OVERLOAD_THRESHOLD );
+    }
+
+    @Test
+    void shouldMatchHostPatterns()
+    {
+        assertEquals( 0, strategy.groupIndex( LOCAL_1 ) );
+        assertEquals( 0, strategy.groupIndex( LOCAL_2 ) );
+        assertEquals( 1, strategy.groupIndex( NEAR ) );
+        assertEquals( 2, strategy.groupIndex( REMOTE_1 ) );
+        assertEquals( 2, strategy.groupIndex( REMOTE_2 ) );
+    }
+
+    @Test
+    void shouldTreatPatternCharactersOtherThanWildcardLiterally()
+    {
+        LocalityAwareLoadBalancingStrategy strategy = new LocalityAwareLoadBalancingStrategy( delegate,
+                connectionPool, asList( "10.0.1.*" ), OVERLOAD_THRESHOLD );
+
+        assertEquals( 0, strategy.groupIndex( new BoltServerAddress( "10.0.1.17", 7687 ) ) );
+        assertEquals( 1, strategy.groupIndex( new BoltServerAddress( "10.0.101.17", 7687 ) ) );
+        assertEquals( 1, strategy.groupIndex( REMOTE_2 ) );
+    }
+
+    @Test
+    void shouldSelectReaderFromMostPreferredGroup()
+    {
+        strategy.selectReader( new BoltServerAddress[]{REMOTE_1, LOCAL_1, NEAR, LOCAL_2} );
+
+        assertArrayEquals( new BoltServerAddress[]{LOCAL_1, LOCAL_2}, readersGivenToDelegate() );
+    }
+
+    @Test
+    void shouldFallBackToLessPreferredGroupWhenPreferredOneIsMissing()
+    {
+        strategy.selectReader( new BoltServerAddress[]{REMOTE_1, NEAR, REMOTE_2} );
+
+        assertArrayEquals( new BoltServerAddress[]{NEAR}, readersGivenToDelegate() );
+    }
+
+    @Test
+    void shouldFallBackToLessPreferredGroupWhenPreferredOneIsOverloaded()
+    {
+        when( connectionPool.inUseConnections( LOCAL_1 ) ).thenReturn( OVERLOAD_THRESHOLD );
+        when( connectionPool.inUseConnections( LOCAL_2 ) ).thenReturn( OVERLOAD_THRESHOLD + 1 );
+
+        strategy.selectReader( new BoltServerAddress[]{REMOTE_1, LOCAL_1, LOCAL_2, REMOTE_2} );
+
+        assertArrayEquals( new BoltServerAddress[]{REMOTE_1, REMOTE_2}, readersGivenToDelegate() );
+    }
+
+    @Test
+    void shouldSkipOverloadedServersInPreferredGroup()
+    {
+        when( connectionPool.inUseConnections( LOCAL_1 ) ).thenReturn( OVERLOAD_THRESHOLD );
+        when( connectionPool.inUseConnections( LOCAL_2 ) ).thenReturn( OVERLOAD_THRESHOLD - 1 );
+
+        strategy.selectReader( new BoltServerAddress[]{LOCAL_1, LOCAL_2, REMOTE_1} );
+
+        assertArrayEquals( new BoltServerAddress[]{LOCAL_2}, readersGivenToDelegate() );
+    }
+
+    @Test
+    void shouldGiveAllReadersToDelegateWhenAllAreOverloaded()
+    {
+        BoltServerAddress[] readers = {LOCAL_1, NEAR, REMOTE_1};
+        for ( BoltServerAddress reader : readers )
+        {
+            when( connectionPool.inUseConnections( reader ) ).thenReturn( OVERLOAD_THRESHOLD );
+        }
+
+        strategy.selectReader( readers );
+
+        assertSame( readers, readersGivenToDelegate() );
+    }
+
+    @Test
+    void shouldGiveAllReadersToDelegateWhenAllAreEquallyPreferred()
+    {
+        BoltServerAddress[] readers = {REMOTE_1, REMOTE_2};
+
+        strategy.selectReader( readers );
+
+        assertSame( readers, readersGivenToDelegate() );
+    }
+
+    @Test
+    void shouldHandleEmptyReadersArray()
+    {
+        BoltServerAddress[] readers = new BoltServerAddress[0];
+
+        strategy.selectReader( readers );
+
+        assertSame( readers, readersGivenToDelegate() );
+    }
+
+    @Test
+    void shouldReturnReaderSelectedByDelegate()
+    {
+        when( delegate.selectReader( any() ) ).thenReturn( LOCAL_2 );
+
+        assertEquals( LOCAL_2, strategy.selectReader( new BoltServerAddress[]{LOCAL_1, LOCAL_2} ) );
+    }
+
+    @Test
+    void shouldGiveAllWritersToDelegate()
+    {
+        BoltServerAddress[] writers = {REMOTE_1, LOCAL_1};
+        when( delegate.selectWriter( writers ) ).thenReturn( REMOTE_1 );
+
+        assertEquals( REMOTE_1, strategy.selectWriter( writers ) );
+    }
+
+    private BoltServerAddress[] readersGivenToDelegate()
+    {
+        ArgumentCaptor<BoltServerAddress[]> captor = ArgumentCaptor.forClass( BoltServerAddress[].class );
+        verify( delegate, times( 1 ) ).selectReader( captor.capture() );
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.util.FakeClock;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.A;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.B;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.C;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+
+class PeakEwmaLoadBalancingStrategyTest
+{
+    private static final long DECAY_TIME = 10_000;
+
+    private FakeClock clock;
+    private PeakEwmaLoadBalancingStrategy strategy;
+
+    @BeforeEach
+    void setUp()
+    {
+        clock = new FakeClock();
+        strategy = new PeakEwmaLoadBalancingStrategy( clock, DECAY_TIME, DEV_NULL_LOGGING );
+    }
+
+    @Test
+    void shouldHandleEmptyReadersArray()
+    {
+        assertNull( strategy.selectReader( new BoltServerAddress[0] ) );
+    }
+
+    @Test
+    void shouldHandleEmptyWritersArray()
+    {
+        assertNull( strategy.selectWriter( new BoltServerAddress[0] ) );
+    }
+
+    @Test
+    void shouldHandleSingleReader()
+    {
+        assertEquals( A, strategy.selectReader( new BoltServerAddress[]{A} ) );
+    }
+
+    @Test
+    void shouldHandleSingleWriter()
+    {
+        assertEquals( A, strategy.selectWriter( new BoltServerAddress[]{A} ) );
+    }
+
+    @Test
+    void shouldSelectServersInTurnsWhenCostsAreEqual()
+    {
+        Set<BoltServerAddress> selected = new HashSet<>();
+        for ( int i = 0; i < 3; i++ )
+        {
+            selected.add( strategy.selectReader( new BoltServerAddress[]{A, B, C} ) );
+        }
+
+        assertEquals( 3, selected.size() );
+    }
+
+    @Test
+    void shouldPreferFasterServer()
+    {
+        completeRequest( A, 50 );
+        completeRequest( B, 5 );
+        completeRequest( C, 20 );
+
+        for ( int i = 0; i < 3; i++ )
+        {
+            assertEquals( B, strategy.selectReader( new BoltServerAddress[]{A, B, C} ) );
+            assertEquals( B, strategy.selectWriter( new BoltServerAddress[]{A, B, C} ) );
+        }
+    }
+
+    @Test
+    void shouldTakeOutstandingRequestsIntoAccount()
+    {
+        completeRequest( A, 10 );
+        completeRequest( B, 15 );
+
+        // A now costs 10 * 3 = 30 while B costs 15 * 1 = 15
+        strategy.requestStarted( A );
+        strategy.requestStarted( A );
+
+        assertEquals( B, strategy.selectReader( new BoltServerAddress[]{A, B} ) );
+    }
+
+    @Test
+    void shouldAvoidServerWithUnknownResponseTimeAndOutstandingRequests()
+    {
+        completeRequest( A, 1_000 );
+        strategy.requestStarted( B );
+
+        assertEquals( A, strategy.selectReader( new BoltServerAddress[]{A, B} ) );
+    }
+
+    @Test
+    void shouldPreferServerWithoutMeasurementsAndOutstandingRequests()
+    {
+        completeRequest( A, 1 );
+
+        assertEquals( B, strategy.selectReader( new BoltServerAddress[]{A, B} ) );
+    }
+
+    @Test
+    void shouldReactToIncreasedResponseTimeImmediately()
+    {
+        completeRequest( A, 10 );
+        assertEquals( 10, strategy.cost( A ), 0.001 );
+
+        completeRequest( A, 100 );
+        assertEquals( 100, strategy.cost( A ), 0.001 );
+    }
+
+    @Test
+    void shouldDecayResponseTimeOverTime()
+    {
+        completeRequest( A, 100 );
+
+        clock.progress( DECAY_TIME );
+        completeRequest( A, 0 );
+
+        // weight of the old value is e^-1 after one decay period
+        assertEquals( 100 * Math.exp( -1 ), strategy.cost( A ), 0.001 );
+    }
+
+    @Test
+    void shouldRetrySlowServerAfterItBecomesIdle()
+    {
+        completeRequest( A, 10 );
+        completeRequest( B, 1_000 );
+        assertEquals( A, strategy.selectReader( new BoltServerAddress[]{A, B} ) );
+
+        clock.progress( DECAY_TIME * 10 );
+        completeRequest( A, 10 );
+
+        assertTrue( strategy.cost( B ) < strategy.cost( A ) );
+        assertEquals( B, strategy.selectReader( new BoltServerAddress[]{A, B} ) );
+    }
+
+    @Test
+    void shouldDecayWithoutModifyingAverageWhenSelecting()
+    {
+        completeRequest( A, 100 );
+        clock.progress( DECAY_TIME );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertEquals( A, strategy.selectReader( new BoltServerAddress[]{A} ) );
+            assertEquals( 100 * Math.exp( -1 ), strategy.cost( A ), 0.001 );
+        }
+
+        // response below the peak is weighted by the time since the previous response, not since the last selection
+        completeRequest( A, 50 );
+        assertEquals( 100 * Math.exp( -1 ) + 50 * (1 - Math.exp( -1 )), strategy.cost( A ), 0.001 );
+    }
+
+    @Test
+    void shouldStopTrackingRemovedServers()
+    {
+        completeRequest( A, 10 );
+        completeRequest( B, 20 );
+        completeRequest( C, 30 );
+
+        strategy.retainAll( new HashSet<>( asList( A, C ) ) );
+
+        assertEquals( 2, strategy.trackedServerCount() );
+        assertEquals( 10, strategy.cost( A ), 0.001 );
+        assertEquals( 0, strategy.cost( B ), 0.001 );
+    }
+
+    private void completeRequest( BoltServerAddress address, long responseTime )
+    {
+        strategy.requestStarted( address );
+        strategy.requestCompleted( address, responseTime );
+    }
+}
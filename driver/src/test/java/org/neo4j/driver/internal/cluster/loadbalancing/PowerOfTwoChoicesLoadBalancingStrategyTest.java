@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.cluster.loadbalancing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.neo4j.driver.internal.BoltServerAddress;
+import org.neo4j.driver.internal.spi.ConnectionPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.A;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.B;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.C;
+import static org.neo4j.driver.internal.cluster.ClusterCompositionUtil.D;
+import static org.neo4j.driver.internal.logging.DevNullLogging.DEV_NULL_LOGGING;
+
+class PowerOfTwoChoicesLoadBalancingStrategyTest
+{
+    private ConnectionPool connectionPool;
+    private PowerOfTwoChoicesLoadBalancingStrategy strategy;
+
+    @BeforeEach
+    void setUp()
+    {
+        connectionPool = mock( ConnectionPool.class );
+        strategy = new PowerOfTwoChoicesLoadBalancingStrategy( connectionPool, DEV_NULL_LOGGING );
+    }
+
+    @Test
+    void shouldHandleEmptyReadersArray()
+    {
+        assertNull( strategy.selectReader( new BoltServerAddress[0] ) );
+    }
+
+    @Test
+    void shouldHandleEmptyWritersArray()
+    {
+        assertNull( strategy.selectWriter( new BoltServerAddress[0] ) );
+    }
+
+    @Test
+    void shouldHandleSingleReader()
+    {
+        when( connectionPool.inUseConnections( A ) ).thenReturn( 42 );
+
+        assertEquals( A, strategy.selectReader( new BoltServerAddress[]{A} ) );
+    }
+
+    @Test
+    void shouldHandleSingleWriter()
+    {
+        when( connectionPool.inUseConnections( A ) ).thenReturn( 42 );
+
+        assertEquals( A, strategy.selectWriter( new BoltServerAddress[]{A} ) );
+    }
+
+    @Test
+    void shouldSelectLessLoadedOfTwoAddresses()
+    {
+        when( connectionPool.inUseConnections( A ) ).thenReturn( 10 );
+        when( connectionPool.inUseConnections( B ) ).thenReturn( 3 );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertEquals( B, strategy.selectReader( new BoltServerAddress[]{A, B} ) );
+            assertEquals( B, strategy.selectWriter( new BoltServerAddress[]{A, B} ) );
+        }
+    }
+
+    @Test
+    void shouldNeverSelectMostLoadedAddress()
+    {
+        // most loaded address can only win when sampled twice, which never happens because samples are distinct
+        when( connectionPool.inUseConnections( A ) ).thenReturn( 1 );
+        when( connectionPool.inUseConnections( B ) ).thenReturn( 2 );
+        when( connectionPool.inUseConnections( C ) ).thenReturn( 100 );
+        when( connectionPool.inUseConnections( D ) ).thenReturn( 3 );
+
+        for ( int i = 0; i < 1000; i++ )
+        {
+            assertNotEquals( C, strategy.selectReader( new BoltServerAddress[]{A, B, C, D} ) );
+        }
+    }
+
+    @Test
+    void shouldSelectAllAddressesWhenLoadIsEqual()
+    {
+        Set<BoltServerAddress> selected = new HashSet<>();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            selected.add( strategy.selectReader( new BoltServerAddress[]{A, B, C, D} ) );
+        }
+
+        assertEquals( 4, selected.size() );
+    }
+}
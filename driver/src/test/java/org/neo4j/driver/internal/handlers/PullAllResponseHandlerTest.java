@@ -22,9 +22,12 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.InternalRecord;
@@ -52,8 +55,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.neo4j.driver.internal.util.RecordSizeEstimator.estimateSize;
 import static org.neo4j.driver.v1.Values.value;
 import static org.neo4j.driver.v1.Values.values;
 import static org.neo4j.driver.v1.util.TestUtil.await;
@@ -583,6 +588,82 @@ class PullAllResponseHandlerTest
         assertEquals( error, e );
     }
 
+    @Test
+    void shouldDrainAllBufferedRecords()
+    {
+        Connection connection = connectionMock();
+        PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ), connection );
+        handler.onRecord( values( 1, 2 ) );
+        handler.onRecord( values( 3, 4 ) );
+
+        Queue<Record> drained = new ArrayDeque<>();
+        assertEquals( 2, handler.drainRecords( drained ) );
+
+        assertEquals( 2, drained.size() );
+        assertEquals( 1, drained.poll().get( "key1" ).asInt() );
+        assertEquals( 3, drained.poll().get( "key1" ).asInt() );
+        verify( connection ).enableAutoRead();
+
+        handler.onSuccess( emptyMap() );
+        assertEquals( 0, handler.drainRecords( drained ) );
+        assertNull( await( handler.nextAsync() ) );
+    }
+
+    @Test
+    void shouldCountDrainedRecordsAsBufferedUntilConsumed()
+    {
+        Connection connection = connectionMock();
+        PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ), connection );
+        for ( int i = 0; i < PullAllResponseHandler.RECORD_BUFFER_HIGH_WATERMARK + 1; i++ )
+        {
+            handler.onRecord( values( 100, 200 ) );
+        }
+        verify( connection ).disableAutoRead();
+
+        Queue<Record> drained = new ArrayDeque<>();
+        assertEquals( PullAllResponseHandler.RECORD_BUFFER_HIGH_WATERMARK + 1, handler.drainRecords( drained ) );
+        verify( connection, never() ).enableAutoRead();
+
+        while ( drained.size() >= PullAllResponseHandler.RECORD_BUFFER_LOW_WATERMARK )
+        {
+            drained.poll();
+        }
+        verify( connection, never() ).enableAutoRead();
+
+        assertEquals( 0, handler.drainRecords( drained ) );
+        verify( connection ).enableAutoRead();
+    }
+
+    @Test
+    void shouldCountDrainedRecordsInBufferedSizeUntilConsumed()
+    {
+        Connection connection = connectionMock();
+        when( connection.recordBufferSize() ).thenReturn( 10_000L );
+        PullAllResponseHandler handler = newHandler( singletonList( "key" ), connection );
+        Value[] fields = values( largeString() );
+        long recordSize = estimateSize( new InternalRecord( singletonList( "key" ), fields ) );
+
+        int recordCount = 0;
+        while ( recordCount * recordSize <= 10_000 )
+        {
+            handler.onRecord( fields );
+            recordCount++;
+        }
+        verify( connection ).disableAutoRead();
+
+        Queue<Record> drained = new ArrayDeque<>();
+        assertEquals( recordCount, handler.drainRecords( drained ) );
+        verify( connection, never() ).enableAutoRead();
+
+        // drained records are not consumed yet, so the buffer is still full
+        handler.onRecord( fields );
+        verify( connection, times( 2 ) ).disableAutoRead();
+
+        drained.clear();
+        assertEquals( 1, handler.drainRecords( drained ) );
+        verify( connection ).enableAutoRead();
+    }
+
     @Test
     void shouldDisableAutoReadWhenTooManyRecordsArrive()
     {
@@ -624,6 +705,54 @@ class PullAllResponseHandlerTest
         verify( connection ).enableAutoRead();
     }
 
+    @Test
+    void shouldDisableAutoReadWhenRecordBufferSizeExceeded()
+    {
+        Connection connection = connectionMock();
+        when( connection.recordBufferSize() ).thenReturn( 10_000L );
+        PullAllResponseHandler handler = newHandler( singletonList( "key" ), connection );
+        Value[] fields = values( largeString() );
+        long recordSize = estimateSize( new InternalRecord( singletonList( "key" ), fields ) );
+
+        long bufferedSize = 0;
+        while ( bufferedSize + recordSize <= 10_000 )
+        {
+            handler.onRecord( fields );
+            bufferedSize += recordSize;
+        }
+        verify( connection, never() ).disableAutoRead();
+
+        handler.onRecord( fields );
+        verify( connection ).disableAutoRead();
+    }
+
+    @Test
+    void shouldEnableAutoReadWhenRecordBufferSizeDropsBelowThird()
+    {
+        Connection connection = connectionMock();
+        when( connection.recordBufferSize() ).thenReturn( 10_000L );
+        PullAllResponseHandler handler = newHandler( singletonList( "key" ), connection );
+        Value[] fields = values( largeString() );
+        long recordSize = estimateSize( new InternalRecord( singletonList( "key" ), fields ) );
+
+        int recordCount = 0;
+        while ( recordCount * recordSize <= 10_000 )
+        {
+            handler.onRecord( fields );
+            recordCount++;
+        }
+        verify( connection ).disableAutoRead();
+
+        while ( --recordCount * recordSize >= 10_000 / 3 )
+        {
+            assertNotNull( await( handler.nextAsync() ) );
+        }
+        verify( connection, never() ).enableAutoRead();
+
+        assertNotNull( await( handler.nextAsync() ) );
+        verify( connection ).enableAutoRead();
+    }
+
     @Test
     void shouldNotDisableAutoReadWhenSummaryRequested()
     {
@@ -1039,6 +1168,64 @@ class PullAllResponseHandlerTest
         assertEquals( StatementType.READ_WRITE, summary2.statementType() );
     }
 
+    @Test
+    void shouldControlAutoReadByDemandInDemandDrivenMode()
+    {
+        Connection connection = connectionMock();
+        PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ), connection );
+
+        handler.enableDemandDrivenDelivery( () -> {} );
+        verify( connection ).disableAutoRead();
+
+        handler.requestRecords( 2 );
+        verify( connection ).enableAutoRead();
+
+        handler.onRecord( values( 1, 2 ) );
+        verify( connection ).disableAutoRead();
+        handler.onRecord( values( 3, 4 ) );
+        verify( connection, times( 2 ) ).disableAutoRead();
+
+        assertNotNull( handler.pollRequestedRecord() );
+        assertNotNull( handler.pollRequestedRecord() );
+        handler.requestRecords( 1 );
+        verify( connection, times( 2 ) ).enableAutoRead();
+    }
+
+    @Test
+    void shouldOnlyReturnRequestedRecordsInDemandDrivenMode()
+    {
+        PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ) );
+        handler.onRecord( values( 1, 2 ) );
+        handler.onRecord( values( 3, 4 ) );
+        handler.enableDemandDrivenDelivery( () -> {} );
+
+        assertNull( handler.pollRequestedRecord() );
+        handler.requestRecords( 1 );
+        assertEquals( 1, handler.pollRequestedRecord().get( "key1" ).asInt() );
+        assertNull( handler.pollRequestedRecord() );
+
+        handler.requestRecords( Long.MAX_VALUE );
+        handler.onSuccess( emptyMap() );
+        assertFalse( handler.isExhausted() );
+        assertEquals( 3, handler.pollRequestedRecord().get( "key1" ).asInt() );
+        assertNull( handler.pollRequestedRecord() );
+        assertTrue( handler.isExhausted() );
+    }
+
+    @Test
+    void shouldNotifyListenerInDemandDrivenMode()
+    {
+        PullAllResponseHandler handler = newHandler( asList( "key1", "key2" ) );
+        AtomicInteger notifications = new AtomicInteger();
+        handler.enableDemandDrivenDelivery( notifications::incrementAndGet );
+
+        handler.onRecord( values( 1, 2 ) );
+        handler.onRecord( values( 3, 4 ) );
+        handler.onFailure( new RuntimeException() );
+
+        assertEquals( 3, notifications.get() );
+    }
+
     private static PullAllResponseHandler newHandler()
     {
         return newHandler( new Statement( "RETURN 1" ) );
@@ -1080,6 +1267,11 @@ class PullAllResponseHandlerTest
         return connection;
     }
 
+    private static String largeString()
+    {
+        return new String( new char[1000] ).replace( '\0', 'x' );
+    }
+
     private static void assertNoRecordsCanBeFetched( PullAllResponseHandler handler )
     {
         assertNull( await( handler.peekAsync() ) );
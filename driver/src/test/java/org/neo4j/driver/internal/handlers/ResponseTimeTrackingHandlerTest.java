@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import org.neo4j.driver.internal.cluster.loadbalancing.ResponseTimeTracker;
+import org.neo4j.driver.internal.spi.ResponseHandler;
+import org.neo4j.driver.v1.Value;
+
+import static java.util.Collections.emptyMap;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.driver.internal.BoltServerAddress.LOCAL_DEFAULT;
+
+class ResponseTimeTrackingHandlerTest
+{
+    @Test
+    void shouldReportRequestStartOnCreation()
+    {
+        ResponseTimeTracker tracker = mock( ResponseTimeTracker.class );
+
+        new ResponseTimeTrackingHandler( mock( ResponseHandler.class ), LOCAL_DEFAULT, tracker );
+
+        verify( tracker ).requestStarted( LOCAL_DEFAULT );
+        verify( tracker, never() ).requestCompleted( eq( LOCAL_DEFAULT ), anyLong() );
+    }
+
+    @Test
+    void shouldReportCompletionOnSuccess()
+    {
+        ResponseTimeTracker tracker = mock( ResponseTimeTracker.class );
+        ResponseHandler delegate = mock( ResponseHandler.class );
+        ResponseTimeTrackingHandler handler = new ResponseTimeTrackingHandler( delegate, LOCAL_DEFAULT, tracker );
+
+        handler.onSuccess( emptyMap() );
+
+        verify( tracker ).requestCompleted( eq( LOCAL_DEFAULT ), anyLong() );
+        verify( delegate ).onSuccess( emptyMap() );
+    }
+
+    @Test
+    void shouldReportCompletionOnFailure()
+    {
+        ResponseTimeTracker tracker = mock( ResponseTimeTracker.class );
+        ResponseHandler delegate = mock( ResponseHandler.class );
+        ResponseTimeTrackingHandler handler = new ResponseTimeTrackingHandler( delegate, LOCAL_DEFAULT, tracker );
+        IOException error = new IOException( "Broken" );
+
+        handler.onFailure( error );
+
+        verify( tracker ).requestCompleted( eq( LOCAL_DEFAULT ), anyLong() );
+        verify( delegate ).onFailure( error );
+    }
+
+    @Test
+    void shouldReportCompletionOnlyOnce()
+    {
+        ResponseTimeTracker tracker = mock( ResponseTimeTracker.class );
+        ResponseTimeTrackingHandler handler = new ResponseTimeTrackingHandler( mock( ResponseHandler.class ),
+                LOCAL_DEFAULT, tracker );
+
+        handler.onSuccess( emptyMap() );
+        handler.onFailure( new IOException( "Broken" ) );
+
+        verify( tracker, times( 1 ) ).requestCompleted( eq( LOCAL_DEFAULT ), anyLong() );
+    }
+
+    @Test
+    void shouldNotReportCompletionOnRecord()
+    {
+        ResponseTimeTracker tracker = mock( ResponseTimeTracker.class );
+        ResponseHandler delegate = mock( ResponseHandler.class );
+        ResponseTimeTrackingHandler handler = new ResponseTimeTrackingHandler( delegate, LOCAL_DEFAULT, tracker );
+        Value[] fields = new Value[0];
+
+        handler.onRecord( fields );
+
+        verify( tracker, never() ).requestCompleted( eq( LOCAL_DEFAULT ), anyLong() );
+        verify( delegate ).onRecord( fields );
+    }
+}
@@ -26,13 +26,16 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.neo4j.driver.internal.async.BoltProtocolUtil;
 import org.neo4j.driver.internal.async.ChannelPipelineBuilderImpl;
 import org.neo4j.driver.internal.async.inbound.InboundMessageDispatcher;
 import org.neo4j.driver.internal.async.outbound.ChunkAwareByteBufOutput;
 import org.neo4j.driver.internal.packstream.PackStream;
+import org.neo4j.driver.internal.value.MapValue;
 import org.neo4j.driver.v1.Value;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
@@ -53,6 +56,7 @@ import static org.neo4j.driver.internal.util.ValueFactory.emptyRelationshipValue
 import static org.neo4j.driver.internal.util.ValueFactory.filledNodeValue;
 import static org.neo4j.driver.internal.util.ValueFactory.filledPathValue;
 import static org.neo4j.driver.internal.util.ValueFactory.filledRelationshipValue;
+import static org.neo4j.driver.v1.Values.columns;
 import static org.neo4j.driver.v1.Values.ofValue;
 import static org.neo4j.driver.v1.Values.parameters;
 import static org.neo4j.driver.v1.Values.value;
@@ -89,6 +93,21 @@ class MessageFormatTest
         assertSerializesValue( value( asList( "k", 12, "a", "banana" ) ) );
     }
 
+    @Test
+    void shouldPackColumnsAsListOfMaps()
+    {
+        Value columns = columns( "id", new long[]{1, 1000}, "score", new double[]{0.5, 1.5},
+                "name", new String[]{"Alice", null}, "tags", new Object[]{asList( "a", "b" ), 42} );
+        Value rows = value( asList(
+                orderedMap( "id", 1L, "score", 0.5, "name", "Alice", "tags", asList( "a", "b" ) ),
+                orderedMap( "id", 1000L, "score", 1.5, "name", null, "tags", 42 ) ) );
+
+        ByteBuf packedColumns = pack( new RecordMessage( new Value[]{columns} ), newEmbeddedChannel() );
+        ByteBuf packedRows = pack( new RecordMessage( new Value[]{rows} ), newEmbeddedChannel() );
+
+        assertEquals( packedRows, packedColumns );
+    }
+
     @Test
     void shouldUnpackNodeRelationshipAndPath() throws Throwable
     {
@@ -150,6 +169,16 @@ class MessageFormatTest
                 "received NODE structure has 0 fields." ) );
     }
 
+    private static Value orderedMap( Object... keysAndValues )
+    {
+        Map<String,Value> map = new LinkedHashMap<>();
+        for ( int i = 0; i < keysAndValues.length; i += 2 )
+        {
+            map.put( (String) keysAndValues[i], value( keysAndValues[i + 1] ) );
+        }
+        return new MapValue( map );
+    }
+
     private void assertSerializesValue( Value value ) throws Throwable
     {
         assertSerializes( new RecordMessage( new Value[]{value} ) );
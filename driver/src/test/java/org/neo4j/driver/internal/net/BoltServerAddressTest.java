@@ -20,6 +20,7 @@ package org.neo4j.driver.internal.net;
 
 import org.junit.jupiter.api.Test;
 
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 
 import org.neo4j.driver.internal.BoltServerAddress;
@@ -28,6 +29,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.driver.internal.BoltServerAddress.DEFAULT_PORT;
 
 class BoltServerAddressTest
@@ -45,7 +47,7 @@ class BoltServerAddressTest
     }
 
     @Test
-    void shouldAlwaysResolveAddress()
+    void shouldAlwaysCreateNewSocketAddress()
     {
         BoltServerAddress boltAddress = new BoltServerAddress( "localhost" );
 
@@ -55,6 +57,18 @@ class BoltServerAddressTest
         assertNotSame( socketAddress1, socketAddress2 );
     }
 
+    @Test
+    void shouldNotResolveSocketAddress()
+    {
+        BoltServerAddress boltAddress = new BoltServerAddress( "localhost", 4242 );
+
+        InetSocketAddress socketAddress = (InetSocketAddress) boltAddress.toSocketAddress();
+
+        assertTrue( socketAddress.isUnresolved() );
+        assertEquals( "localhost", socketAddress.getHostString() );
+        assertEquals( 4242, socketAddress.getPort() );
+    }
+
     @Test
     void shouldHaveCorrectToString()
     {
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.security;
+
+import io.netty.handler.ssl.JdkSslContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+
+import org.neo4j.driver.v1.Config.TlsProvider;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SecurityPlanTest
+{
+    @Test
+    void shouldConfigureTlsSessionCache() throws Exception
+    {
+        TlsSettings tlsSettings = new TlsSettings( TlsProvider.JDK, 42, TimeUnit.MINUTES.toMillis( 5 ) );
+
+        SecurityPlan plan = SecurityPlan.forAllCertificates( false, tlsSettings );
+
+        SSLSessionContext sessionContext = plan.sslContext().sessionContext();
+        assertEquals( 42, sessionContext.getSessionCacheSize() );
+        assertEquals( TimeUnit.MINUTES.toSeconds( 5 ), sessionContext.getSessionTimeout() );
+    }
+
+    @Test
+    void shouldRoundUpSubSecondTlsSessionTimeout() throws Exception
+    {
+        TlsSettings tlsSettings = new TlsSettings( TlsProvider.JDK, TlsSettings.NOT_CONFIGURED, 10 );
+
+        SecurityPlan plan = SecurityPlan.forAllCertificates( false, tlsSettings );
+
+        assertEquals( 1, plan.sslContext().sessionContext().getSessionTimeout() );
+    }
+
+    @Test
+    void shouldUseJdkProviderByDefault() throws Exception
+    {
+        SecurityPlan plan = SecurityPlan.forAllCertificates( false );
+
+        assertThat( plan.sslContext(), instanceOf( JdkSslContext.class ) );
+    }
+
+    @Test
+    void shouldUseCipherSuitesEnabledByJdk() throws Exception
+    {
+        SecurityPlan plan = SecurityPlan.forAllCertificates( false );
+
+        SSLContext sslContext = ((JdkSslContext) plan.sslContext()).context();
+        assertEquals( Arrays.asList( sslContext.getDefaultSSLParameters().getCipherSuites() ), plan.sslContext().cipherSuites() );
+    }
+
+    @Test
+    void shouldUseDefaultJdkContextForSystemCertificatesWhenSessionCacheNotConfigured() throws Exception
+    {
+        SecurityPlan plan = SecurityPlan.forSystemCASignedCertificates( true );
+
+        assertSame( SSLContext.getDefault(), ((JdkSslContext) plan.sslContext()).context() );
+    }
+
+    @Test
+    void shouldNotModifyDefaultJdkContextForSystemCertificatesWhenSessionCacheConfigured() throws Exception
+    {
+        TlsSettings tlsSettings = new TlsSettings( TlsProvider.JDK, 42, TlsSettings.NOT_CONFIGURED );
+
+        SecurityPlan plan = SecurityPlan.forSystemCASignedCertificates( true, tlsSettings );
+
+        SSLContext sslContext = ((JdkSslContext) plan.sslContext()).context();
+        assertNotSame( SSLContext.getDefault(), sslContext );
+        assertEquals( 42, sslContext.getClientSessionContext().getSessionCacheSize() );
+    }
+}
@@ -45,4 +45,10 @@ public class ChannelTrackingConnector implements ChannelConnector
         channels.add( channelFuture.channel() );
         return channelFuture;
     }
+
+    @Override
+    public void close()
+    {
+        realConnector.close();
+    }
 }
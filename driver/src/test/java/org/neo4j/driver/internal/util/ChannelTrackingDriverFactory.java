@@ -27,6 +27,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.ConnectionSettings;
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
 import org.neo4j.driver.internal.async.BootstrapFactory;
 import org.neo4j.driver.internal.async.ChannelConnector;
 import org.neo4j.driver.internal.metrics.MetricsListener;
@@ -58,30 +59,30 @@ public class ChannelTrackingDriverFactory extends DriverFactoryWithClock
     }
 
     @Override
-    protected Bootstrap createBootstrap()
+    protected Bootstrap createBootstrap( Config config )
     {
-        return eventLoopThreads == 0 ? super.createBootstrap() : BootstrapFactory.newBootstrap( eventLoopThreads );
+        return eventLoopThreads == 0 ? super.createBootstrap( config ) : BootstrapFactory.newBootstrap( eventLoopThreads );
     }
 
     @Override
     protected final ChannelConnector createConnector( ConnectionSettings settings, SecurityPlan securityPlan,
-            Config config, Clock clock )
+            AsyncDnsResolver dnsResolver, Config config, Clock clock )
     {
-        return createChannelTrackingConnector( createRealConnector( settings, securityPlan, config, clock ) );
+        return createChannelTrackingConnector( createRealConnector( settings, securityPlan, dnsResolver, config, clock ) );
     }
 
     @Override
-    protected final ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap, MetricsListener metrics,
-            Config config )
+    protected final ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap,
+            AsyncDnsResolver dnsResolver, MetricsListener metrics, Config config )
     {
-        pool = super.createConnectionPool( authToken, securityPlan, bootstrap, metrics, config );
+        pool = super.createConnectionPool( authToken, securityPlan, bootstrap, dnsResolver, metrics, config );
         return pool;
     }
 
     protected ChannelConnector createRealConnector( ConnectionSettings settings, SecurityPlan securityPlan,
-            Config config, Clock clock )
+            AsyncDnsResolver dnsResolver, Config config, Clock clock )
     {
-        return super.createConnector( settings, securityPlan, config, clock );
+        return super.createConnector( settings, securityPlan, dnsResolver, config, clock );
     }
 
     private ChannelTrackingConnector createChannelTrackingConnector( ChannelConnector connector )
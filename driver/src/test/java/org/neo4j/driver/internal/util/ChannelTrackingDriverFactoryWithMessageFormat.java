@@ -19,6 +19,7 @@
 package org.neo4j.driver.internal.util;
 
 import org.neo4j.driver.internal.ConnectionSettings;
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
 import org.neo4j.driver.internal.async.ChannelConnector;
 import org.neo4j.driver.internal.async.ChannelConnectorImpl;
 import org.neo4j.driver.internal.async.ChannelPipelineBuilder;
@@ -38,10 +39,10 @@ public class ChannelTrackingDriverFactoryWithMessageFormat extends ChannelTracki
 
     @Override
     protected ChannelConnector createRealConnector( ConnectionSettings settings, SecurityPlan securityPlan,
-            Config config, Clock clock )
+            AsyncDnsResolver dnsResolver, Config config, Clock clock )
     {
         ChannelPipelineBuilder pipelineBuilder = new ChannelPipelineBuilderWithMessageFormat( messageFormat );
-        return new ChannelConnectorImpl( settings, securityPlan, pipelineBuilder, config.logging(), clock );
+        return new ChannelConnectorImpl( settings, securityPlan, pipelineBuilder, dnsResolver, config.logging(), clock );
     }
 }
 
@@ -38,7 +38,7 @@ public class DriverFactoryWithOneEventLoopThread extends DriverFactory
     }
 
     @Override
-    protected Bootstrap createBootstrap()
+    protected Bootstrap createBootstrap( Config config )
     {
         return BootstrapFactory.newBootstrap( 1 );
     }
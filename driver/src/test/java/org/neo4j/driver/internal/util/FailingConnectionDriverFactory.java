@@ -27,6 +27,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.neo4j.driver.internal.BoltServerAddress;
 import org.neo4j.driver.internal.DriverFactory;
+import org.neo4j.driver.internal.async.AsyncDnsResolver;
 import org.neo4j.driver.internal.metrics.MetricsListener;
 import org.neo4j.driver.internal.security.SecurityPlan;
 import org.neo4j.driver.internal.spi.Connection;
@@ -41,9 +42,10 @@ public class FailingConnectionDriverFactory extends DriverFactory
     private final AtomicReference<Throwable> nextRunFailure = new AtomicReference<>();
 
     @Override
-    protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap, MetricsListener metrics, Config config )
+    protected ConnectionPool createConnectionPool( AuthToken authToken, SecurityPlan securityPlan, Bootstrap bootstrap,
+            AsyncDnsResolver dnsResolver, MetricsListener metrics, Config config )
     {
-        ConnectionPool pool = super.createConnectionPool( authToken, securityPlan, bootstrap, metrics, config );
+        ConnectionPool pool = super.createConnectionPool( authToken, securityPlan, bootstrap, dnsResolver, metrics, config );
         return new ConnectionPoolWithFailingConnections( pool, nextRunFailure );
     }
 
@@ -182,6 +184,12 @@ public class FailingConnectionDriverFactory extends DriverFactory
             return delegate.serverVersion();
         }
 
+        @Override
+        public long recordBufferSize()
+        {
+            return delegate.recordBufferSize();
+        }
+
         private boolean tryFail( ResponseHandler runHandler, ResponseHandler pullAllHandler )
         {
             Throwable failure = nextRunFailure.getAndSet( null );
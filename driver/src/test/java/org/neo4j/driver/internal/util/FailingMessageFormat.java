@@ -30,6 +30,7 @@ import org.neo4j.driver.internal.messaging.MessageHandler;
 import org.neo4j.driver.internal.messaging.PackStreamMessageFormatV1;
 import org.neo4j.driver.internal.packstream.PackInput;
 import org.neo4j.driver.internal.packstream.PackOutput;
+import org.neo4j.driver.v1.Value;
 
 public class FailingMessageFormat implements MessageFormat
 {
@@ -99,6 +100,12 @@ public class FailingMessageFormat implements MessageFormat
                 delegate.write( msg );
             }
         }
+
+        @Override
+        public void writeValue( Value value ) throws IOException
+        {
+            delegate.writeValue( value );
+        }
     }
 
     private static class ThrowingReader implements MessageFormat.Reader
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.v1.Record;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.driver.internal.util.RecordSizeEstimator.estimateSize;
+import static org.neo4j.driver.internal.util.ValueFactory.emptyNodeValue;
+import static org.neo4j.driver.internal.util.ValueFactory.emptyPathValue;
+import static org.neo4j.driver.internal.util.ValueFactory.filledNodeValue;
+import static org.neo4j.driver.internal.util.ValueFactory.filledPathValue;
+import static org.neo4j.driver.v1.Values.value;
+import static org.neo4j.driver.v1.Values.values;
+
+class RecordSizeEstimatorTest
+{
+    @Test
+    void shouldEstimateStringsByLength()
+    {
+        assertEquals( 2000, estimateSize( value( new String( new char[1100] ) ) ) - estimateSize( value(
+                new String( new char[100] ) ) ) );
+    }
+
+    @Test
+    void shouldEstimateBytesByLength()
+    {
+        assertEquals( 1000, estimateSize( value( new byte[1100] ) ) - estimateSize( value( new byte[100] ) ) );
+    }
+
+    @Test
+    void shouldIncludeNestedValues()
+    {
+        long stringSize = estimateSize( value( "Hello" ) );
+
+        assertTrue( estimateSize( value( asList( "Hello", "Hello" ) ) ) > 2 * stringSize );
+        assertTrue( estimateSize( value( singletonMap( "key", "Hello" ) ) ) > stringSize );
+        assertTrue( estimateSize( filledNodeValue() ) > estimateSize( emptyNodeValue() ) );
+        assertTrue( estimateSize( filledPathValue() ) > estimateSize( emptyPathValue() ) );
+    }
+
+    @Test
+    void shouldEstimateTemporalValues()
+    {
+        assertTrue( estimateSize( value( LocalDate.now() ) ) > 0 );
+    }
+
+    @Test
+    void shouldEstimateRecordAsSumOfValues()
+    {
+        Record record = new InternalRecord( asList( "a", "b" ), values( "Hello", 42 ) );
+        Record singleValueRecord = new InternalRecord( singletonList( "a" ), values( "Hello" ) );
+
+        assertTrue( estimateSize( record ) > estimateSize( singleValueRecord ) + estimateSize( value( 42 ) ) );
+    }
+}
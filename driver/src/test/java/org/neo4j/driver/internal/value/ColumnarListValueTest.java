@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.value;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.Values;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.driver.v1.Values.columns;
+import static org.neo4j.driver.v1.Values.parameters;
+
+class ColumnarListValueTest
+{
+    @Test
+    void shouldExposeRowsAsMaps()
+    {
+        Value value = columns( "id", new long[]{1, 2}, "name", new String[]{"a", "b"}, "ok", new boolean[]{true, false} );
+
+        assertEquals( 2, value.size() );
+        assertEquals( parameters( "id", 1L, "name", "a", "ok", true ), value.get( 0 ) );
+        assertEquals( parameters( "id", 2L, "name", "b", "ok", false ), value.get( 1 ) );
+        assertEquals( Values.NULL, value.get( 2 ) );
+        assertEquals( asList( parameters( "id", 1L, "name", "a", "ok", true ).asMap(),
+                parameters( "id", 2L, "name", "b", "ok", false ).asMap() ), value.asList() );
+    }
+
+    @Test
+    void shouldHaveSensibleToString()
+    {
+        Value value = columns( "x", new int[]{1, 2} );
+
+        assertThat( value.toString(), equalTo( "[{x: 1}, {x: 2}]" ) );
+    }
+
+    @Test
+    void shouldHaveCorrectType()
+    {
+        assertThat( columns().type(), equalTo( InternalTypeSystem.TYPE_SYSTEM.LIST() ) );
+    }
+
+    @Test
+    void shouldNotAllowColumnsOfDifferentLength()
+    {
+        assertThrows( ClientException.class, () -> columns( "a", new long[]{1, 2}, "b", new double[]{1.0} ) );
+    }
+
+    @Test
+    void shouldNotAllowColumnsThatAreNotArrays()
+    {
+        assertThrows( ClientException.class, () -> columns( "a", asList( 1, 2 ) ) );
+        assertThrows( ClientException.class, () -> columns( "a", new byte[]{1, 2} ) );
+        assertThrows( ClientException.class, () -> columns( "a", new long[]{1}, "b" ) );
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.internal.value;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.exceptions.ClientException;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.driver.v1.Values.streamingList;
+
+class StreamingListValueTest
+{
+    @Test
+    void shouldHaveSensibleToString()
+    {
+        assertThat( streamingList( 3, asList( 1, 2, 3 ) ).toString(), equalTo( "[3 streamed elements]" ) );
+    }
+
+    @Test
+    void shouldHaveCorrectType()
+    {
+        assertThat( streamingList( 0, asList() ).type(), equalTo( InternalTypeSystem.TYPE_SYSTEM.LIST() ) );
+    }
+
+    @Test
+    void shouldIterateIterableMultipleTimes()
+    {
+        Value value = streamingList( 2, asList( "a", "b" ) );
+
+        assertEquals( asList( "a", "b" ), value.asList() );
+        assertEquals( asList( "a", "b" ), value.asList() );
+    }
+
+    @Test
+    void shouldConsumeIteratorOnlyOnce()
+    {
+        Value value = streamingList( 2, asList( "a", "b" ).iterator() );
+
+        assertEquals( asList( "a", "b" ), value.asList() );
+        assertThrows( ClientException.class, value::asList );
+    }
+
+    @Test
+    void shouldFailWhenSizeDoesNotMatch()
+    {
+        assertThrows( ClientException.class, () -> streamingList( 3, asList( 1, 2 ) ).asList() );
+        assertThrows( ClientException.class, () -> streamingList( 1, asList( 1, 2 ) ).asList() );
+    }
+}
@@ -18,16 +18,22 @@
  */
 package org.neo4j.driver.v1;
 
+import io.netty.channel.EventLoopGroup;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.util.concurrent.TimeUnit;
 
+import org.neo4j.driver.internal.cluster.RoutingSettings;
+
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 class ConfigTest
 {
@@ -129,6 +135,36 @@ class ConfigTest
         assertEquals( TimeUnit.SECONDS.toMillis( -42 ), config.maxConnectionLifetimeMillis() );
     }
 
+    @Test
+    void shouldHaveDefaultMaxConnectionLifetimeJitter()
+    {
+        assertEquals( -1, Config.defaultConfig().maxConnectionLifetimeJitterMillis() );
+    }
+
+    @Test
+    void shouldSupportMaxConnectionLifetimeJitterSetting()
+    {
+        Config config = Config.build().withMaxConnectionLifetimeJitter( 42, TimeUnit.SECONDS ).toConfig();
+
+        assertEquals( TimeUnit.SECONDS.toMillis( 42 ), config.maxConnectionLifetimeJitterMillis() );
+    }
+
+    @Test
+    void shouldAllowZeroMaxConnectionLifetimeJitter()
+    {
+        Config config = Config.build().withMaxConnectionLifetimeJitter( 0, TimeUnit.SECONDS ).toConfig();
+
+        assertEquals( 0, config.maxConnectionLifetimeJitterMillis() );
+    }
+
+    @Test
+    void shouldThrowForNegativeMaxConnectionLifetimeJitter()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withMaxConnectionLifetimeJitter( -42, TimeUnit.SECONDS ) );
+    }
+
     @Test
     void shouldTurnOnLeakedSessionsLogging()
     {
@@ -271,4 +307,370 @@ class ConfigTest
         assertSame( trustStrategy, trustStrategy.withoutHostnameVerification() );
         assertFalse( trustStrategy.isHostnameVerificationEnabled() );
     }
+
+    @Test
+    void shouldHaveDefaultSocketSettings()
+    {
+        Config config = Config.defaultConfig();
+
+        assertTrue( config.tcpNoDelay() );
+        assertTrue( config.socketKeepAlive() );
+        assertEquals( -1, config.socketReceiveBufferSize() );
+        assertEquals( -1, config.socketSendBufferSize() );
+        assertEquals( -1, config.writeBufferLowWaterMark() );
+        assertEquals( -1, config.writeBufferHighWaterMark() );
+    }
+
+    @Test
+    void shouldSupportSocketSettings()
+    {
+        Config config = Config.build()
+                .withTcpNoDelay( false )
+                .withSocketKeepAlive( false )
+                .withSocketReceiveBufferSize( 1024 )
+                .withSocketSendBufferSize( 2048 )
+                .withWriteBufferWaterMark( 8192, 16384 )
+                .toConfig();
+
+        assertFalse( config.tcpNoDelay() );
+        assertFalse( config.socketKeepAlive() );
+        assertEquals( 1024, config.socketReceiveBufferSize() );
+        assertEquals( 2048, config.socketSendBufferSize() );
+        assertEquals( 8192, config.writeBufferLowWaterMark() );
+        assertEquals( 16384, config.writeBufferHighWaterMark() );
+    }
+
+    @Test
+    void shouldThrowForNonPositiveSocketBufferSizes()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withSocketReceiveBufferSize( 0 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withSocketReceiveBufferSize( -1 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withSocketSendBufferSize( 0 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withSocketSendBufferSize( -1 ) );
+    }
+
+    @Test
+    void shouldLimitRecordBufferByCountByDefault()
+    {
+        assertEquals( 0, Config.defaultConfig().recordBufferSize() );
+    }
+
+    @Test
+    void shouldSupportRecordBufferSize()
+    {
+        Config config = Config.build().withRecordBufferSize( 8 * 1024 * 1024 ).toConfig();
+
+        assertEquals( 8 * 1024 * 1024, config.recordBufferSize() );
+    }
+
+    @Test
+    void shouldThrowForNonPositiveRecordBufferSize()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withRecordBufferSize( 0 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withRecordBufferSize( -1 ) );
+    }
+
+    @Test
+    void shouldThrowForIllegalWriteBufferWaterMarks()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withWriteBufferWaterMark( -1, 10 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withWriteBufferWaterMark( 20, 10 ) );
+    }
+
+    @Test
+    void shouldHaveDefaultEventLoopSettings()
+    {
+        Config config = Config.defaultConfig();
+
+        assertNull( config.eventLoopGroup() );
+        assertEquals( 0, config.eventLoopThreads() );
+        assertEquals( Thread.MAX_PRIORITY, config.eventLoopThreadPriority() );
+    }
+
+    @Test
+    void shouldSupportExternalEventLoopGroup()
+    {
+        EventLoopGroup eventLoopGroup = mock( EventLoopGroup.class );
+
+        Config config = Config.build().withEventLoopGroup( eventLoopGroup ).toConfig();
+
+        assertSame( eventLoopGroup, config.eventLoopGroup() );
+    }
+
+    @Test
+    void shouldThrowForNullEventLoopGroup()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( NullPointerException.class, () -> builder.withEventLoopGroup( null ) );
+    }
+
+    @Test
+    void shouldSupportEventLoopThreadSettings()
+    {
+        Config config = Config.build().withEventLoopThreads( 3 ).withEventLoopThreadPriority( Thread.NORM_PRIORITY ).toConfig();
+
+        assertEquals( 3, config.eventLoopThreads() );
+        assertEquals( Thread.NORM_PRIORITY, config.eventLoopThreadPriority() );
+    }
+
+    @Test
+    void shouldThrowForIllegalEventLoopThreadSettings()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withEventLoopThreads( 0 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withEventLoopThreads( -1 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withEventLoopThreadPriority( Thread.MIN_PRIORITY - 1 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withEventLoopThreadPriority( Thread.MAX_PRIORITY + 1 ) );
+    }
+
+    @Test
+    void shouldHaveDefaultTlsSettings()
+    {
+        Config config = Config.defaultConfig();
+
+        assertEquals( Config.TlsProvider.JDK, config.tlsProvider() );
+        assertEquals( -1, config.tlsSessionCacheSize() );
+        assertEquals( -1, config.tlsSessionTimeoutMillis() );
+    }
+
+    @Test
+    void shouldSupportTlsSettings()
+    {
+        Config config = Config.build()
+                .withTlsProvider( Config.TlsProvider.OPENSSL )
+                .withTlsSessionCacheSize( 100 )
+                .withTlsSessionTimeout( 2, TimeUnit.HOURS )
+                .toConfig();
+
+        assertEquals( Config.TlsProvider.OPENSSL, config.tlsProvider() );
+        assertEquals( 100, config.tlsSessionCacheSize() );
+        assertEquals( TimeUnit.HOURS.toMillis( 2 ), config.tlsSessionTimeoutMillis() );
+    }
+
+    @Test
+    void shouldThrowForIllegalTlsSettings()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( NullPointerException.class, () -> builder.withTlsProvider( null ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withTlsSessionCacheSize( -1 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withTlsSessionTimeout( 0, TimeUnit.SECONDS ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withTlsSessionTimeout( -1, TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    void shouldHaveDefaultDnsCacheTtls()
+    {
+        Config config = Config.defaultConfig();
+
+        assertEquals( TimeUnit.SECONDS.toMillis( 30 ), config.dnsCacheTtlMillis() );
+        assertEquals( TimeUnit.SECONDS.toMillis( 10 ), config.dnsNegativeCacheTtlMillis() );
+    }
+
+    @Test
+    void shouldSupportDnsCacheTtls()
+    {
+        Config config = Config.build()
+                .withDnsCacheTtl( 5, TimeUnit.MINUTES )
+                .withDnsNegativeCacheTtl( 0, TimeUnit.SECONDS )
+                .toConfig();
+
+        assertEquals( TimeUnit.MINUTES.toMillis( 5 ), config.dnsCacheTtlMillis() );
+        assertEquals( 0, config.dnsNegativeCacheTtlMillis() );
+    }
+
+    @Test
+    void shouldThrowForNegativeDnsCacheTtls()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withDnsCacheTtl( -1, TimeUnit.SECONDS ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withDnsNegativeCacheTtl( -1, TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    void shouldUseDefaultRoutingTableRefreshFraction()
+    {
+        Config config = Config.defaultConfig();
+
+        assertEquals( RoutingSettings.DEFAULT_ROUTING_TABLE_REFRESH_FRACTION, config.routingTableRefreshFraction() );
+        assertEquals( RoutingSettings.DEFAULT_ROUTING_TABLE_REFRESH_FRACTION,
+                config.routingSettings().routingTableRefreshFraction() );
+    }
+
+    @Test
+    void shouldChangeRoutingTableRefreshFraction()
+    {
+        Config config = Config.build().withRoutingTableRefreshFraction( 0.25 ).toConfig();
+
+        assertEquals( 0.25, config.routingTableRefreshFraction() );
+        assertEquals( 0.25, config.routingSettings().routingTableRefreshFraction() );
+        assertFalse( Config.build().withRoutingTableRefreshFraction( 0 ).toConfig()
+                .routingSettings().backgroundRefreshEnabled() );
+    }
+
+    @Test
+    void shouldThrowForIllegalRoutingTableRefreshFraction()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withRoutingTableRefreshFraction( -0.1 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withRoutingTableRefreshFraction( 1 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withRoutingTableRefreshFraction( Double.NaN ) );
+    }
+
+    @Test
+    void shouldNotHedgeRoutingLookupsByDefault()
+    {
+        Config config = Config.defaultConfig();
+
+        assertEquals( RoutingSettings.LOOKUP_HEDGING_DISABLED, config.routingLookupHedgeDelayMillis() );
+        assertFalse( config.routingSettings().lookupHedgingEnabled() );
+    }
+
+    @Test
+    void shouldChangeRoutingLookupHedgeDelay()
+    {
+        Config config = Config.build().withRoutingLookupHedgeDelay( 50, TimeUnit.MILLISECONDS ).toConfig();
+
+        assertEquals( 50, config.routingLookupHedgeDelayMillis() );
+        assertEquals( 50, config.routingSettings().lookupHedgeDelay() );
+        assertTrue( config.routingSettings().lookupHedgingEnabled() );
+    }
+
+    @Test
+    void shouldThrowForNegativeRoutingLookupHedgeDelay()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class,
+                () -> builder.withRoutingLookupHedgeDelay( -1, TimeUnit.MILLISECONDS ) );
+    }
+
+    @Test
+    void shouldHaveCircuitBreakerDisabledByDefault()
+    {
+        Config config = Config.defaultConfig();
+
+        assertEquals( 0, config.circuitBreakerFailureThreshold() );
+        assertEquals( TimeUnit.SECONDS.toMillis( 5 ), config.circuitBreakerCooldownMillis() );
+    }
+
+    @Test
+    void shouldChangeCircuitBreakerSettings()
+    {
+        Config config = Config.build().withCircuitBreaker( 3, 2, TimeUnit.MINUTES ).toConfig();
+
+        assertEquals( 3, config.circuitBreakerFailureThreshold() );
+        assertEquals( TimeUnit.MINUTES.toMillis( 2 ), config.circuitBreakerCooldownMillis() );
+    }
+
+    @Test
+    void shouldNotAllowInvalidCircuitBreakerSettings()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withCircuitBreaker( 0, 1, TimeUnit.SECONDS ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withCircuitBreaker( -1, 1, TimeUnit.SECONDS ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withCircuitBreaker( 1, -1, TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    void shouldNotPersistRoutingTableByDefault()
+    {
+        assertNull( Config.defaultConfig().persistedRoutingTableFile() );
+    }
+
+    @Test
+    void shouldChangePersistedRoutingTable()
+    {
+        File file = new File( "routing-table" );
+        Config config = Config.build().withPersistedRoutingTable( file, 1, TimeUnit.HOURS ).toConfig();
+
+        assertEquals( file, config.persistedRoutingTableFile() );
+        assertEquals( TimeUnit.HOURS.toMillis( 1 ), config.persistedRoutingTableMaxAgeMillis() );
+    }
+
+    @Test
+    void shouldNotAllowInvalidPersistedRoutingTable()
+    {
+        Config.ConfigBuilder builder = Config.build();
+        File file = new File( "routing-table" );
+
+        assertThrows( IllegalArgumentException.class,
+                () -> builder.withPersistedRoutingTable( null, 1, TimeUnit.HOURS ) );
+        assertThrows( IllegalArgumentException.class,
+                () -> builder.withPersistedRoutingTable( file, 0, TimeUnit.HOURS ) );
+        assertThrows( IllegalArgumentException.class,
+                () -> builder.withPersistedRoutingTable( file, -1, TimeUnit.HOURS ) );
+    }
+
+    @Test
+    void shouldHaveNoPreferredServerGroupsByDefault()
+    {
+        assertTrue( Config.defaultConfig().preferredServerGroups().isEmpty() );
+    }
+
+    @Test
+    void shouldChangePreferredServerGroups()
+    {
+        Config config = Config.build().withPreferredServerGroups( "*.zone-a", "*.zone-b" ).toConfig();
+
+        assertEquals( asList( "*.zone-a", "*.zone-b" ), config.preferredServerGroups() );
+    }
+
+    @Test
+    void shouldNotAllowEmptyPreferredServerGroup()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withPreferredServerGroups( "*.zone-a", "" ) );
+        assertThrows( IllegalArgumentException.class,
+                () -> builder.withPreferredServerGroups( "*.zone-a", null ) );
+    }
+
+    @Test
+    void shouldHaveHedgedReadsDisabledByDefault()
+    {
+        Config config = Config.defaultConfig();
+
+        assertEquals( 0, config.hedgedReadsBudget() );
+        assertFalse( config.hedgedReadsAdaptive() );
+    }
+
+    @Test
+    void shouldChangeHedgedReadsSettings()
+    {
+        Config config = Config.build().withHedgedReads( 2, TimeUnit.SECONDS, 0.05 ).toConfig();
+
+        assertEquals( 2000, config.hedgedReadsDelayMillis() );
+        assertFalse( config.hedgedReadsAdaptive() );
+        assertEquals( 0.05, config.hedgedReadsBudget() );
+
+        Config adaptiveConfig = Config.build().withAdaptiveHedgedReads( 50, TimeUnit.MILLISECONDS, 1 ).toConfig();
+
+        assertEquals( 50, adaptiveConfig.hedgedReadsDelayMillis() );
+        assertTrue( adaptiveConfig.hedgedReadsAdaptive() );
+        assertEquals( 1, adaptiveConfig.hedgedReadsBudget() );
+    }
+
+    @Test
+    void shouldNotAllowInvalidHedgedReadsSettings()
+    {
+        Config.ConfigBuilder builder = Config.build();
+
+        assertThrows( IllegalArgumentException.class, () -> builder.withHedgedReads( -1, TimeUnit.SECONDS, 0.1 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withHedgedReads( 1, TimeUnit.SECONDS, 0 ) );
+        assertThrows( IllegalArgumentException.class, () -> builder.withHedgedReads( 1, TimeUnit.SECONDS, 1.5 ) );
+        assertThrows( IllegalArgumentException.class,
+                () -> builder.withAdaptiveHedgedReads( 1, TimeUnit.SECONDS, -0.1 ) );
+    }
 }
@@ -23,6 +23,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.List;
 import java.util.Map;
 
 import org.neo4j.driver.internal.cluster.RoutingSettings;
@@ -34,6 +35,7 @@ import org.neo4j.driver.v1.Driver;
 import org.neo4j.driver.v1.GraphDatabase;
 import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Statement;
 import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.Value;
@@ -44,6 +46,7 @@ import org.neo4j.driver.v1.util.StubServer;
 import org.neo4j.driver.v1.util.TestNeo4jSession;
 import org.neo4j.driver.v1.util.TestUtil;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertEquals;
@@ -79,6 +82,27 @@ public class TransactionIT
         assertThat( nodes, equalTo( 2L ) );
     }
 
+    @Test
+    public void shouldRunBatchAndCommit() throws Throwable
+    {
+        List<StatementResult> results;
+        try ( Transaction tx = session.beginTransaction() )
+        {
+            results = tx.runBatch( asList(
+                    new Statement( "CREATE (n:FirstNode) RETURN 1" ),
+                    new Statement( "CREATE (n:SecondNode) RETURN 2" ),
+                    new Statement( "MATCH (n) RETURN count(n)" ) ) );
+
+            assertEquals( 1, results.get( 0 ).single().get( 0 ).asInt() );
+            assertEquals( 2, results.get( 1 ).single().get( 0 ).asInt() );
+            assertEquals( 2, results.get( 2 ).single().get( 0 ).asInt() );
+            tx.success();
+        }
+
+        StatementResult result = session.run( "MATCH (n) RETURN count(n)" );
+        assertThat( result.single().get( "count(n)" ).asLong(), equalTo( 2L ) );
+    }
+
     @Test
     public void shouldRunAndRollbackByDefault() throws Throwable
     {
@@ -20,6 +20,7 @@ package org.neo4j.driver.v1.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.StandardSocketOptions;
 import java.net.URI;
 import java.nio.channels.SocketChannel;
@@ -236,7 +237,7 @@ public class Neo4jRunner
         {
             SocketChannel soChannel = SocketChannel.open();
             soChannel.setOption( StandardSocketOptions.SO_REUSEADDR, true );
-            soChannel.connect( DEFAULT_ADDRESS.toSocketAddress() );
+            soChannel.connect( new InetSocketAddress( DEFAULT_ADDRESS.host(), DEFAULT_ADDRESS.port() ) );
             soChannel.close();
             return ServerStatus.ONLINE;
         }
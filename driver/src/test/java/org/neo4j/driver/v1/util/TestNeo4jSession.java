@@ -20,6 +20,7 @@ package org.neo4j.driver.v1.util;
 
 import org.junit.runner.Description;
 import org.junit.runners.model.Statement;
+import org.reactivestreams.Publisher;
 
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
@@ -204,6 +205,18 @@ public class TestNeo4jSession extends TestNeo4j implements Session
         return realSession.runAsync( statement );
     }
 
+    @Override
+    public Publisher<Record> runRx( org.neo4j.driver.v1.Statement statement )
+    {
+        return realSession.runRx( statement );
+    }
+
+    @Override
+    public Publisher<Record> runRx( String statementTemplate, Map<String,Object> statementParameters )
+    {
+        return realSession.runRx( statementTemplate, statementParameters );
+    }
+
     @Override
     public TypeSystem typeSystem()
     {